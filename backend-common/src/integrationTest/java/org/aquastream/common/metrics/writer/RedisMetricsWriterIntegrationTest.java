@@ -0,0 +1,161 @@
+package org.aquastream.common.metrics.writer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.aquastream.common.metrics.config.MetricsProperties;
+import org.aquastream.common.metrics.model.MetricData;
+import org.aquastream.common.metrics.model.MetricType;
+import org.aquastream.common.metrics.model.MetricsTimeSeries;
+import org.aquastream.common.metrics.model.MetricsTimeSeries.Resolution;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.serializer.StringRedisSerializer;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * RedisMetricsWriter against a real Redis: 1k metrics go out in one pipelined round trip and are read back
+ * through the index. The benchmark compares latency with per-key writes.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class RedisMetricsWriterIntegrationTest {
+
+    private static final int METRIC_COUNT = 1000;
+
+    @Container
+    private static final GenericContainer<?> REDIS = new GenericContainer<>("redis:7-alpine").withExposedPorts(6379);
+
+    private static LettuceConnectionFactory connectionFactory;
+    private static RedisTemplate<String, String> redisTemplate;
+
+    private RedisMetricsWriter writer;
+
+    @BeforeAll
+    static void setUpRedis() {
+        connectionFactory = new LettuceConnectionFactory(
+                new RedisStandaloneConfiguration(REDIS.getHost(), REDIS.getMappedPort(6379)));
+        connectionFactory.afterPropertiesSet();
+
+        redisTemplate = new RedisTemplate<>();
+        redisTemplate.setConnectionFactory(connectionFactory);
+        redisTemplate.setKeySerializer(new StringRedisSerializer());
+        redisTemplate.setValueSerializer(new StringRedisSerializer());
+        redisTemplate.afterPropertiesSet();
+    }
+
+    @AfterAll
+    static void tearDownRedis() {
+        connectionFactory.destroy();
+    }
+
+    @BeforeEach
+    void setUp() {
+        redisTemplate.execute(connection -> {
+            connection.serverCommands().flushAll();
+            return null;
+        }, true);
+
+        MetricsProperties properties = new MetricsProperties();
+        properties.setServiceName("benchmark");
+        writer = new RedisMetricsWriter(redisTemplate, new ObjectMapper(), properties);
+    }
+
+    @Test
+    void testPipelinedWriteAndIndexedRead() {
+        long before = (long) writer.getStatistics().get("roundTrips");
+        writer.writeMetrics(createMetrics());
+        long pipelinedRoundTrips = (long) writer.getStatistics().get("roundTrips") - before;
+
+        Map<String, MetricData> read = writer.getMetrics("benchmark", "*");
+
+        assertEquals(1, pipelinedRoundTrips);
+        assertEquals(METRIC_COUNT, read.size());
+        assertEquals(METRIC_COUNT, ((Number) writer.getStatistics().get("totalKeys")).intValue());
+    }
+
+    @Test
+    @Tag("benchmark")
+    void benchmarkPerKeyAgainstPipelinedWrites() {
+        List<MetricData> metrics = createMetrics();
+
+        // Baseline: one round trip per SET (plus index update)
+        long start = System.nanoTime();
+        metrics.forEach(writer::writeMetric);
+        long perKeyMicros = (System.nanoTime() - start) / 1000;
+        long perKeyRoundTrips = (long) writer.getStatistics().get("roundTrips");
+
+        redisTemplate.execute(connection -> {
+            connection.serverCommands().flushAll();
+            return null;
+        }, true);
+
+        long before = (long) writer.getStatistics().get("roundTrips");
+        start = System.nanoTime();
+        writer.writeMetrics(metrics);
+        long pipelinedMicros = (System.nanoTime() - start) / 1000;
+        long pipelinedRoundTrips = (long) writer.getStatistics().get("roundTrips") - before;
+
+        start = System.nanoTime();
+        Map<String, MetricData> read = writer.getMetrics("benchmark", "*");
+        long readMicros = (System.nanoTime() - start) / 1000;
+
+        System.out.printf("Per-key writes: %d round trips, %dus%n", perKeyRoundTrips, perKeyMicros);
+        System.out.printf("Pipelined write: %d round trip, %dus%n", pipelinedRoundTrips, pipelinedMicros);
+        System.out.printf("Indexed read of %d metrics: %dus (1 ZRANGEBYSCORE + %d MGET)%n",
+                read.size(), readMicros, (METRIC_COUNT + 499) / 500);
+    }
+
+    @Test
+    void testTimeSeriesRollupsCombineReplicasAndBuckets() {
+        LocalDateTime hour = LocalDateTime.now().truncatedTo(ChronoUnit.HOURS).minusHours(1);
+        List<MetricData> metrics = new ArrayList<>();
+        for (int minute = 0; minute < 10; minute++) {
+            metrics.add(MetricData.counter("rollup", MetricType.REQUESTS_TOTAL, hour.plusMinutes(minute), 10));
+            metrics.add(MetricData.latency("rollup", MetricType.LATENCY_P95_MS, hour.plusMinutes(minute), minute, 1L));
+        }
+        writer.writeMetrics(metrics);
+        // Second replica of the same service reporting the same minutes
+        writer.writeMetrics(metrics.stream().filter(m -> m.getType() == MetricType.REQUESTS_TOTAL).toList());
+
+        long hourMinute = hour.atZone(ZoneId.systemDefault()).toEpochSecond() / 60;
+        assertEquals(List.of(20.0, 20.0, 20.0), values("requests_total", Resolution.MINUTE, hourMinute, hourMinute + 2));
+        assertEquals(List.of(100.0, 100.0), values("requests_total", Resolution.FIVE_MINUTES, hourMinute, hourMinute + 9));
+        assertEquals(List.of(200.0), values("requests_total", Resolution.HOUR, hourMinute, hourMinute));
+        assertEquals(List.of(9.0), values("latency_p95_ms", Resolution.HOUR, hourMinute, hourMinute));
+    }
+
+    private static List<Double> values(String metric, Resolution resolution, long fromMinute, long toMinute) {
+        String key = MetricsTimeSeries.key("metrics", "rollup", metric, resolution);
+        Set<String> members = redisTemplate.opsForZSet().rangeByScore(key, fromMinute, toMinute);
+        assertNotNull(members);
+        return members.stream()
+                .map(member -> MetricsTimeSeries.decode(member, 0).value())
+                .toList();
+    }
+
+    private static List<MetricData> createMetrics() {
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MINUTES);
+        List<MetricData> metrics = new ArrayList<>();
+        for (int i = 0; i < METRIC_COUNT; i++) {
+            metrics.add(MetricData.counter("benchmark", MetricType.REQUESTS_TOTAL, now.minusMinutes(i / 10), i)
+                    .withRoute("/api/v1/route-" + (i % 10), "GET", "2xx"));
+        }
+        return metrics;
+    }
+}
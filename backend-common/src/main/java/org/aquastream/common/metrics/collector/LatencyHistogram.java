@@ -0,0 +1,137 @@
+package org.aquastream.common.metrics.collector;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free, allocation-free latency histogram with log-linear buckets (HdrHistogram layout).
+ *
+ * Values are recorded in nanoseconds. Each power-of-two range is split into
+ * 32 linear sub-buckets, so any reported value is within ~3% of the
+ * recorded one. Values above one hour are clamped into the last bucket;
+ * the exact maximum is tracked separately.
+ */
+public final class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 5;
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+    private static final int SUB_BUCKET_MASK = SUB_BUCKET_COUNT - 1;
+
+    /**
+     * Highest value with its own bucket (one hour)
+     */
+    static final long HIGHEST_TRACKABLE_NANOS = TimeUnit.HOURS.toNanos(1);
+
+    private static final int BUCKET_COUNT = indexFor(HIGHEST_TRACKABLE_NANOS) + 1;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKET_COUNT);
+    private final AtomicLong maxNanos = new AtomicLong();
+
+    /**
+     * Record a single latency value in nanoseconds
+     */
+    public void recordNanos(long nanos) {
+        long value = Math.max(nanos, 0);
+        counts.incrementAndGet(indexFor(Math.min(value, HIGHEST_TRACKABLE_NANOS)));
+
+        long currentMax = maxNanos.get();
+        while (value > currentMax && !maxNanos.compareAndSet(currentMax, value)) {
+            currentMax = maxNanos.get();
+        }
+    }
+
+    /**
+     * Record a single latency value in milliseconds
+     */
+    public void recordMillis(long millis) {
+        recordNanos(TimeUnit.MILLISECONDS.toNanos(millis));
+    }
+
+    /**
+     * Add all recorded values of another histogram to this one
+     */
+    public void merge(LatencyHistogram other) {
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            long count = other.counts.get(i);
+            if (count != 0) {
+                counts.addAndGet(i, count);
+            }
+        }
+
+        long otherMax = other.maxNanos.get();
+        long currentMax = maxNanos.get();
+        while (otherMax > currentMax && !maxNanos.compareAndSet(currentMax, otherMax)) {
+            currentMax = maxNanos.get();
+        }
+    }
+
+    public long getTotalCount() {
+        long total = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            total += counts.get(i);
+        }
+        return total;
+    }
+
+    public long getMaxNanos() {
+        return maxNanos.get();
+    }
+
+    /**
+     * Value at the given percentile (0.0 - 1.0) in nanoseconds, reported as the
+     * highest value of the matching bucket and never above the recorded maximum.
+     */
+    public long valueAtPercentileNanos(double percentile) {
+        long[] snapshot = new long[BUCKET_COUNT];
+        long total = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            snapshot[i] = counts.get(i);
+            total += snapshot[i];
+        }
+        if (total == 0) {
+            return 0;
+        }
+
+        long rank = Math.max(1, (long) Math.ceil(Math.min(percentile, 1.0) * total));
+        long seen = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            seen += snapshot[i];
+            if (seen >= rank) {
+                // The last bucket also holds clamped values, so only the tracked max is meaningful there
+                return i == BUCKET_COUNT - 1 ? maxNanos.get() : Math.min(highestValueInBucket(i), maxNanos.get());
+            }
+        }
+        return maxNanos.get();
+    }
+
+    /**
+     * Value at the given percentile (0.0 - 1.0) in fractional milliseconds
+     */
+    public double valueAtPercentileMillis(double percentile) {
+        return valueAtPercentileNanos(percentile) / 1_000_000.0;
+    }
+
+    public double getMaxMillis() {
+        return maxNanos.get() / 1_000_000.0;
+    }
+
+    static int indexFor(long value) {
+        if (value < SUB_BUCKET_COUNT) {
+            return (int) value;
+        }
+        int magnitude = 63 - Long.numberOfLeadingZeros(value);
+        int shift = magnitude - SUB_BUCKET_BITS;
+        int subBucket = (int) (value >>> shift) & SUB_BUCKET_MASK;
+        return (shift + 1) * SUB_BUCKET_COUNT + subBucket;
+    }
+
+    static long highestValueInBucket(int index) {
+        if (index < SUB_BUCKET_COUNT) {
+            return index;
+        }
+        int shift = index / SUB_BUCKET_COUNT - 1;
+        long lowest = (long) (SUB_BUCKET_COUNT + index % SUB_BUCKET_COUNT) << shift;
+        return lowest + (1L << shift) - 1;
+    }
+}
@@ -11,7 +11,7 @@ import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
 
 /**
@@ -22,19 +22,56 @@ import java.util.concurrent.atomic.AtomicLong;
 @Slf4j
 public class MetricsCollector {
 
+    /**
+     * Route used once the per-window series limit is reached
+     */
+    public static final String OTHER_ROUTE = "other";
+
+    /**
+     * Route used for requests that did not match any handler (404s, static resources)
+     */
+    public static final String UNMATCHED_ROUTE = "unmatched";
+
+    /**
+     * Method recorded for requests with a non-standard HTTP method
+     */
+    public static final String OTHER_METHOD = "OTHER";
+
+    /**
+     * Methods that get their own series; anything else is recorded as {@link #OTHER_METHOD}
+     */
+    public static final Set<String> METHODS = Set.of("GET", "HEAD", "POST", "PUT", "PATCH", "DELETE", "OPTIONS");
+
+    private static final String[] STATUS_CLASSES = {"1xx", "1xx", "2xx", "3xx", "4xx", "5xx"};
+
+    /**
+     * Upper bound of {@link #OTHER_ROUTE} series per window: one per method and status class
+     */
+    public static final int MAX_OVERFLOW_SERIES = (METHODS.size() + 1) * 5;
+
     private final MetricsProperties properties;
 
     // Thread-safe counters for requests and errors
     private final Map<LocalDateTime, AtomicLong> requestCounts = new ConcurrentHashMap<>();
     private final Map<LocalDateTime, AtomicLong> errorCounts = new ConcurrentHashMap<>();
     
-    // Thread-safe latency samples storage
-    private final Map<LocalDateTime, List<Double>> latencySamples = new ConcurrentHashMap<>();
+    // Lock-free latency histograms, one per minute window
+    private final Map<LocalDateTime, LatencyHistogram> latencyHistograms = new ConcurrentHashMap<>();
+
+    // Per route template / method / status class series, bounded per minute window
+    private final Map<LocalDateTime, Map<RouteKey, RouteStats>> routeSeries = new ConcurrentHashMap<>();
 
     /**
      * Record a request
      */
     public void recordRequest(long latencyMs, boolean isError) {
+        recordRequestNanos(TimeUnit.MILLISECONDS.toNanos(latencyMs), isError);
+    }
+
+    /**
+     * Record a request with nanosecond latency precision
+     */
+    public void recordRequestNanos(long latencyNanos, boolean isError) {
         if (!properties.isEnabled()) {
             return;
         }
@@ -53,16 +90,52 @@ public class MetricsCollector {
             }
             
             // Record latency sample
-            recordLatencySample(currentMinute, latencyMs);
+            histogramFor(currentMinute).recordNanos(latencyNanos);
             
-            log.trace("Recorded request: latency={}ms, error={}, minute={}", 
-                    latencyMs, isError, currentMinute);
+            log.trace("Recorded request: latency={}ns, error={}, minute={}", 
+                    latencyNanos, isError, currentMinute);
                     
         } catch (Exception e) {
             log.error("Error recording request metrics", e);
         }
     }
 
+    /**
+     * Record an HTTP request both in the service-wide metrics and in its route series. A window holds at most
+     * {@code maxRouteSeries} route series plus {@link #MAX_OVERFLOW_SERIES} series of {@link #OTHER_ROUTE}.
+     *
+     * @param route  route template (e.g. {@code /api/v1/events/{id}}), null if no handler matched
+     * @param method HTTP method, recorded as {@link #OTHER_METHOD} unless it is one of {@link #METHODS}
+     * @param status response status code
+     */
+    public void recordHttpRequest(String route, String method, int status, long latencyNanos) {
+        boolean isError = status >= 400;
+        recordRequestNanos(latencyNanos, isError);
+
+        if (!properties.isEnabled() || !properties.isRouteMetricsEnabled()) {
+            return;
+        }
+
+        try {
+            LocalDateTime currentMinute = getCurrentMinute();
+            Map<RouteKey, RouteStats> series = routeSeries.get(currentMinute);
+            if (series == null) {
+                series = routeSeries.computeIfAbsent(currentMinute, k -> new ConcurrentHashMap<>());
+            }
+
+            RouteKey key = new RouteKey(route != null ? route : UNMATCHED_ROUTE, normalizeMethod(method),
+                    statusClass(status));
+            RouteStats stats = series.get(key);
+            if (stats == null) {
+                stats = addSeries(series, key);
+            }
+            stats.record(latencyNanos, isError);
+
+        } catch (Exception e) {
+            log.error("Error recording route metrics", e);
+        }
+    }
+
     /**
      * Record just latency (for custom timing)
      */
@@ -72,7 +145,7 @@ public class MetricsCollector {
         }
 
         LocalDateTime currentMinute = getCurrentMinute();
-        recordLatencySample(currentMinute, latencyMs);
+        histogramFor(currentMinute).recordMillis(latencyMs);
     }
 
     /**
@@ -104,7 +177,8 @@ public class MetricsCollector {
             Set<LocalDateTime> completedMinutes = new HashSet<>();
             completedMinutes.addAll(requestCounts.keySet());
             completedMinutes.addAll(errorCounts.keySet());
-            completedMinutes.addAll(latencySamples.keySet());
+            completedMinutes.addAll(latencyHistograms.keySet());
+            completedMinutes.addAll(routeSeries.keySet());
             
             for (LocalDateTime minute : completedMinutes) {
                 if (minute.isBefore(currentMinute)) {
@@ -133,12 +207,15 @@ public class MetricsCollector {
         state.put("currentMinute", currentMinute);
         state.put("requestCount", requestCounts.getOrDefault(currentMinute, new AtomicLong(0)).get());
         state.put("errorCount", errorCounts.getOrDefault(currentMinute, new AtomicLong(0)).get());
-        state.put("latencySampleCount", latencySamples.getOrDefault(currentMinute, new ArrayList<>()).size());
+        LatencyHistogram histogram = latencyHistograms.get(currentMinute);
+        state.put("latencySampleCount", histogram != null ? (int) histogram.getTotalCount() : 0);
         Set<LocalDateTime> allMinutes = new HashSet<>();
         allMinutes.addAll(requestCounts.keySet());
         allMinutes.addAll(errorCounts.keySet());
-        allMinutes.addAll(latencySamples.keySet());
+        allMinutes.addAll(latencyHistograms.keySet());
+        allMinutes.addAll(routeSeries.keySet());
         state.put("totalMinutesTracked", allMinutes.size());
+        state.put("routeSeriesCount", routeSeries.getOrDefault(currentMinute, Map.of()).size());
         
         return state;
     }
@@ -147,18 +224,9 @@ public class MetricsCollector {
         return LocalDateTime.now().truncatedTo(ChronoUnit.MINUTES);
     }
 
-    private void recordLatencySample(LocalDateTime minute, double latencyMs) {
-        List<Double> samples = latencySamples.computeIfAbsent(minute, 
-                k -> new CopyOnWriteArrayList<>());
-        
-        // Limit sample size to prevent memory issues
-        if (samples.size() < properties.getMaxSamples()) {
-            samples.add(latencyMs);
-        } else {
-            // Replace random sample to maintain statistical validity
-            int randomIndex = new Random().nextInt(samples.size());
-            samples.set(randomIndex, latencyMs);
-        }
+    private LatencyHistogram histogramFor(LocalDateTime minute) {
+        LatencyHistogram histogram = latencyHistograms.get(minute);
+        return histogram != null ? histogram : latencyHistograms.computeIfAbsent(minute, k -> new LatencyHistogram());
     }
 
     private List<MetricData> createMetricsForMinute(LocalDateTime minute) {
@@ -179,34 +247,99 @@ public class MetricsCollector {
                                          minute, errorCount.get()));
         }
 
-        // Latency P95
-        List<Double> samples = latencySamples.get(minute);
-        if (samples != null && !samples.isEmpty()) {
-            double p95 = calculatePercentile(samples, 0.95);
-            metrics.add(MetricData.percentile(serviceName, MetricType.LATENCY_P95_MS, 
-                                            minute, p95, new ArrayList<>(samples)));
+        // Latency percentiles and max
+        LatencyHistogram histogram = latencyHistograms.get(minute);
+        if (histogram != null) {
+            metrics.addAll(createLatencyMetrics(serviceName, minute, histogram));
         }
 
+        // Per-route series
+        Map<RouteKey, RouteStats> series = routeSeries.get(minute);
+        if (series != null) {
+            series.forEach((key, stats) -> metrics.addAll(createRouteMetrics(serviceName, minute, key, stats)));
+        }
+
+        return metrics;
+    }
+
+    private List<MetricData> createRouteMetrics(String serviceName, LocalDateTime minute,
+                                                RouteKey key, RouteStats stats) {
+        List<MetricData> metrics = new ArrayList<>();
+        metrics.add(MetricData.counter(serviceName, MetricType.REQUESTS_TOTAL, minute, stats.requests.get()));
+        if (stats.errors.get() > 0) {
+            metrics.add(MetricData.counter(serviceName, MetricType.ERRORS_TOTAL, minute, stats.errors.get()));
+        }
+        metrics.addAll(createLatencyMetrics(serviceName, minute, stats.latency));
+        metrics.forEach(metric -> metric.withRoute(key.route(), key.method(), key.statusClass()));
+        return metrics;
+    }
+
+    private List<MetricData> createLatencyMetrics(String serviceName, LocalDateTime minute,
+                                                  LatencyHistogram histogram) {
+        long sampleCount = histogram.getTotalCount();
+        if (sampleCount == 0) {
+            return List.of();
+        }
+
+        List<MetricData> metrics = new ArrayList<>();
+        for (double percentile : properties.getPercentiles()) {
+            MetricType type = MetricType.forLatencyPercentile(percentile);
+            if (type == null) {
+                log.warn("Unsupported latency percentile configured: {}", percentile);
+                continue;
+            }
+            metrics.add(MetricData.latency(serviceName, type, minute,
+                    histogram.valueAtPercentileMillis(percentile), sampleCount));
+        }
+        metrics.add(MetricData.latency(serviceName, MetricType.LATENCY_MAX_MS, minute,
+                histogram.getMaxMillis(), sampleCount));
         return metrics;
     }
 
     private void cleanupMinute(LocalDateTime minute) {
         requestCounts.remove(minute);
         errorCounts.remove(minute);
-        latencySamples.remove(minute);
+        latencyHistograms.remove(minute);
+        routeSeries.remove(minute);
     }
 
-    private double calculatePercentile(List<Double> samples, double percentile) {
-        if (samples.isEmpty()) {
-            return 0.0;
+    private RouteStats addSeries(Map<RouteKey, RouteStats> series, RouteKey key) {
+        // New series are rare; the lock keeps concurrent first requests from overshooting the limit
+        synchronized (series) {
+            RouteStats stats = series.get(key);
+            if (stats != null) {
+                return stats;
+            }
+            if (series.size() >= properties.getMaxRouteSeries()) {
+                key = new RouteKey(OTHER_ROUTE, key.method(), key.statusClass());
+            }
+            return series.computeIfAbsent(key, k -> new RouteStats());
         }
+    }
 
-        List<Double> sorted = new ArrayList<>(samples);
-        Collections.sort(sorted);
-        
-        int index = (int) Math.ceil(percentile * sorted.size()) - 1;
-        index = Math.max(0, Math.min(index, sorted.size() - 1));
-        
-        return sorted.get(index);
+    private static String normalizeMethod(String method) {
+        return method != null && METHODS.contains(method) ? method : OTHER_METHOD;
+    }
+
+    private static String statusClass(int status) {
+        int index = status / 100;
+        return index >= 1 && index < STATUS_CLASSES.length ? STATUS_CLASSES[index] : "5xx";
+    }
+
+    private record RouteKey(String route, String method, String statusClass) {
+    }
+
+    private static final class RouteStats {
+        private final AtomicLong requests = new AtomicLong();
+        private final AtomicLong errors = new AtomicLong();
+        private final LatencyHistogram latency = new LatencyHistogram();
+
+        void record(long latencyNanos, boolean isError) {
+            requests.incrementAndGet();
+            if (isError) {
+                errors.incrementAndGet();
+            }
+            latency.recordNanos(latencyNanos);
+        }
     }
 }
\ No newline at end of file
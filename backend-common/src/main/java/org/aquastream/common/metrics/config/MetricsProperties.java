@@ -37,12 +37,24 @@ public class MetricsProperties {
     private String keyPrefix = "metrics";
 
     /**
-     * Percentiles to calculate for latency metrics
+     * Percentiles to calculate for latency metrics (supported: 0.5, 0.9, 0.95, 0.99).
+     * Max latency is always reported.
      */
-    private double[] percentiles = {0.95};
+    private double[] percentiles = {0.5, 0.9, 0.95, 0.99};
 
     /**
-     * Maximum number of samples to keep for percentile calculation
+     * Maximum number of samples to keep for percentile calculation.
+     * Not used since latency is recorded into fixed-size histograms; kept for configuration compatibility.
      */
     private int maxSamples = 10000;
+
+    /**
+     * Enable per route template / HTTP method / status class metrics
+     */
+    private boolean routeMetricsEnabled = true;
+
+    /**
+     * Maximum number of route series per minute window; further routes are folded into "other"
+     */
+    private int maxRouteSeries = 200;
 }
\ No newline at end of file
@@ -12,6 +12,7 @@ import org.springframework.web.bind.annotation.*;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.TreeSet;
 
 /**
  * Controller for metrics monitoring and debugging
@@ -63,6 +64,8 @@ public class MetricsController {
         config.put("flushInterval", properties.getFlushInterval().toString());
         config.put("keyPrefix", properties.getKeyPrefix());
         config.put("maxSamples", properties.getMaxSamples());
+        config.put("routeMetricsEnabled", properties.isRouteMetricsEnabled());
+        config.put("maxRouteSeries", properties.getMaxRouteSeries());
         return ResponseEntity.ok(config);
     }
 
@@ -107,23 +110,54 @@ public class MetricsController {
     }
 
     /**
-     * Get metrics for specific service and time pattern
+     * Get metrics for specific service and time pattern.
+     * Route, method and statusClass narrow the result to per-route series;
+     * {@code routes=false} returns only service-wide metrics.
      */
     @GetMapping("/data")
     public ResponseEntity<Map<String, Object>> getMetrics(
             @RequestParam(required = false) String service,
-            @RequestParam(required = false) String timePattern) {
+            @RequestParam(required = false) String timePattern,
+            @RequestParam(required = false) String route,
+            @RequestParam(required = false) String method,
+            @RequestParam(required = false) String statusClass,
+            @RequestParam(defaultValue = "true") boolean routes) {
         
         String serviceToUse = service != null ? service : properties.getServiceName();
         String patternToUse = timePattern != null ? timePattern : "*";
+        boolean routeFilter = route != null || method != null || statusClass != null;
         
-        Map<String, MetricData> metricsData = redisWriter.getMetrics(serviceToUse, patternToUse);
+        Map<String, MetricData> metricsData = new HashMap<>();
+        var routeNames = new TreeSet<String>();
+        var methods = new TreeSet<String>();
+        var statusClasses = new TreeSet<String>();
+        
+        redisWriter.getMetrics(serviceToUse, patternToUse).forEach((key, metric) -> {
+            if (metric.isRouteMetric()) {
+                routeNames.add(metric.getRoute());
+                methods.add(metric.getMethod());
+                statusClasses.add(metric.getStatusClass());
+                if (!routes
+                        || (route != null && !route.equals(metric.getRoute()))
+                        || (method != null && !method.equalsIgnoreCase(metric.getMethod()))
+                        || (statusClass != null && !statusClass.equalsIgnoreCase(metric.getStatusClass()))) {
+                    return;
+                }
+            } else if (routeFilter) {
+                return;
+            }
+            metricsData.put(key, metric);
+        });
         
         Map<String, Object> response = new HashMap<>();
         response.put("service", serviceToUse);
         response.put("timePattern", patternToUse);
         response.put("metrics", metricsData);
         response.put("count", metricsData.size());
+        response.put("dimensions", Map.of(
+                "routes", routeNames,
+                "methods", methods,
+                "statusClasses", statusClasses));
         
         return ResponseEntity.ok(response);
     }
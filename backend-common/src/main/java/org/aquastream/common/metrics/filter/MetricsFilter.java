@@ -8,6 +8,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.aquastream.common.metrics.collector.MetricsCollector;
 import org.springframework.core.annotation.Order;
 import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerMapping;
 
 import java.io.IOException;
 
@@ -39,27 +40,26 @@ public class MetricsFilter implements Filter {
             return;
         }
 
-        long startTime = System.currentTimeMillis();
-        boolean isError = false;
+        long startTime = System.nanoTime();
+        int statusCode = HttpServletResponse.SC_INTERNAL_SERVER_ERROR;
 
         try {
             chain.doFilter(request, response);
-            
-            // Check if response indicates an error
-            int statusCode = httpResponse.getStatus();
-            isError = statusCode >= 400;
+            statusCode = httpResponse.getStatus();
             
         } catch (Exception e) {
-            isError = true;
             log.debug("Exception in request processing: {}", e.getMessage());
             throw e;
         } finally {
             try {
-                long duration = System.currentTimeMillis() - startTime;
-                metricsCollector.recordRequest(duration, isError);
+                long duration = System.nanoTime() - startTime;
+                // Best-matching pattern keeps path variables out of the series key
+                Object route = httpRequest.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+                metricsCollector.recordHttpRequest(route != null ? route.toString() : null,
+                        httpRequest.getMethod(), statusCode, duration);
                 
-                log.trace("Recorded request metrics: uri={}, duration={}ms, error={}", 
-                        requestURI, duration, isError);
+                log.trace("Recorded request metrics: uri={}, route={}, duration={}ns, status={}", 
+                        requestURI, route, duration, statusCode);
                         
             } catch (Exception e) {
                 log.error("Error recording request metrics for {}: {}", requestURI, e.getMessage());
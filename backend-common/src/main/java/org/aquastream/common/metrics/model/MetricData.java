@@ -42,17 +42,56 @@ public class MetricData {
      */
     private List<Double> samples;
 
+    /**
+     * Number of samples the value was computed from (latency metrics)
+     */
+    private Long sampleCount;
+
     /**
      * Additional metadata
      */
     private String metadata;
 
     /**
-     * Get Redis key for this metric
+     * Route template dimension (null for service-wide metrics)
+     */
+    private String route;
+
+    /**
+     * HTTP method dimension (null for service-wide metrics)
+     */
+    private String method;
+
+    /**
+     * Status class dimension, e.g. 2xx (null for service-wide metrics)
+     */
+    private String statusClass;
+
+    /**
+     * Get Redis key for this metric.
+     * Route metrics append method, status class and route template (last, as it may contain colons).
      */
     public String getRedisKey() {
         String timestampStr = timestamp.format(java.time.format.DateTimeFormatter.ofPattern("yyyyMMddHHmm"));
-        return String.format("metrics:%s:%s:%s", service, type.getMetricName(), timestampStr);
+        String key = String.format("metrics:%s:%s:%s", service, type.getMetricName(), timestampStr);
+        return isRouteMetric() ? key + ":" + method + ":" + statusClass + ":" + route : key;
+    }
+
+    /**
+     * Whether this metric is broken down by route
+     */
+    public boolean isRouteMetric() {
+        return route != null;
+    }
+
+    /**
+     * Attach route dimensions to this metric
+     */
+    public MetricData withRoute(String route, String method, String statusClass) {
+        this.route = route;
+        this.method = method;
+        this.statusClass = statusClass;
+        return this;
     }
 
     /**
@@ -80,4 +119,18 @@ public class MetricData {
                 .samples(samples)
                 .build();
     }
+
+    /**
+     * Create a latency metric computed from a histogram (percentile or max)
+     */
+    public static MetricData latency(String service, MetricType type, LocalDateTime timestamp,
+                                     double valueMs, long sampleCount) {
+        return MetricData.builder()
+                .service(service)
+                .type(type)
+                .timestamp(timestamp)
+                .value(valueMs)
+                .sampleCount(sampleCount)
+                .build();
+    }
 }
\ No newline at end of file
@@ -15,15 +15,53 @@ public enum MetricType {
      */
     ERRORS_TOTAL("errors_total"),
     
+    /**
+     * 50th percentile (median) latency in milliseconds
+     */
+    LATENCY_P50_MS("latency_p50_ms", 0.50),
+
+    /**
+     * 90th percentile latency in milliseconds
+     */
+    LATENCY_P90_MS("latency_p90_ms", 0.90),
+
     /**
      * 95th percentile latency in milliseconds
      */
-    LATENCY_P95_MS("latency_p95_ms");
+    LATENCY_P95_MS("latency_p95_ms", 0.95),
+
+    /**
+     * 99th percentile latency in milliseconds
+     */
+    LATENCY_P99_MS("latency_p99_ms", 0.99),
+
+    /**
+     * Maximum latency in milliseconds
+     */
+    LATENCY_MAX_MS("latency_max_ms");
 
     private final String metricName;
+    private final Double percentile;
 
     MetricType(String metricName) {
+        this(metricName, null);
+    }
+
+    MetricType(String metricName, Double percentile) {
         this.metricName = metricName;
+        this.percentile = percentile;
+    }
+
+    /**
+     * Latency percentile metric for the given percentile (0.0 - 1.0), or null if not supported
+     */
+    public static MetricType forLatencyPercentile(double percentile) {
+        for (MetricType type : values()) {
+            if (type.percentile != null && Math.abs(type.percentile - percentile) < 1e-9) {
+                return type;
+            }
+        }
+        return null;
     }
 
     public String getMetricName() {
@@ -0,0 +1,169 @@
+package org.aquastream.common.metrics.model;
+
+import java.time.Duration;
+
+/**
+ * Redis time-series layout shared by the metrics writer and the gateway admin reader.
+ *
+ * One sorted set per service, metric and resolution:
+ * <pre>
+ * metrics:{service}:{metric}        1-minute points
+ * metrics:{service}:{metric}:5m     5-minute rollup
+ * metrics:{service}:{metric}:1h     1-hour rollup
+ * </pre>
+ * Score is the epoch minute of the bucket start, member is {@code {epochMinute}:{value}} so that
+ * equal values in different buckets stay distinct. Counters ({@code *_total}) are summed into
+ * rollups, latency metrics keep the maximum. Points are combined on write, so replicas of the
+ * same service aggregate into one series.
+ */
+public final class MetricsTimeSeries {
+
+    private MetricsTimeSeries() {
+    }
+
+    /**
+     * Stored resolutions with their bucket size and retention
+     */
+    public enum Resolution {
+        MINUTE("1m", 1, null),
+        FIVE_MINUTES("5m", 5, Duration.ofDays(8)),
+        HOUR("1h", 60, Duration.ofDays(35));
+
+        private final String suffix;
+        private final int bucketMinutes;
+        private final Duration retention;
+
+        Resolution(String suffix, int bucketMinutes, Duration retention) {
+            this.suffix = suffix;
+            this.bucketMinutes = bucketMinutes;
+            this.retention = retention;
+        }
+
+        public String getSuffix() {
+            return suffix;
+        }
+
+        public int getBucketMinutes() {
+            return bucketMinutes;
+        }
+
+        /**
+         * Retention of this resolution; the 1-minute series uses the configured metrics TTL
+         */
+        public Duration getRetention(Duration rawTtl) {
+            return retention != null ? retention : rawTtl;
+        }
+
+        /**
+         * Resolve a resolution by suffix (1m, 5m, 1h), null if unknown
+         */
+        public static Resolution fromSuffix(String suffix) {
+            for (Resolution resolution : values()) {
+                if (resolution.suffix.equals(suffix)) {
+                    return resolution;
+                }
+            }
+            return null;
+        }
+
+        /**
+         * Coarsest useful resolution for a time window, keeping the series within a few hundred points
+         */
+        public static Resolution forWindow(Duration window) {
+            if (window.compareTo(Duration.ofHours(6)) <= 0) {
+                return MINUTE;
+            }
+            if (window.compareTo(Duration.ofHours(24)) <= 0) {
+                return FIVE_MINUTES;
+            }
+            return HOUR;
+        }
+    }
+
+    /**
+     * How points are combined into a bucket
+     */
+    public enum Aggregation {
+        SUM("sum"),
+        MAX("max");
+
+        private final String code;
+
+        Aggregation(String code) {
+            this.code = code;
+        }
+
+        public String getCode() {
+            return code;
+        }
+
+        public static Aggregation forMetric(String metricName) {
+            return metricName.endsWith("_total") ? SUM : MAX;
+        }
+    }
+
+    /**
+     * A decoded time-series point
+     *
+     * @param epochMinute bucket start in minutes since epoch
+     * @param value       aggregated value
+     */
+    public record Point(long epochMinute, double value) {
+    }
+
+    public static String key(String keyPrefix, String service, String metric, Resolution resolution) {
+        String key = keyPrefix + ":" + service + ":" + metric;
+        return resolution == Resolution.MINUTE ? key : key + ":" + resolution.getSuffix();
+    }
+
+    public static String encode(long epochMinute, double value) {
+        return epochMinute + ":" + value;
+    }
+
+    /**
+     * Decode a member; the score is used as a fallback for the bucket start
+     */
+    public static Point decode(String member, double score) {
+        int separator = member.indexOf(':');
+        try {
+            if (separator < 0) {
+                return new Point((long) score, Double.parseDouble(member));
+            }
+            return new Point(Long.parseLong(member.substring(0, separator)),
+                    Double.parseDouble(member.substring(separator + 1)));
+        } catch (NumberFormatException e) {
+            return new Point((long) score, 0.0);
+        }
+    }
+
+    /**
+     * Lua script writing a chunk of points into all resolutions atomically.
+     * KEYS: per point the 1m, 5m and 1h keys.
+     * ARGV: retention in minutes for 1m, 5m, 1h; then per point epoch minute, value, aggregation.
+     */
+    public static final String WRITE_SCRIPT = """
+            local steps = {1, 5, 60}
+            local retention = {tonumber(ARGV[1]), tonumber(ARGV[2]), tonumber(ARGV[3])}
+            local points = #KEYS / 3
+            for i = 0, points - 1 do
+              local minute = tonumber(ARGV[4 + i * 3])
+              local value = tonumber(ARGV[5 + i * 3])
+              local mode = ARGV[6 + i * 3]
+              for r = 1, 3 do
+                local key = KEYS[i * 3 + r]
+                local bucket = minute - (minute % steps[r])
+                local existing = redis.call('ZRANGEBYSCORE', key, bucket, bucket)
+                local aggregated = value
+                if #existing > 0 then
+                  local previous = tonumber(string.match(existing[1], ':(.+)$')) or 0
+                  if mode == 'sum' then aggregated = previous + value else aggregated = math.max(previous, value) end
+                  redis.call('ZREMRANGEBYSCORE', key, bucket, bucket)
+                end
+                redis.call('ZADD', key, bucket, bucket .. ':' .. aggregated)
+                redis.call('ZREMRANGEBYSCORE', key, '-inf', '(' .. (minute - retention[r]))
+                redis.call('EXPIRE', key, retention[r] * 60)
+              end
+            end
+            return points
+            """;
+}
@@ -5,16 +5,37 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.aquastream.common.metrics.config.MetricsProperties;
 import org.aquastream.common.metrics.model.MetricData;
+import org.aquastream.common.metrics.model.MetricsTimeSeries;
+import org.aquastream.common.metrics.model.MetricsTimeSeries.Resolution;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.ReturnType;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisCallback;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ScanOptions;
 import org.springframework.stereotype.Service;
+import org.springframework.util.PatternMatchUtils;
 
+import java.nio.charset.StandardCharsets;
 import java.time.Duration;
+import java.time.ZoneId;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
- * Service for writing metrics to Redis with TTL
+ * Service for writing metrics to Redis with TTL.
+ *
+ * Each flush is sent as a single pipelined batch. Besides the metric keys, the writer maintains
+ * a per-service index ({@code metrics:index:{service}}, a sorted set of keys scored by epoch minute)
+ * and a set of known services ({@code metrics:services}), so reads never need KEYS.
+ * Service-wide metrics are also appended to the time series described in {@link MetricsTimeSeries}
+ * (1m points plus 5m/1h rollups) in the same pipeline, which is what the gateway admin API reads.
  */
 @Service
 @RequiredArgsConstructor
@@ -25,8 +46,17 @@ public class RedisMetricsWriter {
     private final ObjectMapper objectMapper;
     private final MetricsProperties properties;
 
+    private static final int MGET_BATCH_SIZE = 500;
+    private static final int SERIES_POINTS_PER_SCRIPT = 200;
+    private static final byte[] SERIES_SCRIPT = bytes(MetricsTimeSeries.WRITE_SCRIPT);
+
+    private final AtomicLong roundTrips = new AtomicLong();
+    private final AtomicLong batchesWritten = new AtomicLong();
+    private final AtomicLong lastBatchSize = new AtomicLong();
+    private final AtomicLong lastBatchNanos = new AtomicLong();
+
     /**
-     * Write metrics to Redis
+     * Write metrics to Redis in a single pipelined round trip
      */
     public void writeMetrics(List<MetricData> metrics) {
         if (!properties.isEnabled() || metrics.isEmpty()) {
@@ -34,21 +64,54 @@ public class RedisMetricsWriter {
         }
 
         try {
-            int successCount = 0;
-            int errorCount = 0;
+            long startTime = System.nanoTime();
+            long ttlSeconds = properties.getTtl().toSeconds();
 
+            // Serialize up front so a bad metric doesn't break the whole pipeline
+            Map<String, List<PendingWrite>> entriesByService = new LinkedHashMap<>();
+            Map<String, Long> latestMinuteByService = new HashMap<>();
+            List<MetricData> seriesPoints = new ArrayList<>();
+            int errorCount = 0;
             for (MetricData metric : metrics) {
                 try {
-                    writeMetric(metric);
-                    successCount++;
+                    long epochMinute = epochMinute(metric);
+                    PendingWrite entry = new PendingWrite(
+                            bytes(metric.getRedisKey()), bytes(serializeMetric(metric)), epochMinute);
+                    entriesByService.computeIfAbsent(metric.getService(), k -> new ArrayList<>()).add(entry);
+                    latestMinuteByService.merge(metric.getService(), epochMinute, Math::max);
+                    if (!metric.isRouteMetric()) {
+                        seriesPoints.add(metric);
+                    }
                 } catch (Exception e) {
                     errorCount++;
-                    log.error("Failed to write metric to Redis: {}", metric.getRedisKey(), e);
+                    log.error("Failed to serialize metric: {}", metric.getRedisKey(), e);
                 }
             }
 
-            log.debug("Wrote {} metrics to Redis ({} success, {} errors)", 
-                    metrics.size(), successCount, errorCount);
+            redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                entriesByService.forEach((service, entries) -> {
+                    byte[] indexKey = bytes(indexKey(service));
+                    for (PendingWrite entry : entries) {
+                        connection.stringCommands().setEx(entry.key(), ttlSeconds, entry.value());
+                        connection.zSetCommands().zAdd(indexKey, entry.epochMinute(), entry.key());
+                    }
+                    trimIndex(connection, indexKey, latestMinuteByService.get(service));
+                    connection.setCommands().sAdd(bytes(servicesKey()), bytes(service));
+                });
+                for (int from = 0; from < seriesPoints.size(); from += SERIES_POINTS_PER_SCRIPT) {
+                    appendSeries(connection, seriesPoints.subList(from,
+                            Math.min(from + SERIES_POINTS_PER_SCRIPT, seriesPoints.size())));
+                }
+                return null;
+            });
+
+            roundTrips.incrementAndGet();
+            batchesWritten.incrementAndGet();
+            lastBatchSize.set(metrics.size() - errorCount);
+            lastBatchNanos.set(System.nanoTime() - startTime);
+
+            log.debug("Wrote {} metrics to Redis in one pipeline ({} errors) in {}us", 
+                    metrics.size() - errorCount, errorCount, lastBatchNanos.get() / 1000);
 
         } catch (Exception e) {
             log.error("Error writing metrics batch to Redis", e);
@@ -65,6 +128,8 @@ public class RedisMetricsWriter {
             
             // Write with TTL
             redisTemplate.opsForValue().set(key, jsonValue, properties.getTtl());
+            redisTemplate.opsForZSet().add(indexKey(metric.getService()), key, epochMinute(metric));
+            roundTrips.addAndGet(2);
             
             log.trace("Wrote metric to Redis: {} = {}", key, jsonValue);
             
@@ -93,31 +158,58 @@ public class RedisMetricsWriter {
     }
 
     /**
-     * Get all metric keys matching pattern
+     * Get all metric keys matching pattern (cursor-based SCAN, never KEYS)
      */
     public List<String> getMetricKeys(String pattern) {
-        try {
-            return redisTemplate.keys(pattern).stream().toList();
+        List<String> keys = new ArrayList<>();
+        ScanOptions options = ScanOptions.scanOptions().match(pattern).count(1000).build();
+        try (Cursor<String> cursor = redisTemplate.scan(options)) {
+            cursor.forEachRemaining(keys::add);
         } catch (Exception e) {
             log.error("Failed to get metric keys for pattern: {}", pattern, e);
             return List.of();
         }
+        return keys;
     }
 
     /**
-     * Get metrics for service and time range
+     * Get metrics for service and time range.
+     * Keys come from the service index and values are fetched with batched MGET;
+     * the time pattern supports {@code *} wildcards.
      */
     public Map<String, MetricData> getMetrics(String service, String timePattern) {
         Map<String, MetricData> result = new HashMap<>();
         
         try {
-            String pattern = String.format("metrics:%s:*:%s", service, timePattern);
-            List<String> keys = getMetricKeys(pattern);
+            // Trailing wildcard also matches per-route keys, which carry dimensions after the timestamp
+            String pattern = String.format("metrics:%s:*:%s*", service, timePattern);
+            long oldestMinute = System.currentTimeMillis() / 60_000 - properties.getTtl().toMinutes();
+            Set<String> indexed = redisTemplate.opsForZSet()
+                    .rangeByScore(indexKey(service), oldestMinute, Double.POSITIVE_INFINITY);
+            if (indexed == null || indexed.isEmpty()) {
+                return result;
+            }
+            
+            List<String> keys = indexed.stream()
+                    .filter(key -> PatternMatchUtils.simpleMatch(pattern, key))
+                    .toList();
             
-            for (String key : keys) {
-                MetricData metric = readMetric(key);
-                if (metric != null) {
-                    result.put(key, metric);
+            for (int from = 0; from < keys.size(); from += MGET_BATCH_SIZE) {
+                List<String> batch = keys.subList(from, Math.min(from + MGET_BATCH_SIZE, keys.size()));
+                List<String> values = redisTemplate.opsForValue().multiGet(batch);
+                if (values == null) {
+                    continue;
+                }
+                for (int i = 0; i < batch.size(); i++) {
+                    String jsonValue = values.get(i);
+                    if (jsonValue == null) {
+                        continue;
+                    }
+                    try {
+                        result.put(batch.get(i), deserializeMetric(jsonValue));
+                    } catch (Exception e) {
+                        log.warn("Failed to deserialize metric {}: {}", batch.get(i), e.getMessage());
+                    }
                 }
             }
             
@@ -171,24 +263,36 @@ public class RedisMetricsWriter {
         Map<String, Object> stats = new HashMap<>();
         
         try {
-            String pattern = properties.getKeyPrefix() + ":*";
-            List<String> allKeys = getMetricKeys(pattern);
+            Set<String> services = redisTemplate.opsForSet().members(servicesKey());
+            long totalKeys = 0;
+            long lastHour = System.currentTimeMillis() / 60_000 - 60;
+            Map<String, Integer> typeCount = new HashMap<>();
+            
+            for (String service : services != null ? services : Set.<String>of()) {
+                Long size = redisTemplate.opsForZSet().zCard(indexKey(service));
+                totalKeys += size != null ? size : 0;
+                
+                // Count by metric type over the last hour only, the full index can be large
+                Set<String> recentKeys = redisTemplate.opsForZSet()
+                        .rangeByScore(indexKey(service), lastHour, Double.POSITIVE_INFINITY);
+                for (String key : recentKeys != null ? recentKeys : Set.<String>of()) {
+                    String[] parts = key.split(":");
+                    if (parts.length >= 3) {
+                        typeCount.merge(parts[2], 1, Integer::sum);
+                    }
+                }
+            }
             
-            stats.put("totalKeys", allKeys.size());
+            stats.put("totalKeys", totalKeys);
+            stats.put("services", services != null ? new HashSet<>(services) : Set.of());
             stats.put("keyPrefix", properties.getKeyPrefix());
             stats.put("ttl", properties.getTtl().toString());
             stats.put("serviceName", properties.getServiceName());
-            
-            // Count by metric type
-            Map<String, Integer> typeCount = new HashMap<>();
-            for (String key : allKeys) {
-                String[] parts = key.split(":");
-                if (parts.length >= 3) {
-                    String metricType = parts[2];
-                    typeCount.merge(metricType, 1, Integer::sum);
-                }
-            }
-            stats.put("metricTypeCounts", typeCount);
+            stats.put("metricTypeCountsLastHour", typeCount);
+            stats.put("roundTrips", roundTrips.get());
+            stats.put("batchesWritten", batchesWritten.get());
+            stats.put("lastBatchSize", lastBatchSize.get());
+            stats.put("lastBatchMicros", lastBatchNanos.get() / 1000);
             
         } catch (Exception e) {
             log.error("Failed to get metrics statistics", e);
@@ -198,6 +302,55 @@ public class RedisMetricsWriter {
         return stats;
     }
 
+    private void trimIndex(RedisConnection connection, byte[] indexKey, long latestMinute) {
+        long ttlSeconds = properties.getTtl().toSeconds();
+        long oldestMinute = latestMinute - properties.getTtl().toMinutes();
+        connection.zSetCommands().zRemRangeByScore(indexKey, Double.NEGATIVE_INFINITY, oldestMinute - 1);
+        connection.keyCommands().expire(indexKey, ttlSeconds);
+    }
+
+    /**
+     * Append points to all time-series resolutions with one EVAL, combining with points
+     * already written by other replicas of the same service
+     */
+    private void appendSeries(RedisConnection connection, List<MetricData> points) {
+        Resolution[] resolutions = Resolution.values();
+        byte[][] keysAndArgs = new byte[points.size() * resolutions.length + resolutions.length + points.size() * 3][];
+        int keyIndex = 0;
+        int argIndex = points.size() * resolutions.length;
+        for (Resolution resolution : resolutions) {
+            keysAndArgs[argIndex++] = bytes(String.valueOf(resolution.getRetention(properties.getTtl()).toMinutes()));
+        }
+        for (MetricData point : points) {
+            String metricName = point.getType().getMetricName();
+            for (Resolution resolution : resolutions) {
+                keysAndArgs[keyIndex++] = bytes(MetricsTimeSeries.key(
+                        properties.getKeyPrefix(), point.getService(), metricName, resolution));
+            }
+            keysAndArgs[argIndex++] = bytes(String.valueOf(epochMinute(point)));
+            keysAndArgs[argIndex++] = bytes(String.valueOf(point.getValue()));
+            keysAndArgs[argIndex++] = bytes(MetricsTimeSeries.Aggregation.forMetric(metricName).getCode());
+        }
+        connection.scriptingCommands().eval(SERIES_SCRIPT, ReturnType.INTEGER, keyIndex, keysAndArgs);
+    }
+
+    private String indexKey(String service) {
+        return properties.getKeyPrefix() + ":index:" + service;
+    }
+
+    private String servicesKey() {
+        return properties.getKeyPrefix() + ":services";
+    }
+
+    private static long epochMinute(MetricData metric) {
+        // Collector windows are LocalDateTime in the JVM zone
+        return metric.getTimestamp().atZone(ZoneId.systemDefault()).toEpochSecond() / 60;
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
     private String serializeMetric(MetricData metric) throws Exception {
         // Create simplified JSON structure for Redis storage
         Map<String, Object> data = new HashMap<>();
@@ -206,7 +359,9 @@ public class RedisMetricsWriter {
         data.put("timestamp", metric.getTimestamp().toString());
         data.put("value", metric.getValue());
         
-        if (metric.getSamples() != null && !metric.getSamples().isEmpty()) {
+        if (metric.getSampleCount() != null) {
+            data.put("sampleCount", metric.getSampleCount());
+        } else if (metric.getSamples() != null && !metric.getSamples().isEmpty()) {
             data.put("sampleCount", metric.getSamples().size());
             // Don't store all samples to save space, just the count and value
         }
@@ -215,6 +370,12 @@ public class RedisMetricsWriter {
             data.put("metadata", metric.getMetadata());
         }
         
+        if (metric.isRouteMetric()) {
+            data.put("route", metric.getRoute());
+            data.put("method", metric.getMethod());
+            data.put("statusClass", metric.getStatusClass());
+        }
+        
         return objectMapper.writeValueAsString(data);
     }
 
@@ -228,7 +389,14 @@ public class RedisMetricsWriter {
                         ((String) data.get("type")).toUpperCase().replace("_", "_")))
                 .timestamp(java.time.LocalDateTime.parse((String) data.get("timestamp")))
                 .value(((Number) data.get("value")).doubleValue())
+                .sampleCount(data.get("sampleCount") instanceof Number n ? n.longValue() : null)
                 .metadata((String) data.get("metadata"))
+                .route((String) data.get("route"))
+                .method((String) data.get("method"))
+                .statusClass((String) data.get("statusClass"))
                 .build();
     }
-}
\ No newline at end of file
+
+    private record PendingWrite(byte[] key, byte[] value, long epochMinute) {
+    }
+}
@@ -29,6 +29,11 @@ public class RateLimitProperties {
      */
     private Map<String, RateLimit> limits = new HashMap<>();
 
+    /**
+     * Node-local token tier in front of the Redis buckets
+     */
+    private Local local = new Local();
+
     /**
      * Rate limit configuration for a specific endpoint or category
      */
@@ -66,6 +71,53 @@ public class RateLimitProperties {
         private Long retryAfterSeconds;
     }
     
+    /**
+     * Node-local tier: tokens are leased from Redis in batches and granted without a round trip.
+     * A node can hold up to one lease of unused tokens per client key, so the limit is enforced
+     * at most {@code nodes * lease} tokens too strictly, never too loosely.
+     */
+    @Data
+    public static class Local {
+
+        /**
+         * Whether the local tier is enabled (otherwise every request goes to Redis)
+         */
+        private boolean enabled = true;
+
+        /**
+         * Maximum tokens leased per Redis round trip
+         */
+        private long leaseSize = 10;
+
+        /**
+         * Maximum share of the bucket capacity a single lease may take (error bound for small limits)
+         */
+        private double maxLeaseFraction = 0.1;
+
+        /**
+         * Maximum number of client keys held locally
+         */
+        private int maxEntries = 100_000;
+
+        /**
+         * Idle time after which a key is evicted and its unused tokens returned
+         */
+        private Duration idleTimeout = Duration.ofMinutes(5);
+
+        /**
+         * Threads for background leases and token returns
+         */
+        private int syncThreads = 2;
+
+        /**
+         * Lease size for a limit, at least one token
+         */
+        public long leaseSizeFor(RateLimit limit) {
+            long byFraction = (long) (limit.getCapacity() * maxLeaseFraction);
+            return Math.max(1, Math.min(leaseSize, byFraction));
+        }
+    }
+
     /**
      * Get rate limit configuration for a specific key
      */
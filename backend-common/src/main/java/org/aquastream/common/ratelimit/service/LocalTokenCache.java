@@ -0,0 +1,223 @@
+package org.aquastream.common.ratelimit.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.aquastream.common.ratelimit.config.RateLimitProperties;
+import org.aquastream.common.ratelimit.store.BoundedBucketStore;
+
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Node-local tier of the rate limiter.
+ *
+ * Tokens are leased from the shared (Redis) bucket in batches and granted locally with a CAS,
+ * so most requests never wait for Redis. When the local quota runs low the next lease is fetched
+ * in the background. Leased tokens are already taken from the shared bucket, so the cluster never
+ * grants more than the configured limit; the error is on the strict side and bounded by the lease
+ * size per key and node. A rejection from the shared bucket is cached locally until its refill time.
+ *
+ * Entries live in a {@link BoundedBucketStore} bounded by {@code maxEntries}; idle and evicted
+ * entries return their unused tokens. Granting tokens is lock-free, only finding the entry takes a
+ * shard lock of the store for one O(1) map access.
+ *
+ * @param <B> handle of the shared bucket
+ */
+@Slf4j
+public class LocalTokenCache<B> {
+
+    /**
+     * Access to the shared bucket behind the local tier
+     */
+    public interface TokenSource<B> {
+
+        /**
+         * Resolve the shared bucket for a key, called once per local entry
+         */
+        B connect(BucketId id);
+
+        /**
+         * Take {@code leaseSize} tokens, or at least {@code minTokens} if the full lease is not available
+         */
+        Lease lease(B bucket, long minTokens, long leaseSize);
+
+        /**
+         * Return unused leased tokens
+         */
+        void giveBack(B bucket, long tokens);
+    }
+
+    /**
+     * Rate limit bucket identity; used as map key instead of a formatted string
+     */
+    public record BucketId(String limitKey, String key) {
+    }
+
+    /**
+     * Result of a lease from the shared bucket
+     *
+     * @param granted     tokens taken from the shared bucket
+     * @param remaining   tokens left in the shared bucket
+     * @param nanosToWait time until the requested tokens are available, when nothing was granted
+     */
+    public record Lease(long granted, long remaining, long nanosToWait) {
+    }
+
+    /**
+     * Result of a local consumption attempt
+     */
+    public record Probe(boolean consumed, long remainingTokens, long nanosToWait) {
+    }
+
+    private final TokenSource<B> source;
+    private final RateLimitProperties.Local settings;
+    private final BoundedBucketStore<BucketId, LocalBucket<B>> buckets;
+    private final ScheduledThreadPoolExecutor executor;
+
+    public LocalTokenCache(TokenSource<B> source, RateLimitProperties.Local settings) {
+        this.source = source;
+        this.settings = settings;
+        this.executor = new ScheduledThreadPoolExecutor(Math.max(1, settings.getSyncThreads()), runnable -> {
+            Thread thread = new Thread(runnable, "rate-limit-sync");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.executor.setRemoveOnCancelPolicy(true);
+        this.buckets = new BoundedBucketStore<>(settings.getMaxEntries(), settings.getIdleTimeout(),
+                (id, bucket) -> giveBack(bucket));
+        long sweepMillis = Math.max(1000, settings.getIdleTimeout().toMillis() / 2);
+        this.executor.scheduleWithFixedDelay(this::evictIdle, sweepMillis, sweepMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Try to consume tokens for the key, going to the shared bucket only when the local quota is exhausted
+     *
+     * @param leaseSize tokens to lease per round trip for this limit
+     */
+    public Probe tryConsume(BucketId id, long tokens, long leaseSize) {
+        LocalBucket<B> bucket = buckets.computeIfAbsent(id, key -> new LocalBucket<>(source.connect(key)));
+        long now = System.nanoTime();
+
+        if (bucket.take(tokens)) {
+            long local = bucket.tokens.get();
+            if (local < leaseSize / 2) {
+                prefetch(bucket, leaseSize);
+            }
+            return new Probe(true, bucket.sharedRemaining + local, 0);
+        }
+
+        long deniedFor = bucket.deniedUntilNanos - now;
+        if (deniedFor > 0) {
+            return new Probe(false, bucket.sharedRemaining, deniedFor);
+        }
+
+        Lease lease = source.lease(bucket.remote, tokens, Math.max(tokens, leaseSize));
+        bucket.sharedRemaining = lease.remaining();
+        if (lease.granted() >= tokens) {
+            long local = bucket.tokens.addAndGet(lease.granted() - tokens);
+            return new Probe(true, lease.remaining() + local, 0);
+        }
+
+        bucket.tokens.addAndGet(lease.granted());
+        bucket.deniedUntilNanos = now + lease.nanosToWait();
+        return new Probe(false, lease.remaining(), lease.nanosToWait());
+    }
+
+    /**
+     * Number of keys held locally
+     */
+    public int size() {
+        return buckets.size();
+    }
+
+    /**
+     * Keys evicted because the local tier was full
+     */
+    public long evictionCount() {
+        return buckets.evictionCount();
+    }
+
+    /**
+     * Stop background syncing and return all unused tokens
+     */
+    public void shutdown() {
+        executor.shutdownNow();
+        buckets.clear();
+    }
+
+    private void prefetch(LocalBucket<B> bucket, long leaseSize) {
+        if (!bucket.leasing.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    Lease lease = source.lease(bucket.remote, 1, leaseSize);
+                    bucket.tokens.addAndGet(lease.granted());
+                    bucket.sharedRemaining = lease.remaining();
+                } catch (Exception e) {
+                    log.debug("Background token lease failed: {}", e.getMessage());
+                } finally {
+                    bucket.leasing.set(false);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            bucket.leasing.set(false);
+        }
+    }
+
+    /**
+     * Remove entries idle for longer than the configured timeout
+     */
+    void evictIdle() {
+        buckets.evictExpired();
+    }
+
+    /**
+     * Return unused tokens in the background, or inline once the executor is shut down
+     */
+    private void giveBack(LocalBucket<B> bucket) {
+        long unused = bucket.tokens.getAndSet(0);
+        if (unused <= 0) {
+            return;
+        }
+        Runnable task = () -> {
+            try {
+                source.giveBack(bucket.remote, unused);
+            } catch (Exception e) {
+                log.debug("Failed to return {} leased tokens: {}", unused, e.getMessage());
+            }
+        };
+        try {
+            executor.execute(task);
+        } catch (RejectedExecutionException e) {
+            task.run();
+        }
+    }
+
+    private static final class LocalBucket<B> {
+        final B remote;
+        final AtomicLong tokens = new AtomicLong();
+        final AtomicBoolean leasing = new AtomicBoolean();
+        volatile long deniedUntilNanos;
+        volatile long sharedRemaining;
+
+        LocalBucket(B remote) {
+            this.remote = remote;
+            this.deniedUntilNanos = System.nanoTime();
+        }
+
+        boolean take(long count) {
+            long current;
+            do {
+                current = tokens.get();
+                if (current < count) {
+                    return false;
+                }
+            } while (!tokens.compareAndSet(current, current - count));
+            return true;
+        }
+    }
+}
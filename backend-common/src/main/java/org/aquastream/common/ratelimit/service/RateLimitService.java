@@ -5,31 +5,50 @@ import io.github.bucket4j.Bucket;
 import io.github.bucket4j.BucketConfiguration;
 import io.github.bucket4j.ConsumptionProbe;
 import io.github.bucket4j.redis.lettuce.cas.LettuceBasedProxyManager;
-import lombok.RequiredArgsConstructor;
+import jakarta.annotation.PreDestroy;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 import org.aquastream.common.ratelimit.config.RateLimitProperties;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 
 /**
- * Service for managing rate limits using Bucket4j
+ * Service for managing rate limits using Bucket4j.
+ *
+ * Requests are served by a node-local {@link LocalTokenCache} that leases tokens from the
+ * Redis buckets in batches; with {@code aquastream.rate-limit.local.enabled=false} every
+ * request goes to Redis.
  */
 @Service
-@RequiredArgsConstructor
 @Slf4j
 public class RateLimitService {
 
     private final RateLimitProperties rateLimitProperties;
-    private final LettuceBasedProxyManager<byte[]> proxyManager;
+    private final LocalTokenCache.TokenSource<Bucket> tokenSource;
+    private final LocalTokenCache<Bucket> localTokens;
 
     /**
      * Cache for bucket configurations to avoid recreating them
      */
     private final ConcurrentMap<String, BucketConfiguration> configurationCache = new ConcurrentHashMap<>();
 
+    @Autowired
+    public RateLimitService(RateLimitProperties rateLimitProperties, LettuceBasedProxyManager<byte[]> proxyManager) {
+        this.rateLimitProperties = rateLimitProperties;
+        this.tokenSource = new Bucket4jTokenSource(proxyManager);
+        this.localTokens = createLocalTokens();
+    }
+
+    public RateLimitService(RateLimitProperties rateLimitProperties, LocalTokenCache.TokenSource<Bucket> tokenSource) {
+        this.rateLimitProperties = rateLimitProperties;
+        this.tokenSource = tokenSource;
+        this.localTokens = createLocalTokens();
+    }
+
     /**
      * Check if a request is allowed for the given key and limit type
      *
@@ -56,24 +75,24 @@ public class RateLimitService {
         }
 
         try {
-            String bucketKey = buildBucketKey(key, limitKey);
-            Bucket bucket = getBucket(bucketKey, limitKey);
-            
-            ConsumptionProbe probe = bucket.tryConsumeAndReturnRemaining(tokens);
+            RateLimitProperties.RateLimit limit = rateLimitProperties.getLimit(limitKey);
+            LocalTokenCache.BucketId bucketId = new LocalTokenCache.BucketId(limitKey, key);
+            LocalTokenCache.Probe probe = localTokens != null
+                    ? localTokens.tryConsume(bucketId, tokens, rateLimitProperties.getLocal().leaseSizeFor(limit))
+                    : consumeRemote(bucketId, tokens);
             
-            if (probe.isConsumed()) {
+            if (probe.consumed()) {
                 log.trace("Rate limit check passed for key: {} ({}), remaining: {}", 
-                        key, limitKey, probe.getRemainingTokens());
-                return RateLimitResult.allowed(probe.getRemainingTokens());
+                        key, limitKey, probe.remainingTokens());
+                return RateLimitResult.allowed(probe.remainingTokens());
             } else {
-                long waitTime = probe.getNanosToWaitForRefill() / 1_000_000_000L; // Convert to seconds
-                RateLimitProperties.RateLimit limit = rateLimitProperties.getLimit(limitKey);
+                long waitTime = probe.nanosToWait() / 1_000_000_000L; // Convert to seconds
                 long retryAfter = limit.getRetryAfterSeconds() != null ? 
                     limit.getRetryAfterSeconds() : Math.max(1, waitTime);
                 
                 log.info("Rate limit exceeded for key: {} ({}), retry after: {}s", 
                         key, limitKey, retryAfter);
-                return RateLimitResult.rejected(retryAfter, probe.getRemainingTokens());
+                return RateLimitResult.rejected(retryAfter, probe.remainingTokens());
             }
             
         } catch (Exception e) {
@@ -84,12 +103,27 @@ public class RateLimitService {
     }
 
     /**
-     * Get or create a bucket for the given key and limit type
+     * Return leased tokens to Redis on shutdown
+     */
+    @PreDestroy
+    public void shutdown() {
+        if (localTokens != null) {
+            localTokens.shutdown();
+        }
+    }
+
+    private LocalTokenCache<Bucket> createLocalTokens() {
+        return rateLimitProperties.getLocal().isEnabled()
+                ? new LocalTokenCache<>(tokenSource, rateLimitProperties.getLocal())
+                : null;
+    }
+
+    /**
+     * Single round trip to the shared bucket, used when the local tier is disabled
      */
-    private Bucket getBucket(String bucketKey, String limitKey) {
-        BucketConfiguration configuration = getBucketConfiguration(limitKey);
-        // Newer Bucket4j API expects Supplier<BucketConfiguration>
-        return proxyManager.builder().build(bucketKey.getBytes(), () -> configuration);
+    private LocalTokenCache.Probe consumeRemote(LocalTokenCache.BucketId bucketId, long tokens) {
+        LocalTokenCache.Lease lease = tokenSource.lease(tokenSource.connect(bucketId), tokens, tokens);
+        return new LocalTokenCache.Probe(lease.granted() >= tokens, lease.remaining(), lease.nanosToWait());
     }
 
     /**
@@ -117,10 +151,43 @@ public class RateLimitService {
     }
 
     /**
-     * Build a unique bucket key combining user key and limit type
+     * Redis-backed buckets; the proxy is built once per local entry
      */
-    private String buildBucketKey(String key, String limitKey) {
-        return String.format("rate_limit:%s:%s", limitKey, key);
+    private final class Bucket4jTokenSource implements LocalTokenCache.TokenSource<Bucket> {
+
+        private final LettuceBasedProxyManager<byte[]> proxyManager;
+
+        private Bucket4jTokenSource(LettuceBasedProxyManager<byte[]> proxyManager) {
+            this.proxyManager = proxyManager;
+        }
+
+        @Override
+        public Bucket connect(LocalTokenCache.BucketId id) {
+            BucketConfiguration configuration = getBucketConfiguration(id.limitKey());
+            byte[] bucketKey = ("rate_limit:" + id.limitKey() + ":" + id.key()).getBytes(StandardCharsets.UTF_8);
+            // Newer Bucket4j API expects Supplier<BucketConfiguration>
+            return proxyManager.builder().build(bucketKey, () -> configuration);
+        }
+
+        @Override
+        public LocalTokenCache.Lease lease(Bucket bucket, long minTokens, long leaseSize) {
+            ConsumptionProbe probe = bucket.tryConsumeAndReturnRemaining(leaseSize);
+            if (!probe.isConsumed() && leaseSize > minTokens && probe.getRemainingTokens() >= minTokens) {
+                // Bucket is almost empty: take what the request needs
+                probe = bucket.tryConsumeAndReturnRemaining(minTokens);
+                return probe.isConsumed()
+                        ? new LocalTokenCache.Lease(minTokens, probe.getRemainingTokens(), 0)
+                        : new LocalTokenCache.Lease(0, probe.getRemainingTokens(), probe.getNanosToWaitForRefill());
+            }
+            return probe.isConsumed()
+                    ? new LocalTokenCache.Lease(leaseSize, probe.getRemainingTokens(), 0)
+                    : new LocalTokenCache.Lease(0, probe.getRemainingTokens(), probe.getNanosToWaitForRefill());
+        }
+
+        @Override
+        public void giveBack(Bucket bucket, long tokens) {
+            bucket.addTokens(tokens);
+        }
     }
 
     /**
@@ -0,0 +1,228 @@
+package org.aquastream.common.ratelimit.store;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * Size-bounded, expire-after-access map for per-client rate limit buckets.
+ *
+ * Keys are spread over independently locked shards; each shard is an access-ordered
+ * {@link LinkedHashMap}, so lookups, inserts, LRU eviction and expiry of the oldest entry
+ * are all O(1). Expired entries are dropped from the head of a shard on every write and by
+ * {@link #evictExpired()}. Removed entries are reported to the removal listener outside the lock.
+ *
+ * @param <K> bucket key
+ * @param <V> bucket
+ */
+public final class BoundedBucketStore<K, V> {
+
+    private final Shard<K, V>[] shards;
+    private final int shardMask;
+    private final long expireAfterAccessNanos;
+    private final BiConsumer<K, V> removalListener;
+    private final AtomicLong evictions = new AtomicLong();
+    private final AtomicLong expirations = new AtomicLong();
+
+    public BoundedBucketStore(int maxEntries, Duration expireAfterAccess) {
+        this(maxEntries, expireAfterAccess, (key, value) -> {
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    public BoundedBucketStore(int maxEntries, Duration expireAfterAccess, BiConsumer<K, V> removalListener) {
+        int shardCount = Integer.highestOneBit(Math.max(1, Math.min(64, maxEntries / 16)));
+        this.shards = new Shard[shardCount];
+        this.expireAfterAccessNanos = expireAfterAccess.toNanos();
+        int perShard = Math.max(1, maxEntries / shardCount);
+        for (int i = 0; i < shardCount; i++) {
+            shards[i] = new Shard<>(perShard, expireAfterAccessNanos, evictions, expirations);
+        }
+        this.shardMask = shardCount - 1;
+        this.removalListener = removalListener;
+    }
+
+    /**
+     * Value for the key, created by the factory if absent or expired
+     */
+    public V computeIfAbsent(K key, Function<? super K, ? extends V> factory) {
+        Shard<K, V> shard = shardFor(key);
+        long now = System.nanoTime();
+        List<Map.Entry<K, V>> removed = null;
+        V value;
+
+        shard.lock.lock();
+        try {
+            Node<V> node = shard.map.get(key);
+            if (node != null && now - node.lastAccessNanos < expireAfterAccessNanos) {
+                node.lastAccessNanos = now;
+                return node.value;
+            }
+            if (node != null) {
+                shard.map.remove(key);
+                removed = new ArrayList<>(1);
+                removed.add(Map.entry(key, node.value));
+                expirations.incrementAndGet();
+            }
+
+            value = factory.apply(key);
+            shard.map.put(key, new Node<>(value, now));
+            removed = shard.trim(now, removed);
+        } finally {
+            shard.lock.unlock();
+        }
+
+        notifyRemoved(removed);
+        return value;
+    }
+
+    /**
+     * Value for the key without creating it, null if absent or expired
+     */
+    public V getIfPresent(K key) {
+        Shard<K, V> shard = shardFor(key);
+        long now = System.nanoTime();
+        shard.lock.lock();
+        try {
+            Node<V> node = shard.map.get(key);
+            if (node == null || now - node.lastAccessNanos >= expireAfterAccessNanos) {
+                return null;
+            }
+            node.lastAccessNanos = now;
+            return node.value;
+        } finally {
+            shard.lock.unlock();
+        }
+    }
+
+    /**
+     * Drop all entries idle for longer than the expiry
+     */
+    public void evictExpired() {
+        long now = System.nanoTime();
+        for (Shard<K, V> shard : shards) {
+            List<Map.Entry<K, V>> removed;
+            shard.lock.lock();
+            try {
+                removed = shard.trim(now, null);
+            } finally {
+                shard.lock.unlock();
+            }
+            notifyRemoved(removed);
+        }
+    }
+
+    /**
+     * Remove all entries, reporting them to the removal listener
+     */
+    public void clear() {
+        for (Shard<K, V> shard : shards) {
+            List<Map.Entry<K, V>> removed = new ArrayList<>();
+            shard.lock.lock();
+            try {
+                shard.map.forEach((key, node) -> removed.add(Map.entry(key, node.value)));
+                shard.map.clear();
+            } finally {
+                shard.lock.unlock();
+            }
+            notifyRemoved(removed);
+        }
+    }
+
+    public int size() {
+        int size = 0;
+        for (Shard<K, V> shard : shards) {
+            shard.lock.lock();
+            try {
+                size += shard.map.size();
+            } finally {
+                shard.lock.unlock();
+            }
+        }
+        return size;
+    }
+
+    /**
+     * Entries removed because the store was full
+     */
+    public long evictionCount() {
+        return evictions.get();
+    }
+
+    /**
+     * Entries removed because they were idle
+     */
+    public long expirationCount() {
+        return expirations.get();
+    }
+
+    private Shard<K, V> shardFor(K key) {
+        int hash = key.hashCode();
+        return shards[(hash ^ (hash >>> 16)) & shardMask];
+    }
+
+    private void notifyRemoved(List<Map.Entry<K, V>> removed) {
+        if (removed != null) {
+            removed.forEach(entry -> removalListener.accept(entry.getKey(), entry.getValue()));
+        }
+    }
+
+    private static final class Shard<K, V> {
+        final ReentrantLock lock = new ReentrantLock();
+        final LinkedHashMap<K, Node<V>> map = new LinkedHashMap<>(16, 0.75f, true);
+        final int maxEntries;
+        final long expireAfterAccessNanos;
+        final AtomicLong evictions;
+        final AtomicLong expirations;
+
+        Shard(int maxEntries, long expireAfterAccessNanos, AtomicLong evictions, AtomicLong expirations) {
+            this.maxEntries = maxEntries;
+            this.expireAfterAccessNanos = expireAfterAccessNanos;
+            this.evictions = evictions;
+            this.expirations = expirations;
+        }
+
+        /**
+         * Remove expired entries and the least recently used ones above the bound; head is the oldest access
+         */
+        List<Map.Entry<K, V>> trim(long now, List<Map.Entry<K, V>> removed) {
+            Iterator<Map.Entry<K, Node<V>>> iterator = map.entrySet().iterator();
+            while (iterator.hasNext()) {
+                Map.Entry<K, Node<V>> eldest = iterator.next();
+                boolean expired = now - eldest.getValue().lastAccessNanos >= expireAfterAccessNanos;
+                boolean overflow = map.size() > maxEntries;
+                if (!expired && !overflow) {
+                    break;
+                }
+                iterator.remove();
+                if (removed == null) {
+                    removed = new ArrayList<>();
+                }
+                removed.add(Map.entry(eldest.getKey(), eldest.getValue().value));
+                if (expired) {
+                    expirations.incrementAndGet();
+                } else {
+                    evictions.incrementAndGet();
+                }
+            }
+            return removed;
+        }
+    }
+
+    private static final class Node<V> {
+        final V value;
+        long lastAccessNanos;
+
+        Node(V value, long lastAccessNanos) {
+            this.value = value;
+            this.lastAccessNanos = lastAccessNanos;
+        }
+    }
+}
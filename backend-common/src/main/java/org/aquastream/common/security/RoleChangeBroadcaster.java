@@ -0,0 +1,87 @@
+package org.aquastream.common.security;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * Publishes and receives role changes (see {@link RoleChanges}) over Redis pub/sub.
+ * No-op in services without a Redis connection.
+ */
+@Component
+@Slf4j
+public class RoleChangeBroadcaster {
+
+    private final ObjectProvider<StringRedisTemplate> redisTemplate;
+    private final ObjectProvider<RedisConnectionFactory> connectionFactory;
+    private RedisMessageListenerContainer container;
+
+    public RoleChangeBroadcaster(ObjectProvider<StringRedisTemplate> redisTemplate,
+                                 ObjectProvider<RedisConnectionFactory> connectionFactory) {
+        this.redisTemplate = redisTemplate;
+        this.connectionFactory = connectionFactory;
+    }
+
+    /**
+     * Announce a committed role change to all instances
+     */
+    public void publish(UUID userId, long roleVersion) {
+        StringRedisTemplate redis = redisTemplate.getIfAvailable();
+        if (redis == null) {
+            log.debug("Redis not configured, role change of {} not published", userId);
+            return;
+        }
+
+        try {
+            redis.convertAndSend(RoleChanges.CHANNEL, RoleChanges.encode(userId, roleVersion));
+        } catch (Exception e) {
+            // Other instances pick the change up when their cached role expires
+            log.error("Failed to publish role change of user {}", userId, e);
+        }
+    }
+
+    /**
+     * Deliver role changes published by any instance to the listener
+     */
+    public synchronized void subscribe(Consumer<RoleChanges.Entry> listener) {
+        RedisConnectionFactory factory = connectionFactory.getIfAvailable();
+        if (factory == null) {
+            log.debug("Redis not configured, role changes of other instances are not received");
+            return;
+        }
+
+        if (container == null) {
+            container = new RedisMessageListenerContainer();
+            container.setConnectionFactory(factory);
+            container.afterPropertiesSet();
+        }
+        container.addMessageListener((message, pattern) -> {
+            RoleChanges.Entry entry = RoleChanges.decode(new String(message.getBody(), StandardCharsets.UTF_8));
+            if (entry != null) {
+                listener.accept(entry);
+            }
+        }, new ChannelTopic(RoleChanges.CHANNEL));
+        try {
+            container.start();
+        } catch (Exception e) {
+            // The container keeps retrying the subscription in the background
+            log.warn("Role change subscription not established yet: {}", e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public synchronized void shutdown() {
+        if (container != null) {
+            container.stop();
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package org.aquastream.common.security;
+
+import java.util.UUID;
+
+/**
+ * Redis contract for announcing committed role changes to every instance of the user service.
+ *
+ * Messages on {@link #CHANNEL} carry the user and its new {@code role_version}; receivers drop the
+ * role they cached for the user and ignore cached roles with an older version.
+ */
+public final class RoleChanges {
+
+    /**
+     * Pub/sub channel with messages {@code {userId}:{roleVersion}}
+     */
+    public static final String CHANNEL = "auth:role-changes";
+
+    private RoleChanges() {
+    }
+
+    /**
+     * A committed role change of {@code userId} to {@code roleVersion}
+     */
+    public record Entry(UUID userId, long roleVersion) {
+    }
+
+    public static String encode(UUID userId, long roleVersion) {
+        return userId + ":" + roleVersion;
+    }
+
+    /**
+     * Decode a channel message, null if malformed
+     */
+    public static Entry decode(String message) {
+        int separator = message != null ? message.lastIndexOf(':') : -1;
+        if (separator < 0) {
+            return null;
+        }
+        try {
+            return new Entry(UUID.fromString(message.substring(0, separator)),
+                    Long.parseLong(message.substring(separator + 1)));
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
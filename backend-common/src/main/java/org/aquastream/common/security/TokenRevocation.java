@@ -0,0 +1,60 @@
+package org.aquastream.common.security;
+
+import java.util.UUID;
+
+/**
+ * Redis contract for revoking a user's access tokens before they expire.
+ *
+ * The user service records "tokens issued at or before this millisecond are revoked" per user in
+ * the {@link #REVOKED_AT_KEY} hash and announces it on {@link #CHANNEL}; token verifiers keep the
+ * values in memory. Access tokens carry their issue time in milliseconds ({@link #ISSUED_AT_MILLIS_CLAIM}),
+ * since {@code iat} has second precision and a login right after the revocation must not be rejected.
+ * The hash expires one access-token TTL after the last revocation, since older entries can only match
+ * tokens that have already expired.
+ */
+public final class TokenRevocation {
+
+    /**
+     * Hash userId → epoch millisecond; access tokens issued at or before it are revoked
+     */
+    public static final String REVOKED_AT_KEY = "auth:revoked-at";
+
+    /**
+     * Pub/sub channel with messages {@code {userId}:{epochMilli}}
+     */
+    public static final String CHANNEL = "auth:token-revocations";
+
+    /**
+     * Access token claim with the issue time in epoch milliseconds
+     */
+    public static final String ISSUED_AT_MILLIS_CLAIM = "iat_ms";
+
+    private TokenRevocation() {
+    }
+
+    /**
+     * A revocation: tokens of {@code userId} issued at or before {@code revokedAtEpochMilli} are invalid
+     */
+    public record Entry(UUID userId, long revokedAtEpochMilli) {
+    }
+
+    public static String encode(UUID userId, long revokedAtEpochMilli) {
+        return userId + ":" + revokedAtEpochMilli;
+    }
+
+    /**
+     * Decode a channel message, null if malformed
+     */
+    public static Entry decode(String message) {
+        int separator = message != null ? message.lastIndexOf(':') : -1;
+        if (separator < 0) {
+            return null;
+        }
+        try {
+            return new Entry(UUID.fromString(message.substring(0, separator)),
+                    Long.parseLong(message.substring(separator + 1)));
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
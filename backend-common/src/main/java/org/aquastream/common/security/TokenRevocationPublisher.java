@@ -0,0 +1,51 @@
+package org.aquastream.common.security;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Publishes access token revocations (see {@link TokenRevocation}) so the gateway stops
+ * accepting a user's tokens immediately instead of at their expiry.
+ * No-op in services without a Redis connection.
+ */
+@Component
+@Slf4j
+public class TokenRevocationPublisher {
+
+    private final ObjectProvider<StringRedisTemplate> redisTemplate;
+    private final Duration accessTokenTtl;
+
+    public TokenRevocationPublisher(ObjectProvider<StringRedisTemplate> redisTemplate,
+                                    @Value("${app.jwt.accessTtlSeconds:900}") long accessTtlSeconds) {
+        this.redisTemplate = redisTemplate;
+        this.accessTokenTtl = Duration.ofSeconds(accessTtlSeconds);
+    }
+
+    /**
+     * Revoke all access tokens of the user issued up to now; tokens issued afterwards stay valid
+     */
+    public void revokeAll(UUID userId) {
+        StringRedisTemplate redis = redisTemplate.getIfAvailable();
+        if (redis == null) {
+            log.debug("Redis not configured, access token revocation for {} not published", userId);
+            return;
+        }
+
+        long revokedAt = Instant.now().toEpochMilli();
+        try {
+            redis.opsForHash().put(TokenRevocation.REVOKED_AT_KEY, userId.toString(), String.valueOf(revokedAt));
+            redis.expire(TokenRevocation.REVOKED_AT_KEY, accessTokenTtl);
+            redis.convertAndSend(TokenRevocation.CHANNEL, TokenRevocation.encode(userId, revokedAt));
+        } catch (Exception e) {
+            // Refresh sessions are already revoked; access tokens then expire on their own
+            log.error("Failed to publish access token revocation for user {}", userId, e);
+        }
+    }
+}
@@ -83,6 +83,49 @@ class MetricsSystemTest {
         assertEquals(samples, percentile.getSamples());
     }
 
+    @Test
+    void testRouteSeriesAreBounded() {
+        properties.setMaxRouteSeries(2);
+
+        collector.recordHttpRequest("/api/v1/events", "GET", 200, 1_000_000);
+        collector.recordHttpRequest("/api/v1/events/{id}", "GET", 404, 1_000_000);
+        collector.recordHttpRequest("/api/v1/bookings", "POST", 201, 1_000_000);
+        collector.recordHttpRequest("/api/v1/bookings/{id}", "POST", 201, 1_000_000);
+        collector.recordHttpRequest("/api/v1/events", "GET", 200, 1_000_000);
+
+        Map<String, Object> state = collector.getCurrentState();
+        assertEquals(5L, state.get("requestCount"));
+        assertEquals(1L, state.get("errorCount"));
+        // Two route series, both new routes share the POST 2xx overflow series
+        assertEquals(3, state.get("routeSeriesCount"));
+    }
+
+    @Test
+    void testRouteSeriesLimitHoldsForArbitraryRoutesAndMethods() {
+        properties.setMaxRouteSeries(2);
+
+        for (int i = 0; i < 1_000; i++) {
+            collector.recordHttpRequest("/api/v1/route-" + i, "METHOD-" + i, 100 + (i % 5) * 100, 1_000_000);
+            collector.recordHttpRequest("/api/v1/events/" + i, i % 2 == 0 ? "GET" : "DELETE", 200, 1_000_000);
+        }
+
+        Map<String, Object> state = collector.getCurrentState();
+        assertEquals(2_000L, state.get("requestCount"));
+        // 2 route series; overflow: OTHER method in 5 status classes, GET and DELETE in 2xx
+        assertEquals(2 + 5 + 2, state.get("routeSeriesCount"));
+        assertTrue((int) state.get("routeSeriesCount") <= 2 + MetricsCollector.MAX_OVERFLOW_SERIES);
+    }
+
+    @Test
+    void testRouteRedisKeyGeneration() {
+        LocalDateTime timestamp = LocalDateTime.of(2025, 8, 17, 14, 30);
+
+        MetricData metric = MetricData.counter("event", MetricType.REQUESTS_TOTAL, timestamp, 10)
+                .withRoute("/api/v1/events/{id}", "GET", "2xx");
+        assertTrue(metric.isRouteMetric());
+        assertEquals("metrics:event:requests_total:202508171430:GET:2xx:/api/v1/events/{id}", metric.getRedisKey());
+    }
+
     @Test
     void testFlushEmptyCollector() {
         // Flush without any data
@@ -0,0 +1,149 @@
+package org.aquastream.common.metrics.collector;
+
+import org.aquastream.common.metrics.config.MetricsProperties;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test for the lock-free latency histogram
+ */
+class LatencyHistogramTest {
+
+    @Test
+    void testBucketBoundariesAreContiguous() {
+        for (long value = 0; value < 1_000_000; value++) {
+            int index = LatencyHistogram.indexFor(value);
+            assertTrue(value <= LatencyHistogram.highestValueInBucket(index), "value " + value);
+            if (index > 0) {
+                assertTrue(value > LatencyHistogram.highestValueInBucket(index - 1), "value " + value);
+            }
+        }
+    }
+
+    @Test
+    void testPercentilesWithinRelativeError() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 1; i <= 1000; i++) {
+            histogram.recordMillis(i);
+        }
+
+        assertEquals(1000, histogram.getTotalCount());
+        assertEquals(500.0, histogram.valueAtPercentileMillis(0.50), 500.0 * 0.04);
+        assertEquals(900.0, histogram.valueAtPercentileMillis(0.90), 900.0 * 0.04);
+        assertEquals(950.0, histogram.valueAtPercentileMillis(0.95), 950.0 * 0.04);
+        assertEquals(990.0, histogram.valueAtPercentileMillis(0.99), 990.0 * 0.04);
+        assertEquals(1000.0, histogram.getMaxMillis());
+    }
+
+    @Test
+    void testMerge() {
+        LatencyHistogram first = new LatencyHistogram();
+        LatencyHistogram second = new LatencyHistogram();
+        first.recordNanos(1_000);
+        first.recordNanos(2_000);
+        second.recordNanos(TimeUnit.HOURS.toNanos(2));
+
+        first.merge(second);
+
+        assertEquals(3, first.getTotalCount());
+        assertEquals(TimeUnit.HOURS.toNanos(2), first.getMaxNanos());
+        assertEquals(TimeUnit.HOURS.toNanos(2), first.valueAtPercentileNanos(1.0));
+    }
+
+    @Test
+    void testEmptyHistogram() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        assertEquals(0, histogram.getTotalCount());
+        assertEquals(0, histogram.valueAtPercentileNanos(0.99));
+    }
+
+    @Test
+    void testConcurrentRecordingKeepsEverySample() throws Exception {
+        int threads = 16;
+        int perThread = 10_000;
+        LatencyHistogram concurrent = new LatencyHistogram();
+        LatencyHistogram sequential = new LatencyHistogram();
+        for (int t = 0; t < threads; t++) {
+            for (int i = 1; i <= perThread; i++) {
+                sequential.recordMillis(i);
+            }
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    for (int i = 1; i <= perThread; i++) {
+                        concurrent.recordMillis(i);
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals((long) threads * perThread, concurrent.getTotalCount());
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(perThread), concurrent.getMaxNanos());
+        for (double percentile : new double[]{0.5, 0.9, 0.99, 1.0}) {
+            assertEquals(sequential.valueAtPercentileNanos(percentile), concurrent.valueAtPercentileNanos(percentile),
+                    "p" + percentile);
+        }
+    }
+
+    /**
+     * recordRequest throughput with 16 concurrent request threads
+     */
+    @Test
+    @Tag("benchmark")
+    void benchmarkRecordRequestWith16Threads() throws Exception {
+        MetricsProperties properties = new MetricsProperties();
+        properties.setServiceName("benchmark");
+        MetricsCollector collector = new MetricsCollector(properties);
+
+        int threads = 16;
+        int perThread = 100_000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < perThread; i++) {
+                        collector.recordRequestNanos(1_000_000L + i, (i & 63) == 0);
+                    }
+                    return null;
+                }));
+            }
+
+            long begin = System.nanoTime();
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(60, TimeUnit.SECONDS);
+            }
+            double seconds = (System.nanoTime() - begin) / 1_000_000_000.0;
+            System.out.printf("MetricsCollector.recordRequest: %d threads -> %.0f ops/sec%n",
+                    threads, threads * perThread / seconds);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,252 @@
+package org.aquastream.common.ratelimit.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.bucket4j.Bandwidth;
+import io.github.bucket4j.Bucket;
+import io.github.bucket4j.ConsumptionProbe;
+import org.aquastream.common.ratelimit.config.RateLimitProperties;
+import org.aquastream.common.ratelimit.filter.RateLimitFilter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the node-local rate limit tier and a benchmark of RateLimitFilter overhead
+ */
+class LocalTokenCacheTest {
+
+    private final List<LocalTokenCache<?>> caches = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        caches.forEach(LocalTokenCache::shutdown);
+    }
+
+    @Test
+    void testTwoNodesNeverExceedSharedCapacity() {
+        SharedBuckets shared = new SharedBuckets(100);
+        LocalTokenCache<Bucket> first = cache(shared, new RateLimitProperties.Local());
+        LocalTokenCache<Bucket> second = cache(shared, new RateLimitProperties.Local());
+        LocalTokenCache.BucketId id = new LocalTokenCache.BucketId("default", "ip:10.0.0.1");
+
+        int granted = 0;
+        for (int i = 0; i < 200; i++) {
+            LocalTokenCache<Bucket> node = i % 2 == 0 ? first : second;
+            if (node.tryConsume(id, 1, 10).consumed()) {
+                granted++;
+            }
+        }
+
+        assertTrue(granted <= 100, "granted " + granted);
+        // Each node may still hold up to a lease plus a background prefetch
+        assertTrue(granted >= 100 - 2 * 2 * 10, "granted " + granted);
+        assertTrue(shared.calls.get() < 100, "calls " + shared.calls.get());
+    }
+
+    @Test
+    void testRejectionIsCachedUntilRefill() {
+        SharedBuckets shared = new SharedBuckets(1);
+        LocalTokenCache<Bucket> cache = cache(shared, new RateLimitProperties.Local());
+        LocalTokenCache.BucketId id = new LocalTokenCache.BucketId("login", "ip:10.0.0.1");
+
+        assertTrue(cache.tryConsume(id, 1, 1).consumed());
+        for (int i = 0; i < 5; i++) {
+            LocalTokenCache.Probe probe = cache.tryConsume(id, 1, 1);
+            assertFalse(probe.consumed());
+            assertTrue(probe.nanosToWait() > 0);
+        }
+
+        assertEquals(2, shared.calls.get());
+    }
+
+    @Test
+    void testIdleEntriesReturnUnusedTokens() throws Exception {
+        SharedBuckets shared = new SharedBuckets(100);
+        RateLimitProperties.Local settings = new RateLimitProperties.Local();
+        settings.setIdleTimeout(Duration.ofMillis(1));
+        LocalTokenCache<Bucket> cache = cache(shared, settings);
+        LocalTokenCache.BucketId id = new LocalTokenCache.BucketId("default", "ip:10.0.0.1");
+
+        assertTrue(cache.tryConsume(id, 1, 10).consumed());
+        Thread.sleep(5);
+        cache.evictIdle();
+
+        assertEquals(0, cache.size());
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (shared.bucket(id).getAvailableTokens() != 99 && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+        assertEquals(99, shared.bucket(id).getAvailableTokens());
+    }
+
+    @Test
+    void testEntriesAreBounded() {
+        SharedBuckets shared = new SharedBuckets(100);
+        RateLimitProperties.Local settings = new RateLimitProperties.Local();
+        settings.setMaxEntries(1000);
+        LocalTokenCache<Bucket> cache = cache(shared, settings);
+
+        for (int i = 0; i < 10_000; i++) {
+            cache.tryConsume(new LocalTokenCache.BucketId("default", "ip:" + i), 1, 10);
+        }
+
+        assertTrue(cache.size() <= 1000, "size " + cache.size());
+    }
+
+    @Test
+    void testFilterWithLocalTierLeasesTokensInBatches() throws Exception {
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.getDefaultLimit().setCapacity(1_000_000);
+        properties.getDefaultLimit().setRefillTokens(1_000_000);
+        properties.getLocal().setEnabled(true);
+        properties.getLocal().setLeaseSize(100);
+        SharedBuckets shared = new SharedBuckets(1_000_000);
+        RateLimitService service = new RateLimitService(properties, shared);
+        RateLimitFilter filter = new RateLimitFilter(service, new ObjectMapper());
+
+        int requests = 1000;
+        try {
+            for (int i = 0; i < requests; i++) {
+                MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/events");
+                request.setRemoteAddr("10.0.0." + (i % 4));
+                MockHttpServletResponse response = new MockHttpServletResponse();
+
+                filter.doFilter(request, response, new MockFilterChain());
+
+                assertEquals(200, response.getStatus());
+                assertNotNull(response.getHeader("X-RateLimit-Remaining"));
+            }
+        } finally {
+            service.shutdown();
+        }
+
+        assertTrue(shared.calls.get() < requests / 10, "calls " + shared.calls.get());
+    }
+
+    /**
+     * p99 of RateLimitFilter overhead, Redis round trip per request vs local tier,
+     * with 0ms and 5ms simulated Redis latency
+     */
+    @Test
+    @Tag("benchmark")
+    void benchmarkFilterOverhead() throws Exception {
+        int requests = 1000;
+        for (long latencyMillis : new long[]{0, 5}) {
+            long[] direct = measureFilter(false, latencyMillis, requests);
+            long[] local = measureFilter(true, latencyMillis, requests);
+            System.out.printf("Redis latency %dms: direct p50=%dus p99=%dus, local tier p50=%dus p99=%dus%n",
+                    latencyMillis, percentile(direct, 0.50), percentile(direct, 0.99),
+                    percentile(local, 0.50), percentile(local, 0.99));
+        }
+    }
+
+    private long[] measureFilter(boolean localEnabled, long latencyMillis, int requests) throws Exception {
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.getDefaultLimit().setCapacity(1_000_000);
+        properties.getDefaultLimit().setRefillTokens(1_000_000);
+        properties.getLocal().setEnabled(localEnabled);
+        properties.getLocal().setLeaseSize(100);
+        RateLimitService service = new RateLimitService(properties,
+                new SharedBuckets(1_000_000, Duration.ofMillis(latencyMillis).toNanos()));
+        RateLimitFilter filter = new RateLimitFilter(service, new ObjectMapper());
+
+        long[] micros = new long[requests];
+        try {
+            for (int i = 0; i < requests; i++) {
+                MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/events");
+                request.setRemoteAddr("10.0.0." + (i % 4));
+                MockHttpServletResponse response = new MockHttpServletResponse();
+
+                long start = System.nanoTime();
+                filter.doFilter(request, response, new MockFilterChain());
+                micros[i] = (System.nanoTime() - start) / 1000;
+
+                assertEquals(200, response.getStatus());
+            }
+        } finally {
+            service.shutdown();
+        }
+        return micros;
+    }
+
+    private static long percentile(long[] values, double percentile) {
+        long[] sorted = values.clone();
+        Arrays.sort(sorted);
+        return sorted[(int) Math.min(sorted.length - 1, Math.ceil(percentile * sorted.length) - 1)];
+    }
+
+    private LocalTokenCache<Bucket> cache(SharedBuckets shared, RateLimitProperties.Local settings) {
+        LocalTokenCache<Bucket> cache = new LocalTokenCache<>(shared, settings);
+        caches.add(cache);
+        return cache;
+    }
+
+    /**
+     * In-memory stand-in for the Redis buckets with optional round-trip latency
+     */
+    private static final class SharedBuckets implements LocalTokenCache.TokenSource<Bucket> {
+
+        private final Map<LocalTokenCache.BucketId, Bucket> buckets = new ConcurrentHashMap<>();
+        private final AtomicInteger calls = new AtomicInteger();
+        private final long capacity;
+        private final long latencyNanos;
+
+        SharedBuckets(long capacity) {
+            this(capacity, 0);
+        }
+
+        SharedBuckets(long capacity, long latencyNanos) {
+            this.capacity = capacity;
+            this.latencyNanos = latencyNanos;
+        }
+
+        Bucket bucket(LocalTokenCache.BucketId id) {
+            return buckets.computeIfAbsent(id, key -> Bucket.builder()
+                    .addLimit(Bandwidth.builder()
+                            .capacity(capacity)
+                            .refillGreedy(Math.max(1, capacity / 1000), Duration.ofHours(1))
+                            .build())
+                    .build());
+        }
+
+        @Override
+        public Bucket connect(LocalTokenCache.BucketId id) {
+            return bucket(id);
+        }
+
+        @Override
+        public LocalTokenCache.Lease lease(Bucket bucket, long minTokens, long leaseSize) {
+            calls.incrementAndGet();
+            if (latencyNanos > 0) {
+                LockSupport.parkNanos(latencyNanos);
+            }
+            ConsumptionProbe probe = bucket.tryConsumeAndReturnRemaining(leaseSize);
+            if (probe.isConsumed()) {
+                return new LocalTokenCache.Lease(leaseSize, probe.getRemainingTokens(), 0);
+            }
+            probe = bucket.tryConsumeAndReturnRemaining(minTokens);
+            return probe.isConsumed()
+                    ? new LocalTokenCache.Lease(minTokens, probe.getRemainingTokens(), 0)
+                    : new LocalTokenCache.Lease(0, probe.getRemainingTokens(), probe.getNanosToWaitForRefill());
+        }
+
+        @Override
+        public void giveBack(Bucket bucket, long tokens) {
+            bucket.addTokens(tokens);
+        }
+    }
+}
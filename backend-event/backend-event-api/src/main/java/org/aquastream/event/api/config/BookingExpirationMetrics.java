@@ -0,0 +1,35 @@
+package org.aquastream.event.api.config;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.RequiredArgsConstructor;
+import org.aquastream.event.scheduler.BookingExpirationScheduler;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Exposes the progress of {@link BookingExpirationScheduler}; a growing {@code booking.expiration.lag}
+ * means the job does not keep up with bookings running out
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "aquastream.scheduling.enabled", havingValue = "true", matchIfMissing = true)
+public class BookingExpirationMetrics implements MeterBinder {
+
+    private final BookingExpirationScheduler scheduler;
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        TimeGauge.builder("booking.expiration.lag", scheduler, TimeUnit.MILLISECONDS,
+                        BookingExpirationScheduler::getLagMillis)
+                .description("Age of the oldest overdue PENDING booking after the last expiration run")
+                .register(registry);
+        FunctionCounter.builder("booking.expiration.expired", scheduler, BookingExpirationScheduler::getExpiredCount)
+                .description("Bookings expired by this instance")
+                .register(registry);
+    }
+}
@@ -0,0 +1,29 @@
+package org.aquastream.event.api.config;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.RequiredArgsConstructor;
+import org.aquastream.event.scheduler.BookingStatsReconciliationScheduler;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Exposes the outcome of {@link BookingStatsReconciliationScheduler}; {@code booking.stats.corrected} should
+ * stay flat, growth means some booking transition does not update the statistics
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "aquastream.scheduling.enabled", havingValue = "true", matchIfMissing = true)
+public class BookingStatsMetrics implements MeterBinder {
+
+    private final BookingStatsReconciliationScheduler scheduler;
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("booking.stats.corrected", scheduler,
+                        BookingStatsReconciliationScheduler::getCorrectedCount)
+                .description("Events whose precomputed booking statistics were corrected by reconciliation")
+                .register(registry);
+    }
+}
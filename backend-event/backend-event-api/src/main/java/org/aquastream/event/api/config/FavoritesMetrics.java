@@ -0,0 +1,29 @@
+package org.aquastream.event.api.config;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.RequiredArgsConstructor;
+import org.aquastream.event.scheduler.FavoritesReconciliationScheduler;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Exposes the outcome of {@link FavoritesReconciliationScheduler}; {@code favorites.counts.corrected} grows
+ * when favorites are removed past {@code FavoritesService}, e.g. by deleting events
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "aquastream.scheduling.enabled", havingValue = "true", matchIfMissing = true)
+public class FavoritesMetrics implements MeterBinder {
+
+    private final FavoritesReconciliationScheduler scheduler;
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("favorites.counts.corrected", scheduler,
+                        FavoritesReconciliationScheduler::getCorrectedCount)
+                .description("Event and user favorite counters corrected by reconciliation")
+                .register(registry);
+    }
+}
@@ -0,0 +1,48 @@
+package org.aquastream.event.api.config;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.BaseUnits;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.RequiredArgsConstructor;
+import org.aquastream.event.service.PublicResponseCache;
+import org.aquastream.event.service.PublicResponseCache.Level;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Effectiveness of {@link PublicResponseCache}: where responses come from and how long they take per level,
+ * the hit ratio, and the response bytes not sent thanks to {@code If-None-Match}
+ */
+@Component
+@RequiredArgsConstructor
+public class PublicResponseCacheMetrics implements MeterBinder {
+
+    private final PublicResponseCache cache;
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (Level level : Level.values()) {
+            String tag = level.name().toLowerCase(Locale.ROOT);
+            FunctionTimer.builder("public.cache.latency", cache,
+                            c -> c.getRequests(level), c -> c.getLatencyNanos(level), TimeUnit.NANOSECONDS)
+                    .tag("level", tag)
+                    .description("Time to produce a public response by the level that answered it")
+                    .register(registry);
+        }
+        Gauge.builder("public.cache.hit.ratio", cache, PublicResponseCache::getHitRatio)
+                .description("Share of public responses served from the local or Redis cache")
+                .register(registry);
+        FunctionCounter.builder("public.cache.not.modified", cache, PublicResponseCache::getNotModified)
+                .description("Public responses answered with 304 Not Modified")
+                .register(registry);
+        FunctionCounter.builder("public.cache.bytes.saved", cache, PublicResponseCache::getBytesSaved)
+                .baseUnit(BaseUnits.BYTES)
+                .description("Response body bytes not sent because the client's ETag matched")
+                .register(registry);
+    }
+}
@@ -10,6 +10,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.aquastream.common.domain.BookingStatus;
 import org.aquastream.event.dto.BookingDto;
 import org.aquastream.event.dto.CreateBookingRequest;
+import org.aquastream.event.dto.CursorPage;
 import org.aquastream.event.dto.PagedResponse;
 import org.aquastream.event.service.BookingService;
 import org.springframework.data.domain.PageRequest;
@@ -77,6 +78,25 @@ public class BookingController {
         return ResponseEntity.ok(bookings);
     }
     
+    /**
+     * Get bookings for the authenticated user page by page with a cursor instead of page numbers
+     */
+    @Operation(summary = "Get user bookings by cursor",
+            description = "Newest first; pass nextCursor of a page as cursor to get the next one. No total count")
+    @ApiResponse(responseCode = "200", description = "Bookings retrieved successfully")
+    @ApiResponse(responseCode = "400", description = "Invalid cursor")
+    @GetMapping("/cursor")
+    @PreAuthorize("hasRole('USER')")
+    public ResponseEntity<CursorPage<BookingDto>> getUserBookingsByCursor(
+            @RequestHeader("X-User-Id") UUID userId,
+            @RequestParam(required = false) BookingStatus status,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        
+        CursorPage<BookingDto> bookings = bookingService.getUserBookingsAfter(userId, status, cursor, size);
+        return ResponseEntity.ok(bookings);
+    }
+    
     /**
      * Confirm a pending booking (for free events or after payment)
      */
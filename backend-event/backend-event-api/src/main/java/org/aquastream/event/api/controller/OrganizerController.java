@@ -59,6 +59,28 @@ public class OrganizerController {
         return ResponseEntity.ok(bookings);
     }
     
+    /**
+     * Get bookings for organizer's events page by page with a cursor instead of page numbers
+     */
+    @Operation(summary = "Get organizer bookings by cursor",
+            description = "Newest first; pass nextCursor of a page as cursor to get the next one. No total count")
+    @ApiResponse(responseCode = "200", description = "Bookings retrieved successfully")
+    @ApiResponse(responseCode = "400", description = "Invalid cursor")
+    @ApiResponse(responseCode = "403", description = "Access denied - user is not an organizer")
+    @GetMapping("/bookings/cursor")
+    @PreAuthorize("hasRole('ORGANIZER')")
+    public ResponseEntity<CursorPage<BookingDto>> getOrganizerBookingsByCursor(
+            @RequestHeader("X-User-Id") UUID organizerId,
+            @Parameter(description = "Filter by event ID") @RequestParam(required = false) UUID eventId,
+            @Parameter(description = "Filter by booking status") @RequestParam(required = false) BookingStatus status,
+            @Parameter(description = "nextCursor of the previous page") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size") @RequestParam(defaultValue = "20") int size) {
+        
+        CursorPage<BookingDto> bookings = bookingService.getBookingsByOrganizerAfter(
+                organizerId, eventId, status, cursor, size);
+        return ResponseEntity.ok(bookings);
+    }
+    
     /**
      * Update booking status (organizer can change status of bookings for their events)
      */
@@ -110,18 +132,14 @@ public class OrganizerController {
     @ApiResponse(responseCode = "200", description = "Statistics retrieved successfully")
     @GetMapping("/bookings/statistics")
     @PreAuthorize("hasRole('ORGANIZER')")
-    public ResponseEntity<?> getBookingStatistics(
+    public ResponseEntity<BookingStatisticsDto> getBookingStatistics(
             @RequestHeader("X-User-Id") UUID organizerId,
             @Parameter(description = "Filter by event ID") @RequestParam(required = false) UUID eventId) {
         
         log.info("Getting booking statistics for organizer {} and event {}", organizerId, eventId);
         
-        // This would return aggregated statistics like:
-        // - Total bookings count
-        // - Bookings by status
-        // - Revenue statistics
-        // - Popular events
-        var statistics = bookingService.getBookingStatistics(organizerId, eventId);
+        // Counts by status, revenue and capacity utilization from the precomputed counters
+        BookingStatisticsDto statistics = bookingService.getBookingStatistics(organizerId, eventId);
         
         return ResponseEntity.ok(statistics);
     }
@@ -5,14 +5,21 @@ import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
+import org.aquastream.event.dto.CursorPage;
 import org.aquastream.event.dto.EventDto;
 import org.aquastream.event.dto.FaqItemDto;
 import org.aquastream.event.dto.OrganizerDetailDto;
 import org.aquastream.event.dto.OrganizerDto;
 import org.aquastream.event.dto.PagedResponse;
 import org.aquastream.event.dto.TeamMemberDto;
+import org.aquastream.event.service.CachedPublicEventService;
+import org.aquastream.event.service.EventSearchService;
 import org.aquastream.event.service.PublicEventService;
+import org.aquastream.event.service.PublicResponseCache.CachedResponse;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -28,6 +35,8 @@ import java.util.UUID;
 public class PublicEventController {
 
     private final PublicEventService publicEventService;
+    private final EventSearchService eventSearchService;
+    private final CachedPublicEventService cachedPublicEventService;
 
     @Operation(summary = "Get organizers", description = "Retrieve paginated list of event organizers")
     @ApiResponse(responseCode = "200", description = "List of organizers retrieved successfully")
@@ -43,10 +52,12 @@ public class PublicEventController {
 
     @Operation(summary = "Get organizer details", description = "Get detailed information about specific organizer")
     @ApiResponse(responseCode = "200", description = "Organizer details retrieved successfully")
+    @ApiResponse(responseCode = "304", description = "Not modified since the ETag in If-None-Match")
     @GetMapping("/organizers/{slug}")
-    public ResponseEntity<OrganizerDetailDto> getOrganizerBySlug(@Parameter(description = "Organizer slug") @PathVariable String slug) {
-        OrganizerDetailDto organizer = publicEventService.getOrganizerBySlug(slug);
-        return ResponseEntity.ok(organizer);
+    public ResponseEntity<OrganizerDetailDto> getOrganizerBySlug(
+            @Parameter(description = "Organizer slug") @PathVariable String slug,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return toResponse(cachedPublicEventService.getOrganizerBySlug(slug, ifNoneMatch));
     }
 
     @GetMapping("/organizers/{slug}/events")
@@ -67,10 +78,42 @@ public class PublicEventController {
         return ResponseEntity.ok(response);
     }
 
+    @Operation(summary = "Get organizer events by cursor",
+            description = "Events in start date order; pass nextCursor of a page as cursor to get the next one")
+    @ApiResponse(responseCode = "200", description = "Page of events")
+    @ApiResponse(responseCode = "400", description = "Invalid cursor")
+    @GetMapping("/organizers/{slug}/events/cursor")
+    public ResponseEntity<CursorPage<EventDto>> getOrganizerEventsByCursor(
+            @PathVariable String slug,
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) String type,
+            @RequestParam(required = false) BigDecimal minPrice,
+            @RequestParam(required = false) BigDecimal maxPrice,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant dateFrom,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant dateTo,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        
+        CursorPage<EventDto> response = publicEventService.getOrganizerEventsAfter(
+                slug, status, type, minPrice, maxPrice, dateFrom, dateTo, cursor, size
+        );
+        return ResponseEntity.ok(response);
+    }
+
+    @Operation(summary = "Get popular events",
+            description = "Published events ranked by favorites, recent favorites weigh more (at most 50)")
+    @ApiResponse(responseCode = "200", description = "Popular events, most popular first")
+    @GetMapping("/events/popular")
+    public ResponseEntity<List<EventDto>> getPopularEvents(
+            @Parameter(description = "Number of events") @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(publicEventService.getPopularEvents(limit));
+    }
+
     @GetMapping("/events/{id}")
-    public ResponseEntity<EventDto> getEventById(@PathVariable UUID id) {
-        EventDto event = publicEventService.getEventById(id);
-        return ResponseEntity.ok(event);
+    public ResponseEntity<EventDto> getEventById(
+            @PathVariable UUID id,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return toResponse(cachedPublicEventService.getEventById(id, ifNoneMatch));
     }
 
     @GetMapping("/events")
@@ -83,10 +126,33 @@ public class PublicEventController {
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant dateTo,
             @RequestParam(required = false) String search,
             @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        
+        return toResponse(cachedPublicEventService.getEvents(
+                status, type, minPrice, maxPrice, dateFrom, dateTo, search, page, size, ifNoneMatch
+        ));
+    }
+    
+    @Operation(summary = "Search events",
+            description = "Full-text search over title, tags and description ranked by relevance; without q events "
+                    + "are listed by start date. Pass nextCursor of a page as cursor to get the next one")
+    @ApiResponse(responseCode = "200", description = "Page of matching events")
+    @ApiResponse(responseCode = "400", description = "Invalid cursor")
+    @GetMapping("/events/search")
+    public ResponseEntity<CursorPage<EventDto>> searchEvents(
+            @RequestParam(required = false) String q,
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) String type,
+            @RequestParam(required = false) BigDecimal minPrice,
+            @RequestParam(required = false) BigDecimal maxPrice,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant dateFrom,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant dateTo,
+            @RequestParam(required = false) String cursor,
             @RequestParam(defaultValue = "20") int size) {
         
-        PagedResponse<EventDto> response = publicEventService.getEvents(
-                status, type, minPrice, maxPrice, dateFrom, dateTo, search, page, size
+        CursorPage<EventDto> response = eventSearchService.search(
+                q, status, type, minPrice, maxPrice, dateFrom, dateTo, cursor, size
         );
         return ResponseEntity.ok(response);
     }
@@ -97,9 +163,10 @@ public class PublicEventController {
     @Operation(summary = "Get organizer team", description = "Get team members for specific organizer")
     @ApiResponse(responseCode = "200", description = "Team members retrieved successfully")
     @GetMapping("/organizers/{slug}/team")
-    public ResponseEntity<List<TeamMemberDto>> getOrganizerTeam(@Parameter(description = "Organizer slug") @PathVariable String slug) {
-        List<TeamMemberDto> teamMembers = publicEventService.getOrganizerTeam(slug);
-        return ResponseEntity.ok(teamMembers);
+    public ResponseEntity<List<TeamMemberDto>> getOrganizerTeam(
+            @Parameter(description = "Organizer slug") @PathVariable String slug,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return toResponse(cachedPublicEventService.getOrganizerTeam(slug, ifNoneMatch));
     }
     
     /**
@@ -108,8 +175,26 @@ public class PublicEventController {
     @Operation(summary = "Get organizer FAQ", description = "Get FAQ items for specific organizer")
     @ApiResponse(responseCode = "200", description = "FAQ items retrieved successfully")
     @GetMapping("/organizers/{slug}/faq")
-    public ResponseEntity<List<FaqItemDto>> getOrganizerFaq(@Parameter(description = "Organizer slug") @PathVariable String slug) {
-        List<FaqItemDto> faqItems = publicEventService.getOrganizerFaq(slug);
-        return ResponseEntity.ok(faqItems);
+    public ResponseEntity<List<FaqItemDto>> getOrganizerFaq(
+            @Parameter(description = "Organizer slug") @PathVariable String slug,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return toResponse(cachedPublicEventService.getOrganizerFaq(slug, ifNoneMatch));
+    }
+
+    /**
+     * 200 with the body or 304, both with the ETag; clients revalidate on every use since seat counts
+     * in the body change independently of the cached content
+     */
+    private static <T> ResponseEntity<T> toResponse(CachedResponse<T> response) {
+        if (response.notModified()) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(response.etag())
+                    .cacheControl(CacheControl.noCache())
+                    .build();
+        }
+        return ResponseEntity.ok()
+                .eTag(response.etag())
+                .cacheControl(CacheControl.noCache())
+                .body(response.body());
     }
 }
\ No newline at end of file
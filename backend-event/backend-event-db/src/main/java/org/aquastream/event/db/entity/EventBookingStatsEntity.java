@@ -0,0 +1,55 @@
+package org.aquastream.event.db.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Booking counters of one event by status, plus revenue of its CONFIRMED and COMPLETED bookings.
+ *
+ * Rows are created and changed only by the atomic upserts of EventBookingStatsRepository, in the
+ * transaction of the booking transition they count; organizer figures are sums over the organizer's rows.
+ */
+@Entity
+@Table(name = "event_booking_stats", schema = "event")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class EventBookingStatsEntity {
+
+    @Id
+    @Column(name = "event_id")
+    private UUID eventId;
+
+    @Column(name = "organizer_id", nullable = false)
+    private UUID organizerId;
+
+    @Column(name = "pending", nullable = false)
+    private int pending;
+
+    @Column(name = "confirmed", nullable = false)
+    private int confirmed;
+
+    @Column(name = "completed", nullable = false)
+    private int completed;
+
+    @Column(name = "expired", nullable = false)
+    private int expired;
+
+    @Column(name = "cancelled", nullable = false)
+    private int cancelled;
+
+    @Column(name = "no_show", nullable = false)
+    private int noShow;
+
+    @Column(name = "revenue", nullable = false, precision = 14, scale = 2)
+    private BigDecimal revenue;
+
+    @Column(name = "updated_at", nullable = false)
+    private Instant updatedAt;
+}
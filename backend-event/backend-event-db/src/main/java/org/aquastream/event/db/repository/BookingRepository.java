@@ -4,6 +4,7 @@ import org.aquastream.common.domain.BookingStatus;
 import org.aquastream.event.db.entity.BookingEntity;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
@@ -11,6 +12,7 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -73,12 +75,33 @@ public interface BookingRepository extends JpaRepository<BookingEntity, UUID> {
                                                      Pageable pageable);
     
     /**
-     * Find expired PENDING bookings for automatic cleanup
+     * Expire up to :limit PENDING bookings past their expiration time for automatic cleanup.
+     * Rows locked by a concurrent run are skipped and only bookings still PENDING change, so concurrent
+     * and repeated runs never expire a booking twice. Returns (id, event_id, expires_at) of each expired booking.
      */
-    @Query("SELECT b FROM BookingEntity b " +
+    @Query(value = """
+            WITH expired AS (
+                SELECT id FROM "event".bookings
+                WHERE status = 'PENDING' AND expires_at < :now
+                ORDER BY expires_at
+                LIMIT :limit
+                FOR UPDATE SKIP LOCKED
+            )
+            UPDATE "event".bookings b
+            SET status = 'EXPIRED', updated_at = :now
+            FROM expired x
+            WHERE b.id = x.id AND b.status = 'PENDING'
+            RETURNING b.id, b.event_id, b.expires_at
+            """, nativeQuery = true)
+    List<Object[]> expirePendingBookings(@Param("now") Instant now, @Param("limit") int limit);
+    
+    /**
+     * Expiration time of the oldest PENDING booking already past it (lag of the expiration job)
+     */
+    @Query("SELECT MIN(b.expiresAt) FROM BookingEntity b " +
            "WHERE b.status = 'PENDING' " +
            "AND b.expiresAt < :now")
-    List<BookingEntity> findExpiredPendingBookings(@Param("now") Instant now);
+    Instant findOldestExpiredPendingAt(@Param("now") Instant now);
     
     /**
      * Count active bookings for an event (for capacity management)
@@ -169,6 +192,62 @@ public interface BookingRepository extends JpaRepository<BookingEntity, UUID> {
             @Param("status") BookingStatus status, 
             Pageable pageable);
     
+    // ===== KEYSET PAGINATION =====
+    
+    /**
+     * Keyset page of a user's bookings, newest first, after (:afterCreatedAt, :afterId)
+     * (ix_bookings_user_created). Returns (id, created_at).
+     */
+    @Query(value = """
+            SELECT b.id, b.created_at FROM "event".bookings b
+            WHERE b.user_id = :userId
+              AND (CAST(:status AS text) IS NULL OR b.status = :status)
+              AND (CAST(:afterCreatedAt AS timestamptz) IS NULL
+                   OR (b.created_at, b.id) < (CAST(:afterCreatedAt AS timestamptz), CAST(:afterId AS uuid)))
+            ORDER BY b.created_at DESC, b.id DESC
+            LIMIT :limit
+            """, nativeQuery = true)
+    List<Object[]> findUserBookingIdsAfter(@Param("userId") UUID userId,
+                                           @Param("status") String status,
+                                           @Param("afterCreatedAt") Instant afterCreatedAt,
+                                           @Param("afterId") UUID afterId,
+                                           @Param("limit") int limit);
+    
+    /**
+     * Keyset page of bookings across an organizer's events, newest first, after (:afterCreatedAt, :afterId).
+     * Each event contributes at most :limit rows read from ix_bookings_event_created, so the cost depends on
+     * the number of events and the page size, not on how deep the page is. Returns (id, created_at).
+     */
+    @Query(value = """
+            SELECT b.id, b.created_at FROM "event".events e
+            CROSS JOIN LATERAL (
+                SELECT eb.id, eb.created_at FROM "event".bookings eb
+                WHERE eb.event_id = e.id
+                  AND (CAST(:status AS text) IS NULL OR eb.status = :status)
+                  AND (CAST(:afterCreatedAt AS timestamptz) IS NULL
+                       OR (eb.created_at, eb.id) < (CAST(:afterCreatedAt AS timestamptz), CAST(:afterId AS uuid)))
+                ORDER BY eb.created_at DESC, eb.id DESC
+                LIMIT :limit
+            ) b
+            WHERE e.organizer_id = :organizerId
+              AND (CAST(:eventId AS uuid) IS NULL OR e.id = :eventId)
+            ORDER BY b.created_at DESC, b.id DESC
+            LIMIT :limit
+            """, nativeQuery = true)
+    List<Object[]> findOrganizerBookingIdsAfter(@Param("organizerId") UUID organizerId,
+                                                @Param("eventId") UUID eventId,
+                                                @Param("status") String status,
+                                                @Param("afterCreatedAt") Instant afterCreatedAt,
+                                                @Param("afterId") UUID afterId,
+                                                @Param("limit") int limit);
+    
+    /**
+     * Bookings of a keyset page with their events and organizers, in no particular order
+     */
+    @EntityGraph(attributePaths = {"event", "event.organizer"})
+    @Query("SELECT b FROM BookingEntity b WHERE b.id IN :bookingIds")
+    List<BookingEntity> findWithEventByIdIn(@Param("bookingIds") Collection<UUID> bookingIds);
+    
     /**
      * Get booking statistics by organizer (count by status)
      */
@@ -0,0 +1,135 @@
+package org.aquastream.event.db.repository;
+
+import org.aquastream.event.db.entity.EventBookingStatsEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+public interface EventBookingStatsRepository extends JpaRepository<EventBookingStatsEntity, UUID> {
+
+    // Add the i-th deltas to the counters of :eventIds[i], creating missing rows; the increments are done by
+    // the database, so concurrent transitions of one event never lose an update. Rows are touched in event id
+    // order so that transactions updating several events cannot deadlock.
+    @Modifying
+    @Query(value = """
+            INSERT INTO "event".event_booking_stats AS s (event_id, organizer_id, pending, confirmed, completed,
+                                                          expired, cancelled, no_show, revenue)
+            SELECT d.event_id, e.organizer_id, d.pending, d.confirmed, d.completed, d.expired, d.cancelled,
+                   d.no_show, d.revenue
+            FROM unnest(CAST(:eventIds AS uuid[]), CAST(:pending AS int[]), CAST(:confirmed AS int[]),
+                        CAST(:completed AS int[]), CAST(:expired AS int[]), CAST(:cancelled AS int[]),
+                        CAST(:noShow AS int[]), CAST(:revenue AS numeric[]))
+                 AS d(event_id, pending, confirmed, completed, expired, cancelled, no_show, revenue)
+            JOIN "event".events e ON e.id = d.event_id
+            ORDER BY d.event_id
+            ON CONFLICT (event_id) DO UPDATE SET
+                pending = s.pending + EXCLUDED.pending,
+                confirmed = s.confirmed + EXCLUDED.confirmed,
+                completed = s.completed + EXCLUDED.completed,
+                expired = s.expired + EXCLUDED.expired,
+                cancelled = s.cancelled + EXCLUDED.cancelled,
+                no_show = s.no_show + EXCLUDED.no_show,
+                revenue = s.revenue + EXCLUDED.revenue,
+                updated_at = NOW()
+            """, nativeQuery = true)
+    int applyDeltas(@Param("eventIds") UUID[] eventIds,
+                    @Param("pending") Integer[] pending,
+                    @Param("confirmed") Integer[] confirmed,
+                    @Param("completed") Integer[] completed,
+                    @Param("expired") Integer[] expired,
+                    @Param("cancelled") Integer[] cancelled,
+                    @Param("noShow") Integer[] noShow,
+                    @Param("revenue") BigDecimal[] revenue);
+
+    // Totals over an organizer's events, or one of them: (events, capacity, pending, confirmed, completed,
+    // expired, cancelled, no_show, revenue). Events without bookings have no counters and count as zeros.
+    @Query(value = """
+            SELECT COUNT(e.id),
+                   COALESCE(SUM(e.capacity), 0),
+                   COALESCE(SUM(s.pending), 0),
+                   COALESCE(SUM(s.confirmed), 0),
+                   COALESCE(SUM(s.completed), 0),
+                   COALESCE(SUM(s.expired), 0),
+                   COALESCE(SUM(s.cancelled), 0),
+                   COALESCE(SUM(s.no_show), 0),
+                   COALESCE(SUM(s.revenue), 0)
+            FROM "event".events e
+            LEFT JOIN "event".event_booking_stats s ON s.event_id = e.id
+            WHERE e.organizer_id = :organizerId
+              AND (CAST(:eventId AS uuid) IS NULL OR e.id = :eventId)
+            """, nativeQuery = true)
+    List<Object[]> summarize(@Param("organizerId") UUID organizerId, @Param("eventId") UUID eventId);
+
+    // ===== RECONCILIATION =====
+
+    // Next chunk of event ids in id order after :afterId (null for the first chunk)
+    @Query(value = """
+            SELECT e.id FROM "event".events e
+            WHERE CAST(:afterId AS uuid) IS NULL OR e.id > CAST(:afterId AS uuid)
+            ORDER BY e.id
+            LIMIT :limit
+            """, nativeQuery = true)
+    List<UUID> findEventIdsAfter(@Param("afterId") UUID afterId, @Param("limit") int limit);
+
+    // Create empty counters for events of the chunk that have bookings but no row yet
+    @Modifying
+    @Query(value = """
+            INSERT INTO "event".event_booking_stats (event_id, organizer_id)
+            SELECT e.id, e.organizer_id FROM "event".events e
+            WHERE e.id = ANY(CAST(:eventIds AS uuid[]))
+              AND EXISTS (SELECT 1 FROM "event".bookings b WHERE b.event_id = e.id)
+            ORDER BY e.id
+            ON CONFLICT (event_id) DO NOTHING
+            """, nativeQuery = true)
+    int insertMissing(@Param("eventIds") UUID[] eventIds);
+
+    // Lock the counters of the chunk in id order; waits for transitions that already changed them to commit
+    @Query(value = """
+            SELECT s.event_id FROM "event".event_booking_stats s
+            WHERE s.event_id = ANY(CAST(:eventIds AS uuid[]))
+            ORDER BY s.event_id
+            FOR UPDATE
+            """, nativeQuery = true)
+    List<UUID> lockByEventIds(@Param("eventIds") UUID[] eventIds);
+
+    // Overwrite counters of the chunk that differ from a GROUP BY over the committed bookings; returns the
+    // number of corrected events. Run after lockByEventIds in the same transaction.
+    @Modifying
+    @Query(value = """
+            UPDATE "event".event_booking_stats s
+            SET organizer_id = a.organizer_id,
+                pending = a.pending,
+                confirmed = a.confirmed,
+                completed = a.completed,
+                expired = a.expired,
+                cancelled = a.cancelled,
+                no_show = a.no_show,
+                revenue = a.revenue,
+                updated_at = NOW()
+            FROM (
+                SELECT e.id AS event_id,
+                       e.organizer_id,
+                       COUNT(b.id) FILTER (WHERE b.status = 'PENDING') AS pending,
+                       COUNT(b.id) FILTER (WHERE b.status = 'CONFIRMED') AS confirmed,
+                       COUNT(b.id) FILTER (WHERE b.status = 'COMPLETED') AS completed,
+                       COUNT(b.id) FILTER (WHERE b.status = 'EXPIRED') AS expired,
+                       COUNT(b.id) FILTER (WHERE b.status = 'CANCELLED') AS cancelled,
+                       COUNT(b.id) FILTER (WHERE b.status = 'NO_SHOW') AS no_show,
+                       COALESCE(SUM(b.amount) FILTER (WHERE b.status IN ('CONFIRMED', 'COMPLETED')), 0) AS revenue
+                FROM "event".events e
+                LEFT JOIN "event".bookings b ON b.event_id = e.id
+                WHERE e.id = ANY(CAST(:eventIds AS uuid[]))
+                GROUP BY e.id, e.organizer_id
+            ) a
+            WHERE s.event_id = a.event_id
+              AND (s.organizer_id, s.pending, s.confirmed, s.completed, s.expired, s.cancelled, s.no_show, s.revenue)
+                  IS DISTINCT FROM
+                  (a.organizer_id, a.pending, a.confirmed, a.completed, a.expired, a.cancelled, a.no_show, a.revenue)
+            """, nativeQuery = true)
+    int reconcile(@Param("eventIds") UUID[] eventIds);
+}
@@ -3,13 +3,17 @@ package org.aquastream.event.db.repository;
 import org.aquastream.event.db.entity.EventEntity;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
 import java.math.BigDecimal;
 import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 public interface EventRepository extends JpaRepository<EventEntity, UUID> {
@@ -33,6 +37,8 @@ public interface EventRepository extends JpaRepository<EventEntity, UUID> {
             Pageable pageable
     );
 
+    // Organizer is fetched in the same query; the public catalog renders it for every event
+    @EntityGraph(attributePaths = "organizer")
     @Query("SELECT e FROM EventEntity e " +
            "WHERE (:status IS NULL OR e.status = :status) " +
            "AND (:type IS NULL OR e.type = :type) " +
@@ -52,6 +58,95 @@ public interface EventRepository extends JpaRepository<EventEntity, UUID> {
             Pageable pageable
     );
 
+    // Full-text search plan: events whose weighted search_vector matches the prefix :tsquery (ix_events_search)
+    // or whose title contains a word trigram-similar to :text (ix_events_title_trgm, tolerates typos), ranked
+    // by relevance. Keyset pagination on (rank, id) descending after (:afterRank, :afterId); returns (id, rank).
+    @Query(value = """
+            SELECT r.id, r.rank FROM (
+                SELECT e.id,
+                       CAST(ts_rank_cd(e.search_vector, q.query) + word_similarity(:text, lower(e.title)) AS real) AS rank
+                FROM "event".events e, to_tsquery('russian', :tsquery) AS q(query)
+                WHERE (e.search_vector @@ q.query OR :text <% lower(e.title))
+                  AND (CAST(:status AS text) IS NULL OR e.status = :status)
+                  AND (CAST(:type AS text) IS NULL OR e.type = :type)
+                  AND (CAST(:minPrice AS numeric) IS NULL OR e.price >= :minPrice)
+                  AND (CAST(:maxPrice AS numeric) IS NULL OR e.price <= :maxPrice)
+                  AND (CAST(:dateFrom AS timestamptz) IS NULL OR e.date_start >= :dateFrom)
+                  AND (CAST(:dateTo AS timestamptz) IS NULL OR e.date_start <= :dateTo)
+            ) r
+            WHERE CAST(:afterRank AS real) IS NULL
+               OR (r.rank, r.id) < (CAST(:afterRank AS real), CAST(:afterId AS uuid))
+            ORDER BY r.rank DESC, r.id DESC
+            LIMIT :limit
+            """, nativeQuery = true)
+    List<Object[]> searchIdsByText(@Param("tsquery") String tsquery,
+                                   @Param("text") String text,
+                                   @Param("status") String status,
+                                   @Param("type") String type,
+                                   @Param("minPrice") BigDecimal minPrice,
+                                   @Param("maxPrice") BigDecimal maxPrice,
+                                   @Param("dateFrom") Instant dateFrom,
+                                   @Param("dateTo") Instant dateTo,
+                                   @Param("afterRank") Float afterRank,
+                                   @Param("afterId") UUID afterId,
+                                   @Param("limit") int limit);
+
+    // Filter-only plan: events in date order (ix_events_date_start_id), keyset pagination on (date_start, id)
+    // after (:afterDate, :afterId); returns (id, date_start)
+    @Query(value = """
+            SELECT e.id, e.date_start FROM "event".events e
+            WHERE (CAST(:status AS text) IS NULL OR e.status = :status)
+              AND (CAST(:type AS text) IS NULL OR e.type = :type)
+              AND (CAST(:minPrice AS numeric) IS NULL OR e.price >= :minPrice)
+              AND (CAST(:maxPrice AS numeric) IS NULL OR e.price <= :maxPrice)
+              AND (CAST(:dateFrom AS timestamptz) IS NULL OR e.date_start >= :dateFrom)
+              AND (CAST(:dateTo AS timestamptz) IS NULL OR e.date_start <= :dateTo)
+              AND (CAST(:afterDate AS timestamptz) IS NULL
+                   OR (e.date_start, e.id) > (CAST(:afterDate AS timestamptz), CAST(:afterId AS uuid)))
+            ORDER BY e.date_start, e.id
+            LIMIT :limit
+            """, nativeQuery = true)
+    List<Object[]> searchIdsByFilters(@Param("status") String status,
+                                      @Param("type") String type,
+                                      @Param("minPrice") BigDecimal minPrice,
+                                      @Param("maxPrice") BigDecimal maxPrice,
+                                      @Param("dateFrom") Instant dateFrom,
+                                      @Param("dateTo") Instant dateTo,
+                                      @Param("afterDate") Instant afterDate,
+                                      @Param("afterId") UUID afterId,
+                                      @Param("limit") int limit);
+
+    // An organizer's events in date order (ix_events_organizer_date_start_id), keyset pagination on
+    // (date_start, id) after (:afterDate, :afterId); returns (id, date_start)
+    @Query(value = """
+            SELECT e.id, e.date_start FROM "event".events e
+            WHERE e.organizer_id = :organizerId
+              AND (CAST(:status AS text) IS NULL OR e.status = :status)
+              AND (CAST(:type AS text) IS NULL OR e.type = :type)
+              AND (CAST(:minPrice AS numeric) IS NULL OR e.price >= :minPrice)
+              AND (CAST(:maxPrice AS numeric) IS NULL OR e.price <= :maxPrice)
+              AND (CAST(:dateFrom AS timestamptz) IS NULL OR e.date_start >= :dateFrom)
+              AND (CAST(:dateTo AS timestamptz) IS NULL OR e.date_start <= :dateTo)
+              AND (CAST(:afterDate AS timestamptz) IS NULL
+                   OR (e.date_start, e.id) > (CAST(:afterDate AS timestamptz), CAST(:afterId AS uuid)))
+            ORDER BY e.date_start, e.id
+            LIMIT :limit
+            """, nativeQuery = true)
+    List<Object[]> findOrganizerEventIdsAfter(@Param("organizerId") UUID organizerId,
+                                              @Param("status") String status,
+                                              @Param("type") String type,
+                                              @Param("minPrice") BigDecimal minPrice,
+                                              @Param("maxPrice") BigDecimal maxPrice,
+                                              @Param("dateFrom") Instant dateFrom,
+                                              @Param("dateTo") Instant dateTo,
+                                              @Param("afterDate") Instant afterDate,
+                                              @Param("afterId") UUID afterId,
+                                              @Param("limit") int limit);
+
+    @EntityGraph(attributePaths = "organizer")
+    @Query("SELECT e FROM EventEntity e WHERE e.id IN :eventIds")
+    List<EventEntity> findWithOrganizerByIdIn(@Param("eventIds") Collection<UUID> eventIds);
+
     @Query("SELECT e FROM EventEntity e " +
            "WHERE e.status = 'PUBLISHED' " +
            "AND e.dateStart > CURRENT_TIMESTAMP " +
@@ -61,4 +156,79 @@ public interface EventRepository extends JpaRepository<EventEntity, UUID> {
     Page<EventEntity> findByOrganizerSlug(String organizerSlug, Pageable pageable);
 
     long countByOrganizerSlug(String organizerSlug);
+
+    // Event counts of several organizers in one grouped query; organizers without events are absent
+    @Query("SELECT e.organizerSlug, COUNT(e) FROM EventEntity e " +
+           "WHERE e.organizerSlug IN :organizerSlugs " +
+           "GROUP BY e.organizerSlug")
+    List<Object[]> countByOrganizerSlugs(@Param("organizerSlugs") Collection<String> organizerSlugs);
+
+    @EntityGraph(attributePaths = "organizer")
+    @Query("SELECT e FROM EventEntity e WHERE e.id = :eventId")
+    Optional<EventEntity> findWithOrganizerById(@Param("eventId") UUID eventId);
+
+    // Remaining seats of several events; returns (id, available)
+    @Query("SELECT e.id, e.available FROM EventEntity e WHERE e.id IN :eventIds")
+    List<Object[]> findAvailableByIdIn(@Param("eventIds") Collection<UUID> eventIds);
+
+    // Take one seat if any is left; returns the seats remaining after it, empty when the event is sold out
+    @Query(value = """
+            UPDATE "event".events SET available = available - 1
+            WHERE id = :eventId AND available > 0
+            RETURNING available
+            """, nativeQuery = true)
+    List<Integer> reserveSeat(@Param("eventId") UUID eventId);
+
+    // Take seats back for bookings that became active again outside of booking creation
+    @Modifying
+    @Query(value = """
+            UPDATE "event".events SET available = GREATEST(available - :count, 0)
+            WHERE id = :eventId
+            """, nativeQuery = true)
+    int reclaimSeats(@Param("eventId") UUID eventId, @Param("count") int count);
+
+    // Lock events in id order before their seats are recomputed
+    @Query(value = """
+            SELECT e.id FROM "event".events e
+            WHERE e.id = ANY(CAST(:eventIds AS uuid[]))
+            ORDER BY e.id
+            FOR UPDATE
+            """, nativeQuery = true)
+    List<UUID> lockByIds(@Param("eventIds") UUID[] eventIds);
+
+    // Set available to capacity minus the active bookings where it differs; returns (id, available) of the
+    // corrected events. Run after lockByIds in the same transaction, so every booking that already took or
+    // returned a seat is committed and counted.
+    @Query(value = """
+            UPDATE "event".events e
+            SET available = GREATEST(e.capacity - a.active, 0)
+            FROM (
+                SELECT ev.id AS event_id, COUNT(b.id) AS active
+                FROM unnest(CAST(:eventIds AS uuid[])) AS ev(id)
+                LEFT JOIN "event".bookings b ON b.event_id = ev.id AND b.status IN ('PENDING', 'CONFIRMED')
+                GROUP BY ev.id
+            ) a
+            WHERE e.id = a.event_id AND e.available <> GREATEST(e.capacity - a.active, 0)
+            RETURNING e.id, e.available
+            """, nativeQuery = true)
+    List<Object[]> reconcileAvailable(@Param("eventIds") UUID[] eventIds);
+
+    // Return :counts[i] seats to :eventIds[i], never above capacity; events are locked in id order
+    // so that concurrent releases touching the same events cannot deadlock
+    @Modifying
+    @Query(value = """
+            WITH released AS (
+                SELECT * FROM unnest(CAST(:eventIds AS uuid[]), CAST(:counts AS int[])) AS r(event_id, seats)
+            ), locked AS (
+                SELECT e.id FROM "event".events e
+                WHERE e.id IN (SELECT event_id FROM released)
+                ORDER BY e.id
+                FOR UPDATE
+            )
+            UPDATE "event".events e
+            SET available = LEAST(e.capacity, e.available + r.seats)
+            FROM released r
+            WHERE e.id = r.event_id AND e.id IN (SELECT id FROM locked)
+            """, nativeQuery = true)
+    int releaseCapacity(@Param("eventIds") UUID[] eventIds, @Param("counts") Integer[] counts);
 }
\ No newline at end of file
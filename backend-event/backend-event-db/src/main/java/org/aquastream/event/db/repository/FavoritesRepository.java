@@ -7,6 +7,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
 import java.util.List;
 import java.util.UUID;
 
@@ -58,29 +59,195 @@ public interface FavoritesRepository extends JpaRepository<FavoritesEntity, Favo
     @Query("DELETE FROM FavoritesEntity f WHERE f.id.userId = :userId AND f.id.eventId = :eventId")
     int deleteByUserIdAndEventId(@Param("userId") UUID userId, @Param("eventId") UUID eventId);
     
+    // ===== COUNTERS =====
+    
     /**
-     * Remove all favorites for a specific event.
-     * Used when event is deleted or cancelled.
+     * Add :delta to the favorites counters of the event and of the user, creating missing rows.
+     * Increments are done by the database, so concurrent adds never lose an update. Returns the new
+     * counter of the event.
      */
-    @Modifying
-    @Query("DELETE FROM FavoritesEntity f WHERE f.id.eventId = :eventId")
-    int deleteByEventId(@Param("eventId") UUID eventId);
+    @Query(value = """
+            WITH event_count AS (
+                INSERT INTO "event".event_favorite_counts AS c (event_id, favorites)
+                VALUES (:eventId, :delta)
+                ON CONFLICT (event_id) DO UPDATE SET favorites = c.favorites + EXCLUDED.favorites, updated_at = NOW()
+                RETURNING c.favorites
+            ), user_count AS (
+                INSERT INTO "event".user_favorite_counts AS c (user_id, favorites)
+                VALUES (:userId, :delta)
+                ON CONFLICT (user_id) DO UPDATE SET favorites = c.favorites + EXCLUDED.favorites, updated_at = NOW()
+            )
+            SELECT favorites FROM event_count
+            """, nativeQuery = true)
+    Integer addToCounts(@Param("userId") UUID userId, @Param("eventId") UUID eventId, @Param("delta") int delta);
+    
+    // Counter read by the favorites count endpoints; 0 for events never favorited
+    @Query(value = """
+            SELECT CAST(COALESCE((SELECT favorites FROM "event".event_favorite_counts WHERE event_id = :eventId), 0) AS bigint)
+            """, nativeQuery = true)
+    long findEventFavoriteCount(@Param("eventId") UUID eventId);
+    
+    @Query(value = """
+            SELECT CAST(COALESCE((SELECT favorites FROM "event".user_favorite_counts WHERE user_id = :userId), 0) AS bigint)
+            """, nativeQuery = true)
+    long findUserFavoriteCount(@Param("userId") UUID userId);
     
     /**
-     * Remove all favorites for a specific user.
-     * Used when user account is deleted.
+     * Remove all favorites of a user together with the user's counter, decrementing the counters of the
+     * events. Returns (event_id, created_at, remaining favorites of the event) of each removed favorite.
      */
-    @Modifying
-    @Query("DELETE FROM FavoritesEntity f WHERE f.id.userId = :userId")
-    int deleteByUserId(@Param("userId") UUID userId);
+    @Query(value = """
+            WITH removed AS (
+                DELETE FROM "event".favorites WHERE user_id = :userId
+                RETURNING event_id, created_at
+            ), event_counts AS (
+                UPDATE "event".event_favorite_counts c
+                SET favorites = c.favorites - 1, updated_at = NOW()
+                FROM removed r
+                WHERE c.event_id = r.event_id
+                RETURNING c.event_id, c.favorites
+            ), user_count AS (
+                DELETE FROM "event".user_favorite_counts WHERE user_id = :userId
+            )
+            SELECT r.event_id, r.created_at, COALESCE(e.favorites, 0)
+            FROM removed r
+            LEFT JOIN event_counts e ON e.event_id = r.event_id
+            """, nativeQuery = true)
+    List<Object[]> removeAllOfUser(@Param("userId") UUID userId);
     
     /**
-     * Find events that are favorited by multiple users (popular events).
-     * Returns event IDs ordered by favorites count (most popular first).
+     * Remove all favorites of an event together with the event's counter, decrementing the counters of the
+     * users. Returns the number of removed favorites.
      */
-    @Query("SELECT f.id.eventId, COUNT(f) as favCount FROM FavoritesEntity f " +
-           "GROUP BY f.id.eventId " +
-           "HAVING COUNT(f) >= :minFavorites " +
-           "ORDER BY favCount DESC")
-    List<Object[]> findPopularEvents(@Param("minFavorites") Long minFavorites);
+    @Query(value = """
+            WITH removed AS (
+                DELETE FROM "event".favorites WHERE event_id = :eventId
+                RETURNING user_id
+            ), user_counts AS (
+                UPDATE "event".user_favorite_counts c
+                SET favorites = c.favorites - 1, updated_at = NOW()
+                FROM removed r
+                WHERE c.user_id = r.user_id
+            ), event_count AS (
+                DELETE FROM "event".event_favorite_counts WHERE event_id = :eventId
+            )
+            SELECT COUNT(*) FROM removed
+            """, nativeQuery = true)
+    long removeAllOfEvent(@Param("eventId") UUID eventId);
+    
+    // ===== POPULAR EVENTS =====
+    
+    /**
+     * Top :limit events by favorites decayed with a half-life of :halfLifeSeconds: every favorite weighs
+     * 2^((created_at - :epoch) / half-life). Returns (event_id, score); used to rebuild the Redis ranking and
+     * as its fallback.
+     */
+    @Query(value = """
+            SELECT f.event_id,
+                   SUM(power(2, CAST(EXTRACT(EPOCH FROM f.created_at - CAST(:epoch AS timestamptz)) AS double precision)
+                                / :halfLifeSeconds)) AS score
+            FROM "event".favorites f
+            GROUP BY f.event_id
+            ORDER BY score DESC
+            LIMIT :limit
+            """, nativeQuery = true)
+    List<Object[]> findTopByDecayedScore(@Param("epoch") Instant epoch,
+                                         @Param("halfLifeSeconds") double halfLifeSeconds,
+                                         @Param("limit") int limit);
+    
+    // ===== RECONCILIATION =====
+    
+    // Next chunk of user ids after :afterId that have favorites or a counter
+    @Query(value = """
+            SELECT u.user_id FROM (
+                (SELECT c.user_id FROM "event".user_favorite_counts c
+                 WHERE CAST(:afterId AS uuid) IS NULL OR c.user_id > CAST(:afterId AS uuid)
+                 ORDER BY c.user_id LIMIT :limit)
+                UNION
+                (SELECT DISTINCT f.user_id FROM "event".favorites f
+                 WHERE CAST(:afterId AS uuid) IS NULL OR f.user_id > CAST(:afterId AS uuid)
+                 ORDER BY f.user_id LIMIT :limit)
+            ) u
+            ORDER BY u.user_id
+            LIMIT :limit
+            """, nativeQuery = true)
+    List<UUID> findUserIdsAfter(@Param("afterId") UUID afterId, @Param("limit") int limit);
+    
+    // Next chunk of event ids in id order after :afterId (null for the first chunk)
+    @Query(value = """
+            SELECT e.id FROM "event".events e
+            WHERE CAST(:afterId AS uuid) IS NULL OR e.id > CAST(:afterId AS uuid)
+            ORDER BY e.id
+            LIMIT :limit
+            """, nativeQuery = true)
+    List<UUID> findEventIdsAfter(@Param("afterId") UUID afterId, @Param("limit") int limit);
+    
+    // Create empty counters for ids of the chunk that have favorites but no row yet; reconcile sets their value
+    @Modifying
+    @Query(value = """
+            INSERT INTO "event".user_favorite_counts (user_id)
+            SELECT u.user_id FROM unnest(CAST(:userIds AS uuid[])) AS u(user_id)
+            ORDER BY u.user_id
+            ON CONFLICT (user_id) DO NOTHING
+            """, nativeQuery = true)
+    int insertMissingUserCounts(@Param("userIds") UUID[] userIds);
+    
+    @Modifying
+    @Query(value = """
+            INSERT INTO "event".event_favorite_counts (event_id)
+            SELECT e.id FROM "event".events e
+            WHERE e.id = ANY(CAST(:eventIds AS uuid[]))
+              AND EXISTS (SELECT 1 FROM "event".favorites f WHERE f.event_id = e.id)
+            ORDER BY e.id
+            ON CONFLICT (event_id) DO NOTHING
+            """, nativeQuery = true)
+    int insertMissingEventCounts(@Param("eventIds") UUID[] eventIds);
+    
+    // Lock the counters of the chunk in id order; waits for adds and removes that already changed them to commit
+    @Query(value = """
+            SELECT c.user_id FROM "event".user_favorite_counts c
+            WHERE c.user_id = ANY(CAST(:userIds AS uuid[]))
+            ORDER BY c.user_id
+            FOR UPDATE
+            """, nativeQuery = true)
+    List<UUID> lockUserCounts(@Param("userIds") UUID[] userIds);
+    
+    @Query(value = """
+            SELECT c.event_id FROM "event".event_favorite_counts c
+            WHERE c.event_id = ANY(CAST(:eventIds AS uuid[]))
+            ORDER BY c.event_id
+            FOR UPDATE
+            """, nativeQuery = true)
+    List<UUID> lockEventCounts(@Param("eventIds") UUID[] eventIds);
+    
+    // Overwrite the user counters of the chunk that differ from COUNT(*) over the favorites; returns the
+    // number of corrected users. Run after lockUserCounts in the same transaction.
+    @Modifying
+    @Query(value = """
+            UPDATE "event".user_favorite_counts c
+            SET favorites = a.favorites, updated_at = NOW()
+            FROM (
+                SELECT u.user_id, COUNT(f.event_id) AS favorites
+                FROM unnest(CAST(:userIds AS uuid[])) AS u(user_id)
+                LEFT JOIN "event".favorites f ON f.user_id = u.user_id
+                GROUP BY u.user_id
+            ) a
+            WHERE c.user_id = a.user_id AND c.favorites <> a.favorites
+            """, nativeQuery = true)
+    int reconcileUserCounts(@Param("userIds") UUID[] userIds);
+    
+    // Same for the event counters of the chunk; run after lockEventCounts in the same transaction
+    @Modifying
+    @Query(value = """
+            UPDATE "event".event_favorite_counts c
+            SET favorites = a.favorites, updated_at = NOW()
+            FROM (
+                SELECT e.event_id, COUNT(f.user_id) AS favorites
+                FROM unnest(CAST(:eventIds AS uuid[])) AS e(event_id)
+                LEFT JOIN "event".favorites f ON f.event_id = e.event_id
+                GROUP BY e.event_id
+            ) a
+            WHERE c.event_id = a.event_id AND c.favorites <> a.favorites
+            """, nativeQuery = true)
+    int reconcileEventCounts(@Param("eventIds") UUID[] eventIds);
 }
\ No newline at end of file
@@ -2,7 +2,6 @@ package org.aquastream.event.db.repository;
 
 import org.aquastream.event.db.entity.WaitlistEntity;
 import org.springframework.data.jpa.repository.JpaRepository;
-import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -28,9 +27,59 @@ public interface WaitlistRepository extends JpaRepository<WaitlistEntity, UUID>
     @Query("SELECT w FROM WaitlistEntity w WHERE w.eventId = :eventId AND w.notifiedAt IS NULL ORDER BY w.priority ASC")
     Optional<WaitlistEntity> findNextInLine(@Param("eventId") UUID eventId);
 
-    // Find expired notifications that need to be processed
-    @Query("SELECT w FROM WaitlistEntity w WHERE w.notificationExpiresAt IS NOT NULL AND w.notificationExpiresAt < :now")
-    List<WaitlistEntity> findExpiredNotifications(@Param("now") Instant now);
+    // Reset up to :limit expired notifications; returns (id, event_id, user_id, priority, notified_at) of each
+    @Query(value = """
+            WITH expired AS (
+                SELECT id, notified_at FROM "event".waitlist
+                WHERE notification_expires_at < :now
+                ORDER BY notification_expires_at
+                LIMIT :limit
+                FOR UPDATE SKIP LOCKED
+            )
+            UPDATE "event".waitlist w
+            SET notified_at = NULL, notification_expires_at = NULL
+            FROM expired x
+            WHERE w.id = x.id
+            RETURNING w.id, w.event_id, w.user_id, w.priority, x.notified_at
+            """, nativeQuery = true)
+    List<Object[]> resetExpiredNotifications(@Param("now") Instant now, @Param("limit") int limit);
+
+    // Notify the first waiting entries of each event, up to :counts[i] for :eventIds[i] and no more pending
+    // notifications than available spots, skipping :excludedIds; returns (id, event_id, user_id, priority)
+    @Query(value = """
+            WITH passed AS (
+                SELECT * FROM unnest(CAST(:eventIds AS uuid[]), CAST(:counts AS int[])) AS p(event_id, spots)
+            ), pending AS (
+                SELECT w.event_id, COUNT(*) AS notified FROM "event".waitlist w
+                JOIN passed p ON p.event_id = w.event_id
+                WHERE w.notified_at IS NOT NULL
+                GROUP BY w.event_id
+            ), next_in_line AS (
+                SELECT ranked.id FROM (
+                    SELECT w.id, LEAST(p.spots, e.available - COALESCE(n.notified, 0)) AS quota,
+                           row_number() OVER (PARTITION BY w.event_id ORDER BY w.priority) AS rn
+                    FROM "event".waitlist w
+                    JOIN passed p ON p.event_id = w.event_id
+                    JOIN "event".events e ON e.id = w.event_id
+                    LEFT JOIN pending n ON n.event_id = w.event_id
+                    WHERE w.notified_at IS NULL
+                      AND e.status = 'PUBLISHED'
+                      AND e.available > 0
+                      AND w.id <> ALL(CAST(:excludedIds AS uuid[]))
+                ) ranked
+                WHERE ranked.rn <= ranked.quota
+            )
+            UPDATE "event".waitlist w
+            SET notified_at = :now, notification_expires_at = :expiresAt
+            FROM next_in_line n
+            WHERE w.id = n.id
+            RETURNING w.id, w.event_id, w.user_id, w.priority
+            """, nativeQuery = true)
+    List<Object[]> notifyNextInLine(@Param("eventIds") UUID[] eventIds,
+                                    @Param("counts") Integer[] counts,
+                                    @Param("excludedIds") UUID[] excludedIds,
+                                    @Param("now") Instant now,
+                                    @Param("expiresAt") Instant expiresAt);
 
     // Count people ahead of user in waitlist
     @Query("SELECT COUNT(w) FROM WaitlistEntity w WHERE w.eventId = :eventId AND w.priority < :priority")
@@ -40,10 +89,9 @@ public interface WaitlistRepository extends JpaRepository<WaitlistEntity, UUID>
     @Query("SELECT COALESCE(MAX(w.priority), 0) FROM WaitlistEntity w WHERE w.eventId = :eventId")
     Integer getMaxPriorityForEvent(@Param("eventId") UUID eventId);
 
-    // Update priorities after someone leaves (compact the queue)
-    @Modifying
-    @Query("UPDATE WaitlistEntity w SET w.priority = w.priority - 1 WHERE w.eventId = :eventId AND w.priority > :removedPriority")
-    int decrementPrioritiesAfter(@Param("eventId") UUID eventId, @Param("removedPriority") Integer removedPriority);
+    // (user_id, priority) of every entry for event in FIFO order, to rebuild the position index
+    @Query("SELECT w.userId, w.priority FROM WaitlistEntity w WHERE w.eventId = :eventId ORDER BY w.priority")
+    List<Object[]> findQueueByEventId(@Param("eventId") UUID eventId);
 
     // Check if user is already in waitlist for event
     boolean existsByEventIdAndUserId(UUID eventId, UUID userId);
@@ -0,0 +1,39 @@
+-- liquibase formatted sql
+
+-- changeset aquastream:enable_pg_trgm
+-- comment: Trigram matching for prefix and typo-tolerant event search
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+-- changeset aquastream:add_events_search_vector splitStatements:false
+-- comment: Weighted search document over title (A), tags (B) and description (C), maintained by a trigger
+ALTER TABLE "event".events ADD COLUMN IF NOT EXISTS search_vector tsvector;
+
+CREATE OR REPLACE FUNCTION "event".events_search_vector_update()
+RETURNS TRIGGER AS $$
+BEGIN
+    NEW.search_vector =
+        setweight(to_tsvector('russian', coalesce(NEW.title, '')), 'A') ||
+        setweight(to_tsvector('russian', coalesce(array_to_string(NEW.tags, ' '), '')), 'B') ||
+        setweight(to_tsvector('russian', coalesce(NEW.description, '')), 'C');
+    RETURN NEW;
+END;
+$$ language 'plpgsql';
+
+CREATE TRIGGER update_events_search_vector
+    BEFORE INSERT OR UPDATE OF title, tags, description ON "event".events
+    FOR EACH ROW
+    EXECUTE FUNCTION "event".events_search_vector_update();
+
+UPDATE "event".events SET search_vector =
+    setweight(to_tsvector('russian', coalesce(title, '')), 'A') ||
+    setweight(to_tsvector('russian', coalesce(array_to_string(tags, ' '), '')), 'B') ||
+    setweight(to_tsvector('russian', coalesce(description, '')), 'C');
+
+-- changeset aquastream:create_events_search_indexes
+-- comment: Search indexes; the weighted document supersedes the title-only FTS index
+CREATE INDEX IF NOT EXISTS ix_events_search ON "event".events USING GIN (search_vector);
+CREATE INDEX IF NOT EXISTS ix_events_title_trgm ON "event".events USING GIN (lower(title) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS ix_events_date_start_id ON "event".events (date_start, id);
+DROP INDEX IF EXISTS "event".ix_events_title_fts;
+
+COMMENT ON COLUMN "event".events.search_vector IS 'Weighted tsvector of title, tags and description (trigger-maintained)';
@@ -0,0 +1,12 @@
+-- liquibase formatted sql
+
+-- changeset aquastream:create_bookings_keyset_indexes
+-- comment: Keyset pagination of bookings newest first; the composite indexes supersede the single-column ones
+CREATE INDEX IF NOT EXISTS ix_bookings_user_created ON "event".bookings (user_id, created_at DESC, id DESC);
+CREATE INDEX IF NOT EXISTS ix_bookings_event_created ON "event".bookings (event_id, created_at DESC, id DESC);
+DROP INDEX IF EXISTS "event".idx_bookings_user_id;
+DROP INDEX IF EXISTS "event".idx_bookings_event_id;
+
+-- changeset aquastream:create_events_keyset_indexes
+-- comment: Keyset pagination of an organizer's events in date order
+CREATE INDEX IF NOT EXISTS ix_events_organizer_date_start_id ON "event".events (organizer_id, date_start, id);
@@ -0,0 +1,36 @@
+-- liquibase formatted sql
+
+-- changeset aquastream:create_event_booking_stats
+-- comment: Booking counters per event, maintained incrementally by booking transitions
+CREATE TABLE IF NOT EXISTS "event".event_booking_stats (
+    event_id            UUID            PRIMARY KEY REFERENCES "event".events(id) ON DELETE CASCADE,
+    organizer_id        UUID            NOT NULL,
+    pending             INTEGER         NOT NULL DEFAULT 0,
+    confirmed           INTEGER         NOT NULL DEFAULT 0,
+    completed           INTEGER         NOT NULL DEFAULT 0,
+    expired             INTEGER         NOT NULL DEFAULT 0,
+    cancelled           INTEGER         NOT NULL DEFAULT 0,
+    no_show             INTEGER         NOT NULL DEFAULT 0,
+    revenue             DECIMAL(14,2)   NOT NULL DEFAULT 0,   -- Sum of amount of CONFIRMED and COMPLETED bookings
+    updated_at          TIMESTAMPTZ     NOT NULL DEFAULT NOW()
+);
+
+CREATE INDEX IF NOT EXISTS ix_event_booking_stats_organizer ON "event".event_booking_stats (organizer_id);
+
+-- changeset aquastream:backfill_event_booking_stats
+-- comment: Counters of the bookings that exist before incremental maintenance starts
+INSERT INTO "event".event_booking_stats (event_id, organizer_id, pending, confirmed, completed, expired, cancelled,
+                                         no_show, revenue)
+SELECT e.id,
+       e.organizer_id,
+       COUNT(*) FILTER (WHERE b.status = 'PENDING'),
+       COUNT(*) FILTER (WHERE b.status = 'CONFIRMED'),
+       COUNT(*) FILTER (WHERE b.status = 'COMPLETED'),
+       COUNT(*) FILTER (WHERE b.status = 'EXPIRED'),
+       COUNT(*) FILTER (WHERE b.status = 'CANCELLED'),
+       COUNT(*) FILTER (WHERE b.status = 'NO_SHOW'),
+       COALESCE(SUM(b.amount) FILTER (WHERE b.status IN ('CONFIRMED', 'COMPLETED')), 0)
+FROM "event".bookings b
+JOIN "event".events e ON e.id = b.event_id
+GROUP BY e.id, e.organizer_id
+ON CONFLICT (event_id) DO NOTHING;
@@ -0,0 +1,25 @@
+-- liquibase formatted sql
+
+-- changeset aquastream:create_favorite_counts
+-- comment: Favorites per event and per user, maintained by FavoritesService instead of COUNT(*) on every read
+CREATE TABLE IF NOT EXISTS "event".event_favorite_counts (
+    event_id            UUID            PRIMARY KEY REFERENCES "event".events(id) ON DELETE CASCADE,
+    favorites           INTEGER         NOT NULL DEFAULT 0,
+    updated_at          TIMESTAMPTZ     NOT NULL DEFAULT NOW()
+);
+
+CREATE TABLE IF NOT EXISTS "event".user_favorite_counts (
+    user_id             UUID            PRIMARY KEY,  -- References user.users(id) but no FK constraint (cross-schema)
+    favorites           INTEGER         NOT NULL DEFAULT 0,
+    updated_at          TIMESTAMPTZ     NOT NULL DEFAULT NOW()
+);
+
+-- changeset aquastream:backfill_favorite_counts
+-- comment: Counters of the favorites that exist before incremental maintenance starts
+INSERT INTO "event".event_favorite_counts (event_id, favorites)
+SELECT event_id, COUNT(*) FROM "event".favorites GROUP BY event_id
+ON CONFLICT (event_id) DO NOTHING;
+
+INSERT INTO "event".user_favorite_counts (user_id, favorites)
+SELECT user_id, COUNT(*) FROM "event".favorites GROUP BY user_id
+ON CONFLICT (user_id) DO NOTHING;
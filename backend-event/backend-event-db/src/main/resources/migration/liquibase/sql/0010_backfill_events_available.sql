@@ -0,0 +1,13 @@
+-- liquibase formatted sql
+
+-- changeset aquastream:backfill_events_available
+-- comment: Bookings now take seats by decrementing available; before they were only counted against capacity
+UPDATE "event".events e
+SET available = GREATEST(e.capacity - a.active, 0)
+FROM (
+    SELECT ev.id AS event_id, COUNT(b.id) AS active
+    FROM "event".events ev
+    LEFT JOIN "event".bookings b ON b.event_id = ev.id AND b.status IN ('PENDING', 'CONFIRMED')
+    GROUP BY ev.id
+) a
+WHERE e.id = a.event_id AND e.available <> GREATEST(e.capacity - a.active, 0);
@@ -0,0 +1,217 @@
+package org.aquastream.event.service;
+
+import org.aquastream.event.db.repository.BookingRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.containers.wait.strategy.Wait;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Keyset booking listings against the Liquibase schema: walking every page yields exactly the rows of the
+ * equivalent ORDER BY (ties on created_at included) and a booking inserted mid-walk does not shift later pages.
+ * The benchmark times a deep page against the OFFSET query it replaces.
+ */
+@DataJpaTest(properties = {
+        "spring.liquibase.change-log=classpath:migration/liquibase/master.xml",
+        "spring.jpa.properties.hibernate.default_schema=event"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ContextConfiguration(classes = BookingKeysetIntegrationTest.Config.class)
+@Testcontainers(disabledWithoutDocker = true)
+class BookingKeysetIntegrationTest {
+
+    private static final int EVENTS = 2_000;
+    private static final int BOOKINGS_PER_EVENT = 50;
+    private static final int USERS = 400;
+    private static final int PAGE = 20;
+
+    @Container
+    private static final GenericContainer<?> POSTGRES = new GenericContainer<>("postgres:16-alpine")
+            .withEnv("POSTGRES_DB", "aquastream")
+            .withEnv("POSTGRES_USER", "aquastream")
+            .withEnv("POSTGRES_PASSWORD", "password")
+            .withExposedPorts(5432)
+            .waitingFor(Wait.forLogMessage(".*database system is ready to accept connections.*", 2));
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () -> "jdbc:postgresql://" + POSTGRES.getHost() + ":"
+                + POSTGRES.getMappedPort(5432) + "/aquastream");
+        registry.add("spring.datasource.username", () -> "aquastream");
+        registry.add("spring.datasource.password", () -> "password");
+    }
+
+    @Configuration
+    @EnableAutoConfiguration
+    @EntityScan("org.aquastream.event.db.entity")
+    @EnableJpaRepositories("org.aquastream.event.db.repository")
+    static class Config {
+    }
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    private UUID organizerId;
+    private UUID userId;
+
+    @BeforeEach
+    void setUp() {
+        EventDatasetGenerator.generate(jdbcTemplate, EVENTS, 0.23);
+        // created_at is truncated to the minute so that many bookings share it and the id tie-break matters
+        jdbcTemplate.update("""
+                WITH users AS (
+                    SELECT array_agg(gen_random_uuid()) AS ids FROM generate_series(1, ?)
+                ), numbered AS (
+                    SELECT e.id, row_number() OVER (ORDER BY e.id) AS n FROM "event".events e
+                )
+                INSERT INTO "event".bookings (event_id, user_id, status, amount, created_at)
+                SELECT n.id,
+                       u.ids[1 + (n.n + k) % cardinality(u.ids)],
+                       CASE WHEN k % 4 = 0 THEN 'CANCELLED' ELSE 'CONFIRMED' END,
+                       1500,
+                       date_trunc('minute', now() - make_interval(mins => floor(random() * 60 * 24 * 30)::int))
+                FROM numbered n, users u, generate_series(1, ?) k
+                """, USERS, BOOKINGS_PER_EVENT);
+        jdbcTemplate.execute("ANALYZE \"event\".bookings");
+
+        organizerId = jdbcTemplate.queryForObject(
+                "SELECT id FROM \"event\".organizers WHERE slug = 'dataset-1'", UUID.class);
+        userId = jdbcTemplate.queryForObject(
+                "SELECT user_id FROM \"event\".bookings GROUP BY user_id ORDER BY count(*) DESC LIMIT 1", UUID.class);
+    }
+
+    @Test
+    void userPagesMatchTheFullOrdering() {
+        List<UUID> expected = jdbcTemplate.queryForList("""
+                SELECT id FROM "event".bookings WHERE user_id = ? AND status = 'CONFIRMED'
+                ORDER BY created_at DESC, id DESC
+                """, UUID.class, userId);
+
+        List<UUID> walked = walk(after -> bookingRepository.findUserBookingIdsAfter(userId, "CONFIRMED",
+                after != null ? after.instant() : null, after != null ? after.id() : null, PAGE + 1));
+
+        assertTrue(expected.size() > PAGE * 3, "dataset should give the user several pages");
+        assertEquals(expected, walked);
+
+        jdbcTemplate.execute("SET LOCAL enable_seqscan = off");
+        String plan = String.join("\n", jdbcTemplate.queryForList("""
+                EXPLAIN SELECT id FROM "event".bookings WHERE user_id = '%s'
+                ORDER BY created_at DESC, id DESC LIMIT 21
+                """.formatted(userId), String.class));
+        assertTrue(plan.contains("ix_bookings_user_created"), plan);
+        assertFalse(plan.contains("Sort"), plan);
+    }
+
+    @Test
+    void organizerPagesMatchTheFullOrderingDespiteConcurrentInserts() {
+        List<UUID> expected = jdbcTemplate.queryForList("""
+                SELECT b.id FROM "event".bookings b JOIN "event".events e ON e.id = b.event_id
+                WHERE e.organizer_id = ?
+                ORDER BY b.created_at DESC, b.id DESC
+                """, UUID.class, organizerId);
+        UUID eventId = jdbcTemplate.queryForObject(
+                "SELECT id FROM \"event\".events WHERE organizer_id = ? LIMIT 1", UUID.class, organizerId);
+
+        List<UUID> walked = new ArrayList<>();
+        SeekCursor after = null;
+        boolean inserted = false;
+        do {
+            SeekCursor cursor = after;
+            List<Object[]> rows = bookingRepository.findOrganizerBookingIdsAfter(organizerId, null, null,
+                    cursor != null ? cursor.instant() : null, cursor != null ? cursor.id() : null, PAGE + 1);
+            after = collect(rows, walked);
+            if (!inserted) {
+                // A new booking lands in front of the listing; offset paging would repeat a row on the next page
+                jdbcTemplate.update("""
+                        INSERT INTO "event".bookings (event_id, user_id, status, amount)
+                        VALUES (?, gen_random_uuid(), 'CONFIRMED', 1500)
+                        """, eventId);
+                inserted = true;
+            }
+        } while (after != null);
+
+        assertEquals(expected, walked);
+    }
+
+    /**
+     * p50/p95 of the last organizer page by keyset against the OFFSET query it replaces
+     */
+    @Test
+    @Tag("benchmark")
+    void benchmarkDeepPage() {
+        List<UUID> walked = walk(after -> bookingRepository.findOrganizerBookingIdsAfter(organizerId, null, null,
+                after != null ? after.instant() : null, after != null ? after.id() : null, PAGE + 1));
+        int deepOffset = walked.size() - PAGE;
+        Object[] cursorRow = jdbcTemplate.queryForObject("""
+                SELECT id, created_at FROM "event".bookings WHERE id = ?
+                """, (rs, i) -> new Object[]{rs.getObject(1), rs.getTimestamp(2)}, walked.get(deepOffset - 1));
+        SeekCursor cursor = SeekCursor.ofInstantRow(cursorRow);
+
+        long[] keyset = time(() -> bookingRepository.findOrganizerBookingIdsAfter(organizerId, null, null,
+                cursor.instant(), cursor.id(), PAGE + 1));
+        long[] offset = time(() -> jdbcTemplate.queryForList("""
+                SELECT b.id FROM "event".bookings b JOIN "event".events e ON e.id = b.event_id
+                WHERE e.organizer_id = ?
+                ORDER BY b.created_at DESC, b.id DESC
+                OFFSET ? LIMIT ?
+                """, UUID.class, organizerId, deepOffset, PAGE));
+        System.out.printf("Last organizer page (offset %d): keyset p50=%.2fms p95=%.2fms, OFFSET p50=%.2fms p95=%.2fms%n",
+                deepOffset, keyset[0] / 1e6, keyset[1] / 1e6, offset[0] / 1e6, offset[1] / 1e6);
+    }
+
+    private List<UUID> walk(Function<SeekCursor, List<Object[]>> page) {
+        List<UUID> walked = new ArrayList<>();
+        SeekCursor after = null;
+        do {
+            after = collect(page.apply(after), walked);
+        } while (after != null);
+        return walked;
+    }
+
+    /**
+     * Add the ids of a page to {@code walked}; returns the cursor of the next page, null on the last one
+     */
+    private static SeekCursor collect(List<Object[]> rows, List<UUID> walked) {
+        boolean hasNext = rows.size() > PAGE;
+        List<Object[]> page = hasNext ? rows.subList(0, PAGE) : rows;
+        page.forEach(row -> walked.add((UUID) row[0]));
+        return hasNext ? SeekCursor.ofInstantRow(page.get(page.size() - 1)) : null;
+    }
+
+    private static long[] time(Supplier<?> query) {
+        int runs = 50;
+        long[] nanos = new long[runs];
+        for (int i = 0; i < runs; i++) {
+            long start = System.nanoTime();
+            query.get();
+            nanos[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(nanos);
+        return new long[]{nanos[runs / 2], nanos[runs * 95 / 100]};
+    }
+}
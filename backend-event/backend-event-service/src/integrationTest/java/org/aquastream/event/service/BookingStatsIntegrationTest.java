@@ -0,0 +1,216 @@
+package org.aquastream.event.service;
+
+import org.aquastream.common.domain.BookingStatus;
+import org.aquastream.event.db.entity.BookingEntity;
+import org.aquastream.event.db.entity.EventEntity;
+import org.aquastream.event.db.repository.EventBookingStatsRepository;
+import org.aquastream.event.dto.BookingStatisticsDto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.containers.wait.strategy.Wait;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Precomputed booking statistics against the Liquibase schema: reconciliation builds the counters of
+ * existing bookings, deltas keep them equal to a GROUP BY over the bookings, a change that bypasses the
+ * deltas is corrected, and the organizer summary matches the ad-hoc aggregation it replaces.
+ */
+@DataJpaTest(properties = {
+        "spring.liquibase.change-log=classpath:migration/liquibase/master.xml",
+        "spring.jpa.properties.hibernate.default_schema=event"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ContextConfiguration(classes = BookingStatsIntegrationTest.Config.class)
+@Testcontainers(disabledWithoutDocker = true)
+class BookingStatsIntegrationTest {
+
+    private static final int EVENTS = 1_000;
+    private static final int CHUNK = 300;
+
+    @Container
+    private static final GenericContainer<?> POSTGRES = new GenericContainer<>("postgres:16-alpine")
+            .withEnv("POSTGRES_DB", "aquastream")
+            .withEnv("POSTGRES_USER", "aquastream")
+            .withEnv("POSTGRES_PASSWORD", "password")
+            .withExposedPorts(5432)
+            .waitingFor(Wait.forLogMessage(".*database system is ready to accept connections.*", 2));
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () -> "jdbc:postgresql://" + POSTGRES.getHost() + ":"
+                + POSTGRES.getMappedPort(5432) + "/aquastream");
+        registry.add("spring.datasource.username", () -> "aquastream");
+        registry.add("spring.datasource.password", () -> "password");
+    }
+
+    @Configuration
+    @EnableAutoConfiguration
+    @EntityScan("org.aquastream.event.db.entity")
+    @EnableJpaRepositories("org.aquastream.event.db.repository")
+    static class Config {
+    }
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private EventBookingStatsRepository statsRepository;
+
+    private BookingStatsService bookingStatsService;
+    private UUID organizerId;
+
+    @BeforeEach
+    void setUp() {
+        EventDatasetGenerator.generate(jdbcTemplate, EVENTS, 0.61);
+        jdbcTemplate.update("""
+                INSERT INTO "event".bookings (event_id, user_id, status, amount, expires_at)
+                SELECT e.id, gen_random_uuid(),
+                       (ARRAY['PENDING', 'CONFIRMED', 'CONFIRMED', 'COMPLETED', 'EXPIRED', 'CANCELLED', 'NO_SHOW'])
+                           [1 + k % 7],
+                       e.price,
+                       now() + interval '30 minutes'
+                FROM "event".events e, generate_series(1, 12) k
+                """);
+        bookingStatsService = new BookingStatsService(statsRepository);
+        organizerId = jdbcTemplate.queryForObject(
+                "SELECT id FROM \"event\".organizers WHERE slug = 'dataset-7'", UUID.class);
+    }
+
+    @Test
+    void reconciliationBuildsCountersOfExistingBookings() {
+        assertEquals(EVENTS, reconcileAll());
+
+        assertEquals(0, drift());
+        assertEquals(0, reconcileAll());
+    }
+
+    @Test
+    void deltasFollowTransitions() {
+        reconcileAll();
+        UUID eventId = jdbcTemplate.queryForObject(
+                "SELECT id FROM \"event\".events WHERE organizer_id = ? AND price IS NOT NULL LIMIT 1",
+                UUID.class, organizerId);
+
+        // Confirm the pending bookings of the event and report each transition as BookingService does
+        List<BigDecimal> amounts = jdbcTemplate.queryForList("""
+                UPDATE "event".bookings SET status = 'CONFIRMED'
+                WHERE event_id = ? AND status = 'PENDING'
+                RETURNING amount
+                """, BigDecimal.class, eventId);
+        assertFalse(amounts.isEmpty());
+        for (BigDecimal amount : amounts) {
+            bookingStatsService.recordTransition(booking(eventId, amount),
+                    BookingStatus.PENDING, BookingStatus.CONFIRMED);
+        }
+        List<UUID> expiredEvents = jdbcTemplate.queryForList("""
+                UPDATE "event".bookings SET status = 'EXPIRED'
+                WHERE status = 'PENDING' AND event_id IN (
+                    SELECT id FROM "event".events WHERE organizer_id = ?)
+                RETURNING event_id
+                """, UUID.class, organizerId);
+        Map<UUID, Integer> expiredPerEvent = new TreeMap<>();
+        expiredEvents.forEach(expiredEventId -> expiredPerEvent.merge(expiredEventId, 1, Integer::sum));
+        bookingStatsService.recordExpired(expiredPerEvent);
+
+        assertEquals(0, drift());
+        assertEquals(0, reconcileAll());
+    }
+
+    @Test
+    void driftIsCorrected() {
+        reconcileAll();
+
+        // A status change that bypasses BookingService
+        jdbcTemplate.update("""
+                UPDATE "event".bookings SET status = 'CANCELLED'
+                WHERE id = (SELECT b.id FROM "event".bookings b JOIN "event".events e ON e.id = b.event_id
+                            WHERE e.organizer_id = ? AND b.status = 'CONFIRMED' LIMIT 1)
+                """, organizerId);
+
+        assertEquals(1, drift());
+        assertEquals(1, reconcileAll());
+        assertEquals(0, drift());
+    }
+
+    @Test
+    void organizerSummaryMatchesGroupBy() {
+        reconcileAll();
+
+        BookingStatisticsDto statistics = bookingStatsService.getStatistics(organizerId, null);
+
+        Map<String, Object> expected = jdbcTemplate.queryForMap("""
+                SELECT COUNT(b.id) AS total,
+                       COALESCE(SUM(b.amount) FILTER (WHERE b.status IN ('CONFIRMED', 'COMPLETED')), 0) AS revenue
+                FROM "event".bookings b JOIN "event".events e ON e.id = b.event_id
+                WHERE e.organizer_id = ?
+                """, organizerId);
+        long capacity = jdbcTemplate.queryForObject(
+                "SELECT SUM(capacity) FROM \"event\".events WHERE organizer_id = ?", Long.class, organizerId);
+        assertEquals(((Number) expected.get("total")).longValue(), statistics.getTotalBookings());
+        assertEquals(0, ((BigDecimal) expected.get("revenue")).compareTo(statistics.getTotalRevenue()));
+        assertEquals(capacity, statistics.getCapacity());
+    }
+
+    private int reconcileAll() {
+        int corrected = 0;
+        UUID after = null;
+        do {
+            BookingStatsService.ReconciliationChunk chunk = bookingStatsService.reconcileChunk(after, CHUNK);
+            corrected += chunk.corrected();
+            after = chunk.lastEventId();
+        } while (after != null);
+        return corrected;
+    }
+
+    /**
+     * Events whose counters differ from a GROUP BY over the bookings
+     */
+    private int drift() {
+        return jdbcTemplate.queryForObject("""
+                SELECT COUNT(*) FROM (
+                    SELECT b.event_id,
+                           COUNT(*) FILTER (WHERE b.status = 'PENDING') AS pending,
+                           COUNT(*) FILTER (WHERE b.status = 'CONFIRMED') AS confirmed,
+                           COUNT(*) FILTER (WHERE b.status = 'COMPLETED') AS completed,
+                           COUNT(*) FILTER (WHERE b.status = 'EXPIRED') AS expired,
+                           COUNT(*) FILTER (WHERE b.status = 'CANCELLED') AS cancelled,
+                           COUNT(*) FILTER (WHERE b.status = 'NO_SHOW') AS no_show,
+                           COALESCE(SUM(b.amount) FILTER (WHERE b.status IN ('CONFIRMED', 'COMPLETED')), 0) AS revenue
+                    FROM "event".bookings b GROUP BY b.event_id
+                ) a
+                LEFT JOIN "event".event_booking_stats s ON s.event_id = a.event_id
+                WHERE (s.pending, s.confirmed, s.completed, s.expired, s.cancelled, s.no_show, s.revenue)
+                      IS DISTINCT FROM
+                      (a.pending, a.confirmed, a.completed, a.expired, a.cancelled, a.no_show, a.revenue)
+                """, Integer.class);
+    }
+
+    private static BookingEntity booking(UUID eventId, BigDecimal amount) {
+        EventEntity event = new EventEntity();
+        event.setId(eventId);
+        BookingEntity booking = new BookingEntity();
+        booking.setEvent(event);
+        booking.setAmount(amount);
+        return booking;
+    }
+}
@@ -0,0 +1,65 @@
+package org.aquastream.event.service;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Fills {@code event.events} with a synthetic catalog for search benchmarks. Rows are generated inside
+ * Postgres with {@code generate_series}, so 100k events take seconds; with the same seed the titles,
+ * descriptions and tags are the same on every run (ids and dates are not).
+ */
+final class EventDatasetGenerator {
+
+    static final String[] ACTIVITIES = {"Рафтинг", "Сплав", "Поход", "Байдарки", "Каякинг", "Скалолазание",
+            "Треккинг", "Восхождение", "Велотур", "Рыбалка", "Снегоходы", "Конный тур"};
+    static final String[] PLACES = {"Карелия", "Алтай", "Урал", "Кавказ", "Байкал", "Селигер", "Хибины",
+            "Валдай", "Крым", "Камчатка", "Саяны", "Ладога"};
+    static final String[] TAGS = {"семейный", "новичкам", "выходные", "экстрим", "вода", "горы", "лес",
+            "палатки", "фото", "баня"};
+
+    private static final int ORGANIZERS = 100;
+
+    private EventDatasetGenerator() {
+    }
+
+    /**
+     * Insert {@code events} events spread over {@value #ORGANIZERS} organizers and refresh planner statistics
+     */
+    static void generate(JdbcTemplate jdbcTemplate, int events, double seed) {
+        jdbcTemplate.queryForObject("SELECT setseed(?)", Object.class, seed);
+        jdbcTemplate.update("""
+                INSERT INTO "event".organizers (slug, name)
+                SELECT 'dataset-' || g, 'Dataset organizer ' || g FROM generate_series(1, ?) g
+                """, ORGANIZERS);
+        jdbcTemplate.update("""
+                WITH words AS (
+                    SELECT CAST(? AS text[]) AS activities, CAST(? AS text[]) AS places, CAST(? AS text[]) AS tags,
+                           (SELECT array_agg(id) FROM "event".organizers WHERE slug LIKE 'dataset-%') AS organizers
+                ), rows AS (
+                    SELECT g, w.*,
+                           1 + floor(random() * cardinality(w.activities))::int AS a,
+                           1 + floor(random() * cardinality(w.places))::int AS p,
+                           1 + floor(random() * cardinality(w.tags))::int AS t1,
+                           1 + floor(random() * cardinality(w.tags))::int AS t2,
+                           now() + make_interval(hours => floor(random() * 24 * 365)::int) AS starts
+                    FROM generate_series(1, ?) g, words w
+                )
+                INSERT INTO "event".events (organizer_id, type, title, description, date_start, date_end, location,
+                                            price, capacity, available, status, tags)
+                SELECT organizers[1 + g % cardinality(organizers)],
+                       upper(activities[a]),
+                       activities[a] || ' — ' || places[p] || ' №' || g,
+                       'Маршрут по ' || places[p] || ': ' || lower(activities[a]) || ', ' || tags[t1] || ' и ' || tags[t2]
+                           || '. Инструктор, снаряжение и трансфер включены.',
+                       starts,
+                       starts + interval '2 days',
+                       jsonb_build_object('address', places[p]),
+                       CASE WHEN g % 5 = 0 THEN NULL ELSE 1000 + (g % 40) * 500 END,
+                       20,
+                       g % 21,
+                       CASE WHEN g % 10 = 0 THEN 'DRAFT' ELSE 'PUBLISHED' END,
+                       ARRAY[tags[t1], tags[t2]]
+                FROM rows
+                """, ACTIVITIES, PLACES, TAGS, events);
+        jdbcTemplate.execute("ANALYZE \"event\".events");
+    }
+}
@@ -0,0 +1,181 @@
+package org.aquastream.event.service;
+
+import org.aquastream.event.db.repository.EventRepository;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.containers.wait.strategy.Wait;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Event search against the Liquibase schema and a generated catalog of 100k events: index usage,
+ * typo tolerance and keyset paging. The benchmark compares p50/p95 of the full-text plan with the
+ * previous {@code LIKE '%term%'} + OFFSET/COUNT query.
+ */
+@DataJpaTest(properties = {
+        "spring.liquibase.change-log=classpath:migration/liquibase/master.xml",
+        "spring.jpa.properties.hibernate.default_schema=event"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ContextConfiguration(classes = EventSearchIntegrationTest.Config.class)
+@Testcontainers(disabledWithoutDocker = true)
+class EventSearchIntegrationTest {
+
+    private static final int EVENTS = 100_000;
+    private static final int PAGE = 20;
+    private static final int SEARCHES = 300;
+
+    @Container
+    private static final GenericContainer<?> POSTGRES = new GenericContainer<>("postgres:16-alpine")
+            .withEnv("POSTGRES_DB", "aquastream")
+            .withEnv("POSTGRES_USER", "aquastream")
+            .withEnv("POSTGRES_PASSWORD", "password")
+            .withExposedPorts(5432)
+            .waitingFor(Wait.forLogMessage(".*database system is ready to accept connections.*", 2));
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () -> "jdbc:postgresql://" + POSTGRES.getHost() + ":"
+                + POSTGRES.getMappedPort(5432) + "/aquastream");
+        registry.add("spring.datasource.username", () -> "aquastream");
+        registry.add("spring.datasource.password", () -> "password");
+    }
+
+    @Configuration
+    @EnableAutoConfiguration
+    @EntityScan("org.aquastream.event.db.entity")
+    @EnableJpaRepositories("org.aquastream.event.db.repository")
+    static class Config {
+    }
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Test
+    void searchOverGeneratedCatalog() {
+        EventDatasetGenerator.generate(jdbcTemplate, EVENTS, 0.42);
+
+        // Both branches of the match must be answerable from an index; seq scans are disabled so the
+        // assertion does not depend on how selective the generated terms happen to be
+        jdbcTemplate.execute("SET LOCAL enable_seqscan = off");
+        String plan = String.join("\n", jdbcTemplate.queryForList("""
+                EXPLAIN SELECT id FROM "event".events
+                WHERE search_vector @@ to_tsquery('russian', 'карел:*') OR 'карелия' <% lower(title)
+                """, String.class));
+        assertTrue(plan.contains("ix_events_search"), plan);
+        assertTrue(plan.contains("ix_events_title_trgm"), plan);
+        jdbcTemplate.execute("SET LOCAL enable_seqscan = on");
+
+        // Description and tags are searched, a typo in the title still matches
+        assertFalse(text("инструктор").isEmpty());
+        assertFalse(text("новичкам").isEmpty());
+        List<Object[]> typo = text("рафтнг");
+        assertFalse(typo.isEmpty());
+        assertTrue(titleOf((UUID) typo.get(0)[0]).startsWith("Рафтинг"));
+
+        // Keyset pages are disjoint and continue in rank order
+        List<Object[]> first = text("сплав карелия");
+        Object[] last = first.get(first.size() - 1);
+        float lastRank = ((Number) last[1]).floatValue();
+        List<Object[]> second = eventRepository.searchIdsByText("сплав:* & карелия:*", "сплав карелия",
+                null, null, null, null, null, null, lastRank, (UUID) last[0], PAGE);
+        Set<Object> seen = new HashSet<>();
+        first.forEach(row -> seen.add(row[0]));
+        assertTrue(second.stream().noneMatch(row -> seen.contains(row[0])));
+        assertTrue(((Number) second.get(0)[1]).floatValue() <= lastRank);
+    }
+
+    /**
+     * p50/p95 of the full-text plan against the previous {@code LIKE '%term%'} + OFFSET/COUNT query and
+     * a filter-only search
+     */
+    @Test
+    @Tag("benchmark")
+    void benchmarkSearchLatency() {
+        long generateStart = System.nanoTime();
+        EventDatasetGenerator.generate(jdbcTemplate, EVENTS, 0.42);
+        System.out.printf("Generated %d events in %.1fs%n", EVENTS, (System.nanoTime() - generateStart) / 1e9);
+
+        List<String> queries = new ArrayList<>();
+        for (int i = 0; i < SEARCHES; i++) {
+            String activity = EventDatasetGenerator.ACTIVITIES[i % EventDatasetGenerator.ACTIVITIES.length];
+            String place = EventDatasetGenerator.PLACES[(i / 3) % EventDatasetGenerator.PLACES.length];
+            queries.add(switch (i % 3) {
+                case 0 -> activity.toLowerCase(Locale.ROOT);
+                case 1 -> activity.substring(0, 4).toLowerCase(Locale.ROOT) + " " + place.toLowerCase(Locale.ROOT);
+                default -> place.toLowerCase(Locale.ROOT);
+            });
+        }
+
+        long[] fullText = measure(queries, query -> () -> text(query));
+        long[] like = measure(queries, query -> () -> jdbcTemplate.queryForList("""
+                SELECT id FROM "event".events WHERE lower(title) LIKE ? ORDER BY date_start LIMIT ? OFFSET ?
+                """, "%" + query + "%", PAGE, PAGE * 10).size()
+                + jdbcTemplate.queryForObject(
+                        "SELECT COUNT(*) FROM \"event\".events WHERE lower(title) LIKE ?", Long.class, "%" + query + "%"));
+        long[] filters = measure(queries, query -> () -> eventRepository.searchIdsByFilters(
+                "PUBLISHED", null, null, null, null, null, null, null, PAGE + 1));
+
+        System.out.printf("%d searches over %d events: full-text p50 %.2fms p95 %.2fms, "
+                        + "LIKE+OFFSET+COUNT p50 %.2fms p95 %.2fms, filter-only p50 %.2fms p95 %.2fms%n",
+                SEARCHES, EVENTS, percentile(fullText, 50), percentile(fullText, 95),
+                percentile(like, 50), percentile(like, 95), percentile(filters, 50), percentile(filters, 95));
+    }
+
+    private List<Object[]> text(String query) {
+        return eventRepository.searchIdsByText(EventSearchService.toPrefixQuery(query), query,
+                null, null, null, null, null, null, null, null, PAGE);
+    }
+
+    private String titleOf(UUID id) {
+        return jdbcTemplate.queryForObject("SELECT title FROM \"event\".events WHERE id = ?", String.class, id);
+    }
+
+    private interface Search {
+        Supplier<Object> of(String query);
+    }
+
+    private static long[] measure(List<String> queries, Search search) {
+        // Warm up the plan cache and buffers
+        queries.stream().limit(20).forEach(query -> search.of(query).get());
+        long[] nanos = new long[queries.size()];
+        for (int i = 0; i < queries.size(); i++) {
+            Supplier<Object> run = search.of(queries.get(i));
+            long start = System.nanoTime();
+            run.get();
+            nanos[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(nanos);
+        return nanos;
+    }
+
+    private static double percentile(long[] sortedNanos, int percentile) {
+        int index = (int) Math.ceil(percentile / 100.0 * sortedNanos.length) - 1;
+        return sortedNanos[Math.max(0, index)] / 1e6;
+    }
+}
@@ -0,0 +1,165 @@
+package org.aquastream.event.service;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.aquastream.event.db.entity.EventEntity;
+import org.aquastream.event.db.entity.OrganizerEntity;
+import org.aquastream.event.db.repository.EventRepository;
+import org.aquastream.event.db.repository.FaqItemRepository;
+import org.aquastream.event.db.repository.OrganizerRepository;
+import org.aquastream.event.db.repository.TeamMemberRepository;
+import org.aquastream.event.dto.EventDto;
+import org.aquastream.event.dto.OrganizerDto;
+import org.aquastream.event.dto.PagedResponse;
+import org.aquastream.event.mapper.EventMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.containers.wait.strategy.Wait;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Query budgets of the public catalog pages: the number of statements must not grow with the page size.
+ * The schema is generated from the entity mappings, which are what these read paths exercise.
+ */
+@DataJpaTest(properties = {
+        "spring.liquibase.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.hbm2ddl.create_namespaces=true",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ContextConfiguration(classes = PublicEventServiceQueryCountIntegrationTest.Config.class)
+@Testcontainers(disabledWithoutDocker = true)
+class PublicEventServiceQueryCountIntegrationTest {
+
+    private static final int ORGANIZERS = 60;
+    private static final int EVENTS_PER_ORGANIZER = 3;
+    private static final int PAGE_SIZE = 50;
+
+    @Container
+    private static final GenericContainer<?> POSTGRES = new GenericContainer<>("postgres:16-alpine")
+            .withEnv("POSTGRES_DB", "aquastream")
+            .withEnv("POSTGRES_USER", "aquastream")
+            .withEnv("POSTGRES_PASSWORD", "password")
+            .withExposedPorts(5432)
+            .waitingFor(Wait.forLogMessage(".*database system is ready to accept connections.*", 2));
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () -> "jdbc:postgresql://" + POSTGRES.getHost() + ":"
+                + POSTGRES.getMappedPort(5432) + "/aquastream");
+        registry.add("spring.datasource.username", () -> "aquastream");
+        registry.add("spring.datasource.password", () -> "password");
+    }
+
+    @Configuration
+    @EnableAutoConfiguration
+    @EntityScan("org.aquastream.event.db.entity")
+    @EnableJpaRepositories("org.aquastream.event.db.repository")
+    static class Config {
+    }
+
+    @Autowired
+    private TestEntityManager entityManager;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private OrganizerRepository organizerRepository;
+    @Autowired
+    private EventRepository eventRepository;
+    @Autowired
+    private TeamMemberRepository teamMemberRepository;
+    @Autowired
+    private FaqItemRepository faqItemRepository;
+
+    private PublicEventService publicEventService;
+    private QueryCounter queryCounter;
+
+    @BeforeEach
+    void setUp() {
+        publicEventService = new PublicEventService(organizerRepository, eventRepository, teamMemberRepository,
+                faqItemRepository, new EventMapper(), mock(PopularEventsRanking.class));
+        queryCounter = new QueryCounter(entityManagerFactory);
+        seed();
+    }
+
+    @Test
+    void organizerPageCountsEventsInOneGroupedQuery() {
+        // page + total count + event counts
+        PagedResponse<OrganizerDto> page = queryCounter.assertAtMost(3,
+                () -> publicEventService.getOrganizers(null, 0, PAGE_SIZE));
+
+        assertEquals(PAGE_SIZE, page.getItems().size());
+        assertEquals(ORGANIZERS + 1, page.getTotal());
+        // "Organizer 000" has no events and sorts first
+        assertEquals(0L, page.getItems().get(0).getEventCount());
+        assertTrue(page.getItems().subList(1, PAGE_SIZE).stream()
+                .allMatch(organizer -> organizer.getEventCount() == EVENTS_PER_ORGANIZER));
+    }
+
+    @Test
+    void eventPageFetchesOrganizersWithTheEvents() {
+        // page with organizers + total count
+        PagedResponse<EventDto> page = queryCounter.assertAtMost(2,
+                () -> publicEventService.getEvents(null, null, null, null, null, null, null, 0, PAGE_SIZE));
+
+        assertEquals(PAGE_SIZE, page.getItems().size());
+        assertTrue(page.getItems().stream().allMatch(event -> event.getOrganizer() != null));
+    }
+
+    @Test
+    void eventDetailFetchesOrganizerWithTheEvent() {
+        EventEntity any = eventRepository.findAll().get(0);
+        entityManager.clear();
+
+        EventDto event = queryCounter.assertAtMost(1, () -> publicEventService.getEventById(any.getId()));
+
+        assertNotNull(event.getOrganizer());
+    }
+
+    private void seed() {
+        Instant start = Instant.now().plus(7, ChronoUnit.DAYS);
+        for (int o = 0; o <= ORGANIZERS; o++) {
+            OrganizerEntity organizer = entityManager.persist(OrganizerEntity.builder()
+                    .slug("organizer-" + o)
+                    .name(String.format("Organizer %03d", o))
+                    .build());
+            // The first organizer has no events
+            for (int e = 0; o > 0 && e < EVENTS_PER_ORGANIZER; e++) {
+                entityManager.persist(EventEntity.builder()
+                        .organizerSlug(organizer.getSlug())
+                        .type("RAFTING")
+                        .title("Event " + o + "-" + e)
+                        .dateStart(start.plus(o * 10L + e, ChronoUnit.HOURS))
+                        .dateEnd(start.plus(o * 10L + e + 2, ChronoUnit.HOURS))
+                        .location(Map.of("address", "River " + o))
+                        .capacity(20)
+                        .available(20)
+                        .status("PUBLISHED")
+                        .build());
+            }
+        }
+        // Measure against the database, not entities still managed from the setup
+        entityManager.flush();
+        entityManager.clear();
+    }
+}
@@ -0,0 +1,35 @@
+package org.aquastream.event.service;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Counts the JDBC statements Hibernate prepares while running an action, so that read paths can assert a
+ * query budget and an N+1 regression fails the build. Clear the persistence context before measuring,
+ * otherwise entities still managed from the test setup hide lazy loads.
+ */
+final class QueryCounter {
+
+    private final Statistics statistics;
+
+    QueryCounter(EntityManagerFactory entityManagerFactory) {
+        this.statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        this.statistics.setStatisticsEnabled(true);
+    }
+
+    /**
+     * Run the action and fail if it prepared more than {@code maxQueries} statements
+     */
+    <T> T assertAtMost(long maxQueries, Supplier<T> action) {
+        statistics.clear();
+        T result = action.get();
+        long queries = statistics.getPrepareStatementCount();
+        assertTrue(queries <= maxQueries, "expected at most " + maxQueries + " queries, got " + queries);
+        return result;
+    }
+}
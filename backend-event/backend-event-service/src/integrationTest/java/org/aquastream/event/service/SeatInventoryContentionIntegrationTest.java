@@ -0,0 +1,173 @@
+package org.aquastream.event.service;
+
+import org.aquastream.event.db.entity.EventEntity;
+import org.aquastream.event.db.repository.EventRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.containers.wait.strategy.Wait;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * SeatInventoryService.tryReserve against a real Postgres with many concurrent clients on one event: the
+ * conditional decrement of {@code events.available} never sells more seats than the event has. The benchmark
+ * measures bookings/sec at 1, 8 and 64 clients.
+ */
+@DataJpaTest(properties = {
+        "spring.liquibase.change-log=classpath:migration/liquibase/master.xml",
+        "spring.jpa.properties.hibernate.default_schema=event",
+        "spring.datasource.hikari.maximum-pool-size=64"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ContextConfiguration(classes = SeatInventoryContentionIntegrationTest.Config.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Testcontainers(disabledWithoutDocker = true)
+class SeatInventoryContentionIntegrationTest {
+
+    @Container
+    private static final GenericContainer<?> POSTGRES = new GenericContainer<>("postgres:16-alpine")
+            .withEnv("POSTGRES_DB", "aquastream")
+            .withEnv("POSTGRES_USER", "aquastream")
+            .withEnv("POSTGRES_PASSWORD", "password")
+            .withExposedPorts(5432)
+            .waitingFor(Wait.forLogMessage(".*database system is ready to accept connections.*", 2));
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () -> "jdbc:postgresql://" + POSTGRES.getHost() + ":"
+                + POSTGRES.getMappedPort(5432) + "/aquastream");
+        registry.add("spring.datasource.username", () -> "aquastream");
+        registry.add("spring.datasource.password", () -> "password");
+    }
+
+    @Configuration
+    @EnableAutoConfiguration
+    @EntityScan("org.aquastream.event.db.entity")
+    @EnableJpaRepositories("org.aquastream.event.db.repository")
+    static class Config {
+    }
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private EventRepository eventRepository;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private SeatInventoryService seatInventory;
+    private TransactionTemplate transaction;
+    private EventEntity event;
+
+    @BeforeEach
+    void setUp() {
+        seatInventory = new SeatInventoryService(eventRepository);
+        ReflectionTestUtils.setField(seatInventory, "soldOutTtl", Duration.ofSeconds(2));
+        transaction = new TransactionTemplate(transactionManager);
+
+        UUID organizerId = jdbcTemplate.queryForObject("""
+                INSERT INTO "event".organizers (slug, name) VALUES (?, 'Contention organizer') RETURNING id
+                """, UUID.class, "contention-" + UUID.randomUUID());
+        UUID eventId = jdbcTemplate.queryForObject("""
+                INSERT INTO "event".events (organizer_id, type, title, date_start, date_end, location, capacity,
+                                            available, status)
+                VALUES (?, 'RAFTING', 'Popular rafting trip', now() + interval '7 days', now() + interval '8 days',
+                        '{"address": "Karelia"}', 500, 500, 'PUBLISHED')
+                RETURNING id
+                """, UUID.class, organizerId);
+        event = new EventEntity();
+        event.setId(eventId);
+    }
+
+    @Test
+    void neverOversellsUnderContention() throws Exception {
+        AtomicInteger reserved = new AtomicInteger();
+
+        runClients(64, 20, () -> {
+            if (Boolean.TRUE.equals(transaction.execute(status -> seatInventory.tryReserve(event)))) {
+                reserved.incrementAndGet();
+            }
+        });
+
+        assertEquals(500, reserved.get());
+        assertEquals(0, available());
+    }
+
+    /**
+     * Bookings/sec on a single event at 1, 8 and 64 concurrent clients; every reservation is its own
+     * transaction, as in BookingService.createBooking
+     */
+    @Test
+    @Tag("benchmark")
+    void benchmarkReservationsPerSecond() throws Exception {
+        int operations = 4_000;
+        jdbcTemplate.update("UPDATE \"event\".events SET capacity = ?, available = ? WHERE id = ?",
+                operations * 3, operations * 3, event.getId());
+
+        for (int clients : new int[]{1, 8, 64}) {
+            long start = System.nanoTime();
+            runClients(clients, operations / clients,
+                    () -> transaction.executeWithoutResult(status -> seatInventory.tryReserve(event)));
+            double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+            System.out.printf("Seat inventory: %d clients -> %.0f bookings/sec%n", clients, operations / seconds);
+        }
+    }
+
+    private int available() {
+        return jdbcTemplate.queryForObject("SELECT available FROM \"event\".events WHERE id = ?",
+                Integer.class, event.getId());
+    }
+
+    private static void runClients(int clients, int iterations, Runnable action) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(clients);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < clients; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    for (int j = 0; j < iterations; j++) {
+                        action.run();
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,182 @@
+package org.aquastream.event.service;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.aquastream.event.db.repository.EventRepository;
+import org.aquastream.event.db.repository.WaitlistAuditRepository;
+import org.aquastream.event.db.repository.WaitlistRepository;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.transaction.TestTransaction;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.containers.wait.strategy.Wait;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * WaitlistService.expireNotifications against a real Postgres: 10k expired notifications across
+ * 100 events are reset, their spots passed to the next waiting entries and audited in a bounded number
+ * of statements.
+ */
+@DataJpaTest(properties = {
+        "spring.liquibase.change-log=classpath:migration/liquibase/master.xml",
+        "spring.jpa.properties.hibernate.default_schema=event",
+        "spring.jpa.properties.hibernate.jdbc.batch_size=500",
+        "spring.jpa.properties.hibernate.order_inserts=true",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ContextConfiguration(classes = WaitlistExpiryIntegrationTest.Config.class)
+@Testcontainers(disabledWithoutDocker = true)
+class WaitlistExpiryIntegrationTest {
+
+    private static final int EVENTS = 100;
+    private static final int EXPIRED_PER_EVENT = 100;
+    private static final int WAITING_PER_EVENT = 150;
+    private static final int AVAILABLE = 60;
+
+    @Container
+    private static final GenericContainer<?> POSTGRES = new GenericContainer<>("postgres:16-alpine")
+            .withEnv("POSTGRES_DB", "aquastream")
+            .withEnv("POSTGRES_USER", "aquastream")
+            .withEnv("POSTGRES_PASSWORD", "password")
+            .withExposedPorts(5432)
+            .waitingFor(Wait.forLogMessage(".*database system is ready to accept connections.*", 2));
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () -> "jdbc:postgresql://" + POSTGRES.getHost() + ":"
+                + POSTGRES.getMappedPort(5432) + "/aquastream");
+        registry.add("spring.datasource.username", () -> "aquastream");
+        registry.add("spring.datasource.password", () -> "password");
+    }
+
+    @Configuration
+    @EnableAutoConfiguration
+    @EntityScan("org.aquastream.event.db.entity")
+    @EnableJpaRepositories("org.aquastream.event.db.repository")
+    static class Config {
+    }
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private TestEntityManager entityManager;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private WaitlistRepository waitlistRepository;
+    @Autowired
+    private EventRepository eventRepository;
+    @Autowired
+    private WaitlistAuditRepository auditRepository;
+
+    private NotificationService notificationService;
+    private WaitlistService waitlistService;
+
+    @BeforeEach
+    void setUp() {
+        notificationService = mock(NotificationService.class);
+        waitlistService = new WaitlistService(waitlistRepository, eventRepository, notificationService,
+                new WaitlistAuditService(auditRepository, waitlistRepository), mock(WaitlistPositionIndex.class));
+        ReflectionTestUtils.setField(waitlistService, "notificationWindowMinutes", 30);
+    }
+
+    @Test
+    void expiredNotificationsPassSpotsToNextInLine() {
+        seed();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        Instant now = Instant.now();
+        List<UUID> expiredIds = new ArrayList<>();
+        int batches = 0;
+        while (waitlistService.expireNotifications(now, 1000, expiredIds) == 1000) {
+            batches++;
+        }
+        entityManager.flush();
+        // Notifications wait for the commit
+        verifyNoInteractions(notificationService);
+        TestTransaction.flagForCommit();
+        TestTransaction.end();
+
+        int expired = EVENTS * EXPIRED_PER_EVENT;
+        int notified = EVENTS * AVAILABLE;
+        assertEquals(expired / 1000, batches);
+        assertEquals(expired, expiredIds.size());
+        assertEquals(0, count("notification_expires_at < now()"));
+        assertEquals(notified, count("notified_at IS NOT NULL"));
+        // Expired entries keep their place but do not get their spot back in the same run
+        assertEquals(notified, count("notified_at IS NOT NULL AND priority > " + EXPIRED_PER_EVENT));
+        assertEquals(expired, auditCount("EXPIRED"));
+        assertEquals(notified, auditCount("NOTIFIED"));
+        verify(notificationService, times(notified)).sendWaitlistNotification(any(), any(), any());
+        assertTrue(statistics.getPrepareStatementCount() < 200,
+                "expected set-based statements, got " + statistics.getPrepareStatementCount());
+    }
+
+    private void seed() {
+        UUID organizerId = UUID.randomUUID();
+        jdbcTemplate.update("INSERT INTO \"event\".organizers (id, slug, name) VALUES (?, ?, ?)",
+                organizerId, "expiry-" + organizerId, "Expiry benchmark");
+
+        Instant notifiedAt = Instant.now().minus(2, ChronoUnit.HOURS);
+        Instant expiredAt = notifiedAt.plus(30, ChronoUnit.MINUTES);
+        List<Object[]> events = new ArrayList<>();
+        List<Object[]> entries = new ArrayList<>();
+        for (int e = 0; e < EVENTS; e++) {
+            UUID eventId = UUID.randomUUID();
+            events.add(new Object[]{eventId, organizerId, "Event " + e, AVAILABLE});
+            for (int p = 1; p <= EXPIRED_PER_EVENT + WAITING_PER_EVENT; p++) {
+                boolean expired = p <= EXPIRED_PER_EVENT;
+                entries.add(new Object[]{eventId, UUID.randomUUID(), p,
+                        expired ? Timestamp.from(notifiedAt) : null, expired ? Timestamp.from(expiredAt) : null});
+            }
+        }
+
+        jdbcTemplate.batchUpdate("""
+                INSERT INTO "event".events (id, organizer_id, type, title, date_start, date_end, location,
+                                            capacity, available, status)
+                VALUES (?, ?, 'RAFTING', ?, now() + interval '7 days', now() + interval '8 days', '{}'::jsonb,
+                        500, ?, 'PUBLISHED')
+                """, events);
+        jdbcTemplate.batchUpdate("""
+                INSERT INTO "event".waitlist (event_id, user_id, priority, notified_at, notification_expires_at)
+                VALUES (?, ?, ?, ?, ?)
+                """, entries);
+    }
+
+    private int count(String condition) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM \"event\".waitlist WHERE " + condition, Integer.class);
+    }
+
+    private int auditCount(String action) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM \"event\".waitlist_audit WHERE action = ?",
+                Integer.class, action);
+    }
+}
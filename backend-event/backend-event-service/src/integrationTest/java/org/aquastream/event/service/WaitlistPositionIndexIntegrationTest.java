@@ -0,0 +1,104 @@
+package org.aquastream.event.service;
+
+import org.aquastream.event.db.entity.WaitlistEntity;
+import org.aquastream.event.db.repository.WaitlistRepository;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * WaitlistPositionIndex against a real Redis: positions of a 2,000-person queue, leaves without
+ * compaction, and a rebuild from the database when the queue is missing.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class WaitlistPositionIndexIntegrationTest {
+
+    private static final int QUEUE = 2_000;
+
+    @Container
+    private static final GenericContainer<?> REDIS = new GenericContainer<>("redis:7-alpine").withExposedPorts(6379);
+
+    private static LettuceConnectionFactory connectionFactory;
+    private static StringRedisTemplate redisTemplate;
+
+    private final UUID eventId = UUID.randomUUID();
+    private final List<WaitlistEntity> entries = new ArrayList<>();
+    private WaitlistRepository repository;
+    private WaitlistPositionIndex index;
+
+    @BeforeAll
+    static void setUpRedis() {
+        connectionFactory = new LettuceConnectionFactory(
+                new RedisStandaloneConfiguration(REDIS.getHost(), REDIS.getMappedPort(6379)));
+        connectionFactory.afterPropertiesSet();
+        redisTemplate = new StringRedisTemplate(connectionFactory);
+    }
+
+    @AfterAll
+    static void tearDownRedis() {
+        connectionFactory.destroy();
+    }
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 1; i <= QUEUE; i++) {
+            entries.add(WaitlistEntity.builder().eventId(eventId).userId(UUID.randomUUID()).priority(i).build());
+        }
+        repository = mock(WaitlistRepository.class);
+        when(repository.findQueueByEventId(eventId)).thenAnswer(invocation -> entries.stream()
+                .map(entry -> new Object[]{entry.getUserId(), entry.getPriority()})
+                .toList());
+        index = new WaitlistPositionIndex(redisTemplate, repository);
+        ReflectionTestUtils.setField(index, "ttl", Duration.ofHours(1));
+    }
+
+    @Test
+    void positionsComeFromOneLoadOfTheQueue() {
+        assertEquals(new WaitlistPositionIndex.Position(0, QUEUE), index.position(entries.get(0)));
+        assertEquals(new WaitlistPositionIndex.Position(1_499, QUEUE), index.position(entries.get(1_499)));
+        assertEquals(new WaitlistPositionIndex.Position(QUEUE - 1, QUEUE), index.position(entries.get(QUEUE - 1)));
+        verify(repository, times(1)).findQueueByEventId(eventId);
+    }
+
+    @Test
+    void leaveNearTheFrontMovesEveryoneBehindUp() {
+        index.position(entries.get(0));
+
+        WaitlistEntity leaver = entries.remove(2);
+        index.remove(eventId, leaver.getUserId());
+        WaitlistEntity joined = WaitlistEntity.builder()
+                .eventId(eventId).userId(UUID.randomUUID()).priority(QUEUE + 1).build();
+        entries.add(joined);
+        index.add(joined);
+
+        assertEquals(new WaitlistPositionIndex.Position(2, QUEUE), index.position(entries.get(2)));
+        assertEquals(new WaitlistPositionIndex.Position(QUEUE - 1, QUEUE), index.position(joined));
+        verify(repository, times(1)).findQueueByEventId(eventId);
+    }
+
+    @Test
+    void evictedQueueIsRebuiltFromDatabase() {
+        index.position(entries.get(0));
+        index.evict(eventId);
+        entries.remove(0);
+
+        assertEquals(new WaitlistPositionIndex.Position(0, QUEUE - 1), index.position(entries.get(0)));
+        verify(repository, times(2)).findQueueByEventId(eventId);
+    }
+}
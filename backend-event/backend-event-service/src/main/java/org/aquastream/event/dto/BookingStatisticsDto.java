@@ -0,0 +1,27 @@
+package org.aquastream.event.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.Map;
+
+/**
+ * Booking statistics of an organizer's events, or of one event.
+ * Revenue counts CONFIRMED and COMPLETED bookings; utilization is sold seats (CONFIRMED, COMPLETED, NO_SHOW)
+ * over capacity.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookingStatisticsDto {
+    private long totalBookings;
+    private Map<String, Long> bookingsByStatus;
+    private BigDecimal totalRevenue;
+    private long capacity;
+    private long seatsSold;
+    private double utilization;
+}
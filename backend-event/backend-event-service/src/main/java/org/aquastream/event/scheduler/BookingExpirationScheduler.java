@@ -2,18 +2,20 @@ package org.aquastream.event.scheduler;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.aquastream.event.db.entity.BookingEntity;
 import org.aquastream.event.service.BookingService;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
-import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Scheduled job for automatic booking expiration.
- * 
- * Runs every 60 seconds to find and expire PENDING bookings that have passed their expiration time.
+ *
+ * Runs every 60 seconds and expires overdue PENDING bookings in chunks of {@code chunk-size}, each in its own
+ * transaction, until a chunk comes back short. Chunks are claimed with SKIP LOCKED, so every replica can run
+ * the job and a backlog (e.g. after a deploy) is shared between them instead of loaded into one heap.
  * When bookings expire, they free up event capacity for new bookings or waitlist processing.
  */
 @Component
@@ -21,36 +23,65 @@ import java.util.List;
 @Slf4j
 @ConditionalOnProperty(name = "aquastream.scheduling.enabled", havingValue = "true", matchIfMissing = true)
 public class BookingExpirationScheduler {
-    
+
     private final BookingService bookingService;
-    
+
+    private final AtomicLong expiredCount = new AtomicLong();
+    private final AtomicLong lagMillis = new AtomicLong();
+
+    @Value("${app.booking.expiration.chunk-size:500}")
+    private int chunkSize;
+
     /**
-     * Find and expire pending bookings that have passed their expiration time.
+     * Expire pending bookings that have passed their expiration time.
      * Runs every 60 seconds (60000 milliseconds).
      */
     @Scheduled(fixedDelay = 60000)
     public void expireBookings() {
         try {
             log.debug("Running booking expiration job");
-            
-            // Find expired pending bookings
-            List<BookingEntity> expiredBookings = bookingService.findExpiredPendingBookings();
-            
-            if (expiredBookings.isEmpty()) {
+
+            int total = 0;
+            int expired;
+            do {
+                expired = bookingService.expirePendingBookings(chunkSize);
+                total += expired;
+                expiredCount.addAndGet(expired);
+            } while (expired == chunkSize);
+
+            if (total > 0) {
+                log.info("Successfully expired {} bookings", total);
+            } else {
                 log.debug("No expired bookings found");
-                return;
             }
-            
-            log.info("Found {} expired bookings to process", expiredBookings.size());
-            
-            // Expire the bookings
-            bookingService.expireBookings(expiredBookings);
-            
-            log.info("Successfully expired {} bookings", expiredBookings.size());
-            
+
         } catch (Exception e) {
             log.error("Error during booking expiration job", e);
             // Don't rethrow - we don't want to break the scheduler
+        } finally {
+            updateLag();
+        }
+    }
+
+    /**
+     * Bookings expired by this instance since start
+     */
+    public long getExpiredCount() {
+        return expiredCount.get();
+    }
+
+    /**
+     * Age of the oldest overdue PENDING booking after the last run, zero when the job is caught up
+     */
+    public long getLagMillis() {
+        return lagMillis.get();
+    }
+
+    private void updateLag() {
+        try {
+            lagMillis.set(bookingService.getExpirationLag().toMillis());
+        } catch (Exception e) {
+            log.warn("Failed to measure booking expiration lag: {}", e.getMessage());
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,64 @@
+package org.aquastream.event.scheduler;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.aquastream.event.service.BookingStatsService;
+import org.aquastream.event.service.BookingStatsService.ReconciliationChunk;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Scheduled job that checks the precomputed booking statistics against the bookings table.
+ *
+ * Runs every 10 minutes by default and walks all events in chunks of {@code chunk-size}, each in its own
+ * transaction. Any correction means a booking transition did not go through {@link BookingStatsService};
+ * the number of corrected events is exposed as {@code booking.stats.corrected}.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+@ConditionalOnProperty(name = "aquastream.scheduling.enabled", havingValue = "true", matchIfMissing = true)
+public class BookingStatsReconciliationScheduler {
+
+    private final BookingStatsService bookingStatsService;
+
+    private final AtomicLong correctedCount = new AtomicLong();
+
+    @Value("${app.booking.stats.chunk-size:500}")
+    private int chunkSize;
+
+    @Scheduled(fixedDelayString = "${app.booking.stats.reconcile-interval-ms:600000}", initialDelay = 60000)
+    public void reconcile() {
+        try {
+            log.debug("Running booking statistics reconciliation");
+
+            int corrected = 0;
+            UUID after = null;
+            do {
+                ReconciliationChunk chunk = bookingStatsService.reconcileChunk(after, chunkSize);
+                corrected += chunk.corrected();
+                after = chunk.lastEventId();
+            } while (after != null);
+
+            correctedCount.addAndGet(corrected);
+            if (corrected > 0) {
+                log.warn("Booking statistics reconciliation corrected {} events", corrected);
+            }
+        } catch (Exception e) {
+            log.error("Error during booking statistics reconciliation", e);
+            // Don't rethrow - we don't want to break the scheduler
+        }
+    }
+
+    /**
+     * Events whose statistics this instance had to correct since start
+     */
+    public long getCorrectedCount() {
+        return correctedCount.get();
+    }
+}
@@ -0,0 +1,77 @@
+package org.aquastream.event.scheduler;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.aquastream.event.service.FavoritesService;
+import org.aquastream.event.service.FavoritesService.ReconciliationChunk;
+import org.aquastream.event.service.PopularEventsRanking;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiFunction;
+
+/**
+ * Scheduled job that checks the favorites counters against the favorites table and rebuilds the popular
+ * events ranking.
+ *
+ * Runs hourly by default. Event and user counters are walked in chunks of {@code chunk-size}, each in its own
+ * transaction; the number of corrected counters is exposed as {@code favorites.counts.corrected}. The ranking
+ * is then rebuilt from the favorites, which trims it to {@code max-size} and restores scores whose update
+ * did not reach Redis.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+@ConditionalOnProperty(name = "aquastream.scheduling.enabled", havingValue = "true", matchIfMissing = true)
+public class FavoritesReconciliationScheduler {
+
+    private final FavoritesService favoritesService;
+    private final PopularEventsRanking popularEvents;
+
+    private final AtomicLong correctedCount = new AtomicLong();
+
+    @Value("${app.favorites.chunk-size:1000}")
+    private int chunkSize;
+
+    @Scheduled(fixedDelayString = "${app.favorites.reconcile-interval-ms:3600000}", initialDelay = 60000)
+    public void reconcile() {
+        try {
+            log.debug("Running favorites reconciliation");
+
+            int corrected = reconcileAll(favoritesService::reconcileEventCounts)
+                    + reconcileAll(favoritesService::reconcileUserCounts);
+            correctedCount.addAndGet(corrected);
+            if (corrected > 0) {
+                log.warn("Favorites reconciliation corrected {} counters", corrected);
+            }
+
+            int ranked = popularEvents.rebuild();
+            log.debug("Rebuilt popular events ranking with {} events", ranked);
+        } catch (Exception e) {
+            log.error("Error during favorites reconciliation", e);
+            // Don't rethrow - we don't want to break the scheduler
+        }
+    }
+
+    /**
+     * Counters this instance had to correct since start
+     */
+    public long getCorrectedCount() {
+        return correctedCount.get();
+    }
+
+    private int reconcileAll(BiFunction<UUID, Integer, ReconciliationChunk> reconcileChunk) {
+        int corrected = 0;
+        UUID after = null;
+        do {
+            ReconciliationChunk chunk = reconcileChunk.apply(after, chunkSize);
+            corrected += chunk.corrected();
+            after = chunk.lastId();
+        } while (after != null);
+        return corrected;
+    }
+}
@@ -0,0 +1,34 @@
+package org.aquastream.event.scheduler;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.aquastream.event.service.SeatInventoryService;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Scheduled job that keeps {@code events.available} consistent with the bookings table.
+ *
+ * Runs every 30 seconds by default. Drift can appear after manual DB changes, capacity edits
+ * or transitions that bypass {@link SeatInventoryService}.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+@ConditionalOnProperty(name = "aquastream.scheduling.enabled", havingValue = "true", matchIfMissing = true)
+public class SeatInventoryReconciliationScheduler {
+
+    private final SeatInventoryService seatInventoryService;
+
+    @Scheduled(fixedDelayString = "${app.booking.seat-inventory.reconcile-interval-ms:30000}", initialDelay = 30000)
+    public void reconcile() {
+        try {
+            log.debug("Running seat inventory reconciliation");
+            seatInventoryService.reconcile();
+        } catch (Exception e) {
+            log.error("Error during seat inventory reconciliation", e);
+            // Don't rethrow - we don't want to break the scheduler
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package org.aquastream.event.scheduler;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.aquastream.event.service.WaitlistService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Scheduled job for expired waitlist notifications.
+ *
+ * Runs every {@code cleanup-interval-minutes} and expires notification windows in batches of
+ * {@code expiry-batch-size}, each in its own transaction, until a batch comes back short. Locks and the
+ * notifications of a batch are released as soon as it commits; entries expired earlier in the same run are
+ * not notified again by it.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+@ConditionalOnProperty(name = "aquastream.scheduling.enabled", havingValue = "true", matchIfMissing = true)
+public class WaitlistExpiryScheduler {
+
+    private final WaitlistService waitlistService;
+
+    @Value("${app.waitlist.expiry-batch-size:1000}")
+    private int expiryBatchSize;
+
+    @Scheduled(fixedDelayString = "${app.waitlist.cleanup-interval-minutes:5}000", initialDelay = 60000)
+    public void expireNotifications() {
+        try {
+            Instant now = Instant.now();
+            List<UUID> expiredIds = new ArrayList<>();
+            int expired;
+            do {
+                expired = waitlistService.expireNotifications(now, expiryBatchSize, expiredIds);
+            } while (expired == expiryBatchSize);
+
+            if (!expiredIds.isEmpty()) {
+                log.info("Processed {} expired waitlist notifications", expiredIds.size());
+            }
+
+        } catch (Exception e) {
+            log.error("Error during waitlist expiry job", e);
+            // Don't rethrow - we don't want to break the scheduler
+        }
+    }
+}
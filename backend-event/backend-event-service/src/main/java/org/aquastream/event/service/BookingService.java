@@ -13,7 +13,9 @@ import org.aquastream.event.db.repository.BookingLogRepository;
 import org.aquastream.event.db.repository.BookingRepository;
 import org.aquastream.event.db.repository.EventRepository;
 import org.aquastream.event.dto.BookingDto;
+import org.aquastream.event.dto.BookingStatisticsDto;
 import org.aquastream.event.dto.CreateBookingRequest;
+import org.aquastream.event.dto.CursorPage;
 import org.aquastream.event.dto.PagedResponse;
 import org.aquastream.event.exception.BookingConflictException;
 import org.aquastream.event.exception.BookingNotFoundException;
@@ -26,9 +28,13 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.time.Instant;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 /**
@@ -47,6 +53,8 @@ public class BookingService {
     private final ObjectMapper objectMapper;
     private final WaitlistService waitlistService;
     private final PaymentClient paymentClient;
+    private final SeatInventoryService seatInventory;
+    private final BookingStatsService bookingStats;
     
     // TODO: Inject after implementing user-service integration
     // private final UserProfileService userProfileService;
@@ -74,11 +82,9 @@ public class BookingService {
             throw new BookingConflictException("User already has an active booking for this event");
         }
         
-        // 3. Check event capacity
-        long activeBookings = bookingRepository.countActiveBookingsByEventId(request.getEventId());
-        if (activeBookings >= event.getCapacity()) {
-            log.warn("Event {} is at capacity ({} bookings, {} capacity)", 
-                    request.getEventId(), activeBookings, event.getCapacity());
+        // 3. Reserve a seat (released automatically if the booking is not committed)
+        if (!seatInventory.tryReserve(event)) {
+            log.warn("Event {} is at capacity ({} capacity)", request.getEventId(), event.getCapacity());
             
             // TODO: Add to waitlist
             throw new BookingConflictException("Event is at full capacity. Please join the waitlist.");
@@ -102,6 +108,7 @@ public class BookingService {
         }
         
         booking = bookingRepository.save(booking);
+        bookingStats.recordCreated(booking);
         
         // 6. Initialize payment if required
         if (event.getPrice() != null && event.getPrice().compareTo(BigDecimal.ZERO) > 0) {
@@ -150,6 +157,7 @@ public class BookingService {
         BookingStatus oldStatus = booking.getStatus();
         booking.setStatus(BookingStatus.CONFIRMED);
         booking = bookingRepository.save(booking);
+        bookingStats.recordTransition(booking, oldStatus, BookingStatus.CONFIRMED);
         
         // Create audit log
         createBookingLog(booking, BookingLogEntity.BookingLogAction.CONFIRMED, oldStatus, userId);
@@ -177,13 +185,16 @@ public class BookingService {
         BookingStatus oldStatus = booking.getStatus();
         booking.setStatus(BookingStatus.CANCELLED);
         booking = bookingRepository.save(booking);
+        bookingStats.recordTransition(booking, oldStatus, BookingStatus.CANCELLED);
         
         // Create audit log with reason
         JsonNode reasonNode = objectMapper.valueToTree(reason);
         createBookingLog(booking, BookingLogEntity.BookingLogAction.CANCELLED, oldStatus, userId, reasonNode);
         
         // Release event capacity and process waitlist
-        releaseEventCapacity(booking.getEvent(), 1);
+        if (isActive(oldStatus)) {
+            seatInventory.release(booking.getEvent().getId(), 1);
+        }
         waitlistService.processWaitlistForEvent(booking.getEvent().getId());
         
         // TODO: Send cancellation notification
@@ -211,6 +222,20 @@ public class BookingService {
         return toPagedResponse(dtoPage);
     }
     
+    /**
+     * Keyset variant of {@link #getUserBookings}: newest first after the cursor, without OFFSET and COUNT
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<BookingDto> getUserBookingsAfter(UUID userId, BookingStatus status, String cursor, int size) {
+        SeekCursor after = SeekCursor.decode(cursor, SeekCursor.INSTANT);
+        int limit = SeekCursor.pageSize(size);
+        
+        List<Object[]> rows = bookingRepository.findUserBookingIdsAfter(userId, status != null ? status.name() : null,
+                after != null ? after.instant() : null, after != null ? after.id() : null, limit + 1);
+        return KeysetPages.toPage(rows, limit, bookingRepository::findWithEventByIdIn, BookingEntity::getId,
+                bookingMapper::toBookingDto, SeekCursor::ofInstantRow);
+    }
+    
     /**
      * Get bookings for an event (organizer view)
      */
@@ -238,6 +263,7 @@ public class BookingService {
                 .orElseThrow(() -> new BookingNotFoundException("Booking not found for payment: " + paymentId));
         
         PaymentStatus oldPaymentStatus = booking.getPaymentStatus();
+        BookingStatus oldStatus = booking.getStatus();
         booking.setPaymentStatus(paymentStatus);
         
         // Auto-confirm booking if payment succeeded and booking is pending
@@ -246,6 +272,7 @@ public class BookingService {
         }
         
         booking = bookingRepository.save(booking);
+        bookingStats.recordTransition(booking, oldStatus, booking.getStatus());
         
         // Create audit log
         createBookingLog(booking, BookingLogEntity.BookingLogAction.PAYMENT_UPDATED, oldPaymentStatus, null);
@@ -273,6 +300,7 @@ public class BookingService {
         BookingStatus oldStatus = booking.getStatus();
         booking.setStatus(BookingStatus.CONFIRMED);
         booking = bookingRepository.save(booking);
+        bookingStats.recordTransition(booking, oldStatus, BookingStatus.CONFIRMED);
         
         // Create audit log
         createBookingLog(booking, BookingLogEntity.BookingLogAction.CONFIRMED, oldStatus, null);
@@ -283,56 +311,54 @@ public class BookingService {
     }
     
     /**
-     * Find expired pending bookings for cleanup job
-     */
-    @Transactional(readOnly = true)
-    public List<BookingEntity> findExpiredPendingBookings() {
-        return bookingRepository.findExpiredPendingBookings(Instant.now());
-    }
-    
-    /**
-     * Expire bookings (called by scheduled job)
+     * Expire one chunk of overdue PENDING bookings (called by scheduled job, one transaction per chunk).
+     * Bookings are claimed and expired with a single UPDATE ... RETURNING that skips rows locked by another
+     * replica, seats go back with one UPDATE for all affected events, and the logs are inserted as a JDBC batch.
+     *
+     * @return number of bookings expired
      */
-    public void expireBookings(List<BookingEntity> expiredBookings) {
-        if (expiredBookings.isEmpty()) {
-            return;
-        }
-        
-        log.info("Expiring {} bookings", expiredBookings.size());
-        
-        List<UUID> bookingIds = expiredBookings.stream()
-                .map(BookingEntity::getId)
-                .toList();
-        
-        // Bulk update booking statuses
+    public int expirePendingBookings(int limit) {
         Instant now = Instant.now();
-        int updated = bookingRepository.updateBookingStatuses(bookingIds, BookingStatus.EXPIRED, now);
+        List<Object[]> expired = bookingRepository.expirePendingBookings(now, limit);
+        if (expired.isEmpty()) {
+            return 0;
+        }
         
-        // Create audit logs for expired bookings
-        for (BookingEntity booking : expiredBookings) {
-            createBookingLog(booking, BookingLogEntity.BookingLogAction.EXPIRED, BookingStatus.PENDING, null);
+        Map<UUID, Integer> releasedPerEvent = new HashMap<>();
+        List<BookingLogEntity> logs = new ArrayList<>(expired.size());
+        JsonNode oldValue = objectMapper.valueToTree(BookingStatus.PENDING);
+        JsonNode newValue = objectMapper.valueToTree(BookingStatus.EXPIRED);
+        for (Object[] row : expired) {
+            releasedPerEvent.merge((UUID) row[1], 1, Integer::sum);
+            
+            BookingLogEntity bookingLog = new BookingLogEntity();
+            bookingLog.setBooking(bookingRepository.getReferenceById((UUID) row[0]));
+            bookingLog.setAction(BookingLogEntity.BookingLogAction.EXPIRED);
+            bookingLog.setOldValue(oldValue);
+            bookingLog.setNewValue(newValue);
+            bookingLog.setCreatedAt(now);
+            logs.add(bookingLog);
         }
+        bookingLogRepository.saveAll(logs);
+        bookingStats.recordExpired(releasedPerEvent);
         
-        log.info("Expired {} bookings", updated);
+        seatInventory.release(releasedPerEvent);
         
-        // Release capacity and process waitlist for affected events
-        var eventCapacityUpdates = new java.util.HashMap<UUID, Integer>();
-        for (BookingEntity booking : expiredBookings) {
-            UUID eventId = booking.getEvent().getId();
-            eventCapacityUpdates.merge(eventId, 1, Integer::sum);
-        }
+        // Process waitlists for affected events
+        releasedPerEvent.keySet().forEach(waitlistService::processWaitlistForEvent);
         
-        // Update event capacity and process waitlists
-        for (var entry : eventCapacityUpdates.entrySet()) {
-            UUID eventId = entry.getKey();
-            int capacityToRelease = entry.getValue();
-            
-            EventEntity event = eventRepository.findById(eventId).orElse(null);
-            if (event != null) {
-                releaseEventCapacity(event, capacityToRelease);
-                waitlistService.processWaitlistForEvent(eventId);
-            }
-        }
+        log.info("Expired {} bookings across {} events", expired.size(), releasedPerEvent.size());
+        return expired.size();
+    }
+    
+    /**
+     * How long the oldest overdue PENDING booking has been waiting to expire, zero when none are overdue
+     */
+    @Transactional(readOnly = true)
+    public Duration getExpirationLag() {
+        Instant now = Instant.now();
+        Instant oldest = bookingRepository.findOldestExpiredPendingAt(now);
+        return oldest != null ? Duration.between(oldest, now) : Duration.ZERO;
     }
     
     /**
@@ -407,6 +433,22 @@ public class BookingService {
         return toPagedResponse(dtoPage);
     }
     
+    /**
+     * Keyset variant of {@link #getBookingsByOrganizer}: newest first after the cursor, without OFFSET and COUNT
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<BookingDto> getBookingsByOrganizerAfter(UUID organizerId, UUID eventId, BookingStatus status,
+                                                              String cursor, int size) {
+        SeekCursor after = SeekCursor.decode(cursor, SeekCursor.INSTANT);
+        int limit = SeekCursor.pageSize(size);
+        
+        List<Object[]> rows = bookingRepository.findOrganizerBookingIdsAfter(organizerId, eventId,
+                status != null ? status.name() : null,
+                after != null ? after.instant() : null, after != null ? after.id() : null, limit + 1);
+        return KeysetPages.toPage(rows, limit, bookingRepository::findWithEventByIdIn, BookingEntity::getId,
+                bookingMapper::toBookingDto, SeekCursor::ofInstantRow);
+    }
+    
     /**
      * Update booking status by organizer
      */
@@ -426,6 +468,14 @@ public class BookingService {
         BookingStatus oldStatus = booking.getStatus();
         booking.setStatus(newStatus);
         booking = bookingRepository.save(booking);
+        bookingStats.recordTransition(booking, oldStatus, newStatus);
+        
+        // Keep seat inventory in line with the active booking set
+        if (isActive(oldStatus) && !isActive(newStatus)) {
+            seatInventory.release(booking.getEvent().getId(), 1);
+        } else if (!isActive(oldStatus) && isActive(newStatus)) {
+            seatInventory.reclaim(booking.getEvent().getId(), 1);
+        }
         
         // Create audit log with reason
         JsonNode reasonNode = reason != null ? objectMapper.valueToTree(reason) : null;
@@ -455,63 +505,20 @@ public class BookingService {
     }
     
     /**
-     * Get booking statistics for organizer's events
+     * Get booking statistics for organizer's events from the precomputed counters
      */
     @Transactional(readOnly = true)
-    public Object getBookingStatistics(UUID organizerId, UUID eventId) {
+    public BookingStatisticsDto getBookingStatistics(UUID organizerId, UUID eventId) {
         log.info("Getting booking statistics for organizer {} and event {}", organizerId, eventId);
         
-        // Get booking counts by status
-        List<Object[]> bookingStats;
-        if (eventId != null) {
-            bookingStats = bookingRepository.getBookingStatisticsByOrganizerAndEvent(organizerId, eventId);
-        } else {
-            bookingStats = bookingRepository.getBookingStatisticsByOrganizer(organizerId);
-        }
-        
-        // Transform to a more user-friendly format
-        var statistics = new java.util.HashMap<String, Object>();
-        
-        long totalBookings = 0;
-        var statusCounts = new java.util.HashMap<String, Long>();
-        
-        for (Object[] stat : bookingStats) {
-            BookingStatus status = (BookingStatus) stat[0];
-            Long count = (Long) stat[1];
-            statusCounts.put(status.name(), count);
-            totalBookings += count;
-        }
-        
-        statistics.put("totalBookings", totalBookings);
-        statistics.put("bookingsByStatus", statusCounts);
-        
-        // Add revenue statistics if needed
-        BigDecimal totalRevenue = bookingRepository.getTotalRevenueByOrganizer(organizerId, eventId);
-        statistics.put("totalRevenue", totalRevenue);
-        
-        return statistics;
+        return bookingStats.getStatistics(organizerId, eventId);
     }
     
     /**
-     * Release event capacity when bookings are cancelled or expired
+     * Whether a booking in this status holds a seat
      */
-    private void releaseEventCapacity(EventEntity event, int capacityToRelease) {
-        log.info("Releasing {} capacity for event {}", capacityToRelease, event.getId());
-        
-        int newAvailable = event.getAvailable() + capacityToRelease;
-        // Ensure we don't exceed maximum capacity
-        int maxCapacity = event.getCapacity();
-        if (newAvailable > maxCapacity) {
-            log.warn("Trying to release more capacity than maximum for event {}: {} > {}", 
-                    event.getId(), newAvailable, maxCapacity);
-            newAvailable = maxCapacity;
-        }
-        
-        event.setAvailable(newAvailable);
-        eventRepository.save(event);
-        
-        log.info("Released {} capacity for event {} - new available: {}/{}", 
-                capacityToRelease, event.getId(), newAvailable, maxCapacity);
+    private static boolean isActive(BookingStatus status) {
+        return status == BookingStatus.PENDING || status == BookingStatus.CONFIRMED;
     }
     
     /**
@@ -0,0 +1,176 @@
+package org.aquastream.event.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.aquastream.common.domain.BookingStatus;
+import org.aquastream.event.db.entity.BookingEntity;
+import org.aquastream.event.db.repository.EventBookingStatsRepository;
+import org.aquastream.event.dto.BookingStatisticsDto;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+
+/**
+ * Incrementally maintained booking statistics of events and organizers.
+ *
+ * Every booking transition adds its delta to the counters of the event ({@code event_booking_stats}) in the
+ * transaction of the transition, so the organizer dashboard sums one row per event instead of grouping all
+ * bookings. {@link #reconcileChunk} recomputes the counters from the bookings and corrects drift left by
+ * manual DB changes or transitions that bypass {@link BookingService}.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional
+public class BookingStatsService {
+
+    private final EventBookingStatsRepository statsRepository;
+
+    /**
+     * One chunk of reconciliation; {@code lastEventId} is null after the last chunk
+     */
+    public record ReconciliationChunk(UUID lastEventId, int corrected) {
+    }
+
+    /**
+     * Count a new booking
+     */
+    public void recordCreated(BookingEntity booking) {
+        recordTransition(booking, null, booking.getStatus());
+    }
+
+    /**
+     * Move a booking from one status counter to another, adjusting revenue if it starts or stops counting
+     */
+    public void recordTransition(BookingEntity booking, BookingStatus from, BookingStatus to) {
+        if (from == to) {
+            return;
+        }
+        Delta delta = new Delta();
+        delta.move(from, to, 1, booking.getAmount());
+        apply(Map.of(booking.getEvent().getId(), delta));
+    }
+
+    /**
+     * Count PENDING bookings expired in bulk, per event
+     */
+    public void recordExpired(Map<UUID, Integer> expiredPerEvent) {
+        Map<UUID, Delta> deltas = new TreeMap<>();
+        expiredPerEvent.forEach((eventId, count) -> {
+            Delta delta = new Delta();
+            delta.move(BookingStatus.PENDING, BookingStatus.EXPIRED, count, null);
+            deltas.put(eventId, delta);
+        });
+        apply(deltas);
+    }
+
+    /**
+     * Statistics of an organizer's events, or of one of them when {@code eventId} is given
+     */
+    @Transactional(readOnly = true)
+    public BookingStatisticsDto getStatistics(UUID organizerId, UUID eventId) {
+        Object[] row = statsRepository.summarize(organizerId, eventId).get(0);
+
+        // Counters follow the events and capacity columns in BookingStatus order
+        Map<String, Long> byStatus = new LinkedHashMap<>();
+        long total = 0;
+        for (BookingStatus status : BookingStatus.values()) {
+            long count = ((Number) row[2 + status.ordinal()]).longValue();
+            byStatus.put(status.name(), count);
+            total += count;
+        }
+        long capacity = ((Number) row[1]).longValue();
+        long sold = byStatus.get(BookingStatus.CONFIRMED.name())
+                + byStatus.get(BookingStatus.COMPLETED.name())
+                + byStatus.get(BookingStatus.NO_SHOW.name());
+
+        return BookingStatisticsDto.builder()
+                .totalBookings(total)
+                .bookingsByStatus(byStatus)
+                .totalRevenue((BigDecimal) row[8])
+                .capacity(capacity)
+                .seatsSold(sold)
+                .utilization(capacity == 0 ? 0 : (double) sold / capacity)
+                .build();
+    }
+
+    /**
+     * Recompute the counters of the next {@code limit} events after {@code afterEventId} from their bookings
+     * and overwrite the ones that drifted. The counters are locked before the bookings are read: transitions
+     * that already changed them are committed and visible, later ones apply their delta on top of the result.
+     */
+    public ReconciliationChunk reconcileChunk(UUID afterEventId, int limit) {
+        List<UUID> eventIds = statsRepository.findEventIdsAfter(afterEventId, limit);
+        if (eventIds.isEmpty()) {
+            return new ReconciliationChunk(null, 0);
+        }
+
+        UUID[] ids = eventIds.toArray(UUID[]::new);
+        statsRepository.insertMissing(ids);
+        statsRepository.lockByEventIds(ids);
+        int corrected = statsRepository.reconcile(ids);
+        if (corrected > 0) {
+            log.warn("Corrected booking statistics of {} of {} events", corrected, ids.length);
+        }
+
+        UUID last = eventIds.size() == limit ? eventIds.get(eventIds.size() - 1) : null;
+        return new ReconciliationChunk(last, corrected);
+    }
+
+    private void apply(Map<UUID, Delta> deltas) {
+        List<Delta> values = new ArrayList<>(deltas.values());
+        statsRepository.applyDeltas(
+                deltas.keySet().toArray(UUID[]::new),
+                column(values, BookingStatus.PENDING),
+                column(values, BookingStatus.CONFIRMED),
+                column(values, BookingStatus.COMPLETED),
+                column(values, BookingStatus.EXPIRED),
+                column(values, BookingStatus.CANCELLED),
+                column(values, BookingStatus.NO_SHOW),
+                values.stream().map(delta -> delta.revenue).toArray(BigDecimal[]::new));
+    }
+
+    private static Integer[] column(List<Delta> deltas, BookingStatus status) {
+        return deltas.stream().map(delta -> delta.counts[status.ordinal()]).toArray(Integer[]::new);
+    }
+
+    /**
+     * Whether a booking in this status counts towards revenue
+     */
+    private static boolean isPaid(BookingStatus status) {
+        return status == BookingStatus.CONFIRMED || status == BookingStatus.COMPLETED;
+    }
+
+    /**
+     * Change of one event's counters
+     */
+    private static final class Delta {
+
+        private final int[] counts = new int[BookingStatus.values().length];
+        private BigDecimal revenue = BigDecimal.ZERO;
+
+        void move(BookingStatus from, BookingStatus to, int bookings, BigDecimal amount) {
+            if (from != null) {
+                counts[from.ordinal()] -= bookings;
+            }
+            counts[to.ordinal()] += bookings;
+
+            if (amount == null) {
+                return;
+            }
+            boolean wasPaid = from != null && isPaid(from);
+            if (isPaid(to) && !wasPaid) {
+                revenue = revenue.add(amount.multiply(BigDecimal.valueOf(bookings)));
+            } else if (wasPaid && !isPaid(to)) {
+                revenue = revenue.subtract(amount.multiply(BigDecimal.valueOf(bookings)));
+            }
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package org.aquastream.event.service;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.type.TypeFactory;
+import lombok.RequiredArgsConstructor;
+import org.aquastream.event.dto.EventDto;
+import org.aquastream.event.dto.FaqItemDto;
+import org.aquastream.event.dto.OrganizerDetailDto;
+import org.aquastream.event.dto.PagedResponse;
+import org.aquastream.event.dto.TeamMemberDto;
+import org.aquastream.event.service.PublicResponseCache.CachedResponse;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * {@link PublicEventService} responses served through {@link PublicResponseCache}.
+ *
+ * Scopes: {@code events} for the catalog listing, {@code event:<id>} for an event page and
+ * {@code organizer:<slug>} for the organizer page, team and FAQ. The organizer write paths call
+ * {@link #eventChanged} and {@link #organizerChanged} so that the affected scopes get a new version
+ * when their transaction commits.
+ */
+@Service
+@RequiredArgsConstructor
+public class CachedPublicEventService {
+
+    private static final String EVENTS_SCOPE = "events";
+
+    private final PublicEventService publicEventService;
+    private final PublicResponseCache cache;
+    private final EventAvailabilityOverlay availabilityOverlay;
+    private final ObjectMapper objectMapper;
+
+    public CachedResponse<PagedResponse<EventDto>> getEvents(String status,
+                                                             String type,
+                                                             BigDecimal minPrice,
+                                                             BigDecimal maxPrice,
+                                                             Instant dateFrom,
+                                                             Instant dateTo,
+                                                             String search,
+                                                             int page,
+                                                             int size,
+                                                             String ifNoneMatch) {
+        String key = Stream.of(status, type, minPrice, maxPrice, dateFrom, dateTo, search, page, size)
+                .map(value -> Objects.toString(value, ""))
+                .collect(Collectors.joining("|", "list:", ""));
+        return cache.get(EVENTS_SCOPE, key, type(PagedResponse.class, EventDto.class),
+                () -> publicEventService.getEvents(status, type, minPrice, maxPrice, dateFrom, dateTo, search, page, size),
+                PagedResponse::getItems, ifNoneMatch);
+    }
+
+    public CachedResponse<EventDto> getEventById(UUID eventId, String ifNoneMatch) {
+        return cache.get(eventScope(eventId), "detail", type(EventDto.class),
+                () -> publicEventService.getEventById(eventId), List::of, ifNoneMatch);
+    }
+
+    public CachedResponse<OrganizerDetailDto> getOrganizerBySlug(String slug, String ifNoneMatch) {
+        return cache.get(organizerScope(slug), "detail", type(OrganizerDetailDto.class),
+                () -> publicEventService.getOrganizerBySlug(slug),
+                organizer -> organizer.getEvents() != null ? organizer.getEvents() : List.of(), ifNoneMatch);
+    }
+
+    public CachedResponse<List<TeamMemberDto>> getOrganizerTeam(String slug, String ifNoneMatch) {
+        return cache.get(organizerScope(slug), "team", type(List.class, TeamMemberDto.class),
+                () -> publicEventService.getOrganizerTeam(slug), noEvents(), ifNoneMatch);
+    }
+
+    public CachedResponse<List<FaqItemDto>> getOrganizerFaq(String slug, String ifNoneMatch) {
+        return cache.get(organizerScope(slug), "faq", type(List.class, FaqItemDto.class),
+                () -> publicEventService.getOrganizerFaq(slug), noEvents(), ifNoneMatch);
+    }
+
+    /**
+     * An event was created or edited: invalidates the listing, the event page and its organizer's page
+     */
+    public void eventChanged(UUID eventId, String organizerSlug) {
+        availabilityOverlay.evict(eventId);
+        cache.invalidate(EVENTS_SCOPE, eventScope(eventId), organizerScope(organizerSlug));
+    }
+
+    /**
+     * Team or FAQ of an organizer was edited
+     */
+    public void organizerChanged(String organizerSlug) {
+        cache.invalidate(organizerScope(organizerSlug));
+    }
+
+    private static String eventScope(UUID eventId) {
+        return "event:" + eventId;
+    }
+
+    private static String organizerScope(String slug) {
+        return "organizer:" + slug;
+    }
+
+    private static <T> Function<T, List<EventDto>> noEvents() {
+        return body -> List.of();
+    }
+
+    private JavaType type(Class<?> type, Class<?>... parameters) {
+        TypeFactory typeFactory = objectMapper.getTypeFactory();
+        return parameters.length == 0 ? typeFactory.constructType(type)
+                : typeFactory.constructParametricType(type, parameters);
+    }
+}
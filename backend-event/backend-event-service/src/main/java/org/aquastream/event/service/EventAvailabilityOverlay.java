@@ -0,0 +1,81 @@
+package org.aquastream.event.service;
+
+import lombok.RequiredArgsConstructor;
+import org.aquastream.event.db.repository.EventRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Short-lived copy of {@code events.available} laid over cached public responses.
+ *
+ * Seat counts are the only part of a public event that changes without an organizer edit, so they are
+ * kept out of the versioned cache and re-read at most every {@code available-ttl}: one primary key
+ * lookup for all events of a response whose value is older than that.
+ */
+@Service
+@RequiredArgsConstructor
+public class EventAvailabilityOverlay {
+
+    private final EventRepository eventRepository;
+
+    @Value("${app.public-cache.available-ttl:2s}")
+    private Duration availableTtl;
+
+    @Value("${app.public-cache.local-max-entries:5000}")
+    private int maxEntries;
+
+    private final ConcurrentHashMap<UUID, Seats> seats = new ConcurrentHashMap<>();
+
+    /**
+     * Remaining seats of the events; deleted events are absent
+     */
+    public Map<UUID, Integer> available(Collection<UUID> eventIds) {
+        if (eventIds.isEmpty()) {
+            return Map.of();
+        }
+
+        long now = System.nanoTime();
+        Map<UUID, Integer> result = new HashMap<>();
+        List<UUID> stale = new ArrayList<>();
+        for (UUID eventId : eventIds) {
+            Seats cached = seats.get(eventId);
+            if (cached != null && now - cached.readAt() < availableTtl.toNanos()) {
+                result.put(eventId, cached.available());
+            } else {
+                stale.add(eventId);
+            }
+        }
+
+        if (!stale.isEmpty()) {
+            if (seats.size() > maxEntries) {
+                seats.values().removeIf(cached -> now - cached.readAt() >= availableTtl.toNanos());
+            }
+            for (Object[] row : eventRepository.findAvailableByIdIn(stale)) {
+                UUID eventId = (UUID) row[0];
+                int available = ((Number) row[1]).intValue();
+                seats.put(eventId, new Seats(available, now));
+                result.put(eventId, available);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Forget the seats of an event, e.g. after its capacity was edited
+     */
+    public void evict(UUID eventId) {
+        seats.remove(eventId);
+    }
+
+    private record Seats(int available, long readAt) {
+    }
+}
@@ -0,0 +1,94 @@
+package org.aquastream.event.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.aquastream.event.db.entity.EventEntity;
+import org.aquastream.event.db.repository.EventRepository;
+import org.aquastream.event.dto.CursorPage;
+import org.aquastream.event.dto.EventDto;
+import org.aquastream.event.mapper.EventMapper;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Event catalog search with keyset pagination.
+ *
+ * A query with at least one usable term runs the full-text plan: prefix match against the weighted
+ * title/tags/description document or trigram similarity of the title, ordered by relevance. Without
+ * search terms the filter-only plan walks events in date order. Either way the page is resolved to ids
+ * first and the events are then loaded with their organizers in one query.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional(readOnly = true)
+public class EventSearchService {
+
+    private static final int MAX_TERMS = 8;
+    // One-letter prefixes match a large share of the catalog and are dropped
+    private static final int MIN_TERM_LENGTH = 2;
+
+    private final EventRepository eventRepository;
+    private final EventMapper eventMapper;
+
+    public CursorPage<EventDto> search(String query,
+                                       String status,
+                                       String type,
+                                       BigDecimal minPrice,
+                                       BigDecimal maxPrice,
+                                       Instant dateFrom,
+                                       Instant dateTo,
+                                       String cursor,
+                                       int size) {
+
+        int limit = SeekCursor.pageSize(size);
+        String tsquery = toPrefixQuery(query);
+
+        List<Object[]> rows;
+        Function<Object[], SeekCursor> cursorOf;
+        if (tsquery != null) {
+            SeekCursor after = SeekCursor.decode(cursor, SeekCursor.RANK);
+            rows = eventRepository.searchIdsByText(tsquery, normalize(query), status, type, minPrice, maxPrice,
+                    dateFrom, dateTo, after != null ? after.rank() : null, after != null ? after.id() : null, limit + 1);
+            cursorOf = row -> SeekCursor.ofRank(((Number) row[1]).floatValue(), (UUID) row[0]);
+        } else {
+            SeekCursor after = SeekCursor.decode(cursor, SeekCursor.INSTANT);
+            rows = eventRepository.searchIdsByFilters(status, type, minPrice, maxPrice, dateFrom, dateTo,
+                    after != null ? after.instant() : null, after != null ? after.id() : null, limit + 1);
+            cursorOf = SeekCursor::ofInstantRow;
+        }
+
+        return KeysetPages.toPage(rows, limit, eventRepository::findWithOrganizerByIdIn, EventEntity::getId,
+                eventMapper::toEventDtoWithOrganizer, cursorOf);
+    }
+
+    /**
+     * Prefix tsquery of the search terms ({@code "рафт:* & карел:*"}), or null if nothing is left to search for.
+     * Terms are reduced to letters and digits, so the result is safe to pass to {@code to_tsquery}.
+     */
+    static String toPrefixQuery(String query) {
+        if (query == null) {
+            return null;
+        }
+        String tsquery = Arrays.stream(query.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+"))
+                .filter(term -> term.length() >= MIN_TERM_LENGTH)
+                .distinct()
+                .limit(MAX_TERMS)
+                .map(term -> term + ":*")
+                .collect(Collectors.joining(" & "));
+        return tsquery.isEmpty() ? null : tsquery;
+    }
+
+    private static String normalize(String query) {
+        return query.trim().toLowerCase(Locale.ROOT).replaceAll("\\s+", " ");
+    }
+}
@@ -17,13 +17,22 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.server.ResponseStatusException;
 
+import java.sql.Timestamp;
+import java.time.Instant;
 import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
 import java.time.ZoneOffset;
 import java.util.List;
 import java.util.UUID;
 
 /**
  * Service for managing user favorites.
+ *
+ * Favorites per event and per user are counters maintained in the transaction of every add and remove
+ * ({@code event_favorite_counts}, {@code user_favorite_counts}), so count reads are a primary key lookup.
+ * Adds and removes also update {@link PopularEventsRanking}. {@link #reconcileEventCounts} and
+ * {@link #reconcileUserCounts} recount the favorites and correct counters that drifted, e.g. after events
+ * were deleted with their favorites.
  */
 @Service
 @RequiredArgsConstructor
@@ -33,6 +42,13 @@ public class FavoritesService {
     private final FavoritesRepository favoritesRepository;
     private final EventRepository eventRepository;
     private final EventMapper eventMapper;
+    private final PopularEventsRanking popularEvents;
+    
+    /**
+     * One chunk of counter reconciliation; {@code lastId} is null after the last chunk
+     */
+    public record ReconciliationChunk(UUID lastId, int corrected) {
+    }
     
     /**
      * Add event to user's favorites.
@@ -55,9 +71,14 @@ public class FavoritesService {
         FavoritesEntity.FavoritesId id = new FavoritesEntity.FavoritesId(userId, eventId);
         FavoritesEntity favorite = FavoritesEntity.builder()
                 .id(id)
+                .createdAt(Instant.now())
                 .build();
         
+        // The insert is flushed before the native counter update, so a concurrent add of the same favorite
+        // fails on the primary key instead of being counted twice
         favoritesRepository.save(favorite);
+        favoritesRepository.addToCounts(userId, eventId, 1);
+        popularEvents.added(eventId, favorite.getCreatedAt());
         
         log.info("user.favorite.added userId={} eventId={} eventTitle={}", 
                 userId, eventId, event.getTitle());
@@ -72,8 +93,10 @@ public class FavoritesService {
     public FavoriteActionResult removeFromFavorites(UUID userId, UUID eventId) {
         log.debug("Removing event {} from favorites for user {}", eventId, userId);
         
-        // Check if favorite exists
-        if (!favoritesRepository.existsById_UserIdAndId_EventId(userId, eventId)) {
+        // Check if favorite exists; its creation time is needed to take it back from the ranking
+        FavoritesEntity favorite = favoritesRepository.findById(new FavoritesEntity.FavoritesId(userId, eventId))
+                .orElse(null);
+        if (favorite == null) {
             log.debug("Event {} is not in favorites for user {}", eventId, userId);
             return FavoriteActionResult.notFound(eventId);
         }
@@ -82,6 +105,8 @@ public class FavoritesService {
         int deletedCount = favoritesRepository.deleteByUserIdAndEventId(userId, eventId);
         
         if (deletedCount > 0) {
+            int remaining = favoritesRepository.addToCounts(userId, eventId, -1);
+            popularEvents.removed(eventId, favorite.getCreatedAt(), remaining);
             log.info("user.favorite.removed userId={} eventId={}", userId, eventId);
             return FavoriteActionResult.removed(eventId);
         } else {
@@ -117,7 +142,7 @@ public class FavoritesService {
      */
     @Transactional(readOnly = true)
     public Long getFavoriteCount(UUID eventId) {
-        return favoritesRepository.countByEventId(eventId);
+        return favoritesRepository.findEventFavoriteCount(eventId);
     }
     
     /**
@@ -125,7 +150,7 @@ public class FavoritesService {
      */
     @Transactional(readOnly = true)
     public Long getUserFavoriteCount(UUID userId) {
-        return favoritesRepository.countByUserId(userId);
+        return favoritesRepository.findUserFavoriteCount(userId);
     }
     
     /**
@@ -144,7 +169,11 @@ public class FavoritesService {
     @Transactional
     public int removeAllUserFavorites(UUID userId) {
         log.info("Removing all favorites for deleted user {}", userId);
-        return favoritesRepository.deleteByUserId(userId);
+        List<Object[]> removed = favoritesRepository.removeAllOfUser(userId);
+        for (Object[] row : removed) {
+            popularEvents.removed((UUID) row[0], toInstant(row[1]), ((Number) row[2]).intValue());
+        }
+        return removed.size();
     }
     
     /**
@@ -154,7 +183,65 @@ public class FavoritesService {
     @Transactional
     public int removeAllEventFavorites(UUID eventId) {
         log.info("Removing all favorites for deleted event {}", eventId);
-        return favoritesRepository.deleteByEventId(eventId);
+        int removed = (int) favoritesRepository.removeAllOfEvent(eventId);
+        popularEvents.evict(eventId);
+        return removed;
+    }
+    
+    /**
+     * Recount the favorites of the next {@code limit} events after {@code afterEventId} and overwrite the
+     * counters that drifted. The counters are locked before the favorites are counted: adds and removes that
+     * already changed them are committed and visible, later ones apply their delta on top of the result.
+     */
+    @Transactional
+    public ReconciliationChunk reconcileEventCounts(UUID afterEventId, int limit) {
+        List<UUID> eventIds = favoritesRepository.findEventIdsAfter(afterEventId, limit);
+        if (eventIds.isEmpty()) {
+            return new ReconciliationChunk(null, 0);
+        }
+        
+        UUID[] ids = eventIds.toArray(UUID[]::new);
+        favoritesRepository.insertMissingEventCounts(ids);
+        favoritesRepository.lockEventCounts(ids);
+        int corrected = favoritesRepository.reconcileEventCounts(ids);
+        if (corrected > 0) {
+            log.warn("Corrected favorite counters of {} of {} events", corrected, ids.length);
+        }
+        
+        UUID last = eventIds.size() == limit ? eventIds.get(eventIds.size() - 1) : null;
+        return new ReconciliationChunk(last, corrected);
+    }
+    
+    /**
+     * Same as {@link #reconcileEventCounts} for the counters of the users
+     */
+    @Transactional
+    public ReconciliationChunk reconcileUserCounts(UUID afterUserId, int limit) {
+        List<UUID> userIds = favoritesRepository.findUserIdsAfter(afterUserId, limit);
+        if (userIds.isEmpty()) {
+            return new ReconciliationChunk(null, 0);
+        }
+        
+        UUID[] ids = userIds.toArray(UUID[]::new);
+        favoritesRepository.insertMissingUserCounts(ids);
+        favoritesRepository.lockUserCounts(ids);
+        int corrected = favoritesRepository.reconcileUserCounts(ids);
+        if (corrected > 0) {
+            log.warn("Corrected favorite counters of {} of {} users", corrected, ids.length);
+        }
+        
+        UUID last = userIds.size() == limit ? userIds.get(userIds.size() - 1) : null;
+        return new ReconciliationChunk(last, corrected);
+    }
+    
+    private static Instant toInstant(Object timestamp) {
+        if (timestamp instanceof Instant instant) {
+            return instant;
+        }
+        if (timestamp instanceof OffsetDateTime offsetDateTime) {
+            return offsetDateTime.toInstant();
+        }
+        return ((Timestamp) timestamp).toInstant();
     }
     
     /**
@@ -0,0 +1,51 @@
+package org.aquastream.event.service;
+
+import org.aquastream.event.dto.CursorPage;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Turns the rows of a keyset id query into a {@link CursorPage}.
+ *
+ * Keyset queries return {@code (id, sort key)} for up to {@code limit + 1} rows: the extra row only tells
+ * that there is a next page. Entities of the page are then loaded by id in one query and put back into
+ * the order of the keyset query.
+ */
+final class KeysetPages {
+
+    private KeysetPages() {
+    }
+
+    static <E, D> CursorPage<D> toPage(List<Object[]> rows,
+                                       int limit,
+                                       Function<Collection<UUID>, List<E>> loader,
+                                       Function<E, UUID> idOf,
+                                       Function<E, D> mapper,
+                                       Function<Object[], SeekCursor> cursorOf) {
+        boolean hasNext = rows.size() > limit;
+        List<Object[]> page = hasNext ? rows.subList(0, limit) : rows;
+        List<UUID> ids = page.stream().map(row -> (UUID) row[0]).toList();
+
+        Map<UUID, E> entities = ids.isEmpty() ? Map.of()
+                : loader.apply(ids).stream().collect(Collectors.toMap(idOf, Function.identity()));
+        List<D> items = ids.stream()
+                .map(entities::get)
+                // Deleted between the two queries
+                .filter(Objects::nonNull)
+                .map(mapper)
+                .toList();
+
+        return CursorPage.<D>builder()
+                .items(items)
+                .size(limit)
+                .hasNext(hasNext)
+                .nextCursor(hasNext ? cursorOf.apply(page.get(page.size() - 1)).encode() : null)
+                .build();
+    }
+}
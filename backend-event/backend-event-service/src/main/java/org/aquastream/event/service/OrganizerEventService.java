@@ -27,6 +27,7 @@ public class OrganizerEventService {
     private final EventRepository eventRepository;
     private final OrganizerRepository organizerRepository;
     private final EventMapper eventMapper;
+    private final CachedPublicEventService cachedPublicEventService;
 
     public EventDto createEvent(CreateEventDto createEventDto, String organizerSlug) {
         // Проверяем существование организатора
@@ -56,6 +57,7 @@ public class OrganizerEventService {
                 .build();
 
         EventEntity savedEvent = eventRepository.save(event);
+        cachedPublicEventService.eventChanged(savedEvent.getId(), savedEvent.getOrganizerSlug());
         return eventMapper.toEventDto(savedEvent);
     }
 
@@ -101,6 +103,7 @@ public class OrganizerEventService {
 
         event.setUpdatedAt(Instant.now());
         EventEntity savedEvent = eventRepository.save(event);
+        cachedPublicEventService.eventChanged(savedEvent.getId(), savedEvent.getOrganizerSlug());
         return eventMapper.toEventDto(savedEvent);
     }
 
@@ -121,6 +124,7 @@ public class OrganizerEventService {
         event.setUpdatedAt(Instant.now());
 
         EventEntity savedEvent = eventRepository.save(event);
+        cachedPublicEventService.eventChanged(savedEvent.getId(), savedEvent.getOrganizerSlug());
         return eventMapper.toEventDto(savedEvent);
     }
 
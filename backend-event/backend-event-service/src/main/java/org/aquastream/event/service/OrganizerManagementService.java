@@ -29,6 +29,7 @@ public class OrganizerManagementService {
     private final FaqItemRepository faqItemRepository;
     private final OrganizerRepository organizerRepository;
     private final EventMapper eventMapper;
+    private final CachedPublicEventService cachedPublicEventService;
 
     // Team Member Management
 
@@ -55,6 +56,7 @@ public class OrganizerManagementService {
                 .build();
 
         teamMember = teamMemberRepository.save(teamMember);
+        cachedPublicEventService.organizerChanged(organizer.getSlug());
         log.info("Created team member {} for organizer {}", teamMember.getId(), organizerId);
         
         return eventMapper.toTeamMemberDto(teamMember);
@@ -78,6 +80,7 @@ public class OrganizerManagementService {
         teamMember.setSortOrder(request.getSortOrder() != null ? request.getSortOrder() : teamMember.getSortOrder());
         
         teamMember = teamMemberRepository.save(teamMember);
+        cachedPublicEventService.organizerChanged(teamMember.getOrganizer().getSlug());
         log.info("Updated team member {} for organizer {}", teamMemberId, organizerId);
         
         return eventMapper.toTeamMemberDto(teamMember);
@@ -95,6 +98,7 @@ public class OrganizerManagementService {
         }
         
         teamMemberRepository.delete(teamMember);
+        cachedPublicEventService.organizerChanged(teamMember.getOrganizer().getSlug());
         log.info("Deleted team member {} for organizer {}", teamMemberId, organizerId);
     }
 
@@ -122,6 +126,7 @@ public class OrganizerManagementService {
                 .build();
 
         faqItem = faqItemRepository.save(faqItem);
+        cachedPublicEventService.organizerChanged(organizer.getSlug());
         log.info("Created FAQ item {} for organizer {}", faqItem.getId(), organizerId);
         
         return eventMapper.toFaqItemDto(faqItem);
@@ -144,6 +149,7 @@ public class OrganizerManagementService {
         faqItem.setUpdatedAt(Instant.now());
         
         faqItem = faqItemRepository.save(faqItem);
+        cachedPublicEventService.organizerChanged(faqItem.getOrganizer().getSlug());
         log.info("Updated FAQ item {} for organizer {}", faqItemId, organizerId);
         
         return eventMapper.toFaqItemDto(faqItem);
@@ -161,6 +167,7 @@ public class OrganizerManagementService {
         }
         
         faqItemRepository.delete(faqItem);
+        cachedPublicEventService.organizerChanged(faqItem.getOrganizer().getSlug());
         log.info("Deleted FAQ item {} for organizer {}", faqItemId, organizerId);
     }
 
@@ -0,0 +1,151 @@
+package org.aquastream.event.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.aquastream.event.db.repository.FavoritesRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.DefaultTypedTuple;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations.TypedTuple;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Events ranked by recent favorites, kept in a Redis sorted set.
+ *
+ * Every favorite adds 2^((favorited_at - EPOCH) / half-life) to the score of its event (forward decay): a
+ * favorite counts twice as much as one made a half-life earlier, and scores never have to be rewritten as
+ * time passes. Adds and removes change one score with ZINCRBY after their transaction commits, the widget
+ * reads the top with ZREVRANGE; both are O(log n). {@link #rebuild} recomputes the top {@code max-size} events
+ * from the favorites table, which trims the set and repairs updates lost while Redis was unavailable. An update
+ * that reaches Redis between the favorites read and the rename of a rebuild is overwritten; its score is off
+ * until the next rebuild, which is acceptable for a popularity widget.
+ *
+ * If reading Redis fails the top is computed from the favorites table directly. An empty set is rebuilt once
+ * per instance, in case Redis started without the ranking; after that an empty set means no favorites.
+ *
+ * Weights double every half-life; with the default of 7 days they stay within double range for about 19 years
+ * after EPOCH, before that EPOCH has to be moved and the set rebuilt.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class PopularEventsRanking {
+
+    static final String KEY = "popular-events";
+    static final Instant EPOCH = Instant.parse("2025-01-01T00:00:00Z");
+
+    private final StringRedisTemplate redisTemplate;
+    private final FavoritesRepository favoritesRepository;
+
+    @Value("${app.popular-events.half-life:7d}")
+    private Duration halfLife;
+
+    @Value("${app.popular-events.max-size:10000}")
+    private int maxSize;
+
+    private final AtomicBoolean rebuilt = new AtomicBoolean();
+
+    /**
+     * Count a favorite once the current transaction commits
+     */
+    public void added(UUID eventId, Instant favoritedAt) {
+        afterCommit(() -> redisTemplate.opsForZSet().incrementScore(KEY, eventId.toString(), weight(favoritedAt)));
+    }
+
+    /**
+     * Take a removed favorite back once the current transaction commits; an event without favorites leaves
+     * the ranking
+     */
+    public void removed(UUID eventId, Instant favoritedAt, int remainingFavorites) {
+        if (remainingFavorites <= 0) {
+            evict(eventId);
+            return;
+        }
+        afterCommit(() -> redisTemplate.opsForZSet().incrementScore(KEY, eventId.toString(), -weight(favoritedAt)));
+    }
+
+    /**
+     * Drop an event from the ranking once the current transaction commits, e.g. after all its favorites
+     * were removed
+     */
+    public void evict(UUID eventId) {
+        afterCommit(() -> redisTemplate.opsForZSet().remove(KEY, eventId.toString()));
+    }
+
+    /**
+     * Ids of the {@code limit} most popular events, most popular first
+     */
+    public List<UUID> top(int limit) {
+        try {
+            List<UUID> top = readTop(limit);
+            if (top.isEmpty() && rebuilt.compareAndSet(false, true)) {
+                rebuild();
+                top = readTop(limit);
+            }
+            return top;
+        } catch (Exception e) {
+            log.warn("Failed to read popular events from Redis: {}", e.getMessage());
+            return favoritesRepository.findTopByDecayedScore(EPOCH, halfLifeSeconds(), limit).stream()
+                    .map(row -> (UUID) row[0])
+                    .toList();
+        }
+    }
+
+    /**
+     * Replace the ranking by the top {@code max-size} events computed from the favorites table. The new set is
+     * written under a temporary key and renamed, so readers never see a partial ranking. Returns the number of
+     * ranked events.
+     */
+    public int rebuild() {
+        rebuilt.set(true);
+        List<Object[]> rows = favoritesRepository.findTopByDecayedScore(EPOCH, halfLifeSeconds(), maxSize);
+        if (rows.isEmpty()) {
+            redisTemplate.delete(KEY);
+            return 0;
+        }
+
+        Set<TypedTuple<String>> scores = new HashSet<>();
+        for (Object[] row : rows) {
+            scores.add(new DefaultTypedTuple<>(row[0].toString(), ((Number) row[1]).doubleValue()));
+        }
+        String rebuildKey = KEY + ":rebuild";
+        redisTemplate.delete(rebuildKey);
+        redisTemplate.opsForZSet().add(rebuildKey, scores);
+        redisTemplate.rename(rebuildKey, KEY);
+        return rows.size();
+    }
+
+    private List<UUID> readTop(int limit) {
+        Set<String> members = redisTemplate.opsForZSet().reverseRange(KEY, 0, limit - 1);
+        return members == null ? List.of() : members.stream().map(UUID::fromString).toList();
+    }
+
+    double weight(Instant favoritedAt) {
+        return Math.pow(2, Duration.between(EPOCH, favoritedAt).toSeconds() / halfLifeSeconds());
+    }
+
+    private double halfLifeSeconds() {
+        return halfLife.toSeconds();
+    }
+
+    private void afterCommit(Runnable update) {
+        TransactionCallbacks.afterCommit(() -> apply(update));
+    }
+
+    private void apply(Runnable update) {
+        try {
+            update.run();
+        } catch (Exception e) {
+            // The next rebuild restores the score
+            log.error("Failed to update popular events ranking: {}", e.getMessage());
+        }
+    }
+}
@@ -10,6 +10,7 @@ import org.aquastream.event.db.repository.EventRepository;
 import org.aquastream.event.db.repository.FaqItemRepository;
 import org.aquastream.event.db.repository.OrganizerRepository;
 import org.aquastream.event.db.repository.TeamMemberRepository;
+import org.aquastream.event.exception.OrganizerNotFoundException;
 import org.aquastream.event.mapper.EventMapper;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
@@ -20,7 +21,9 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.Instant;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 @Service
@@ -28,20 +31,30 @@ import java.util.UUID;
 @Transactional(readOnly = true)
 public class PublicEventService {
 
+    private static final int MAX_POPULAR_EVENTS = 50;
+
     private final OrganizerRepository organizerRepository;
     private final EventRepository eventRepository;
     private final TeamMemberRepository teamMemberRepository;
     private final FaqItemRepository faqItemRepository;
     private final EventMapper eventMapper;
+    private final PopularEventsRanking popularEvents;
 
     public PagedResponse<OrganizerDto> getOrganizers(String search, int page, int size) {
         Pageable pageable = PageRequest.of(page, size, Sort.by("name").ascending());
         Page<OrganizerEntity> organizersPage = organizerRepository.findBySearchTerm(search, pageable);
         
-        Page<OrganizerDto> dtoPage = organizersPage.map(organizer -> {
-            Long eventCount = eventRepository.countByOrganizerSlug(organizer.getSlug());
-            return eventMapper.toOrganizerDto(organizer, eventCount);
-        });
+        // Event counts for the whole page in one grouped query
+        Map<String, Long> eventCounts = new HashMap<>();
+        if (organizersPage.hasContent()) {
+            List<String> slugs = organizersPage.map(OrganizerEntity::getSlug).getContent();
+            for (Object[] row : eventRepository.countByOrganizerSlugs(slugs)) {
+                eventCounts.put((String) row[0], (Long) row[1]);
+            }
+        }
+        
+        Page<OrganizerDto> dtoPage = organizersPage.map(organizer ->
+                eventMapper.toOrganizerDto(organizer, eventCounts.getOrDefault(organizer.getSlug(), 0L)));
         
         return eventMapper.toPagedResponse(dtoPage);
     }
@@ -86,8 +99,33 @@ public class PublicEventService {
         return eventMapper.toPagedResponse(dtoPage);
     }
 
+    /**
+     * Keyset variant of {@link #getOrganizerEvents}: events in date order after the cursor, without OFFSET and COUNT
+     */
+    public CursorPage<EventDto> getOrganizerEventsAfter(String organizerSlug,
+                                                        String status,
+                                                        String type,
+                                                        BigDecimal minPrice,
+                                                        BigDecimal maxPrice,
+                                                        Instant dateFrom,
+                                                        Instant dateTo,
+                                                        String cursor,
+                                                        int size) {
+
+        OrganizerEntity organizer = organizerRepository.findBySlug(organizerSlug)
+                .orElseThrow(() -> new OrganizerNotFoundException("Organizer not found: " + organizerSlug));
+        SeekCursor after = SeekCursor.decode(cursor, SeekCursor.INSTANT);
+        int limit = SeekCursor.pageSize(size);
+
+        List<Object[]> rows = eventRepository.findOrganizerEventIdsAfter(organizer.getId(), status, type,
+                minPrice, maxPrice, dateFrom, dateTo,
+                after != null ? after.instant() : null, after != null ? after.id() : null, limit + 1);
+        return KeysetPages.toPage(rows, limit, eventRepository::findAllById, EventEntity::getId,
+                eventMapper::toEventDto, SeekCursor::ofInstantRow);
+    }
+
     public EventDto getEventById(UUID eventId) {
-        EventEntity event = eventRepository.findById(eventId)
+        EventEntity event = eventRepository.findWithOrganizerById(eventId)
                 .orElseThrow(() -> new RuntimeException("Event not found: " + eventId));
 
         return eventMapper.toEventDtoWithOrganizer(event);
@@ -112,6 +150,29 @@ public class PublicEventService {
         return eventMapper.toPagedResponse(dtoPage);
     }
 
+    /**
+     * Published events with the most recent favorites, most popular first. Ranked events that are no longer
+     * published are skipped, so the ranking is read with some headroom.
+     */
+    public List<EventDto> getPopularEvents(int limit) {
+        int size = Math.max(1, Math.min(limit, MAX_POPULAR_EVENTS));
+        List<UUID> ranked = popularEvents.top(size * 2);
+        if (ranked.isEmpty()) {
+            return List.of();
+        }
+
+        Map<UUID, EventEntity> events = new HashMap<>();
+        for (EventEntity event : eventRepository.findWithOrganizerByIdIn(ranked)) {
+            events.put(event.getId(), event);
+        }
+        return ranked.stream()
+                .map(events::get)
+                .filter(event -> event != null && "PUBLISHED".equals(event.getStatus()))
+                .limit(size)
+                .map(eventMapper::toEventDtoWithOrganizer)
+                .toList();
+    }
+
     public List<TeamMemberDto> getOrganizerTeam(String slug) {
         List<TeamMemberEntity> teamMembers = teamMemberRepository.findByOrganizerSlugOrderBySortOrder(slug);
         return teamMembers.stream().map(eventMapper::toTeamMemberDto).toList();
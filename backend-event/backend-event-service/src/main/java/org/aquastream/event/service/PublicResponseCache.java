@@ -0,0 +1,309 @@
+package org.aquastream.event.service;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.aquastream.event.dto.EventDto;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Two-level (local LRU + Redis) cache of public responses, invalidated by version.
+ *
+ * Every entry belongs to a scope ({@code events}, {@code event:<id>}, {@code organizer:<slug>}) whose version
+ * is a Redis counter bumped by the write paths once their transaction commits. The version is part of the
+ * entry key, so a bump makes all entries of the scope unreachable at once and they age out by LRU and ttl.
+ * Versions are re-read from Redis at most every {@code version-ttl}, which bounds how long another instance
+ * serves the previous version. Entries are kept as JSON: the same bytes go to Redis, give the ETag and are
+ * what a 304 saves.
+ *
+ * Seat counts change with every booking and are not part of the versioned content: {@code available} of the
+ * events in a response is overlaid from {@link EventAvailabilityOverlay} and folded into the ETag. If Redis
+ * is unavailable responses are computed directly.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class PublicResponseCache {
+
+    private static final String KEY_PREFIX = "public-cache:";
+    private static final String VERSION_PREFIX = KEY_PREFIX + "version:";
+
+    /**
+     * Where a response came from; BYPASS means the cache was disabled or unavailable
+     */
+    public enum Level {
+        LOCAL, REDIS, MISS, BYPASS
+    }
+
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final EventAvailabilityOverlay availabilityOverlay;
+
+    @Value("${app.public-cache.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.public-cache.ttl:10m}")
+    private Duration ttl;
+
+    @Value("${app.public-cache.version-ttl:1s}")
+    private Duration versionTtl;
+
+    @Value("${app.public-cache.local-max-entries:5000}")
+    private int localMaxEntries;
+
+    private final ConcurrentHashMap<String, Version> versions = new ConcurrentHashMap<>();
+    // Access-ordered, so the least recently served entries (mostly of superseded versions) go first
+    private final Map<String, Entry> local = Collections.synchronizedMap(new LinkedHashMap<>(256, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+            return size() > localMaxEntries;
+        }
+    });
+
+    private final Map<Level, AtomicLong> requests = counters();
+    private final Map<Level, AtomicLong> latencyNanos = counters();
+    private final AtomicLong notModified = new AtomicLong();
+    private final AtomicLong bytesSaved = new AtomicLong();
+
+    /**
+     * Cached response with its ETag; {@code body} is null when it matches {@code If-None-Match}
+     */
+    public record CachedResponse<T>(T body, String etag) {
+
+        public boolean notModified() {
+            return body == null;
+        }
+    }
+
+    /**
+     * Serve a response of the given scope from the cache, computing it with {@code loader} on a miss.
+     *
+     * @param eventsOf the events in the response whose {@code available} is overlaid
+     */
+    public <T> CachedResponse<T> get(String scope,
+                                     String key,
+                                     JavaType type,
+                                     Supplier<T> loader,
+                                     Function<T, List<EventDto>> eventsOf,
+                                     String ifNoneMatch) {
+        long start = System.nanoTime();
+        Level level = Level.BYPASS;
+        try {
+            Long version = enabled ? currentVersion(scope) : null;
+            if (version == null) {
+                T body = loader.get();
+                return respond(toEntry(body, eventsOf), body, type, eventsOf, ifNoneMatch);
+            }
+
+            String entryKey = KEY_PREFIX + scope + ":v" + version + ":" + key;
+            Entry entry = local.get(entryKey);
+            T body = null;
+            if (entry != null && entry.isFresh()) {
+                level = Level.LOCAL;
+            } else {
+                String json = readRedis(entryKey);
+                if (json != null) {
+                    level = Level.REDIS;
+                    body = deserialize(json, type);
+                    entry = toEntry(json, body, eventsOf);
+                } else {
+                    level = Level.MISS;
+                    body = loader.get();
+                    entry = toEntry(body, eventsOf);
+                    writeRedis(entryKey, entry.json());
+                }
+                local.put(entryKey, entry);
+            }
+            return respond(entry, body, type, eventsOf, ifNoneMatch);
+        } finally {
+            requests.get(level).incrementAndGet();
+            latencyNanos.get(level).addAndGet(System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Bump the versions of the scopes once the current transaction commits
+     */
+    public void invalidate(String... scopes) {
+        TransactionCallbacks.afterCommit(() -> bump(scopes));
+    }
+
+    public long getRequests(Level level) {
+        return requests.get(level).get();
+    }
+
+    public long getLatencyNanos(Level level) {
+        return latencyNanos.get(level).get();
+    }
+
+    public long getNotModified() {
+        return notModified.get();
+    }
+
+    public long getBytesSaved() {
+        return bytesSaved.get();
+    }
+
+    /**
+     * Share of requests answered without computing the response
+     */
+    public double getHitRatio() {
+        long hits = getRequests(Level.LOCAL) + getRequests(Level.REDIS);
+        long total = hits + getRequests(Level.MISS) + getRequests(Level.BYPASS);
+        return total == 0 ? 0 : (double) hits / total;
+    }
+
+    private <T> CachedResponse<T> respond(Entry entry,
+                                          T body,
+                                          JavaType type,
+                                          Function<T, List<EventDto>> eventsOf,
+                                          String ifNoneMatch) {
+        Map<UUID, Integer> available = availabilityOverlay.available(entry.eventIds());
+        String etag = etag(entry, available);
+        if (matches(ifNoneMatch, etag)) {
+            notModified.incrementAndGet();
+            bytesSaved.addAndGet(entry.bytes());
+            return new CachedResponse<>(null, etag);
+        }
+
+        T response = body != null ? body : deserialize(entry.json(), type);
+        for (EventDto event : eventsOf.apply(response)) {
+            event.setAvailable(available.getOrDefault(event.getId(), event.getAvailable()));
+        }
+        return new CachedResponse<>(response, etag);
+    }
+
+    private static String etag(Entry entry, Map<UUID, Integer> available) {
+        if (entry.eventIds().isEmpty()) {
+            return "W/\"" + entry.hash() + "\"";
+        }
+        int seats = 1;
+        for (UUID eventId : entry.eventIds()) {
+            seats = 31 * seats + available.getOrDefault(eventId, -1);
+        }
+        return "W/\"" + entry.hash() + "-" + Integer.toHexString(seats) + "\"";
+    }
+
+    private static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.equals("*") || tag.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private Long currentVersion(String scope) {
+        Version cached = versions.get(scope);
+        long now = System.nanoTime();
+        if (cached != null && now - cached.readAt() < versionTtl.toNanos()) {
+            return cached.value();
+        }
+        try {
+            String value = redisTemplate.opsForValue().get(VERSION_PREFIX + scope);
+            long version = value != null ? Long.parseLong(value) : 0;
+            versions.put(scope, new Version(version, now));
+            return version;
+        } catch (Exception e) {
+            log.warn("Public cache versions unavailable, serving {} uncached: {}", scope, e.getMessage());
+            versions.remove(scope);
+            return null;
+        }
+    }
+
+    private void bump(String... scopes) {
+        for (String scope : scopes) {
+            try {
+                Long version = redisTemplate.opsForValue().increment(VERSION_PREFIX + scope);
+                if (version != null) {
+                    versions.put(scope, new Version(version, System.nanoTime()));
+                } else {
+                    versions.remove(scope);
+                }
+            } catch (Exception e) {
+                // Without a new version other instances keep serving the old one until its entries expire
+                log.error("Failed to invalidate public cache scope {}: {}", scope, e.getMessage());
+                versions.remove(scope);
+            }
+        }
+    }
+
+    private String readRedis(String entryKey) {
+        try {
+            return redisTemplate.opsForValue().get(entryKey);
+        } catch (Exception e) {
+            log.warn("Failed to read public cache entry {}: {}", entryKey, e.getMessage());
+            return null;
+        }
+    }
+
+    private void writeRedis(String entryKey, String json) {
+        try {
+            redisTemplate.opsForValue().set(entryKey, json, ttl);
+        } catch (Exception e) {
+            log.warn("Failed to write public cache entry {}: {}", entryKey, e.getMessage());
+        }
+    }
+
+    private <T> Entry toEntry(T body, Function<T, List<EventDto>> eventsOf) {
+        try {
+            return toEntry(objectMapper.writeValueAsString(body), body, eventsOf);
+        } catch (Exception e) {
+            throw new IllegalStateException("Failed to serialize cached response", e);
+        }
+    }
+
+    private <T> Entry toEntry(String json, T body, Function<T, List<EventDto>> eventsOf) {
+        byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+        List<UUID> eventIds = eventsOf.apply(body).stream().map(EventDto::getId).toList();
+        return new Entry(json, bytes.length, DigestUtils.md5DigestAsHex(bytes), eventIds,
+                System.nanoTime() + ttl.toNanos());
+    }
+
+    private <T> T deserialize(String json, JavaType type) {
+        try {
+            return objectMapper.readValue(json, type);
+        } catch (Exception e) {
+            throw new IllegalStateException("Failed to deserialize cached response", e);
+        }
+    }
+
+    private static Map<Level, AtomicLong> counters() {
+        Map<Level, AtomicLong> counters = new EnumMap<>(Level.class);
+        for (Level level : Level.values()) {
+            counters.put(level, new AtomicLong());
+        }
+        return counters;
+    }
+
+    private record Version(long value, long readAt) {
+    }
+
+    private record Entry(String json, int bytes, String hash, List<UUID> eventIds, long expiresAt) {
+
+        boolean isFresh() {
+            return System.nanoTime() - expiresAt < 0;
+        }
+    }
+}
@@ -0,0 +1,195 @@
+package org.aquastream.event.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.aquastream.event.db.entity.EventEntity;
+import org.aquastream.event.db.repository.EventRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalInt;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Seat inventory for published events.
+ *
+ * {@code events.available} is the seat count shared by all replicas. Booking creation takes a seat with a
+ * conditional decrement ({@code available > 0}) in the caller's transaction, so two replicas can never sell
+ * the same last seat and a booking that rolls back returns its seat with the transaction.
+ *
+ * Each instance remembers the remaining seats it last saw per event. The hint only lets requests for an
+ * event known to be sold out fail without a write; it expires after {@code sold-out-ttl}, so seats returned
+ * through another replica become bookable again. {@link #reconcile} recomputes {@code available} from the
+ * active bookings of the tracked events.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class SeatInventoryService {
+
+    private final EventRepository eventRepository;
+
+    private final ConcurrentHashMap<UUID, Hint> hints = new ConcurrentHashMap<>();
+
+    @Value("${app.booking.seat-inventory.warmup-limit:500}")
+    private int warmupLimit;
+
+    @Value("${app.booking.seat-inventory.sold-out-ttl:2s}")
+    private Duration soldOutTtl;
+
+    /**
+     * Try to reserve one seat for the event in the current transaction.
+     *
+     * @return true if a seat was reserved, false if the event is sold out
+     */
+    public boolean tryReserve(EventEntity event) {
+        UUID eventId = event.getId();
+        Hint hint = hints.get(eventId);
+        if (hint != null && hint.soldOut(soldOutTtl)) {
+            return false;
+        }
+
+        List<Integer> remaining = eventRepository.reserveSeat(eventId);
+        hints.put(eventId, new Hint(remaining.isEmpty() ? 0 : remaining.get(0), System.nanoTime()));
+        if (remaining.isEmpty()) {
+            return false;
+        }
+
+        // A rolled back booking gives its seat back, the hint would claim one seat too few
+        TransactionCallbacks.afterCompletion(committed -> {
+            if (!committed) {
+                hints.remove(eventId);
+            }
+        });
+        return true;
+    }
+
+    /**
+     * Return seats of one event (booking cancelled or otherwise left an active status)
+     */
+    public void release(UUID eventId, int count) {
+        release(Map.of(eventId, count));
+    }
+
+    /**
+     * Return seats of several events in one statement, never above capacity
+     */
+    public void release(Map<UUID, Integer> releasedPerEvent) {
+        if (releasedPerEvent.isEmpty()) {
+            return;
+        }
+
+        List<UUID> eventIds = List.copyOf(releasedPerEvent.keySet());
+        eventRepository.releaseCapacity(
+                eventIds.toArray(UUID[]::new),
+                eventIds.stream().map(releasedPerEvent::get).toArray(Integer[]::new));
+        eventIds.forEach(hints::remove);
+    }
+
+    /**
+     * Take seats again for a booking that moved back into an active status outside of the normal booking flow
+     */
+    public void reclaim(UUID eventId, int count) {
+        eventRepository.reclaimSeats(eventId, count);
+        hints.remove(eventId);
+    }
+
+    /**
+     * Remaining seats this instance last saw for a tracked event, empty if the event is not tracked
+     */
+    public OptionalInt remaining(UUID eventId) {
+        Hint hint = hints.get(eventId);
+        return hint == null ? OptionalInt.empty() : OptionalInt.of(hint.remaining());
+    }
+
+    /**
+     * Stop tracking an event
+     */
+    public void evict(UUID eventId) {
+        hints.remove(eventId);
+    }
+
+    /**
+     * Track upcoming published events, so the first reconciliation after a restart already covers them
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void warmUp() {
+        try {
+            List<EventEntity> events = eventRepository.findUpcomingPublishedEvents(PageRequest.of(0, warmupLimit));
+            if (events.isEmpty()) {
+                return;
+            }
+
+            long now = System.nanoTime();
+            events.forEach(event -> hints.putIfAbsent(event.getId(), new Hint(event.getAvailable(), now)));
+
+            log.info("Seat inventory warmed up for {} events", events.size());
+        } catch (Exception e) {
+            log.warn("Seat inventory warm-up failed, events will be tracked on first booking: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Recompute {@code available} of the tracked events from their active bookings and drop events that are
+     * no longer bookable.
+     *
+     * The events are locked first, then one statement sets {@code available} to capacity minus the active
+     * bookings where it differs: bookings that already took or returned a seat are committed at that point,
+     * later ones wait for the lock and apply their change on top of the corrected value.
+     */
+    @Transactional
+    public void reconcile() {
+        if (hints.isEmpty()) {
+            return;
+        }
+
+        UUID[] eventIds = hints.keySet().toArray(UUID[]::new);
+        Set<UUID> locked = new HashSet<>(eventRepository.lockByIds(eventIds));
+        List<Object[]> corrected = eventRepository.reconcileAvailable(eventIds);
+        for (Object[] row : corrected) {
+            log.warn("Corrected available seats of event {} to {}", row[0], row[1]);
+        }
+        if (!corrected.isEmpty()) {
+            log.info("Seat inventory reconciliation corrected {} of {} events", corrected.size(), eventIds.length);
+        }
+
+        Instant now = Instant.now();
+        long readAt = System.nanoTime();
+        for (UUID eventId : eventIds) {
+            if (!locked.contains(eventId)) {
+                // Deleted event
+                hints.remove(eventId);
+            }
+        }
+        eventRepository.findAllById(locked).forEach(event -> {
+            if (!"PUBLISHED".equals(event.getStatus())
+                    || (event.getDateEnd() != null && event.getDateEnd().isBefore(now))) {
+                hints.remove(event.getId());
+            } else {
+                hints.put(event.getId(), new Hint(event.getAvailable(), readAt));
+            }
+        });
+    }
+
+    /**
+     * Remaining seats of an event as last seen by this instance
+     */
+    private record Hint(int remaining, long readAt) {
+
+        boolean soldOut(Duration ttl) {
+            return remaining <= 0 && System.nanoTime() - readAt < ttl.toNanos();
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package org.aquastream.event.service;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Opaque keyset pagination cursor: the sort key and id of the last row of a page, URL-safe Base64 encoded.
+ * The kind tells which ordering the cursor belongs to, so a cursor cannot be replayed against another listing.
+ */
+public record SeekCursor(char kind, String key, UUID id) {
+
+    public static final char RANK = 'r';
+    public static final char INSTANT = 't';
+
+    public static final int MAX_PAGE_SIZE = 100;
+
+    public static SeekCursor ofRank(float rank, UUID id) {
+        return new SeekCursor(RANK, Float.toString(rank), id);
+    }
+
+    public static SeekCursor ofInstant(Instant instant, UUID id) {
+        return new SeekCursor(INSTANT, instant.toString(), id);
+    }
+
+    /**
+     * Parse a cursor from a request, null stays null (first page)
+     *
+     * @throws IllegalArgumentException if the cursor is malformed or belongs to another ordering
+     */
+    public static SeekCursor decode(String cursor, char expectedKind) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("\\|", 3);
+            SeekCursor decoded = new SeekCursor(parts[0].charAt(0), parts[1], UUID.fromString(parts[2]));
+            if (decoded.kind != expectedKind) {
+                throw new IllegalArgumentException("Cursor belongs to another listing");
+            }
+            // Validate the key now rather than in the query
+            if (expectedKind == RANK) {
+                decoded.rank();
+            } else {
+                decoded.instant();
+            }
+            return decoded;
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor, e);
+        }
+    }
+
+    public String encode() {
+        String raw = kind + "|" + key + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public float rank() {
+        return Float.parseFloat(key);
+    }
+
+    public Instant instant() {
+        return Instant.parse(key);
+    }
+
+    /**
+     * Requested page size clamped to 1..{@value #MAX_PAGE_SIZE}
+     */
+    static int pageSize(int size) {
+        return Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+    }
+
+    /**
+     * Cursor after a row whose second column is a timestamp, as returned by native keyset queries
+     */
+    static SeekCursor ofInstantRow(Object[] row) {
+        Object timestamp = row[1];
+        Instant instant;
+        if (timestamp instanceof Instant value) {
+            instant = value;
+        } else if (timestamp instanceof OffsetDateTime offsetDateTime) {
+            instant = offsetDateTime.toInstant();
+        } else {
+            instant = ((Timestamp) timestamp).toInstant();
+        }
+        return ofInstant(instant, (UUID) row[0]);
+    }
+}
@@ -0,0 +1,55 @@
+package org.aquastream.event.service;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Runs side effects (Redis, notifications, local caches) at the end of the current transaction.
+ *
+ * Without an active transaction synchronization there is nothing to wait for: the callback runs at once,
+ * as after a commit.
+ */
+final class TransactionCallbacks {
+
+    private TransactionCallbacks() {
+    }
+
+    /**
+     * Run the callback once the current transaction commits; it is dropped on rollback
+     */
+    static void afterCommit(Runnable callback) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            callback.run();
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                callback.run();
+            }
+        });
+    }
+
+    /**
+     * Run the callback once the current transaction completes, telling whether it committed
+     */
+    static void afterCompletion(CompletionCallback callback) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            callback.onCompletion(true);
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                callback.onCompletion(status == STATUS_COMMITTED);
+            }
+        });
+    }
+
+    @FunctionalInterface
+    interface CompletionCallback {
+        void onCompletion(boolean committed);
+    }
+}
@@ -9,7 +9,9 @@ import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
 import java.time.Instant;
+import java.util.List;
 import java.util.UUID;
 
 @Service
@@ -61,18 +63,7 @@ public class WaitlistAuditService {
     @Async
     @Transactional
     public void logNotified(UUID eventId, UUID userId, Integer priority, Instant expiresAt) {
-        WaitlistAuditEntity audit = WaitlistAuditEntity.builder()
-                .eventId(eventId)
-                .userId(userId)
-                .action("NOTIFIED")
-                .priorityBefore(priority)
-                .notificationExpiresAt(expiresAt)
-                .metadata(String.format("{\"notification_window_minutes\": %d}", 
-                         java.time.Duration.between(Instant.now(), expiresAt).toMinutes()))
-                .createdAt(Instant.now())
-                .build();
-
-        auditRepository.save(audit);
+        auditRepository.save(notified(eventId, userId, priority, expiresAt, Instant.now()));
         log.debug("Audit: User {} notified for event {}, expires at {}", userId, eventId, expiresAt);
     }
 
@@ -95,17 +86,7 @@ public class WaitlistAuditService {
     @Async
     @Transactional
     public void logExpired(UUID eventId, UUID userId, Integer priority, Instant wasNotifiedAt) {
-        WaitlistAuditEntity audit = WaitlistAuditEntity.builder()
-                .eventId(eventId)
-                .userId(userId)
-                .action("EXPIRED")
-                .priorityBefore(priority)
-                .metadata(String.format("{\"notification_duration_minutes\": %d}", 
-                         java.time.Duration.between(wasNotifiedAt, Instant.now()).toMinutes()))
-                .createdAt(Instant.now())
-                .build();
-
-        auditRepository.save(audit);
+        auditRepository.save(expired(eventId, userId, priority, wasNotifiedAt, Instant.now()));
         log.debug("Audit: User {} notification expired for event {}", userId, eventId);
     }
 
@@ -125,4 +106,38 @@ public class WaitlistAuditService {
         auditRepository.save(audit);
         log.debug("Audit: User {} position changed for event {} from {} to {}", userId, eventId, oldPosition, newPosition);
     }
-}
\ No newline at end of file
+
+    /**
+     * Insert audit records in the caller's transaction; with hibernate.jdbc.batch_size they go out as JDBC batches
+     */
+    @Transactional
+    public void logAll(List<WaitlistAuditEntity> audits) {
+        auditRepository.saveAll(audits);
+        log.debug("Audit: {} waitlist records", audits.size());
+    }
+
+    static WaitlistAuditEntity notified(UUID eventId, UUID userId, Integer priority, Instant expiresAt, Instant now) {
+        return WaitlistAuditEntity.builder()
+                .eventId(eventId)
+                .userId(userId)
+                .action("NOTIFIED")
+                .priorityBefore(priority)
+                .notificationExpiresAt(expiresAt)
+                .metadata(String.format("{\"notification_window_minutes\": %d}", 
+                         Duration.between(now, expiresAt).toMinutes()))
+                .createdAt(now)
+                .build();
+    }
+
+    static WaitlistAuditEntity expired(UUID eventId, UUID userId, Integer priority, Instant wasNotifiedAt, Instant now) {
+        return WaitlistAuditEntity.builder()
+                .eventId(eventId)
+                .userId(userId)
+                .action("EXPIRED")
+                .priorityBefore(priority)
+                .metadata(String.format("{\"notification_duration_minutes\": %d}", 
+                         Duration.between(wasNotifiedAt, now).toMinutes()))
+                .createdAt(now)
+                .build();
+    }
+}
@@ -0,0 +1,184 @@
+package org.aquastream.event.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.aquastream.event.db.entity.WaitlistEntity;
+import org.aquastream.event.db.repository.WaitlistRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Waitlist positions from a Redis sorted set per event, shared by all service instances.
+ *
+ * Members are user ids scored by their waitlist priority, which only grows and is never compacted,
+ * so a position is {@code ZRANK + 1} and the queue length {@code ZCARD}: O(log n) per read instead of
+ * two COUNT queries. Joins are added immediately and removed again if the transaction rolls back;
+ * leaves are removed once committed. A missing set is rebuilt from the database on the next read and
+ * expires after {@code ttl}, which bounds drift from a lost update. Callers fall back to COUNT queries
+ * when this returns null (Redis unavailable or the entry not indexed yet).
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class WaitlistPositionIndex {
+
+    private static final String KEY_PREFIX = "waitlist:queue:";
+
+    /**
+     * KEYS: queue. ARGV: member.
+     * Returns {rank, size}; rank -1 if the queue is not loaded, -2 if the member is missing.
+     */
+    private static final RedisScript<List> POSITION_SCRIPT = RedisScript.of("""
+            if redis.call('EXISTS', KEYS[1]) == 0 then
+              return {-1, 0}
+            end
+            local rank = redis.call('ZRANK', KEYS[1], ARGV[1])
+            local size = redis.call('ZCARD', KEYS[1])
+            if not rank then
+              return {-2, size}
+            end
+            return {rank, size}
+            """, List.class);
+
+    /**
+     * KEYS: queue. ARGV: score, member. Only touches a loaded queue; a missing one is rebuilt with the entry.
+     */
+    private static final RedisScript<Long> ADD_SCRIPT = RedisScript.of("""
+            if redis.call('EXISTS', KEYS[1]) == 0 then
+              return 0
+            end
+            return redis.call('ZADD', KEYS[1], ARGV[1], ARGV[2])
+            """, Long.class);
+
+    /**
+     * KEYS: queue. ARGV: ttl ms, then score/member pairs. Loads the queue unless another caller already did.
+     */
+    private static final RedisScript<Long> LOAD_SCRIPT = RedisScript.of("""
+            if redis.call('EXISTS', KEYS[1]) == 1 then
+              return 0
+            end
+            for i = 2, #ARGV, 1000 do
+              redis.call('ZADD', KEYS[1], unpack(ARGV, i, math.min(i + 999, #ARGV)))
+            end
+            if #ARGV > 1 then
+              redis.call('PEXPIRE', KEYS[1], ARGV[1])
+            end
+            return 1
+            """, Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final WaitlistRepository waitlistRepository;
+
+    @Value("${app.waitlist.position-index.ttl:1h}")
+    private Duration ttl;
+
+    /**
+     * Zero-based number of people ahead of an entry, and the queue length
+     */
+    public record Position(long ahead, long total) {
+    }
+
+    /**
+     * Position of the entry, or null if it cannot be read from the index
+     */
+    public Position position(WaitlistEntity entry) {
+        String key = key(entry.getEventId());
+        try {
+            for (int attempt = 0; attempt < 2; attempt++) {
+                List<?> result = redisTemplate.execute(POSITION_SCRIPT, List.of(key), entry.getUserId().toString());
+                long rank = ((Number) result.get(0)).longValue();
+                if (rank >= 0) {
+                    return new Position(rank, ((Number) result.get(1)).longValue());
+                }
+                if (rank == -2) {
+                    // Joined while the queue was being loaded; reload on the next read
+                    redisTemplate.delete(key);
+                    return null;
+                }
+                load(entry.getEventId());
+            }
+        } catch (Exception e) {
+            log.warn("Waitlist position index unavailable for event {}: {}", entry.getEventId(), e.getMessage());
+        }
+        return null;
+    }
+
+    /**
+     * Index a new entry now and drop it again if the current transaction rolls back
+     */
+    public void add(WaitlistEntity entry) {
+        String key = key(entry.getEventId());
+        String member = entry.getUserId().toString();
+        try {
+            redisTemplate.execute(ADD_SCRIPT, List.of(key), String.valueOf(entry.getPriority()), member);
+        } catch (Exception e) {
+            log.warn("Failed to index waitlist entry for event {}, dropping the queue: {}", entry.getEventId(), e.getMessage());
+            evict(entry.getEventId());
+            return;
+        }
+        TransactionCallbacks.afterCompletion(committed -> {
+            if (!committed) {
+                remove(key, member);
+            }
+        });
+    }
+
+    /**
+     * Remove an entry once the current transaction commits
+     */
+    public void remove(UUID eventId, UUID userId) {
+        String key = key(eventId);
+        TransactionCallbacks.afterCompletion(committed -> {
+            if (committed) {
+                remove(key, userId.toString());
+            }
+        });
+    }
+
+    /**
+     * Drop the queue of an event so that it is rebuilt from the database on the next read
+     */
+    public void evict(UUID eventId) {
+        try {
+            redisTemplate.delete(key(eventId));
+        } catch (Exception e) {
+            log.warn("Failed to drop waitlist position index for event {}: {}", eventId, e.getMessage());
+        }
+    }
+
+    private void load(UUID eventId) {
+        List<Object[]> queue = waitlistRepository.findQueueByEventId(eventId);
+        List<String> args = new ArrayList<>(queue.size() * 2 + 1);
+        args.add(String.valueOf(ttl.toMillis()));
+        for (Object[] row : queue) {
+            args.add(String.valueOf(row[1]));
+            args.add(row[0].toString());
+        }
+        redisTemplate.execute(LOAD_SCRIPT, List.of(key(eventId)), args.toArray());
+        log.debug("Loaded waitlist position index for event {} with {} entries", eventId, queue.size());
+    }
+
+    private void remove(String key, String member) {
+        try {
+            redisTemplate.opsForZSet().remove(key, member);
+        } catch (Exception e) {
+            log.warn("Failed to remove {} from waitlist position index {}, dropping it: {}", member, key, e.getMessage());
+            try {
+                redisTemplate.delete(key);
+            } catch (Exception ignored) {
+                // The queue expires after the ttl
+            }
+        }
+    }
+
+    private static String key(UUID eventId) {
+        return KEY_PREFIX + eventId;
+    }
+}
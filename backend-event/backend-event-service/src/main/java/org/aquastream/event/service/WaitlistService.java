@@ -3,6 +3,7 @@ package org.aquastream.event.service;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.aquastream.event.db.entity.EventEntity;
+import org.aquastream.event.db.entity.WaitlistAuditEntity;
 import org.aquastream.event.db.entity.WaitlistEntity;
 import org.aquastream.event.db.repository.EventRepository;
 import org.aquastream.event.db.repository.WaitlistRepository;
@@ -11,13 +12,17 @@ import org.aquastream.event.exception.EventNotFoundException;
 import org.aquastream.event.exception.WaitlistException;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.scheduling.annotation.Async;
-import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.sql.Timestamp;
 import java.time.Instant;
+import java.time.OffsetDateTime;
 import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 import java.util.stream.Collectors;
@@ -32,6 +37,7 @@ public class WaitlistService {
     private final EventRepository eventRepository;
     private final NotificationService notificationService;
     private final WaitlistAuditService auditService;
+    private final WaitlistPositionIndex positionIndex;
 
     @Value("${app.waitlist.notification-window-minutes:30}")
     private int notificationWindowMinutes;
@@ -68,6 +74,7 @@ public class WaitlistService {
                 .build();
 
         WaitlistEntity saved = waitlistRepository.save(waitlistEntry);
+        positionIndex.add(saved);
 
         // Audit log
         auditService.logJoined(eventId, userId, newPriority);
@@ -83,13 +90,12 @@ public class WaitlistService {
 
         Integer removedPriority = waitlistEntry.getPriority();
         waitlistRepository.delete(waitlistEntry);
+        // Priorities are not compacted; positions of the people behind follow from the index
+        positionIndex.remove(eventId, userId);
 
         // Audit log
         auditService.logLeft(eventId, userId, removedPriority);
 
-        // Compact the queue - move everyone up
-        waitlistRepository.decrementPrioritiesAfter(eventId, removedPriority);
-
         log.info("User {} left waitlist for event {} from position {}", userId, eventId, removedPriority);
     }
 
@@ -135,8 +141,9 @@ public class WaitlistService {
         // Audit log
         auditService.logNotified(eventId, saved.getUserId(), saved.getPriority(), expiresAt);
 
-        // Send notification asynchronously
-        notificationService.sendWaitlistNotification(saved.getUserId(), eventId, expiresAt);
+        // Send notification once the notification window is committed
+        TransactionCallbacks.afterCommit(() ->
+                notificationService.sendWaitlistNotification(saved.getUserId(), eventId, expiresAt));
 
         log.info("Notified user {} about available spot for event {}. Expires at {}", 
                  saved.getUserId(), eventId, expiresAt);
@@ -162,61 +169,81 @@ public class WaitlistService {
 
         // Remove from waitlist (they got the spot)
         waitlistRepository.delete(waitlistEntry);
-
-        // Compact the queue
-        waitlistRepository.decrementPrioritiesAfter(eventId, waitlistEntry.getPriority());
+        positionIndex.remove(eventId, userId);
 
         log.info("User {} confirmed spot for event {} and was removed from waitlist", userId, eventId);
     }
 
-    @Scheduled(fixedDelayString = "${app.waitlist.cleanup-interval-minutes:5}000", initialDelay = 60000)
-    public void processExpiredNotifications() {
-        List<WaitlistEntity> expiredNotifications = waitlistRepository.findExpiredNotifications(Instant.now());
-        
-        for (WaitlistEntity expired : expiredNotifications) {
-            try {
-                handleExpiredNotification(expired);
-            } catch (Exception e) {
-                log.error("Error processing expired notification for user {} event {}: {}", 
-                         expired.getUserId(), expired.getEventId(), e.getMessage());
-            }
-        }
-        
-        if (!expiredNotifications.isEmpty()) {
-            log.info("Processed {} expired waitlist notifications", expiredNotifications.size());
+    /**
+     * Expire one batch of notification windows set-based (called by the scheduled job, one transaction per
+     * batch): resets up to {@code limit} expired entries with one UPDATE ... RETURNING, passes their spots to
+     * the next waiting entries of the same events with one UPDATE (at most as many as expired per event, and
+     * never more pending notifications than the event has available), and writes all audit records as one
+     * batch. Entries in {@code expiredInRun} are not notified again; the batch's expired ids are added to it.
+     * Notifications are sent once the batch commits.
+     *
+     * @return number of expired entries in this batch
+     */
+    public int expireNotifications(Instant now, int limit, List<UUID> expiredInRun) {
+        List<Object[]> batch = waitlistRepository.resetExpiredNotifications(now, limit);
+        if (batch.isEmpty()) {
+            return 0;
         }
+
+        int notified = passToNextInLine(batch, expiredInRun, now);
+        log.debug("Expired {} waitlist notifications, spots passed to {} users", batch.size(), notified);
+        return batch.size();
     }
 
-    private void handleExpiredNotification(WaitlistEntity expired) {
-        // Audit log
-        auditService.logExpired(expired.getEventId(), expired.getUserId(), 
-                               expired.getPriority(), expired.getNotifiedAt());
+    private int passToNextInLine(List<Object[]> expiredRows, List<UUID> expiredIds, Instant now) {
+        List<WaitlistAuditEntity> audits = new ArrayList<>(expiredRows.size() * 2);
+        Map<UUID, Integer> expiredPerEvent = new LinkedHashMap<>();
+        for (Object[] row : expiredRows) {
+            UUID eventId = (UUID) row[1];
+            expiredIds.add((UUID) row[0]);
+            expiredPerEvent.merge(eventId, 1, Integer::sum);
+            audits.add(WaitlistAuditService.expired(eventId, (UUID) row[2], (Integer) row[3], toInstant(row[4]), now));
+        }
 
-        // Reset notification fields
-        expired.setNotifiedAt(null);
-        expired.setNotificationExpiresAt(null);
-        waitlistRepository.save(expired);
+        Instant expiresAt = now.plus(notificationWindowMinutes, ChronoUnit.MINUTES);
+        List<Object[]> notifiedRows = waitlistRepository.notifyNextInLine(
+                expiredPerEvent.keySet().toArray(UUID[]::new),
+                expiredPerEvent.values().toArray(Integer[]::new),
+                expiredIds.toArray(UUID[]::new), now, expiresAt);
+        for (Object[] row : notifiedRows) {
+            audits.add(WaitlistAuditService.notified((UUID) row[1], (UUID) row[2], (Integer) row[3], expiresAt, now));
+        }
+        auditService.logAll(audits);
 
-        // Try to notify next person in line
-        try {
-            EventEntity event = eventRepository.findById(expired.getEventId()).orElse(null);
-            if (event != null && event.getAvailable() > 0) {
-                Optional<WaitlistEntity> nextInLine = waitlistRepository.findNextInLine(expired.getEventId());
-                if (nextInLine.isPresent() && !nextInLine.get().getId().equals(expired.getId())) {
-                    notifyNextInLine(expired.getEventId(), event.getOrganizerSlug());
-                }
+        TransactionCallbacks.afterCommit(() -> {
+            for (Object[] row : notifiedRows) {
+                notificationService.sendWaitlistNotification((UUID) row[2], (UUID) row[1], expiresAt);
             }
-        } catch (Exception e) {
-            log.error("Error notifying next person after expiration: {}", e.getMessage());
-        }
+        });
+        return notifiedRows.size();
+    }
 
-        log.info("Expired notification for user {} event {} - spot passed to next in line", 
-                 expired.getUserId(), expired.getEventId());
+    private static Instant toInstant(Object timestamp) {
+        if (timestamp instanceof Instant instant) {
+            return instant;
+        }
+        if (timestamp instanceof OffsetDateTime offsetDateTime) {
+            return offsetDateTime.toInstant();
+        }
+        return ((Timestamp) timestamp).toInstant();
     }
 
     private WaitlistStatusDto mapToStatusDto(WaitlistEntity entity) {
-        long peopleAhead = waitlistRepository.countPeopleAhead(entity.getEventId(), entity.getPriority());
-        long totalInQueue = waitlistRepository.countByEventId(entity.getEventId());
+        long peopleAhead;
+        long totalInQueue;
+        WaitlistPositionIndex.Position position = positionIndex.position(entity);
+        if (position != null) {
+            peopleAhead = position.ahead();
+            totalInQueue = position.total();
+        } else {
+            peopleAhead = waitlistRepository.countPeopleAhead(entity.getEventId(), entity.getPriority());
+            totalInQueue = waitlistRepository.countByEventId(entity.getEventId());
+        }
         
         String status = "WAITING";
         if (entity.getNotifiedAt() != null) {
@@ -301,13 +328,13 @@ public class WaitlistService {
         waitlistEntry.setNotificationExpiresAt(expirationTime);
         waitlistRepository.save(waitlistEntry);
         
-        // Send notification
-        notificationService.sendWaitlistSpotAvailable(
+        // Send notification once the notification window is committed
+        TransactionCallbacks.afterCommit(() -> notificationService.sendWaitlistSpotAvailable(
                 waitlistEntry.getUserId(), 
                 waitlistEntry.getEventId(),
                 organizerSlug,
                 notificationWindowMinutes
-        );
+        ));
         
         // Audit log
         auditService.logNotified(waitlistEntry.getEventId(), waitlistEntry.getUserId(), 
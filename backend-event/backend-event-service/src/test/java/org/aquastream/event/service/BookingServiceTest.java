@@ -11,6 +11,7 @@ import org.aquastream.event.db.repository.BookingRepository;
 import org.aquastream.event.db.repository.EventRepository;
 import org.aquastream.event.dto.BookingDto;
 import org.aquastream.event.dto.CreateBookingRequest;
+import org.aquastream.event.dto.CursorPage;
 import org.aquastream.event.exception.BookingConflictException;
 import org.aquastream.event.exception.EventNotFoundException;
 import org.aquastream.event.mapper.BookingMapper;
@@ -24,12 +25,16 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import java.math.BigDecimal;
 import java.time.Instant;
 import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
@@ -54,6 +59,15 @@ class BookingServiceTest {
     @Mock
     private ObjectMapper objectMapper;
     
+    @Mock
+    private SeatInventoryService seatInventory;
+    
+    @Mock
+    private WaitlistService waitlistService;
+    
+    @Mock
+    private BookingStatsService bookingStats;
+    
     @InjectMocks
     private BookingService bookingService;
     
@@ -94,7 +108,7 @@ class BookingServiceTest {
         when(eventRepository.findById(eventId)).thenReturn(Optional.of(event));
         when(bookingRepository.existsByUserIdAndEventIdAndStatusIn(eq(userId), eq(eventId), any()))
                 .thenReturn(false);
-        when(bookingRepository.countActiveBookingsByEventId(eventId)).thenReturn(5L);
+        when(seatInventory.tryReserve(event)).thenReturn(true);
         
         BookingEntity savedBooking = new BookingEntity();
         savedBooking.setId(UUID.randomUUID());
@@ -126,6 +140,7 @@ class BookingServiceTest {
         
         verify(bookingRepository).save(any(BookingEntity.class));
         verify(bookingLogRepository).save(any());
+        verify(bookingStats).recordCreated(savedBooking);
     }
     
     @Test
@@ -136,7 +151,7 @@ class BookingServiceTest {
         when(eventRepository.findById(eventId)).thenReturn(Optional.of(event));
         when(bookingRepository.existsByUserIdAndEventIdAndStatusIn(eq(userId), eq(eventId), any()))
                 .thenReturn(false);
-        when(bookingRepository.countActiveBookingsByEventId(eventId)).thenReturn(5L);
+        when(seatInventory.tryReserve(event)).thenReturn(true);
         
         BookingEntity savedBooking = new BookingEntity();
         savedBooking.setId(UUID.randomUUID());
@@ -207,7 +222,7 @@ class BookingServiceTest {
         when(eventRepository.findById(eventId)).thenReturn(Optional.of(event));
         when(bookingRepository.existsByUserIdAndEventIdAndStatusIn(eq(userId), eq(eventId), any()))
                 .thenReturn(false);
-        when(bookingRepository.countActiveBookingsByEventId(eventId)).thenReturn(10L); // At capacity
+        when(seatInventory.tryReserve(event)).thenReturn(false); // At capacity
         
         // When & Then
         assertThatThrownBy(() -> bookingService.createBooking(userId, request))
@@ -252,4 +267,81 @@ class BookingServiceTest {
         verify(bookingRepository).save(booking);
         verify(bookingLogRepository).save(any());
     }
-}
\ No newline at end of file
+    
+    @Test
+    void expirePendingBookings_ReleasesCapacityPerEventInOneUpdate() {
+        // Given - two expired bookings for one event, one for another
+        UUID otherEventId = UUID.randomUUID();
+        Instant expiredAt = Instant.now().minusSeconds(60);
+        when(bookingRepository.expirePendingBookings(any(Instant.class), eq(500))).thenReturn(List.of(
+                new Object[]{UUID.randomUUID(), eventId, expiredAt},
+                new Object[]{UUID.randomUUID(), otherEventId, expiredAt},
+                new Object[]{UUID.randomUUID(), eventId, expiredAt}));
+        
+        // When
+        int expired = bookingService.expirePendingBookings(500);
+        
+        // Then
+        assertThat(expired).isEqualTo(3);
+        verify(seatInventory).release(Map.of(eventId, 2, otherEventId, 1));
+        verify(bookingLogRepository).saveAll(argThat(logs -> logs instanceof List<?> list && list.size() == 3));
+        verify(bookingLogRepository, never()).save(any());
+        verify(eventRepository, never()).findById(any());
+        verify(waitlistService).processWaitlistForEvent(eventId);
+        verify(waitlistService).processWaitlistForEvent(otherEventId);
+        verify(bookingStats).recordExpired(Map.of(eventId, 2, otherEventId, 1));
+    }
+    
+    @Test
+    void expirePendingBookings_NothingOverdue() {
+        when(bookingRepository.expirePendingBookings(any(Instant.class), eq(500))).thenReturn(List.of());
+        
+        assertThat(bookingService.expirePendingBookings(500)).isZero();
+        
+        verify(bookingLogRepository, never()).saveAll(anyList());
+        verifyNoInteractions(seatInventory);
+    }
+    
+    @Test
+    void getBookingsByOrganizerAfter_ContinuesFromCursorInQueryOrder() {
+        // Given - a cursor from the previous page and three rows for a page of two
+        UUID organizerId = UUID.randomUUID();
+        Instant lastCreatedAt = Instant.parse("2025-07-01T10:00:00Z");
+        UUID lastId = UUID.randomUUID();
+        String cursor = SeekCursor.ofInstant(lastCreatedAt, lastId).encode();
+        BookingEntity newer = booking(Instant.parse("2025-07-01T09:00:00Z"));
+        BookingEntity older = booking(Instant.parse("2025-07-01T08:00:00Z"));
+        when(bookingRepository.findOrganizerBookingIdsAfter(organizerId, eventId, "CONFIRMED", lastCreatedAt, lastId, 3))
+                .thenReturn(List.of(
+                        new Object[]{newer.getId(), newer.getCreatedAt()},
+                        new Object[]{older.getId(), older.getCreatedAt()},
+                        new Object[]{UUID.randomUUID(), Instant.parse("2025-07-01T07:00:00Z")}));
+        when(bookingRepository.findWithEventByIdIn(List.of(newer.getId(), older.getId())))
+                .thenReturn(List.of(older, newer));
+        when(bookingMapper.toBookingDto(any())).thenAnswer(invocation -> {
+            BookingDto dto = new BookingDto();
+            dto.setId(invocation.<BookingEntity>getArgument(0).getId());
+            return dto;
+        });
+        
+        // When
+        CursorPage<BookingDto> page = bookingService.getBookingsByOrganizerAfter(organizerId, eventId, BookingStatus.CONFIRMED, cursor, 2);
+        
+        // Then
+        assertThat(page.getItems()).extracting(BookingDto::getId).containsExactly(newer.getId(), older.getId());
+        assertThat(page.isHasNext()).isTrue();
+        SeekCursor next = SeekCursor.decode(page.getNextCursor(), SeekCursor.INSTANT);
+        assertThat(next.instant()).isEqualTo(older.getCreatedAt());
+        assertThat(next.id()).isEqualTo(older.getId());
+        verify(bookingRepository, never()).findByOrganizerIdAndEventIdAndStatusOrderByCreatedAtDesc(any(), any(), any(), any());
+    }
+    
+    private BookingEntity booking(Instant createdAt) {
+        BookingEntity booking = new BookingEntity();
+        booking.setId(UUID.randomUUID());
+        booking.setEvent(event);
+        booking.setUserId(userId);
+        booking.setCreatedAt(createdAt);
+        return booking;
+    }
+}
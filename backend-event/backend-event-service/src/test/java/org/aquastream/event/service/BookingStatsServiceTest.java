@@ -0,0 +1,109 @@
+package org.aquastream.event.service;
+
+import org.aquastream.common.domain.BookingStatus;
+import org.aquastream.event.db.entity.BookingEntity;
+import org.aquastream.event.db.entity.EventEntity;
+import org.aquastream.event.db.repository.EventBookingStatsRepository;
+import org.aquastream.event.dto.BookingStatisticsDto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.AdditionalMatchers.aryEq;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for BookingStatsService deltas and statistics.
+ */
+@ExtendWith(MockitoExtension.class)
+class BookingStatsServiceTest {
+
+    private static final Integer[] NONE = {0};
+
+    @Mock
+    private EventBookingStatsRepository statsRepository;
+
+    @InjectMocks
+    private BookingStatsService bookingStatsService;
+
+    private UUID eventId;
+    private BookingEntity booking;
+
+    @BeforeEach
+    void setUp() {
+        eventId = UUID.randomUUID();
+        EventEntity event = new EventEntity();
+        event.setId(eventId);
+
+        booking = new BookingEntity();
+        booking.setEvent(event);
+        booking.setAmount(new BigDecimal("2500.00"));
+    }
+
+    @Test
+    void recordTransition_ConfirmMovesCounterAndAddsRevenue() {
+        bookingStatsService.recordTransition(booking, BookingStatus.PENDING, BookingStatus.CONFIRMED);
+
+        verify(statsRepository).applyDeltas(aryEq(new UUID[]{eventId}),
+                aryEq(new Integer[]{-1}), aryEq(new Integer[]{1}), aryEq(NONE), aryEq(NONE), aryEq(NONE),
+                aryEq(NONE), aryEq(new BigDecimal[]{new BigDecimal("2500.00")}));
+    }
+
+    @Test
+    void recordTransition_CancelOfConfirmedTakesRevenueBack() {
+        bookingStatsService.recordTransition(booking, BookingStatus.CONFIRMED, BookingStatus.CANCELLED);
+
+        verify(statsRepository).applyDeltas(aryEq(new UUID[]{eventId}),
+                aryEq(NONE), aryEq(new Integer[]{-1}), aryEq(NONE), aryEq(NONE), aryEq(new Integer[]{1}),
+                aryEq(NONE), aryEq(new BigDecimal[]{new BigDecimal("-2500.00")}));
+    }
+
+    @Test
+    void recordTransition_SameStatusIsNotWritten() {
+        bookingStatsService.recordTransition(booking, BookingStatus.CONFIRMED, BookingStatus.CONFIRMED);
+
+        verifyNoInteractions(statsRepository);
+    }
+
+    @Test
+    void recordExpired_OneUpsertForAllEventsInIdOrder() {
+        UUID otherEventId = UUID.randomUUID();
+        UUID first = eventId.compareTo(otherEventId) < 0 ? eventId : otherEventId;
+        UUID second = first.equals(eventId) ? otherEventId : eventId;
+
+        bookingStatsService.recordExpired(Map.of(eventId, 3, otherEventId, 1));
+
+        Integer[] pending = first.equals(eventId) ? new Integer[]{-3, -1} : new Integer[]{-1, -3};
+        Integer[] expired = first.equals(eventId) ? new Integer[]{3, 1} : new Integer[]{1, 3};
+        Integer[] none = {0, 0};
+        verify(statsRepository).applyDeltas(aryEq(new UUID[]{first, second}), aryEq(pending), aryEq(none),
+                aryEq(none), aryEq(expired), aryEq(none), aryEq(none),
+                aryEq(new BigDecimal[]{BigDecimal.ZERO, BigDecimal.ZERO}));
+    }
+
+    @Test
+    void getStatistics_SumsCountersAndUtilization() {
+        UUID organizerId = UUID.randomUUID();
+        when(statsRepository.summarize(organizerId, null)).thenReturn(List.<Object[]>of(new Object[]{
+                3L, 60L, 2L, 10L, 14L, 5L, 4L, 1L, new BigDecimal("60000.00")}));
+
+        BookingStatisticsDto statistics = bookingStatsService.getStatistics(organizerId, null);
+
+        assertThat(statistics.getTotalBookings()).isEqualTo(36);
+        assertThat(statistics.getBookingsByStatus()).containsEntry("CONFIRMED", 10L).containsEntry("NO_SHOW", 1L);
+        assertThat(statistics.getTotalRevenue()).isEqualByComparingTo("60000");
+        assertThat(statistics.getSeatsSold()).isEqualTo(25);
+        assertThat(statistics.getUtilization()).isEqualTo(25.0 / 60);
+        verify(statsRepository, never()).applyDeltas(any(), any(), any(), any(), any(), any(), any(), any());
+    }
+}
@@ -0,0 +1,108 @@
+package org.aquastream.event.service;
+
+import org.aquastream.event.db.entity.EventEntity;
+import org.aquastream.event.db.repository.EventRepository;
+import org.aquastream.event.dto.CursorPage;
+import org.aquastream.event.dto.EventDto;
+import org.aquastream.event.mapper.EventMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for EventSearchService plan selection and cursors.
+ */
+@ExtendWith(MockitoExtension.class)
+class EventSearchServiceTest {
+
+    @Mock
+    private EventRepository eventRepository;
+
+    private EventSearchService eventSearchService;
+
+    @BeforeEach
+    void setUp() {
+        eventSearchService = new EventSearchService(eventRepository, new EventMapper());
+    }
+
+    @Test
+    void toPrefixQuery_KeepsLettersAndDigitsOnly() {
+        assertThat(EventSearchService.toPrefixQuery("Рафтинг, Карелия 2025!")).isEqualTo("рафтинг:* & карелия:* & 2025:*");
+        assertThat(EventSearchService.toPrefixQuery("a & b | !c")).isNull();
+        assertThat(EventSearchService.toPrefixQuery("  ")).isNull();
+        assertThat(EventSearchService.toPrefixQuery(null)).isNull();
+    }
+
+    @Test
+    void search_WithTermsUsesFullTextPlanAndRankCursor() {
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        when(eventRepository.searchIdsByText(eq("сплав:*"), eq("сплав"), any(), any(), any(), any(), any(), any(),
+                isNull(), isNull(), eq(2)))
+                .thenReturn(List.of(new Object[]{first, 0.9f}, new Object[]{second, 0.4f}));
+        when(eventRepository.findWithOrganizerByIdIn(List.of(first))).thenReturn(List.of(event(first)));
+
+        CursorPage<EventDto> page = eventSearchService.search("Сплав", null, null, null, null, null, null, null, 1);
+
+        assertThat(page.getItems()).extracting(EventDto::getId).containsExactly(first);
+        assertThat(page.isHasNext()).isTrue();
+        SeekCursor next = SeekCursor.decode(page.getNextCursor(), SeekCursor.RANK);
+        assertThat(next.rank()).isEqualTo(0.9f);
+        assertThat(next.id()).isEqualTo(first);
+        verify(eventRepository, never()).searchIdsByFilters(any(), any(), any(), any(), any(), any(), any(), any(), anyInt());
+    }
+
+    @Test
+    void search_WithoutTermsUsesFilterPlanInDateOrder() {
+        UUID id = UUID.randomUUID();
+        Instant after = Instant.parse("2025-07-01T10:00:00Z");
+        UUID afterId = UUID.randomUUID();
+        when(eventRepository.searchIdsByFilters(eq("PUBLISHED"), isNull(), isNull(), isNull(), isNull(), isNull(),
+                eq(after), eq(afterId), eq(21)))
+                .thenReturn(List.<Object[]>of(new Object[]{id, Instant.parse("2025-07-02T10:00:00Z")}));
+        when(eventRepository.findWithOrganizerByIdIn(List.of(id))).thenReturn(List.of(event(id)));
+
+        CursorPage<EventDto> page = eventSearchService.search(" ", "PUBLISHED", null, null, null, null, null,
+                SeekCursor.ofInstant(after, afterId).encode(), 20);
+
+        assertThat(page.getItems()).hasSize(1);
+        assertThat(page.isHasNext()).isFalse();
+        assertThat(page.getNextCursor()).isNull();
+        verify(eventRepository, never()).searchIdsByText(any(), any(), any(), any(), any(), any(), any(), any(),
+                any(), any(), anyInt());
+    }
+
+    @Test
+    void search_RejectsCursorOfTheOtherPlan() {
+        String rankCursor = SeekCursor.ofRank(0.5f, UUID.randomUUID()).encode();
+
+        assertThatThrownBy(() -> eventSearchService.search(null, null, null, null, null, null, null, rankCursor, 20))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> eventSearchService.search(null, null, null, null, null, null, null, "not-a-cursor", 20))
+                .isInstanceOf(IllegalArgumentException.class);
+        verify(eventRepository, never()).findWithOrganizerByIdIn(anyCollection());
+    }
+
+    private static EventEntity event(UUID id) {
+        EventEntity event = new EventEntity();
+        event.setId(id);
+        event.setTitle("Сплав по Шуе");
+        event.setStatus("PUBLISHED");
+        return event;
+    }
+}
@@ -23,6 +23,8 @@ import java.util.*;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -37,6 +39,9 @@ class FavoritesServiceTest {
     @Mock
     private EventMapper eventMapper;
     
+    @Mock
+    private PopularEventsRanking popularEvents;
+    
     @InjectMocks
     private FavoritesService favoritesService;
     
@@ -89,6 +94,8 @@ class FavoritesServiceTest {
         assertEquals("Event added to favorites", result.message());
         
         verify(favoritesRepository).save(any(FavoritesEntity.class));
+        verify(favoritesRepository).addToCounts(userId, eventId, 1);
+        verify(popularEvents).added(eq(eventId), any(Instant.class));
     }
     
     @Test
@@ -122,13 +129,21 @@ class FavoritesServiceTest {
         assertEquals("Event already in favorites", result.message());
         
         verify(favoritesRepository, never()).save(any());
+        verify(favoritesRepository, never()).addToCounts(any(), any(), anyInt());
+        verifyNoInteractions(popularEvents);
     }
     
     @Test
     void removeFromFavorites_ExistingFavorite_Success() {
         // Given
-        when(favoritesRepository.existsById_UserIdAndId_EventId(userId, eventId)).thenReturn(true);
+        Instant favoritedAt = Instant.now().minusSeconds(3600);
+        when(favoritesRepository.findById(new FavoritesEntity.FavoritesId(userId, eventId)))
+                .thenReturn(Optional.of(FavoritesEntity.builder()
+                        .id(new FavoritesEntity.FavoritesId(userId, eventId))
+                        .createdAt(favoritedAt)
+                        .build()));
         when(favoritesRepository.deleteByUserIdAndEventId(userId, eventId)).thenReturn(1);
+        when(favoritesRepository.addToCounts(userId, eventId, -1)).thenReturn(4);
         
         // When
         FavoriteActionResult result = favoritesService.removeFromFavorites(userId, eventId);
@@ -140,12 +155,14 @@ class FavoritesServiceTest {
         assertEquals("Event removed from favorites", result.message());
         
         verify(favoritesRepository).deleteByUserIdAndEventId(userId, eventId);
+        verify(popularEvents).removed(eventId, favoritedAt, 4);
     }
     
     @Test
     void removeFromFavorites_NotFavorited_ReturnsNotFound() {
         // Given
-        when(favoritesRepository.existsById_UserIdAndId_EventId(userId, eventId)).thenReturn(false);
+        when(favoritesRepository.findById(new FavoritesEntity.FavoritesId(userId, eventId)))
+                .thenReturn(Optional.empty());
         
         // When
         FavoriteActionResult result = favoritesService.removeFromFavorites(userId, eventId);
@@ -157,6 +174,7 @@ class FavoritesServiceTest {
         assertEquals("Event not found in favorites", result.message());
         
         verify(favoritesRepository, never()).deleteByUserIdAndEventId(any(), any());
+        verifyNoInteractions(popularEvents);
     }
     
     @Test
@@ -216,7 +234,7 @@ class FavoritesServiceTest {
     void getFavoriteCount_ReturnsCount() {
         // Given
         Long expectedCount = 5L;
-        when(favoritesRepository.countByEventId(eventId)).thenReturn(expectedCount);
+        when(favoritesRepository.findEventFavoriteCount(eventId)).thenReturn(expectedCount);
         
         // When
         Long result = favoritesService.getFavoriteCount(eventId);
@@ -229,7 +247,7 @@ class FavoritesServiceTest {
     void getUserFavoriteCount_ReturnsUserCount() {
         // Given
         Long expectedCount = 3L;
-        when(favoritesRepository.countByUserId(userId)).thenReturn(expectedCount);
+        when(favoritesRepository.findUserFavoriteCount(userId)).thenReturn(expectedCount);
         
         // When
         Long result = favoritesService.getUserFavoriteCount(userId);
@@ -237,4 +255,22 @@ class FavoritesServiceTest {
         // Then
         assertEquals(expectedCount, result);
     }
+    
+    @Test
+    void removeAllUserFavorites_TakesEachFavoriteBackFromRanking() {
+        // Given
+        UUID otherEventId = UUID.randomUUID();
+        Instant favoritedAt = Instant.now().minusSeconds(86400);
+        when(favoritesRepository.removeAllOfUser(userId)).thenReturn(List.of(
+                new Object[]{eventId, favoritedAt, 2},
+                new Object[]{otherEventId, favoritedAt, 0}));
+        
+        // When
+        int result = favoritesService.removeAllUserFavorites(userId);
+        
+        // Then
+        assertEquals(2, result);
+        verify(popularEvents).removed(eventId, favoritedAt, 2);
+        verify(popularEvents).removed(otherEventId, favoritedAt, 0);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,123 @@
+package org.aquastream.event.service;
+
+import org.aquastream.event.db.repository.FavoritesRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for PopularEventsRanking decay, updates and the database fallback.
+ */
+@ExtendWith(MockitoExtension.class)
+class PopularEventsRankingTest {
+
+    @Mock
+    private StringRedisTemplate redisTemplate;
+    @Mock
+    private ZSetOperations<String, String> zSetOperations;
+    @Mock
+    private FavoritesRepository favoritesRepository;
+
+    private PopularEventsRanking ranking;
+    private UUID eventId;
+
+    @BeforeEach
+    void setUp() {
+        ranking = new PopularEventsRanking(redisTemplate, favoritesRepository);
+        ReflectionTestUtils.setField(ranking, "halfLife", Duration.ofDays(7));
+        ReflectionTestUtils.setField(ranking, "maxSize", 100);
+        eventId = UUID.randomUUID();
+        lenient().when(redisTemplate.opsForZSet()).thenReturn(zSetOperations);
+    }
+
+    @Test
+    void weight_DoublesEveryHalfLife() {
+        Instant favoritedAt = Instant.parse("2026-03-01T12:00:00Z");
+
+        double weight = ranking.weight(favoritedAt);
+
+        assertThat(ranking.weight(favoritedAt.plus(Duration.ofDays(7))) / weight).isCloseTo(2.0, within(1e-9));
+        assertThat(ranking.weight(PopularEventsRanking.EPOCH)).isEqualTo(1.0);
+    }
+
+    @Test
+    void added_IncrementsScoreByWeight() {
+        Instant favoritedAt = Instant.parse("2026-03-01T12:00:00Z");
+
+        ranking.added(eventId, favoritedAt);
+
+        verify(zSetOperations).incrementScore(PopularEventsRanking.KEY, eventId.toString(), ranking.weight(favoritedAt));
+    }
+
+    @Test
+    void removed_LastFavoriteEvictsEvent() {
+        ranking.removed(eventId, Instant.now(), 0);
+
+        verify(zSetOperations).remove(PopularEventsRanking.KEY, eventId.toString());
+        verify(zSetOperations, never()).incrementScore(anyString(), anyString(), anyDouble());
+    }
+
+    @Test
+    void top_ReadsRankingFromRedis() {
+        UUID otherEventId = UUID.randomUUID();
+        when(zSetOperations.reverseRange(PopularEventsRanking.KEY, 0, 1))
+                .thenReturn(new LinkedHashSet<>(List.of(otherEventId.toString(), eventId.toString())));
+
+        assertThat(ranking.top(2)).containsExactly(otherEventId, eventId);
+        verifyNoInteractions(favoritesRepository);
+    }
+
+    @Test
+    void top_FallsBackToDatabaseWhenRedisFails() {
+        when(zSetOperations.reverseRange(PopularEventsRanking.KEY, 0, 9))
+                .thenThrow(new RedisConnectionFailureException("down"));
+        when(favoritesRepository.findTopByDecayedScore(eq(PopularEventsRanking.EPOCH), eq(604800.0), eq(10)))
+                .thenReturn(List.<Object[]>of(new Object[]{eventId, 3.5}));
+
+        assertThat(ranking.top(10)).containsExactly(eventId);
+    }
+
+    @Test
+    void top_BuildsEmptyRankingOnce() {
+        when(zSetOperations.reverseRange(PopularEventsRanking.KEY, 0, 9))
+                .thenReturn(Set.of(), Set.of(eventId.toString()));
+        when(favoritesRepository.findTopByDecayedScore(eq(PopularEventsRanking.EPOCH), eq(604800.0), eq(100)))
+                .thenReturn(List.<Object[]>of(new Object[]{eventId, 3.5}));
+
+        assertThat(ranking.top(10)).containsExactly(eventId);
+        verify(redisTemplate).rename(PopularEventsRanking.KEY + ":rebuild", PopularEventsRanking.KEY);
+    }
+
+    @Test
+    void top_EmptyRankingAfterRebuildIsNotReadFromDatabase() {
+        when(zSetOperations.reverseRange(PopularEventsRanking.KEY, 0, 9)).thenReturn(Set.of());
+        when(favoritesRepository.findTopByDecayedScore(eq(PopularEventsRanking.EPOCH), eq(604800.0), eq(100)))
+                .thenReturn(List.of());
+
+        assertThat(ranking.top(10)).isEmpty();
+        assertThat(ranking.top(10)).isEmpty();
+        verify(favoritesRepository, times(1)).findTopByDecayedScore(any(), anyDouble(), anyInt());
+    }
+}
@@ -0,0 +1,160 @@
+package org.aquastream.event.service;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.aquastream.event.dto.EventDto;
+import org.aquastream.event.service.PublicResponseCache.CachedResponse;
+import org.aquastream.event.service.PublicResponseCache.Level;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for PublicResponseCache levels, version invalidation, ETags and the seat overlay.
+ */
+@ExtendWith(MockitoExtension.class)
+class PublicResponseCacheTest {
+
+    private static final String SCOPE = "event:1";
+
+    @Mock
+    private StringRedisTemplate redisTemplate;
+    @Mock
+    private ValueOperations<String, String> valueOperations;
+    @Mock
+    private EventAvailabilityOverlay availabilityOverlay;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    private final JavaType type = objectMapper.constructType(EventDto.class);
+    private final AtomicInteger loads = new AtomicInteger();
+
+    private PublicResponseCache cache;
+    private EventDto event;
+
+    @BeforeEach
+    void setUp() {
+        cache = new PublicResponseCache(redisTemplate, objectMapper, availabilityOverlay);
+        ReflectionTestUtils.setField(cache, "enabled", true);
+        ReflectionTestUtils.setField(cache, "ttl", Duration.ofMinutes(10));
+        ReflectionTestUtils.setField(cache, "versionTtl", Duration.ofMinutes(1));
+        ReflectionTestUtils.setField(cache, "localMaxEntries", 100);
+
+        event = EventDto.builder()
+                .id(UUID.randomUUID())
+                .title("Сплав по Шуе")
+                .dateStart(Instant.parse("2025-07-01T10:00:00Z"))
+                .available(10)
+                .build();
+        lenient().when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        lenient().when(availabilityOverlay.available(anyCollection())).thenReturn(Map.of(event.getId(), 10));
+    }
+
+    @Test
+    void get_ComputesOnceThenServesLocally() {
+        CachedResponse<EventDto> first = get(null);
+        CachedResponse<EventDto> second = get(null);
+
+        assertThat(loads).hasValue(1);
+        assertThat(second.body().getTitle()).isEqualTo("Сплав по Шуе");
+        assertThat(second.etag()).isEqualTo(first.etag()).startsWith("W/\"");
+        assertThat(cache.getRequests(Level.MISS)).isEqualTo(1);
+        assertThat(cache.getRequests(Level.LOCAL)).isEqualTo(1);
+        assertThat(cache.getHitRatio()).isEqualTo(0.5);
+        verify(valueOperations).set(eq("public-cache:event:1:v0:detail"), anyString(), eq(Duration.ofMinutes(10)));
+    }
+
+    @Test
+    void get_ServesEntryOfAnotherInstanceFromRedis() throws Exception {
+        when(valueOperations.get("public-cache:version:" + SCOPE)).thenReturn("0");
+        when(valueOperations.get("public-cache:event:1:v0:detail")).thenReturn(objectMapper.writeValueAsString(event));
+
+        CachedResponse<EventDto> response = get(null);
+
+        assertThat(loads).hasValue(0);
+        assertThat(response.body().getId()).isEqualTo(event.getId());
+        assertThat(cache.getRequests(Level.REDIS)).isEqualTo(1);
+    }
+
+    @Test
+    void get_MatchingETagIsNotModified() {
+        String etag = get(null).etag();
+
+        CachedResponse<EventDto> response = get("\"other\", " + etag);
+
+        assertThat(response.notModified()).isTrue();
+        assertThat(response.etag()).isEqualTo(etag);
+        assertThat(cache.getNotModified()).isEqualTo(1);
+        assertThat(cache.getBytesSaved()).isPositive();
+    }
+
+    @Test
+    void get_OverlaysSeatsAndChangesETag() {
+        String etag = get(null).etag();
+        when(availabilityOverlay.available(anyCollection())).thenReturn(Map.of(event.getId(), 3));
+
+        CachedResponse<EventDto> response = get(etag);
+
+        assertThat(loads).hasValue(1);
+        assertThat(response.notModified()).isFalse();
+        assertThat(response.body().getAvailable()).isEqualTo(3);
+        assertThat(response.etag()).isNotEqualTo(etag);
+    }
+
+    @Test
+    void invalidate_NewVersionIsComputedAgain() {
+        get(null);
+        when(valueOperations.increment("public-cache:version:" + SCOPE)).thenReturn(1L);
+
+        cache.invalidate(SCOPE);
+        get(null);
+
+        assertThat(loads).hasValue(2);
+        verify(valueOperations).set(eq("public-cache:event:1:v1:detail"), anyString(), any(Duration.class));
+    }
+
+    @Test
+    void get_WithoutRedisComputesEveryTime() {
+        when(valueOperations.get(anyString())).thenThrow(new RedisConnectionFailureException("down"));
+
+        get(null);
+        CachedResponse<EventDto> response = get(null);
+
+        assertThat(loads).hasValue(2);
+        assertThat(response.body()).isNotNull();
+        assertThat(cache.getRequests(Level.BYPASS)).isEqualTo(2);
+    }
+
+    private CachedResponse<EventDto> get(String ifNoneMatch) {
+        Supplier<EventDto> loader = () -> {
+            loads.incrementAndGet();
+            return EventDto.builder()
+                    .id(event.getId())
+                    .title(event.getTitle())
+                    .dateStart(event.getDateStart())
+                    .available(event.getAvailable())
+                    .build();
+        };
+        return cache.get(SCOPE, "detail", type, loader, List::of, ifNoneMatch);
+    }
+}
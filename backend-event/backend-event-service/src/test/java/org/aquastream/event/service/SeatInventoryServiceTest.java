@@ -0,0 +1,134 @@
+package org.aquastream.event.service;
+
+import org.aquastream.event.db.entity.EventEntity;
+import org.aquastream.event.db.repository.EventRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.AdditionalMatchers.aryEq;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for SeatInventoryService reservations, the sold-out hint and reconciliation.
+ */
+@ExtendWith(MockitoExtension.class)
+class SeatInventoryServiceTest {
+
+    @Mock
+    private EventRepository eventRepository;
+
+    @InjectMocks
+    private SeatInventoryService seatInventory;
+
+    private EventEntity event;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(seatInventory, "soldOutTtl", Duration.ofMinutes(1));
+
+        event = new EventEntity();
+        event.setId(UUID.randomUUID());
+        event.setStatus("PUBLISHED");
+        event.setCapacity(10);
+        event.setAvailable(10);
+        event.setDateEnd(Instant.now().plusSeconds(86400));
+    }
+
+    @Test
+    void tryReserve_TakesSeatWithConditionalUpdate() {
+        when(eventRepository.reserveSeat(event.getId())).thenReturn(List.of(4));
+
+        assertThat(seatInventory.tryReserve(event)).isTrue();
+
+        assertThat(seatInventory.remaining(event.getId())).hasValue(4);
+        verify(eventRepository).reserveSeat(event.getId());
+    }
+
+    @Test
+    void tryReserve_SoldOutHintFailsWithoutWrite() {
+        when(eventRepository.reserveSeat(event.getId())).thenReturn(List.of());
+
+        assertThat(seatInventory.tryReserve(event)).isFalse();
+        assertThat(seatInventory.tryReserve(event)).isFalse();
+
+        verify(eventRepository, times(1)).reserveSeat(event.getId());
+    }
+
+    @Test
+    void tryReserve_ExpiredSoldOutHintIsRechecked() {
+        ReflectionTestUtils.setField(seatInventory, "soldOutTtl", Duration.ZERO);
+        when(eventRepository.reserveSeat(event.getId())).thenReturn(List.of(), List.of(0));
+
+        assertThat(seatInventory.tryReserve(event)).isFalse();
+        // A seat was returned through another replica
+        assertThat(seatInventory.tryReserve(event)).isTrue();
+    }
+
+    @Test
+    void release_ReturnsSeatsInDatabaseAndForgetsHint() {
+        when(eventRepository.reserveSeat(event.getId())).thenReturn(List.of());
+        seatInventory.tryReserve(event);
+
+        seatInventory.release(event.getId(), 2);
+
+        verify(eventRepository).releaseCapacity(aryEq(new UUID[]{event.getId()}), aryEq(new Integer[]{2}));
+        assertThat(seatInventory.remaining(event.getId())).isEmpty();
+    }
+
+    @Test
+    void reconcile_CorrectsAvailableInDatabaseAndRefreshesHint() {
+        when(eventRepository.reserveSeat(event.getId())).thenReturn(List.of(9));
+        seatInventory.tryReserve(event);
+
+        // Bookings made through another replica
+        event.setAvailable(5);
+        when(eventRepository.lockByIds(aryEq(new UUID[]{event.getId()}))).thenReturn(List.of(event.getId()));
+        when(eventRepository.findAllById(any())).thenReturn(List.of(event));
+
+        seatInventory.reconcile();
+
+        verify(eventRepository).reconcileAvailable(aryEq(new UUID[]{event.getId()}));
+        verify(eventRepository, never()).save(any());
+        assertThat(seatInventory.remaining(event.getId())).hasValue(5);
+    }
+
+    @Test
+    void reconcile_EvictsUnpublishedAndDeletedEvents() {
+        EventEntity deleted = new EventEntity();
+        deleted.setId(UUID.randomUUID());
+        when(eventRepository.reserveSeat(any())).thenReturn(List.of(3));
+        seatInventory.tryReserve(event);
+        seatInventory.tryReserve(deleted);
+
+        event.setStatus("CANCELLED");
+        when(eventRepository.lockByIds(any())).thenReturn(List.of(event.getId()));
+        when(eventRepository.findAllById(any())).thenReturn(List.of(event));
+
+        seatInventory.reconcile();
+
+        assertThat(seatInventory.remaining(event.getId())).isEmpty();
+        assertThat(seatInventory.remaining(deleted.getId())).isEmpty();
+    }
+
+    @Test
+    void release_SeveralEventsInOneStatement() {
+        UUID otherEventId = UUID.randomUUID();
+
+        seatInventory.release(Map.of(event.getId(), 2, otherEventId, 1));
+
+        verify(eventRepository, times(1)).releaseCapacity(any(), any());
+    }
+}
@@ -13,9 +13,12 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
@@ -40,6 +43,9 @@ class WaitlistServiceTest {
     @Mock
     private WaitlistAuditService auditService;
 
+    @Mock
+    private WaitlistPositionIndex positionIndex;
+
     @InjectMocks
     private WaitlistService waitlistService;
 
@@ -132,7 +138,7 @@ class WaitlistServiceTest {
         // Then
         verify(auditService).logLeft(eventId, userId1, 1);
         verify(waitlistRepository).delete(waitlistEntry);
-        verify(waitlistRepository).decrementPrioritiesAfter(eventId, 1);
+        verify(positionIndex).remove(eventId, userId1);
     }
 
     @Test
@@ -166,37 +172,63 @@ class WaitlistServiceTest {
     }
 
     @Test
-    void processExpiredNotifications_SimulateTimeout() {
-        // Given - Create expired notification
-        Instant expiredTime = Instant.now().minus(1, ChronoUnit.HOURS);
-        
-        WaitlistEntity expiredEntry = WaitlistEntity.builder()
-                .id(UUID.randomUUID())
-                .eventId(eventId)
-                .userId(userId1)
-                .priority(1)
-                .notifiedAt(Instant.now().minus(2, ChronoUnit.HOURS))
-                .notificationExpiresAt(expiredTime)
-                .build();
-
-        WaitlistEntity nextInLine = WaitlistEntity.builder()
-                .id(UUID.randomUUID())
-                .eventId(eventId)
-                .userId(userId2)
-                .priority(2)
-                .build();
-
-        when(waitlistRepository.findExpiredNotifications(any(Instant.class)))
-                .thenReturn(List.of(expiredEntry));
-        when(waitlistRepository.save(any(WaitlistEntity.class))).thenReturn(expiredEntry);
+    void expireNotifications_SimulateTimeout() {
+        // Given - One expired notification, its spot passes to the next in line
+        Instant notifiedAt = Instant.now().minus(2, ChronoUnit.HOURS);
+        UUID expiredId = UUID.randomUUID();
+        UUID nextId = UUID.randomUUID();
+        UUID expiredEarlierId = UUID.randomUUID();
+        List<UUID> expiredInRun = new ArrayList<>(List.of(expiredEarlierId));
+
+        when(waitlistRepository.resetExpiredNotifications(any(Instant.class), eq(1000)))
+                .thenReturn(List.<Object[]>of(new Object[]{expiredId, eventId, userId1, 1, notifiedAt}));
+        when(waitlistRepository.notifyNextInLine(any(), any(), any(), any(Instant.class), any(Instant.class)))
+                .thenReturn(List.<Object[]>of(new Object[]{nextId, eventId, userId2, 2}));
 
         // When
-        waitlistService.processExpiredNotifications();
+        int expired = waitlistService.expireNotifications(Instant.now(), 1000, expiredInRun);
 
         // Then
-        verify(auditService).logExpired(eq(eventId), eq(userId1), eq(1), any(Instant.class));
-        verify(waitlistRepository).save(argThat(entity -> 
-            entity.getNotifiedAt() == null && entity.getNotificationExpiresAt() == null));
+        assertEquals(1, expired);
+        assertEquals(List.of(expiredEarlierId, expiredId), expiredInRun);
+        verify(waitlistRepository).notifyNextInLine(
+                aryEq(new UUID[]{eventId}), aryEq(new Integer[]{1}), aryEq(new UUID[]{expiredEarlierId, expiredId}),
+                any(Instant.class), any(Instant.class));
+        verify(auditService).logAll(argThat(audits -> audits.size() == 2
+                && "EXPIRED".equals(audits.get(0).getAction()) && userId1.equals(audits.get(0).getUserId())
+                && "NOTIFIED".equals(audits.get(1).getAction()) && userId2.equals(audits.get(1).getUserId())));
+        verify(notificationService).sendWaitlistNotification(eq(userId2), eq(eventId), any(Instant.class));
+        verify(waitlistRepository, never()).save(any(WaitlistEntity.class));
+    }
+
+    @Test
+    void expireNotifications_NotifiesOnlyAfterCommit() {
+        when(waitlistRepository.resetExpiredNotifications(any(Instant.class), eq(1000)))
+                .thenReturn(List.<Object[]>of(new Object[]{UUID.randomUUID(), eventId, userId1, 1, Instant.now()}));
+        when(waitlistRepository.notifyNextInLine(any(), any(), any(), any(Instant.class), any(Instant.class)))
+                .thenReturn(List.<Object[]>of(new Object[]{UUID.randomUUID(), eventId, userId2, 2}));
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            waitlistService.expireNotifications(Instant.now(), 1000, new ArrayList<>());
+            verifyNoInteractions(notificationService);
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        verify(notificationService).sendWaitlistNotification(eq(userId2), eq(eventId), any(Instant.class));
+    }
+
+    @Test
+    void expireNotifications_NothingExpired() {
+        when(waitlistRepository.resetExpiredNotifications(any(Instant.class), eq(1000))).thenReturn(List.of());
+
+        assertEquals(0, waitlistService.expireNotifications(Instant.now(), 1000, new ArrayList<>()));
+
+        verify(waitlistRepository, never()).notifyNextInLine(any(), any(), any(), any(), any());
+        verifyNoInteractions(auditService, notificationService);
     }
 
     @Test
@@ -223,7 +255,7 @@ class WaitlistServiceTest {
         // Then
         verify(auditService).logConfirmed(eventId, userId1, 1);
         verify(waitlistRepository).delete(waitlistEntry);
-        verify(waitlistRepository).decrementPrioritiesAfter(eventId, 1);
+        verify(positionIndex).remove(eventId, userId1);
     }
 
     @Test
@@ -250,6 +282,28 @@ class WaitlistServiceTest {
         assertEquals("Notification window has expired", exception.getMessage());
     }
 
+    @Test
+    void getUserWaitlists_PositionsFromIndexWithoutCountQueries() {
+        // Given
+        WaitlistEntity first = WaitlistEntity.builder()
+                .id(UUID.randomUUID()).eventId(eventId).userId(userId1).priority(7).createdAt(Instant.now()).build();
+        WaitlistEntity second = WaitlistEntity.builder()
+                .id(UUID.randomUUID()).eventId(UUID.randomUUID()).userId(userId1).priority(40).createdAt(Instant.now()).build();
+        when(waitlistRepository.findByUserIdOrderByCreatedAt(userId1)).thenReturn(List.of(first, second));
+        when(positionIndex.position(first)).thenReturn(new WaitlistPositionIndex.Position(2, 10));
+        when(positionIndex.position(second)).thenReturn(new WaitlistPositionIndex.Position(0, 1));
+
+        // When
+        List<WaitlistStatusDto> result = waitlistService.getUserWaitlists(userId1);
+
+        // Then
+        assertEquals(3, result.get(0).getPosition());
+        assertEquals(10, result.get(0).getTotalInQueue());
+        assertEquals(1, result.get(1).getPosition());
+        verify(waitlistRepository, never()).countPeopleAhead(any(), any());
+        verify(waitlistRepository, never()).countByEventId(any());
+    }
+
     @Test
     void fifoOrderTest_MultipleUsers() {
         // Test FIFO ordering with multiple users joining
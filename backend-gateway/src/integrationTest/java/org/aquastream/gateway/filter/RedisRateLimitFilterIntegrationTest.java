@@ -0,0 +1,122 @@
+package org.aquastream.gateway.filter;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import reactor.core.publisher.Mono;
+
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Three gateway replicas sharing one Redis must together honor a single client's limit.
+ *
+ * Tolerance: leased tokens are taken from Redis up front, so the aggregate never exceeds the limit
+ * plus what refills during the test; unused leases can make it stricter by at most
+ * {@code replicas * lease-size} tokens.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class RedisRateLimitFilterIntegrationTest {
+
+    private static final int LIMIT_PER_MINUTE = 60;
+    private static final int REPLICAS = 3;
+    private static final int LEASE_SIZE = 5;
+
+    @Container
+    private static final GenericContainer<?> REDIS = new GenericContainer<>("redis:7-alpine").withExposedPorts(6379);
+
+    private static LettuceConnectionFactory connectionFactory;
+    private static ReactiveStringRedisTemplate redis;
+
+    private final GatewayFilterChain pass = exchange -> Mono.empty();
+
+    @BeforeAll
+    static void setUpRedis() {
+        connectionFactory = new LettuceConnectionFactory(
+                new RedisStandaloneConfiguration(REDIS.getHost(), REDIS.getMappedPort(6379)));
+        connectionFactory.afterPropertiesSet();
+        redis = new ReactiveStringRedisTemplate(connectionFactory);
+    }
+
+    @AfterAll
+    static void tearDownRedis() {
+        connectionFactory.destroy();
+    }
+
+    @BeforeEach
+    void flush() {
+        redis.execute(connection -> connection.serverCommands().flushAll()).blockLast();
+    }
+
+    @Test
+    void aggregateLimitHonoredAcrossReplicas() {
+        List<RateLimitFilter> replicas = List.of(replica(), replica(), replica());
+
+        long start = System.nanoTime();
+        int allowed = 0;
+        for (int i = 0; i < LIMIT_PER_MINUTE * 5; i++) {
+            MockServerWebExchange exchange = request("203.0.113.7");
+            replicas.get(i % REPLICAS).filter(exchange, pass).block();
+            if (exchange.getResponse().getStatusCode() != HttpStatus.TOO_MANY_REQUESTS) {
+                allowed++;
+            }
+        }
+        double elapsedSeconds = (System.nanoTime() - start) / 1_000_000_000.0;
+
+        long refilled = (long) Math.ceil(elapsedSeconds * LIMIT_PER_MINUTE / 60.0);
+        assertTrue(allowed <= LIMIT_PER_MINUTE + refilled,
+                "allowed " + allowed + " over limit " + LIMIT_PER_MINUTE + " + refilled " + refilled);
+        assertTrue(allowed >= LIMIT_PER_MINUTE - REPLICAS * LEASE_SIZE,
+                "allowed " + allowed + " under limit " + LIMIT_PER_MINUTE + " - leases " + REPLICAS * LEASE_SIZE);
+    }
+
+    @Test
+    void fallsBackToLocalLimitWhenRedisIsDown() {
+        LettuceConnectionFactory unreachable = new LettuceConnectionFactory(new RedisStandaloneConfiguration("localhost", 1));
+        unreachable.afterPropertiesSet();
+        try {
+            RedisRateLimiter limiter = new RedisRateLimiter(new ReactiveStringRedisTemplate(unreachable),
+                    LEASE_SIZE, Duration.ofMillis(50), Duration.ofSeconds(30));
+            RateLimitFilter filter = new RateLimitFilter(3, 3, 3, 1000, Duration.ofMinutes(1), limiter);
+
+            int allowed = 0;
+            for (int i = 0; i < 5; i++) {
+                MockServerWebExchange exchange = request("203.0.113.8");
+                filter.filter(exchange, pass).block();
+                if (exchange.getResponse().getStatusCode() != HttpStatus.TOO_MANY_REQUESTS) {
+                    allowed++;
+                }
+            }
+
+            assertTrue(limiter.isFallbackActive());
+            assertEquals(3, allowed);
+        } finally {
+            unreachable.destroy();
+        }
+    }
+
+    private static RateLimitFilter replica() {
+        RedisRateLimiter limiter = new RedisRateLimiter(redis, LEASE_SIZE, Duration.ofSeconds(1), Duration.ofSeconds(5));
+        return new RateLimitFilter(LIMIT_PER_MINUTE, 10, 5, 1000, Duration.ofMinutes(1), limiter);
+    }
+
+    private static MockServerWebExchange request(String clientIp) {
+        return MockServerWebExchange.from(MockServerHttpRequest.get("/api/v1/events")
+                .remoteAddress(new InetSocketAddress(clientIp, 443))
+                .build());
+    }
+}
@@ -1,13 +1,17 @@
 package org.aquastream.gateway.admin;
 
+import org.aquastream.common.metrics.model.MetricsTimeSeries;
+import org.aquastream.common.metrics.model.MetricsTimeSeries.Resolution;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Range;
 import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
-import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
@@ -16,58 +20,68 @@ import java.time.Instant;
 import java.util.HashMap;
 import java.util.Map;
 
+/**
+ * Reads the metrics time series written by {@code RedisMetricsWriter}.
+ * Long ranges are served from the 5m/1h rollups, so a 7-day chart is ~170 points instead of ~10k.
+ */
 @RestController
 @RequestMapping(path = "/api/v1/admin/metrics", produces = MediaType.APPLICATION_JSON_VALUE)
 public class AdminMetricsController {
 
     private final ReactiveStringRedisTemplate redis;
+    private final String keyPrefix;
 
-    public AdminMetricsController(ReactiveStringRedisTemplate redis) {
+    public AdminMetricsController(ReactiveStringRedisTemplate redis,
+                                  @Value("${aquastream.metrics.key-prefix:metrics}") String keyPrefix) {
         this.redis = redis;
+        this.keyPrefix = keyPrefix;
     }
 
     @GetMapping("/series")
     public Mono<Map<String, Object>> series(
             @RequestParam("service") String service,
             @RequestParam("metric") String metric,
-            @RequestParam(value = "range", defaultValue = "h24") String range
+            @RequestParam(value = "range", defaultValue = "h24") String range,
+            @RequestParam(value = "resolution", required = false) String resolutionParam
     ) {
-        String key = "metrics:" + service + ":" + metric;
-        Instant now = Instant.now();
-        Instant from = switch (range) {
-            case "h1" -> now.minus(Duration.ofHours(1));
-            case "h6" -> now.minus(Duration.ofHours(6));
-            case "h24" -> now.minus(Duration.ofHours(24));
-            case "d7" -> now.minus(Duration.ofDays(7));
-            default -> now.minus(Duration.ofHours(24));
+        Duration window = switch (range) {
+            case "h1" -> Duration.ofHours(1);
+            case "h6" -> Duration.ofHours(6);
+            case "h24" -> Duration.ofHours(24);
+            case "d7" -> Duration.ofDays(7);
+            default -> Duration.ofHours(24);
         };
-        double min = from.getEpochSecond();
-        double max = now.getEpochSecond();
+        Resolution resolution = Resolution.forWindow(window);
+        if (resolutionParam != null) {
+            resolution = Resolution.fromSuffix(resolutionParam);
+            if (resolution == null) {
+                return Mono.error(new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                        "Unknown resolution: " + resolutionParam + " (supported: 1m, 5m, 1h)"));
+            }
+        }
+
+        String key = MetricsTimeSeries.key(keyPrefix, service, metric, resolution);
+        long nowMinute = Instant.now().getEpochSecond() / 60;
+        double min = nowMinute - window.toMinutes();
+        double max = nowMinute;
 
         Flux<Map<String, Object>> points = redis.opsForZSet()
                 .rangeByScoreWithScores(key, Range.closed(min, max))
                 .map(tuple -> {
+                    MetricsTimeSeries.Point point = MetricsTimeSeries.decode(tuple.getValue(), tuple.getScore());
                     Map<String, Object> p = new HashMap<>();
-                    p.put("ts", (long) Math.floor(tuple.getScore()));
-                    p.put("value", parseDoubleSafely(tuple.getValue()));
+                    p.put("ts", point.epochMinute() * 60);
+                    p.put("value", point.value());
                     return p;
                 });
 
+        Resolution selected = resolution;
         return points.collectList().map(list -> Map.of(
                 "service", service,
                 "metric", metric,
                 "range", range,
+                "resolution", selected.getSuffix(),
                 "series", list
         ));
     }
-
-    private double parseDoubleSafely(String v) {
-        try {
-            return Double.parseDouble(v);
-        } catch (Exception e) {
-            return 0.0;
-        }
-    }
 }
-
-
@@ -0,0 +1,11 @@
+package org.aquastream.gateway.filter;
+
+/**
+ * Outcome of a rate limit check
+ *
+ * @param allowed     whether the request may pass
+ * @param remaining   tokens left for the client (approximate in distributed mode)
+ * @param nanosToWait time until a token is available, when rejected
+ */
+public record RateLimitDecision(boolean allowed, long remaining, long nanosToWait) {
+}
@@ -5,8 +5,14 @@ import io.github.bucket4j.Bandwidth;
 import io.github.bucket4j.Bucket;
 import io.github.bucket4j.Refill;
 import io.github.bucket4j.ConsumptionProbe;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.aquastream.common.domain.DomainConstants;
 import org.aquastream.common.error.ProblemDetails;
+import org.aquastream.common.ratelimit.store.BoundedBucketStore;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.Ordered;
 import org.springframework.http.HttpHeaders;
@@ -18,43 +24,129 @@ import org.springframework.cloud.gateway.filter.GlobalFilter;
 import org.springframework.cloud.gateway.filter.GatewayFilterChain;
 import reactor.core.publisher.Mono;
 
+import java.net.InetSocketAddress;
 import java.net.URI;
 import java.nio.charset.StandardCharsets;
 import java.time.Duration;
+import java.util.EnumMap;
+import java.util.List;
 import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
 
+/**
+ * Per-client rate limiting at the edge.
+ *
+ * Buckets live in a {@link BoundedBucketStore}: at most {@code max-entries} clients are tracked and a
+ * bucket idle for longer than {@code expire-after-access} is dropped. With the default expiry equal to
+ * the one-minute refill period an evicted bucket would have been full again, so expiry never loosens
+ * the limit; only size-based eviction under a flood of new clients does.
+ *
+ * With {@code gateway.rate-limit.mode=distributed} the limit is shared by all replicas through
+ * {@link RedisRateLimiter}; the in-memory bucket is then only used while Redis is unavailable.
+ *
+ * Clients are keyed by the remote address. Behind {@code trusted-proxies} proxies the key is the
+ * {@code X-Forwarded-For} hop appended by the outermost of them; hops to its left are sent by the client
+ * and are not trusted.
+ */
 @Component
 public class RateLimitFilter implements GlobalFilter, Ordered {
 
+    enum Category {
+        DEFAULT, LOGIN, RECOVERY
+    }
+
+    /**
+     * Bucket key; avoids building a string per request
+     */
+    record ClientKey(Category category, String client) {
+    }
+
     private final int defaultPerMinute;
     private final int loginPerMinute;
     private final int recoveryPerMinute;
-    private final Map<String, Bucket> limiter = new ConcurrentHashMap<>();
+    private final int trustedProxies;
+    private final BoundedBucketStore<ClientKey, ClientState> limiter;
+    private final RedisRateLimiter distributed;
+    private final Map<Category, LongAdder> rejections = new EnumMap<>(Category.class);
     private final ObjectMapper objectMapper = new ObjectMapper();
 
+    public RateLimitFilter(int defaultPerMinute, int loginPerMinute, int recoveryPerMinute) {
+        this(defaultPerMinute, loginPerMinute, recoveryPerMinute, 100_000, Duration.ofMinutes(1), null);
+    }
+
+    public RateLimitFilter(int defaultPerMinute, int loginPerMinute, int recoveryPerMinute,
+                           int maxEntries, Duration expireAfterAccess, RedisRateLimiter distributed) {
+        this(defaultPerMinute, loginPerMinute, recoveryPerMinute, maxEntries, expireAfterAccess, 0, distributed);
+    }
+
+    public RateLimitFilter(int defaultPerMinute, int loginPerMinute, int recoveryPerMinute,
+                           int maxEntries, Duration expireAfterAccess, int trustedProxies,
+                           RedisRateLimiter distributed) {
+        this(defaultPerMinute, loginPerMinute, recoveryPerMinute, maxEntries, expireAfterAccess, trustedProxies,
+                (MeterRegistry) null, distributed);
+    }
+
+    @Autowired
     public RateLimitFilter(
             @Value("${gateway.rate-limit.default-per-minute:60}") int defaultPerMinute,
             @Value("${gateway.rate-limit.login-per-minute:10}") int loginPerMinute,
-            @Value("${gateway.rate-limit.recovery-per-minute:5}") int recoveryPerMinute
+            @Value("${gateway.rate-limit.recovery-per-minute:5}") int recoveryPerMinute,
+            @Value("${gateway.rate-limit.max-entries:100000}") int maxEntries,
+            @Value("${gateway.rate-limit.expire-after-access:1m}") Duration expireAfterAccess,
+            @Value("${gateway.rate-limit.trusted-proxies:0}") int trustedProxies,
+            ObjectProvider<MeterRegistry> meterRegistry,
+            ObjectProvider<RedisRateLimiter> distributed
     ) {
+        this(defaultPerMinute, loginPerMinute, recoveryPerMinute, maxEntries, expireAfterAccess, trustedProxies,
+                meterRegistry.getIfAvailable(), distributed.getIfAvailable());
+    }
+
+    private RateLimitFilter(int defaultPerMinute, int loginPerMinute, int recoveryPerMinute, int maxEntries,
+                            Duration expireAfterAccess, int trustedProxies, MeterRegistry registry,
+                            RedisRateLimiter distributed) {
         this.defaultPerMinute = defaultPerMinute;
         this.loginPerMinute = loginPerMinute;
         this.recoveryPerMinute = recoveryPerMinute;
+        this.trustedProxies = trustedProxies;
+        this.limiter = new BoundedBucketStore<>(maxEntries, expireAfterAccess);
+        this.distributed = distributed;
+        for (Category category : Category.values()) {
+            rejections.put(category, new LongAdder());
+        }
+        if (registry != null) {
+            registerMeters(registry);
+        }
     }
 
     @Override
     public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
-        String category = resolveCategory(exchange.getRequest().getURI().getPath());
-        String key = category + ":" + resolveClientKey(exchange);
-        Bucket bucket = limiter.computeIfAbsent(key, k -> newBucketFor(category));
-        ConsumptionProbe probe = bucket.tryConsumeAndReturnRemaining(1);
-        if (probe.isConsumed()) {
-            exchange.getResponse().getHeaders().add("X-RateLimit-Remaining", String.valueOf(probe.getRemainingTokens()));
+        Category category = resolveCategory(exchange.getRequest().getURI().getPath());
+        ClientKey key = new ClientKey(category, resolveClientKey(exchange));
+        ClientState state = limiter.computeIfAbsent(key, this::newClientState);
+
+        if (distributed == null) {
+            return apply(exchange, chain, category, consumeLocally(state));
+        }
+        return distributed.tryConsume(state.leased, limitFor(category))
+                .switchIfEmpty(Mono.fromSupplier(() -> consumeLocally(state)))
+                .flatMap(decision -> apply(exchange, chain, category, decision));
+    }
+
+    private RateLimitDecision consumeLocally(ClientState state) {
+        ConsumptionProbe probe = state.local.tryConsumeAndReturnRemaining(1);
+        return new RateLimitDecision(probe.isConsumed(), probe.getRemainingTokens(), probe.getNanosToWaitForRefill());
+    }
+
+    private Mono<Void> apply(ServerWebExchange exchange, GatewayFilterChain chain,
+                             Category category, RateLimitDecision decision) {
+        if (decision.allowed()) {
+            exchange.getResponse().getHeaders().add("X-RateLimit-Remaining", String.valueOf(decision.remaining()));
             return chain.filter(exchange);
         }
 
-        long nanosToWait = probe.getNanosToWaitForRefill();
+        rejections.get(category).increment();
+
+        long nanosToWait = decision.nanosToWait();
         long seconds = Math.max(1L, (long) Math.ceil(nanosToWait / 1_000_000_000.0));
         exchange.getResponse().setStatusCode(HttpStatus.TOO_MANY_REQUESTS);
         exchange.getResponse().getHeaders().add(HttpHeaders.RETRY_AFTER, String.valueOf(seconds));
@@ -81,30 +173,77 @@ public class RateLimitFilter implements GlobalFilter, Ordered {
         }
     }
 
-    private String resolveCategory(String path) {
-        if (path.startsWith("/api/v1/auth/recovery")) return "recovery";
-        if (path.startsWith("/api/v1/auth/login")) return "login";
-        return "default";
+    /**
+     * Number of tracked client buckets
+     */
+    public int getTrackedClients() {
+        return limiter.size();
+    }
+
+    private void registerMeters(MeterRegistry registry) {
+        Gauge.builder("gateway.ratelimit.entries", limiter, BoundedBucketStore::size)
+                .description("Client buckets held by the gateway rate limiter")
+                .register(registry);
+        FunctionCounter.builder("gateway.ratelimit.evictions", limiter, BoundedBucketStore::evictionCount)
+                .description("Client buckets evicted because the store was full")
+                .register(registry);
+        FunctionCounter.builder("gateway.ratelimit.expirations", limiter, BoundedBucketStore::expirationCount)
+                .description("Idle client buckets dropped")
+                .register(registry);
+        rejections.forEach((category, counter) ->
+                FunctionCounter.builder("gateway.ratelimit.rejections", counter, LongAdder::sum)
+                        .tag("category", category.name().toLowerCase())
+                        .description("Requests rejected with 429")
+                        .register(registry));
+        if (distributed != null) {
+            Gauge.builder("gateway.ratelimit.redis.fallback", distributed, limiter -> limiter.isFallbackActive() ? 1 : 0)
+                    .description("1 while Redis is unavailable and limits are enforced per replica")
+                    .register(registry);
+        }
+    }
+
+    private Category resolveCategory(String path) {
+        if (path.startsWith("/api/v1/auth/recovery")) return Category.RECOVERY;
+        if (path.startsWith("/api/v1/auth/login")) return Category.LOGIN;
+        return Category.DEFAULT;
     }
 
     private String resolveClientKey(ServerWebExchange exchange) {
-        String ip = exchange.getRequest().getHeaders().getFirst("X-Forwarded-For");
-        if (ip == null || ip.isBlank()) {
-            if (exchange.getRequest().getRemoteAddress() != null && exchange.getRequest().getRemoteAddress().getAddress() != null) {
-                ip = exchange.getRequest().getRemoteAddress().getAddress().getHostAddress();
-            } else {
-                ip = "unknown";
+        if (trustedProxies > 0) {
+            List<String> forwarded = exchange.getRequest().getHeaders().get("X-Forwarded-For");
+            if (forwarded != null && !forwarded.isEmpty()) {
+                // Each proxy appends the address it received the request from; the client controls the rest
+                String[] hops = String.join(",", forwarded).split(",");
+                String ip = hops[Math.max(0, hops.length - trustedProxies)].trim();
+                if (!ip.isEmpty()) {
+                    return ip;
+                }
             }
         }
-        return ip;
+        InetSocketAddress remote = exchange.getRequest().getRemoteAddress();
+        if (remote != null && remote.getAddress() != null) {
+            return remote.getAddress().getHostAddress();
+        }
+        return "unknown";
     }
 
-    private Bucket newBucketFor(String category) {
-        int limit = switch (category) {
-            case "login" -> loginPerMinute;
-            case "recovery" -> recoveryPerMinute;
-            default -> defaultPerMinute;
+    private ClientState newClientState(ClientKey key) {
+        RedisRateLimiter.LeasedTokens leased = distributed != null
+                ? new RedisRateLimiter.LeasedTokens(key.category().name().toLowerCase(), key.client())
+                : null;
+        return new ClientState(newBucketFor(key.category()), leased);
+    }
+
+    private int limitFor(Category category) {
+        return switch (category) {
+            case LOGIN -> loginPerMinute;
+            case RECOVERY -> recoveryPerMinute;
+            case DEFAULT -> defaultPerMinute;
         };
+    }
+
+    private Bucket newBucketFor(Category category) {
+        int limit = limitFor(category);
         Bandwidth bandwidth = Bandwidth.classic(limit, Refill.greedy(limit, Duration.ofMinutes(1)));
         return Bucket.builder().addLimit(bandwidth).build();
     }
@@ -113,6 +252,17 @@ public class RateLimitFilter implements GlobalFilter, Ordered {
     public int getOrder() {
         return -10; // run early
     }
-}
 
+    /**
+     * Per-client state: the local bucket and, in distributed mode, the tokens leased from Redis
+     */
+    static final class ClientState {
+        final Bucket local;
+        final RedisRateLimiter.LeasedTokens leased;
 
+        ClientState(Bucket local, RedisRateLimiter.LeasedTokens leased) {
+            this.local = local;
+            this.leased = leased;
+        }
+    }
+}
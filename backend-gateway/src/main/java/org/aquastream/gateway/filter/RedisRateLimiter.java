@@ -0,0 +1,208 @@
+package org.aquastream.gateway.filter;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Cluster-wide token buckets in Redis for the gateway, used when {@code gateway.rate-limit.mode=distributed}.
+ *
+ * Every replica leases small batches of tokens from a shared bucket (one Lua call, non-blocking
+ * reactive Redis) and grants them locally, so most requests never touch Redis. Leased tokens are
+ * taken from the shared bucket up front: the aggregate limit is never exceeded, and at most
+ * {@code replicas * lease-size} tokens per client sit unused in other replicas.
+ *
+ * When Redis fails or times out the caller falls back to local-only limiting; Redis is retried
+ * after {@code fallback-backoff}.
+ */
+@Component
+@ConditionalOnProperty(name = "gateway.rate-limit.mode", havingValue = "distributed")
+@Slf4j
+public class RedisRateLimiter {
+
+    /**
+     * KEYS: bucket. ARGV: capacity, refill per millisecond, tokens wanted, minimum tokens, TTL in ms.
+     * Returns granted tokens, tokens left and milliseconds until the minimum is available.
+     */
+    private static final RedisScript<List> LEASE_SCRIPT = RedisScript.of("""
+            local capacity = tonumber(ARGV[1])
+            local rate = tonumber(ARGV[2])
+            local wanted = tonumber(ARGV[3])
+            local minimum = tonumber(ARGV[4])
+            local time = redis.call('TIME')
+            local now = tonumber(time[1]) * 1000 + math.floor(tonumber(time[2]) / 1000)
+            local state = redis.call('HMGET', KEYS[1], 'tokens', 'ts')
+            local tokens = tonumber(state[1]) or capacity
+            local ts = tonumber(state[2]) or now
+            tokens = math.min(capacity, tokens + math.max(0, now - ts) * rate)
+            local granted = 0
+            if tokens >= wanted then
+              granted = wanted
+            elseif tokens >= minimum then
+              granted = math.floor(tokens)
+            end
+            tokens = tokens - granted
+            redis.call('HSET', KEYS[1], 'tokens', tostring(tokens), 'ts', now)
+            redis.call('PEXPIRE', KEYS[1], ARGV[5])
+            local wait = 0
+            if granted == 0 then
+              wait = math.ceil((minimum - tokens) / rate)
+            end
+            return {granted, math.floor(tokens), wait}
+            """, List.class);
+
+    private static final String KEY_PREFIX = "gateway:rate_limit:";
+
+    private final ReactiveStringRedisTemplate redis;
+    private final long leaseSize;
+    private final Duration timeout;
+    private final long fallbackBackoffNanos;
+    private final AtomicLong redisDownUntilNanos = new AtomicLong(System.nanoTime());
+
+    public RedisRateLimiter(ReactiveStringRedisTemplate redis,
+                            @Value("${gateway.rate-limit.distributed.lease-size:5}") long leaseSize,
+                            @Value("${gateway.rate-limit.distributed.timeout:50ms}") Duration timeout,
+                            @Value("${gateway.rate-limit.distributed.fallback-backoff:5s}") Duration fallbackBackoff) {
+        this.redis = redis;
+        this.leaseSize = leaseSize;
+        this.timeout = timeout;
+        this.fallbackBackoffNanos = fallbackBackoff.toNanos();
+    }
+
+    /**
+     * Per-client lease state, kept next to the local bucket in the filter's store
+     */
+    public static final class LeasedTokens {
+        private final String redisKey;
+        private final AtomicLong tokens = new AtomicLong();
+        private final AtomicBoolean leasing = new AtomicBoolean();
+        private volatile long deniedUntilNanos = System.nanoTime();
+        private volatile long sharedRemaining;
+
+        public LeasedTokens(String category, String client) {
+            this.redisKey = KEY_PREFIX + category + ":" + client;
+        }
+
+        private boolean take() {
+            long current;
+            do {
+                current = tokens.get();
+                if (current <= 0) {
+                    return false;
+                }
+            } while (!tokens.compareAndSet(current, current - 1));
+            return true;
+        }
+    }
+
+    /**
+     * Consume one token for the client; empty when Redis is unavailable and the caller should limit locally
+     */
+    public Mono<RateLimitDecision> tryConsume(LeasedTokens state, int perMinute) {
+        long lease = leaseSizeFor(perMinute);
+        if (state.take()) {
+            long local = state.tokens.get();
+            if (local < (lease + 1) / 2) {
+                prefetch(state, perMinute, lease);
+            }
+            return Mono.just(new RateLimitDecision(true, state.sharedRemaining + local, 0));
+        }
+
+        long now = System.nanoTime();
+        long deniedFor = state.deniedUntilNanos - now;
+        if (deniedFor > 0) {
+            return Mono.just(new RateLimitDecision(false, 0, deniedFor));
+        }
+        if (isRedisDown(now)) {
+            return Mono.empty();
+        }
+
+        return lease(state, perMinute, 1, lease)
+                .map(result -> {
+                    if (result.granted() >= 1) {
+                        long local = state.tokens.addAndGet(result.granted() - 1);
+                        return new RateLimitDecision(true, result.remaining() + local, 0);
+                    }
+                    state.deniedUntilNanos = now + result.nanosToWait();
+                    return new RateLimitDecision(false, 0, result.nanosToWait());
+                })
+                .onErrorResume(e -> {
+                    markRedisDown(e);
+                    return Mono.empty();
+                });
+    }
+
+    /**
+     * Whether distributed limiting is currently bypassed because Redis failed
+     */
+    public boolean isFallbackActive() {
+        return isRedisDown(System.nanoTime());
+    }
+
+    long leaseSizeFor(int perMinute) {
+        // A lease never takes more than a tenth of the limit, so small limits stay exact
+        return Math.max(1, Math.min(leaseSize, perMinute / 10));
+    }
+
+    private void prefetch(LeasedTokens state, int perMinute, long lease) {
+        if (isRedisDown(System.nanoTime()) || !state.leasing.compareAndSet(false, true)) {
+            return;
+        }
+        lease(state, perMinute, 1, lease)
+                .doFinally(signal -> state.leasing.set(false))
+                .subscribe(result -> state.tokens.addAndGet(result.granted()), this::markRedisDown);
+    }
+
+    private Mono<Lease> lease(LeasedTokens state, int perMinute, long minimum, long wanted) {
+        double refillPerMilli = perMinute / 60_000.0;
+        long ttlMillis = TimeUnit.MINUTES.toMillis(2);
+        return redis.execute(LEASE_SCRIPT, List.of(state.redisKey), List.of(
+                        String.valueOf(perMinute),
+                        String.valueOf(refillPerMilli),
+                        String.valueOf(wanted),
+                        String.valueOf(minimum),
+                        String.valueOf(ttlMillis)))
+                .reduce(new ArrayList<Object>(), (all, part) -> {
+                    all.addAll(part);
+                    return all;
+                })
+                .timeout(timeout)
+                .map(values -> {
+                    Lease lease = new Lease(number(values, 0), number(values, 1),
+                            TimeUnit.MILLISECONDS.toNanos(number(values, 2)));
+                    state.sharedRemaining = lease.remaining();
+                    return lease;
+                });
+    }
+
+    private boolean isRedisDown(long now) {
+        return redisDownUntilNanos.get() - now > 0;
+    }
+
+    private void markRedisDown(Throwable e) {
+        long now = System.nanoTime();
+        long until = redisDownUntilNanos.get();
+        if (until - now <= 0 && redisDownUntilNanos.compareAndSet(until, now + fallbackBackoffNanos)) {
+            log.warn("Redis rate limiting unavailable, falling back to local limits for {}ms: {}",
+                    TimeUnit.NANOSECONDS.toMillis(fallbackBackoffNanos), e.toString());
+        }
+    }
+
+    private static long number(List<Object> values, int index) {
+        return values.size() > index && values.get(index) instanceof Number n ? n.longValue() : 0;
+    }
+
+    private record Lease(long granted, long remaining, long nanosToWait) {
+    }
+}
@@ -3,14 +3,18 @@ package org.aquastream.gateway.security;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.ExpiredJwtException;
 import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.MalformedJwtException;
 import io.jsonwebtoken.UnsupportedJwtException;
 import lombok.extern.slf4j.Slf4j;
+import org.aquastream.common.security.TokenRevocation;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.spec.SecretKeySpec;
+import java.util.Date;
 import java.util.UUID;
 
 /**
@@ -18,6 +22,11 @@ import java.util.UUID;
  * 
  * This utility validates JWT tokens created by user-service using the same secret key.
  * It extracts user information without requiring database access.
+ *
+ * The HMAC key and parser are built once. Verified tokens are kept in a {@link VerifiedTokenCache}
+ * until their {@code exp}, so a repeated token costs a SHA-256 and a map lookup. Revocations from
+ * {@link TokenRevocationRegistry} are honored through its epoch: a cached token is re-checked only
+ * after a revocation was recorded.
  */
 @Component
 @Slf4j
@@ -25,6 +34,15 @@ public class JwtUtil {
     
     @Value("${app.jwt.secret:dev-secret-change-me}")
     private String jwtSecret;
+
+    @Value("${gateway.jwt.cache.max-entries:10000}")
+    private int cacheMaxEntries = 10_000;
+
+    @Autowired(required = false)
+    private TokenRevocationRegistry revocations;
+
+    private volatile ParserHolder parserHolder;
+    private volatile VerifiedTokenCache cache;
     
     /**
      * Validates JWT token and extracts user information.
@@ -36,11 +54,24 @@ public class JwtUtil {
         if (token == null || token.trim().isEmpty()) {
             return null;
         }
+
+        VerifiedTokenCache tokenCache = cache();
+        VerifiedTokenCache.TokenKey key = tokenCache.isEnabled() ? VerifiedTokenCache.TokenKey.of(token) : null;
+        if (key != null) {
+            VerifiedTokenCache.CachedToken cached = tokenCache.get(key);
+            if (cached != null) {
+                if (System.currentTimeMillis() < cached.expiresAtMillis() && !isRevoked(tokenCache, key, cached)) {
+                    return cached.user();
+                }
+                tokenCache.remove(key, cached);
+                return null;
+            }
+        }
         
         try {
-            Claims claims = Jwts.parser()
-                    .verifyWith(new SecretKeySpec(jwtSecret.getBytes(), "HmacSHA512"))
-                    .build()
+            // Read the epoch before the revocation check so a concurrent revocation forces a re-check
+            long epoch = revocations != null ? revocations.epoch() : 0;
+            Claims claims = parser()
                     .parseSignedClaims(token)
                     .getPayload();
             
@@ -59,8 +90,19 @@ public class JwtUtil {
                 log.debug("Invalid UUID format in JWT subject: {}", subject);
                 return null;
             }
+
+            long issuedAt = issuedAtMillis(claims);
+            if (revocations != null && revocations.isRevoked(userId, issuedAt)) {
+                log.debug("JWT token revoked for user {}", userId);
+                return null;
+            }
             
-            return new JwtUserInfo(userId, role);
+            JwtUserInfo userInfo = new JwtUserInfo(userId, role);
+            Date expiration = claims.getExpiration();
+            if (key != null && expiration != null) {
+                tokenCache.put(key, new VerifiedTokenCache.CachedToken(userInfo, expiration.getTime(), issuedAt, epoch));
+            }
+            return userInfo;
             
         } catch (ExpiredJwtException e) {
             log.debug("JWT token expired: {}", e.getMessage());
@@ -79,6 +121,67 @@ public class JwtUtil {
             return null;
         }
     }
+
+    /**
+     * Revocation check for a cached token; only looks up the user when the epoch moved
+     */
+    private boolean isRevoked(VerifiedTokenCache tokenCache, VerifiedTokenCache.TokenKey key,
+                              VerifiedTokenCache.CachedToken cached) {
+        if (revocations == null) {
+            return false;
+        }
+        long epoch = revocations.epoch();
+        if (cached.epoch() == epoch) {
+            return false;
+        }
+        if (revocations.isRevoked(cached.user().userId(), cached.issuedAtMillis())) {
+            return true;
+        }
+        tokenCache.replace(key, cached, cached.withEpoch(epoch));
+        return false;
+    }
+
+    private static long issuedAtMillis(Claims claims) {
+        Number issuedAtMillis = claims.get(TokenRevocation.ISSUED_AT_MILLIS_CLAIM, Number.class);
+        if (issuedAtMillis != null) {
+            return issuedAtMillis.longValue();
+        }
+        // iat has second precision: count from the start of the second, tokens without iat cannot prove
+        // they postdate a revocation
+        Date issuedAt = claims.getIssuedAt();
+        return issuedAt != null ? issuedAt.getTime() / 1000 * 1000 : Long.MIN_VALUE;
+    }
+
+    /**
+     * Parser with the HMAC key, rebuilt only if the secret changes
+     */
+    private JwtParser parser() {
+        ParserHolder holder = parserHolder;
+        if (holder == null || !holder.secret().equals(jwtSecret)) {
+            holder = new ParserHolder(jwtSecret, Jwts.parser()
+                    .verifyWith(new SecretKeySpec(jwtSecret.getBytes(), "HmacSHA512"))
+                    .build());
+            parserHolder = holder;
+        }
+        return holder.parser();
+    }
+
+    private VerifiedTokenCache cache() {
+        VerifiedTokenCache current = cache;
+        if (current == null) {
+            synchronized (this) {
+                current = cache;
+                if (current == null) {
+                    current = new VerifiedTokenCache(cacheMaxEntries);
+                    cache = current;
+                }
+            }
+        }
+        return current;
+    }
+
+    private record ParserHolder(String secret, JwtParser parser) {
+    }
     
     /**
      * Extracts JWT token from Authorization header.
@@ -0,0 +1,102 @@
+package org.aquastream.gateway.security;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.aquastream.common.security.TokenRevocation;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory view of access token revocations published by the user service.
+ *
+ * Loads {@link TokenRevocation#REVOKED_AT_KEY} on start and on every resubscription, then
+ * follows {@link TokenRevocation#CHANNEL}. Each change bumps {@link #epoch()}, so cached tokens
+ * only need a revocation lookup when the epoch moved since they were verified.
+ */
+@Component
+@Slf4j
+public class TokenRevocationRegistry {
+
+    private static final int PRUNE_THRESHOLD = 10_000;
+
+    private final ReactiveStringRedisTemplate redis;
+    private final long accessTtlSeconds;
+    private final Map<UUID, Long> revokedAt = new ConcurrentHashMap<>();
+    private final AtomicLong epoch = new AtomicLong();
+    private Disposable subscription;
+
+    public TokenRevocationRegistry(ReactiveStringRedisTemplate redis,
+                                   @Value("${app.jwt.accessTtlSeconds:900}") long accessTtlSeconds) {
+        this.redis = redis;
+        this.accessTtlSeconds = accessTtlSeconds;
+    }
+
+    @PostConstruct
+    public void subscribe() {
+        subscription = redis.listenToChannel(TokenRevocation.CHANNEL)
+                .doOnSubscribe(s -> loadSnapshot())
+                .doOnNext(message -> apply(TokenRevocation.decode(message.getMessage())))
+                .retryWhen(Retry.backoff(Long.MAX_VALUE, Duration.ofSeconds(1)).maxBackoff(Duration.ofSeconds(30)))
+                .subscribe(message -> { }, e -> log.error("Token revocation subscription stopped", e));
+    }
+
+    @PreDestroy
+    public void unsubscribe() {
+        if (subscription != null) {
+            subscription.dispose();
+        }
+    }
+
+    /**
+     * Changes whenever a revocation is recorded
+     */
+    public long epoch() {
+        return epoch.get();
+    }
+
+    /**
+     * Whether a token of the user issued at the given millisecond has been revoked
+     */
+    public boolean isRevoked(UUID userId, long issuedAtEpochMilli) {
+        Long revoked = revokedAt.get(userId);
+        return revoked != null && issuedAtEpochMilli <= revoked;
+    }
+
+    /**
+     * Record a revocation; also used when the gateway learns about one from another source
+     */
+    public void apply(TokenRevocation.Entry entry) {
+        if (entry == null) {
+            return;
+        }
+        revokedAt.merge(entry.userId(), entry.revokedAtEpochMilli(), Math::max);
+        epoch.incrementAndGet();
+        if (revokedAt.size() > PRUNE_THRESHOLD) {
+            // Tokens issued before these entries have expired anyway
+            long oldest = Instant.now().minusSeconds(accessTtlSeconds).toEpochMilli();
+            revokedAt.values().removeIf(revoked -> revoked < oldest);
+        }
+    }
+
+    private void loadSnapshot() {
+        redis.<String, String>opsForHash().entries(TokenRevocation.REVOKED_AT_KEY)
+                .doOnNext(e -> apply(TokenRevocation.decode(e.getKey() + ":" + e.getValue())))
+                .onErrorResume(e -> {
+                    log.warn("Failed to load token revocations: {}", e.getMessage());
+                    return Mono.empty();
+                })
+                .subscribe();
+    }
+}
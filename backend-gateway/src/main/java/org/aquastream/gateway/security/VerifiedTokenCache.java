@@ -0,0 +1,94 @@
+package org.aquastream.gateway.security;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded cache of tokens whose signature was already verified.
+ *
+ * Keyed by the SHA-256 of the token, so raw tokens are not retained. Entries are dropped when read
+ * after their {@code exp}; when the cache is full expired entries are swept (at most once a second)
+ * and new tokens are simply not cached until room frees up.
+ */
+final class VerifiedTokenCache {
+
+    private static final long SWEEP_INTERVAL_MILLIS = 1000;
+
+    private static final ThreadLocal<MessageDigest> SHA_256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    });
+
+    private final int maxEntries;
+    private final ConcurrentHashMap<TokenKey, CachedToken> entries = new ConcurrentHashMap<>();
+    private final AtomicLong lastSweepMillis = new AtomicLong();
+
+    VerifiedTokenCache(int maxEntries) {
+        this.maxEntries = Math.max(0, maxEntries);
+    }
+
+    /**
+     * SHA-256 of a token as four longs
+     */
+    record TokenKey(long h0, long h1, long h2, long h3) {
+        static TokenKey of(String token) {
+            ByteBuffer digest = ByteBuffer.wrap(SHA_256.get().digest(token.getBytes(StandardCharsets.UTF_8)));
+            return new TokenKey(digest.getLong(), digest.getLong(), digest.getLong(), digest.getLong());
+        }
+    }
+
+    /**
+     * A verified token; {@code epoch} is the revocation epoch it was last checked against
+     */
+    record CachedToken(JwtUtil.JwtUserInfo user, long expiresAtMillis, long issuedAtMillis, long epoch) {
+        CachedToken withEpoch(long newEpoch) {
+            return new CachedToken(user, expiresAtMillis, issuedAtMillis, newEpoch);
+        }
+    }
+
+    boolean isEnabled() {
+        return maxEntries > 0;
+    }
+
+    CachedToken get(TokenKey key) {
+        return entries.get(key);
+    }
+
+    void put(TokenKey key, CachedToken token) {
+        if (entries.size() >= maxEntries && !sweepExpired()) {
+            return;
+        }
+        entries.put(key, token);
+    }
+
+    void replace(TokenKey key, CachedToken expected, CachedToken token) {
+        entries.replace(key, expected, token);
+    }
+
+    void remove(TokenKey key, CachedToken expected) {
+        entries.remove(key, expected);
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    /**
+     * Drop expired entries; true if there is room afterwards
+     */
+    private boolean sweepExpired() {
+        long now = System.currentTimeMillis();
+        long last = lastSweepMillis.get();
+        if (now - last >= SWEEP_INTERVAL_MILLIS && lastSweepMillis.compareAndSet(last, now)) {
+            entries.values().removeIf(token -> token.expiresAtMillis() <= now);
+        }
+        return entries.size() < maxEntries;
+    }
+}
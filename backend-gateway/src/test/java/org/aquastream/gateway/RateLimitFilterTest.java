@@ -9,6 +9,9 @@ import org.springframework.mock.web.server.MockServerWebExchange;
 import org.springframework.cloud.gateway.filter.GatewayFilterChain;
 import reactor.core.publisher.Mono;
 
+import java.net.InetSocketAddress;
+import java.time.Duration;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 class RateLimitFilterTest {
@@ -29,6 +32,57 @@ class RateLimitFilterTest {
         assertEquals("application/problem+json", ex2.getResponse().getHeaders().getContentType().toString());
         assertTrue(ex2.getResponse().getHeaders().containsKey("Retry-After"));
     }
-}
 
+    @Test
+    void boundsTrackedClientsUnderRotatingIps() {
+        RateLimitFilter filter = new RateLimitFilter(60, 10, 5, 1000, Duration.ofMinutes(1), null);
+        GatewayFilterChain pass = exchange -> Mono.empty();
+
+        for (int i = 0; i < 20_000; i++) {
+            MockServerWebExchange ex = MockServerWebExchange.from(MockServerHttpRequest.get("/api/v1/events")
+                    .remoteAddress(new InetSocketAddress("10.0." + (i / 256) + "." + (i % 256), 443))
+                    .build());
+            filter.filter(ex, pass).block();
+        }
+
+        assertTrue(filter.getTrackedClients() <= 1000);
+    }
+
+    @Test
+    void ignoresClientSuppliedForwardedFor() {
+        RateLimitFilter filter = new RateLimitFilter(60, 1, 5);
+        GatewayFilterChain pass = exchange -> Mono.empty();
+        MockServerWebExchange first = login("203.0.113.8", "10.0.0.1");
+        MockServerWebExchange second = login("203.0.113.8", "10.0.0.2");
+
+        filter.filter(first, pass).block();
+        filter.filter(second, pass).block();
 
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, second.getResponse().getStatusCode());
+        assertEquals(1, filter.getTrackedClients());
+    }
+
+    @Test
+    void keysByHopAppendedByTrustedProxy() {
+        RateLimitFilter filter = new RateLimitFilter(60, 1, 5, 1000, Duration.ofMinutes(1), 1, null);
+        GatewayFilterChain pass = exchange -> Mono.empty();
+        // The client forges the first hop, the proxy at 192.168.0.1 appends the real address
+        MockServerWebExchange first = login("192.168.0.1", "10.0.0.1, 198.51.100.7");
+        MockServerWebExchange second = login("192.168.0.1", "10.0.0.2, 198.51.100.7");
+        MockServerWebExchange other = login("192.168.0.1", "198.51.100.9");
+
+        filter.filter(first, pass).block();
+        filter.filter(second, pass).block();
+        filter.filter(other, pass).block();
+
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, second.getResponse().getStatusCode());
+        assertNotEquals(HttpStatus.TOO_MANY_REQUESTS, other.getResponse().getStatusCode());
+    }
+
+    private static MockServerWebExchange login(String remoteAddress, String forwardedFor) {
+        return MockServerWebExchange.from(MockServerHttpRequest.get("/api/v1/auth/login")
+                .remoteAddress(new InetSocketAddress(remoteAddress, 443))
+                .header("X-Forwarded-For", forwardedFor)
+                .build());
+    }
+}
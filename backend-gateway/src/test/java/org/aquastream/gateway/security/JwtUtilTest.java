@@ -3,11 +3,14 @@ package org.aquastream.gateway.security;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import org.junit.jupiter.api.BeforeEach;
+import org.aquastream.common.security.TokenRevocation;
+import org.junit.jupiter.api.Tag;
 import org.junit.jupiter.api.Test;
 import org.springframework.test.util.ReflectionTestUtils;
 
 import javax.crypto.spec.SecretKeySpec;
 import java.time.Instant;
+import java.time.temporal.ChronoUnit;
 import java.util.Date;
 import java.util.UUID;
 
@@ -77,6 +80,151 @@ class JwtUtilTest {
         assertNull(userInfo);
     }
     
+    @Test
+    void validateToken_RepeatedToken_ServedFromCache() {
+        // Given
+        UUID userId = UUID.randomUUID();
+        String token = createValidJwt(userId, "USER", Instant.now().plusSeconds(900));
+        
+        // When
+        JwtUtil.JwtUserInfo first = jwtUtil.validateToken(token);
+        JwtUtil.JwtUserInfo second = jwtUtil.validateToken(token);
+        
+        // Then
+        assertEquals(first, second);
+        assertEquals(1, cache().size());
+    }
+    
+    @Test
+    void validateToken_TamperedCachedToken_ReturnsNull() {
+        // Given
+        String token = createValidJwt(UUID.randomUUID(), "USER", Instant.now().plusSeconds(900));
+        jwtUtil.validateToken(token);
+        
+        // When
+        JwtUtil.JwtUserInfo userInfo = jwtUtil.validateToken(token.substring(0, token.length() - 2) + "xx");
+        
+        // Then
+        assertNull(userInfo);
+    }
+    
+    @Test
+    void validateToken_RevokedAfterCaching_ReturnsNull() {
+        // Given
+        TokenRevocationRegistry registry = new TokenRevocationRegistry(null, 900);
+        ReflectionTestUtils.setField(jwtUtil, "revocations", registry);
+        UUID userId = UUID.randomUUID();
+        UUID otherUserId = UUID.randomUUID();
+        String token = createValidJwt(userId, "USER", Instant.now().plusSeconds(900));
+        String otherToken = createValidJwt(otherUserId, "USER", Instant.now().plusSeconds(900));
+        assertNotNull(jwtUtil.validateToken(token));
+        assertNotNull(jwtUtil.validateToken(otherToken));
+        
+        // When
+        registry.apply(new TokenRevocation.Entry(userId, Instant.now().toEpochMilli()));
+        
+        // Then
+        assertNull(jwtUtil.validateToken(token));
+        assertNotNull(jwtUtil.validateToken(otherToken));
+        assertEquals(1, cache().size());
+    }
+    
+    @Test
+    void validateToken_RevokedBeforeFirstUse_ReturnsNull() {
+        // Given
+        TokenRevocationRegistry registry = new TokenRevocationRegistry(null, 900);
+        ReflectionTestUtils.setField(jwtUtil, "revocations", registry);
+        UUID userId = UUID.randomUUID();
+        String token = createValidJwt(userId, "USER", Instant.now().plusSeconds(900));
+        registry.apply(new TokenRevocation.Entry(userId, Instant.now().toEpochMilli()));
+        
+        // When
+        JwtUtil.JwtUserInfo userInfo = jwtUtil.validateToken(token);
+        
+        // Then
+        assertNull(userInfo);
+        assertEquals(0, cache().size());
+    }
+    
+    @Test
+    void validateToken_IssuedAfterRevocationInSameSecond_ReturnsUserInfo() {
+        // Given
+        TokenRevocationRegistry registry = new TokenRevocationRegistry(null, 900);
+        ReflectionTestUtils.setField(jwtUtil, "revocations", registry);
+        UUID userId = UUID.randomUUID();
+        Instant second = Instant.now().truncatedTo(ChronoUnit.SECONDS);
+        registry.apply(new TokenRevocation.Entry(userId, second.plusMillis(100).toEpochMilli()));
+        String revoked = createJwt(userId, second.plusMillis(50));
+        String reissued = createJwt(userId, second.plusMillis(200));
+        
+        // When / Then
+        assertNull(jwtUtil.validateToken(revoked));
+        assertNotNull(jwtUtil.validateToken(reissued));
+    }
+    
+    @Test
+    void validateToken_CacheFull_StillValidatesWithoutCaching() {
+        // Given
+        ReflectionTestUtils.setField(jwtUtil, "cacheMaxEntries", 2);
+        
+        // When
+        for (int i = 0; i < 5; i++) {
+            assertNotNull(jwtUtil.validateToken(createValidJwt(UUID.randomUUID(), "USER", Instant.now().plusSeconds(900))));
+        }
+        
+        // Then
+        assertEquals(2, cache().size());
+    }
+    
+    @Test
+    void validateToken_CacheDisabled_ValidatesEveryTime() {
+        // Given
+        ReflectionTestUtils.setField(jwtUtil, "cacheMaxEntries", 0);
+        String token = createValidJwt(UUID.randomUUID(), "USER", Instant.now().plusSeconds(900));
+        
+        // When / Then
+        assertNotNull(jwtUtil.validateToken(token));
+        assertNotNull(jwtUtil.validateToken(token));
+        assertNull(jwtUtil.validateToken(token.substring(0, token.length() - 2) + "xx"));
+        assertEquals(0, cache().size());
+    }
+    
+    /**
+     * Throughput of repeated validation of the same tokens with and without the verified-token cache
+     */
+    @Test
+    @Tag("benchmark")
+    void benchmarkCachedValidation() {
+        String[] tokens = new String[100];
+        for (int i = 0; i < tokens.length; i++) {
+            tokens[i] = createValidJwt(UUID.randomUUID(), "USER", Instant.now().plusSeconds(900));
+        }
+        JwtUtil uncached = new JwtUtil();
+        ReflectionTestUtils.setField(uncached, "jwtSecret", jwtSecret);
+        ReflectionTestUtils.setField(uncached, "cacheMaxEntries", 0);
+        
+        int iterations = 50_000;
+        measure(uncached, tokens, iterations / 5);
+        measure(jwtUtil, tokens, iterations / 5);
+        double uncachedNanos = measure(uncached, tokens, iterations);
+        double cachedNanos = measure(jwtUtil, tokens, iterations);
+        
+        System.out.printf("JwtUtil.validateToken: uncached %.0f ns/op, cached %.0f ns/op (%.1fx)%n",
+                uncachedNanos, cachedNanos, uncachedNanos / cachedNanos);
+    }
+    
+    private static double measure(JwtUtil util, String[] tokens, int iterations) {
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            assertNotNull(util.validateToken(tokens[i % tokens.length]));
+        }
+        return (System.nanoTime() - start) / (double) iterations;
+    }
+    
+    private VerifiedTokenCache cache() {
+        return (VerifiedTokenCache) ReflectionTestUtils.getField(jwtUtil, "cache");
+    }
+    
     @Test
     void extractTokenFromAuthorizationHeader_BearerToken_ExtractsToken() {
         // Given
@@ -112,12 +260,25 @@ class JwtUtilTest {
     }
     
     private String createValidJwt(UUID userId, String role, Instant expiration) {
+        Instant now = Instant.now();
         return Jwts.builder()
                 .subject(userId.toString())
                 .claim("role", role)
-                .issuedAt(Date.from(Instant.now()))
+                .claim(TokenRevocation.ISSUED_AT_MILLIS_CLAIM, now.toEpochMilli())
+                .issuedAt(Date.from(now))
                 .expiration(Date.from(expiration))
                 .signWith(new SecretKeySpec(jwtSecret.getBytes(), "HmacSHA512"))
                 .compact();
     }
+
+    private String createJwt(UUID userId, Instant issuedAt) {
+        return Jwts.builder()
+                .subject(userId.toString())
+                .claim("role", "USER")
+                .claim(TokenRevocation.ISSUED_AT_MILLIS_CLAIM, issuedAt.toEpochMilli())
+                .issuedAt(Date.from(issuedAt))
+                .expiration(Date.from(issuedAt.plusSeconds(900)))
+                .signWith(new SecretKeySpec(jwtSecret.getBytes(), "HmacSHA512"))
+                .compact();
+    }
 }
\ No newline at end of file
@@ -0,0 +1,50 @@
+package org.aquastream.notification.api.config;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.RequiredArgsConstructor;
+import org.aquastream.notification.service.notification.RedisNotificationPublisher;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Exposes the counters of {@link RedisNotificationPublisher}; mean batch size is
+ * {@code notification.redis.publish.events / notification.redis.publish.batches}
+ */
+@Component
+@RequiredArgsConstructor
+public class RedisPublisherMetrics implements MeterBinder {
+
+    private final RedisNotificationPublisher publisher;
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionTimer.builder("notification.redis.publish.latency", publisher,
+                        RedisNotificationPublisher::getPublishedCount,
+                        RedisNotificationPublisher::getTotalLatencyNanos, TimeUnit.NANOSECONDS)
+                .description("Time from queueing an event to the end of its pipelined flush")
+                .register(registry);
+        FunctionCounter.builder("notification.redis.publish.batches", publisher, RedisNotificationPublisher::getBatchCount)
+                .description("Pipelined flushes to Redis")
+                .register(registry);
+        FunctionCounter.builder("notification.redis.publish.events", publisher, RedisNotificationPublisher::getPublishedCount)
+                .description("Events published to Redis")
+                .register(registry);
+        FunctionCounter.builder("notification.redis.publish.failures", publisher, RedisNotificationPublisher::getFailedCount)
+                .description("Events lost because the Redis pipeline failed")
+                .register(registry);
+        FunctionCounter.builder("notification.redis.publish.dropped", publisher, RedisNotificationPublisher::getDroppedCount)
+                .description("Events rejected because the publish queue was full")
+                .register(registry);
+        Gauge.builder("notification.redis.publish.batch.max", publisher, RedisNotificationPublisher::getMaxBatchSize)
+                .description("Largest batch flushed so far")
+                .register(registry);
+        Gauge.builder("notification.redis.publish.queue", publisher, RedisNotificationPublisher::getQueueSize)
+                .description("Events waiting for the next flush")
+                .register(registry);
+    }
+}
@@ -3,13 +3,18 @@ package org.aquastream.notification.api.controller;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.aquastream.notification.service.notification.BulkNotificationService;
 import org.aquastream.notification.service.notification.NotificationService;
+import org.aquastream.notification.service.notification.dto.BulkNotificationRequest;
+import org.aquastream.notification.service.notification.dto.BulkNotificationResponse;
+import org.aquastream.notification.service.notification.dto.BulkProgressResponse;
 import org.aquastream.notification.service.notification.dto.NotificationRequest;
 import org.aquastream.notification.service.notification.dto.NotificationResponse;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.Map;
+import java.util.UUID;
 
 @RestController
 @RequestMapping("/api/v1/notify")
@@ -18,6 +23,7 @@ import java.util.Map;
 public class NotificationController {
 
     private final NotificationService notificationService;
+    private final BulkNotificationService bulkNotificationService;
 
     /**
      * Internal endpoint for sending notifications
@@ -45,6 +51,39 @@ public class NotificationController {
         }
     }
 
+    /**
+     * Internal endpoint for sending one notification to many users, e.g. all participants of an event
+     */
+    @PostMapping("/bulk")
+    public ResponseEntity<BulkNotificationResponse> sendBulkNotification(@Valid @RequestBody BulkNotificationRequest request) {
+        log.info("Received bulk notification request: eventId={}, recipients={}, category={}, channel={}",
+                 request.getEventId(), request.getUserIds().size(), request.getCategory(), request.getChannel());
+
+        try {
+            return ResponseEntity.ok(bulkNotificationService.sendBulk(request));
+
+        } catch (Exception e) {
+            log.error("Error processing bulk notification request", e);
+
+            BulkNotificationResponse errorResponse = BulkNotificationResponse.builder()
+                    .success(false)
+                    .message("Failed to process bulk notification: " + e.getMessage())
+                    .eventId(request.getEventId())
+                    .build();
+
+            return ResponseEntity.ok(errorResponse);
+        }
+    }
+
+    /**
+     * Delivery progress of a bulk notification
+     */
+    @GetMapping("/bulk/{bulkId}")
+    public ResponseEntity<BulkProgressResponse> getBulkProgress(@PathVariable UUID bulkId) {
+        BulkProgressResponse progress = bulkNotificationService.getProgress(bulkId);
+        return progress != null ? ResponseEntity.ok(progress) : ResponseEntity.notFound().build();
+    }
+
     /**
      * Health check for notification service
      */
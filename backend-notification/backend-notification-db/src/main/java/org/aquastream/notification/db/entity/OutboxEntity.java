@@ -68,6 +68,10 @@ public class OutboxEntity {
     @Column(name = "expires_at")
     private Instant expiresAt;
 
+    // Shared by all rows of one bulk send
+    @Column(name = "bulk_id")
+    private UUID bulkId;
+
     @CreationTimestamp
     @Column(name = "created_at", nullable = false, updatable = false)
     private Instant createdAt;
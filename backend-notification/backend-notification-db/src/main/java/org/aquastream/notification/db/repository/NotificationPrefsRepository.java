@@ -6,6 +6,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -19,6 +20,12 @@ public interface NotificationPrefsRepository extends JpaRepository<NotificationP
     @Query("SELECT np FROM NotificationPrefsEntity np WHERE np.id.userId = :userId")
     List<NotificationPrefsEntity> findByUserId(@Param("userId") UUID userId);
 
+    /**
+     * Find all preferences for a set of users (bulk sends)
+     */
+    @Query("SELECT np FROM NotificationPrefsEntity np WHERE np.id.userId IN :userIds")
+    List<NotificationPrefsEntity> findByUserIdIn(@Param("userIds") Collection<UUID> userIds);
+
     /**
      * Find preferences for a specific user and category
      */
@@ -52,6 +52,14 @@ public interface TelegramSubscriptionRepository extends JpaRepository<TelegramSu
     @Query("SELECT ts FROM TelegramSubscriptionEntity ts WHERE ts.userId = :userId AND ts.isActive = true AND ts.verifiedAt IS NOT NULL")
     List<TelegramSubscriptionEntity> findByUserIdAndVerified(@Param("userId") UUID userId);
 
+    /**
+     * (user_id, telegram_chat_id) of the verified, active subscriptions of a set of users (bulk sends)
+     */
+    @Query(value = "SELECT ts.user_id, ts.telegram_chat_id FROM notification.telegram_subscriptions ts " +
+            "WHERE ts.user_id = ANY(:userIds) AND ts.is_active = true AND ts.verified_at IS NOT NULL",
+            nativeQuery = true)
+    List<Object[]> findVerifiedChatIdsByUserIds(@Param("userIds") UUID[] userIds);
+
     /**
      * Find all verified and active subscriptions
      */
@@ -0,0 +1,11 @@
+-- Bulk notifications: outbox rows of one bulk send share bulk_id
+-- Used to report delivery progress of a bulk send
+
+SET search_path TO notification, public;
+
+ALTER TABLE outbox ADD COLUMN bulk_id UUID;
+
+-- Progress query: count rows of a bulk send by status
+CREATE INDEX ix_outbox_bulk_status
+    ON outbox (bulk_id, status)
+    WHERE bulk_id IS NOT NULL;
@@ -0,0 +1,212 @@
+package org.aquastream.notification.service.notification;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.aquastream.notification.db.entity.NotificationPrefsEntity;
+import org.aquastream.notification.service.notification.dto.NotificationRequest;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.PatternTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.data.redis.serializer.StringRedisSerializer;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * RedisNotificationPublisher against a real Redis: every channel of every notification is received and
+ * 10k concurrent notifications go out in micro-batches. The benchmark compares notifications/sec with
+ * separate {@code convertAndSend} calls.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class RedisNotificationPublisherIntegrationTest {
+
+    private static final int NOTIFICATIONS = 10_000;
+    private static final int SENDERS = 32;
+
+    @Container
+    private static final GenericContainer<?> REDIS = new GenericContainer<>("redis:7-alpine").withExposedPorts(6379);
+
+    private static LettuceConnectionFactory connectionFactory;
+    private static RedisTemplate<String, String> redisTemplate;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+    private final Map<String, AtomicInteger> received = new ConcurrentHashMap<>();
+    private RedisMessageListenerContainer subscriber;
+    private RedisNotificationPublisher publisher;
+
+    @BeforeAll
+    static void setUpRedis() {
+        connectionFactory = new LettuceConnectionFactory(
+                new RedisStandaloneConfiguration(REDIS.getHost(), REDIS.getMappedPort(6379)));
+        connectionFactory.afterPropertiesSet();
+
+        redisTemplate = new RedisTemplate<>();
+        redisTemplate.setConnectionFactory(connectionFactory);
+        redisTemplate.setKeySerializer(new StringRedisSerializer());
+        redisTemplate.setValueSerializer(new StringRedisSerializer());
+        redisTemplate.afterPropertiesSet();
+    }
+
+    @AfterAll
+    static void tearDownRedis() {
+        connectionFactory.destroy();
+    }
+
+    @BeforeEach
+    void setUp() throws Exception {
+        subscriber = new RedisMessageListenerContainer();
+        subscriber.setConnectionFactory(connectionFactory);
+        subscriber.addMessageListener((message, pattern) -> received
+                        .computeIfAbsent(new String(message.getChannel(), StandardCharsets.UTF_8), channel -> new AtomicInteger())
+                        .incrementAndGet(),
+                new PatternTopic("notify:*"));
+        subscriber.afterPropertiesSet();
+        subscriber.start();
+        Thread.sleep(200);
+
+        publisher = new RedisNotificationPublisher(redisTemplate, objectMapper, Duration.ofMillis(2), 256, 20_000);
+        publisher.start();
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        publisher.stop();
+        subscriber.stop();
+        subscriber.destroy();
+    }
+
+    @Test
+    void notificationReachesGlobalCategoryAndUserChannels() throws Exception {
+        NotificationRequest request = request(0);
+
+        publisher.publishNotification(request, UUID.randomUUID(), List.of("TELEGRAM")).get(5, TimeUnit.SECONDS);
+        publisher.publishDeliveryStatus(UUID.randomUUID(), "TELEGRAM", true, null).get(5, TimeUnit.SECONDS);
+
+        awaitReceived(4);
+        assertEquals(1, count("notify:all"));
+        assertEquals(1, count("notify:event_news"));
+        assertEquals(1, count("notify:user:" + request.getUserId()));
+        assertEquals(1, count("notify:status"));
+    }
+
+    @Test
+    void concurrentPublishesAreBatchedAndAllDelivered() throws Exception {
+        run(requests(), this::publishPipelined);
+        awaitReceived(3 * NOTIFICATIONS);
+
+        assertEquals(NOTIFICATIONS, publisher.getPublishedCount());
+        assertEquals(NOTIFICATIONS, count("notify:all"));
+        assertEquals(0, publisher.getFailedCount() + publisher.getDroppedCount());
+        assertTrue(publisher.getBatchCount() < NOTIFICATIONS, "publishes were not batched");
+    }
+
+    /**
+     * Notifications/sec from 32 senders: three separate {@code convertAndSend} calls per notification
+     * against the pipelined micro-batches
+     */
+    @Test
+    @Tag("benchmark")
+    void benchmarkPublishRate() throws Exception {
+        List<NotificationRequest> requests = requests();
+
+        double separateSeconds = run(requests, request -> {
+            String json = objectMapper.writeValueAsString(request);
+            redisTemplate.convertAndSend("notify:all", json);
+            redisTemplate.convertAndSend("notify:" + request.getCategory().name().toLowerCase(), json);
+            redisTemplate.convertAndSend("notify:user:" + request.getUserId(), json);
+        });
+        awaitReceived(3 * NOTIFICATIONS);
+        received.clear();
+
+        double pipelinedSeconds = run(requests, this::publishPipelined);
+        awaitReceived(3 * NOTIFICATIONS);
+
+        System.out.printf("%d notifications from %d threads: separate convertAndSend %.2fs (%.0f/sec), "
+                        + "pipelined %.2fs (%.0f/sec) in %d batches (max %d, mean latency %.2fms)%n",
+                NOTIFICATIONS, SENDERS, separateSeconds, NOTIFICATIONS / separateSeconds,
+                pipelinedSeconds, NOTIFICATIONS / pipelinedSeconds, publisher.getBatchCount(),
+                publisher.getMaxBatchSize(), publisher.getTotalLatencyNanos() / 1e6 / publisher.getPublishedCount());
+    }
+
+    private void publishPipelined(NotificationRequest request) throws Exception {
+        publisher.publishNotification(request, UUID.randomUUID(), List.of("TELEGRAM")).get(30, TimeUnit.SECONDS);
+    }
+
+    private static List<NotificationRequest> requests() {
+        List<NotificationRequest> requests = new ArrayList<>(NOTIFICATIONS);
+        for (int i = 0; i < NOTIFICATIONS; i++) {
+            requests.add(request(i));
+        }
+        return requests;
+    }
+
+    private interface Send {
+        void send(NotificationRequest request) throws Exception;
+    }
+
+    private static double run(List<NotificationRequest> requests, Send send) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(SENDERS);
+        List<CompletableFuture<Void>> futures = new ArrayList<>(requests.size());
+        long start = System.nanoTime();
+        for (NotificationRequest request : requests) {
+            futures.add(CompletableFuture.runAsync(() -> {
+                try {
+                    send.send(request);
+                } catch (Exception e) {
+                    throw new IllegalStateException(e);
+                }
+            }, executor));
+        }
+        CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).get(2, TimeUnit.MINUTES);
+        double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+        executor.shutdown();
+        return seconds;
+    }
+
+    private void awaitReceived(int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        while (received.values().stream().mapToInt(AtomicInteger::get).sum() < expected) {
+            assertTrue(System.nanoTime() < deadline, "published messages not received");
+            Thread.sleep(10);
+        }
+    }
+
+    private int count(String channel) {
+        AtomicInteger count = received.get(channel);
+        return count != null ? count.get() : 0;
+    }
+
+    private static NotificationRequest request(int i) {
+        return NotificationRequest.builder()
+                .userId(UUID.randomUUID())
+                .category(NotificationPrefsEntity.NotificationCategory.EVENT_NEWS)
+                .title("Title " + i)
+                .message("Message " + i)
+                .metadata(Map.of("sentAt", Instant.now().toString()))
+                .build();
+    }
+}
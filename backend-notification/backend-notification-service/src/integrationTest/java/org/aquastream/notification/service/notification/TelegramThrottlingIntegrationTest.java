@@ -0,0 +1,151 @@
+package org.aquastream.notification.service.notification;
+
+import org.aquastream.notification.service.config.TelegramProperties;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.data.redis.serializer.StringRedisSerializer;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Slot reservation script of TelegramThrottlingService against a real Redis: concurrent senders
+ * never put more than 30 slots in any 1000ms, chats are spaced by 1s, and nothing is dropped.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class TelegramThrottlingIntegrationTest {
+
+    @Container
+    private static final GenericContainer<?> REDIS = new GenericContainer<>("redis:7-alpine").withExposedPorts(6379);
+
+    private static LettuceConnectionFactory connectionFactory;
+    private static RedisTemplate<String, String> redisTemplate;
+
+    private final TelegramProperties properties = new TelegramProperties();
+    private TelegramThrottlingService throttling;
+
+    @BeforeAll
+    static void setUpRedis() {
+        connectionFactory = new LettuceConnectionFactory(
+                new RedisStandaloneConfiguration(REDIS.getHost(), REDIS.getMappedPort(6379)));
+        connectionFactory.afterPropertiesSet();
+
+        redisTemplate = new RedisTemplate<>();
+        redisTemplate.setConnectionFactory(connectionFactory);
+        redisTemplate.setKeySerializer(new StringRedisSerializer());
+        redisTemplate.setValueSerializer(new StringRedisSerializer());
+        redisTemplate.afterPropertiesSet();
+    }
+
+    @AfterAll
+    static void tearDownRedis() {
+        connectionFactory.destroy();
+    }
+
+    @BeforeEach
+    void setUp() {
+        redisTemplate.execute(connection -> {
+            connection.serverCommands().flushAll();
+            return null;
+        }, true);
+        properties.getThrottle().setMaxDelay(Duration.ofMinutes(1));
+        throttling = new TelegramThrottlingService(redisTemplate, properties);
+    }
+
+    @Test
+    void concurrentReservationsStayWithinGlobalLimit() throws Exception {
+        int senders = 32;
+        int messages = 300;
+        ExecutorService executor = Executors.newFixedThreadPool(senders);
+        List<Future<TelegramThrottlingService.SendSlot>> futures = new ArrayList<>();
+        for (int i = 0; i < messages; i++) {
+            long chatId = i % 100;
+            futures.add(executor.submit(() -> throttling.reserve(chatId)));
+        }
+        for (Future<TelegramThrottlingService.SendSlot> future : futures) {
+            assertTrue(future.get().reserved(), "send dropped");
+        }
+        executor.shutdown();
+
+        Set<ZSetOperations.TypedTuple<String>> slots =
+                redisTemplate.opsForZSet().rangeWithScores("telegram:throttle:global", 0, -1);
+        assertNotNull(slots);
+        assertEquals(messages, slots.size());
+        long[] times = slots.stream().mapToLong(slot -> slot.getScore().longValue()).sorted().toArray();
+        for (int i = 0; i + 30 < times.length; i++) {
+            assertTrue(times[i + 30] - times[i] >= 1000, "31 sends within 1000ms at slot " + i);
+        }
+    }
+
+    @Test
+    void sameChatIsSpacedByPerChatInterval() {
+        long start = System.currentTimeMillis();
+        TelegramThrottlingService.SendSlot first = throttling.reserve(42L);
+        TelegramThrottlingService.SendSlot second = throttling.reserve(42L);
+        TelegramThrottlingService.SendSlot third = throttling.reserve(42L);
+        long elapsed = System.currentTimeMillis() - start;
+
+        assertTrue(first.reserved() && second.reserved() && third.reserved());
+        assertEquals(Duration.ZERO, first.delay());
+        assertTrue(second.delay().toMillis() >= 1000 - elapsed, "second delay " + second.delay());
+        assertTrue(third.delay().toMillis() >= 2000 - elapsed, "third delay " + third.delay());
+        assertTrue(third.delay().toMillis() <= 2000);
+    }
+
+    @Test
+    void slotBeyondMaxDelayIsNotReserved() {
+        properties.getThrottle().setMaxDelay(Duration.ofMillis(500));
+
+        assertTrue(throttling.reserve(7L).reserved());
+        TelegramThrottlingService.SendSlot throttled = throttling.reserve(7L);
+
+        assertFalse(throttled.reserved());
+        assertTrue(throttled.delay().toMillis() > 500);
+        assertEquals(1L, redisTemplate.opsForZSet().size("telegram:throttle:global"));
+    }
+
+    /**
+     * Reservations/sec of the slot script from 32 threads
+     */
+    @Test
+    @Tag("benchmark")
+    void benchmarkReservations() throws Exception {
+        properties.getThrottle().setMaxDelay(Duration.ofHours(1));
+        int senders = 32;
+        int messages = 3_000;
+        ExecutorService executor = Executors.newFixedThreadPool(senders);
+        try {
+            List<Future<TelegramThrottlingService.SendSlot>> futures = new ArrayList<>();
+            long start = System.nanoTime();
+            for (int i = 0; i < messages; i++) {
+                long chatId = i % 1_000;
+                futures.add(executor.submit(() -> throttling.reserve(chatId)));
+            }
+            for (Future<TelegramThrottlingService.SendSlot> future : futures) {
+                assertTrue(future.get().reserved(), "send dropped");
+            }
+            double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+            System.out.printf("%d reservations from %d threads in %.3fs (%.0f/sec)%n",
+                    messages, senders, seconds, messages / seconds);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
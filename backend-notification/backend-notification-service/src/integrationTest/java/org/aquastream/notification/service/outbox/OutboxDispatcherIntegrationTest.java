@@ -0,0 +1,247 @@
+package org.aquastream.notification.service.outbox;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import org.aquastream.notification.db.entity.NotificationPrefsEntity;
+import org.aquastream.notification.service.config.OutboxProperties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.autoconfigure.liquibase.LiquibaseAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.containers.wait.strategy.Wait;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Outbox dispatchers against a real Postgres with the notification Liquibase schema: retries with backoff,
+ * and concurrent instances delivering every message exactly once. The benchmark measures messages/sec drained
+ * by 1, 2 and 4 instances with a simulated 5ms channel call.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class OutboxDispatcherIntegrationTest {
+
+    private static final int MESSAGES = 5_000;
+    private static final Duration CHANNEL_LATENCY = Duration.ofMillis(5);
+    private static final int USERS = 100;
+
+    @Container
+    private static final GenericContainer<?> POSTGRES = new GenericContainer<>("postgres:16-alpine")
+            .withEnv("POSTGRES_USER", "aquastream")
+            .withEnv("POSTGRES_PASSWORD", "password")
+            .withEnv("POSTGRES_DB", "aquastream")
+            .withExposedPorts(5432)
+            .waitingFor(Wait.forLogMessage(".*database system is ready to accept connections.*\\n", 2));
+
+    private static JdbcTemplate admin;
+    private static List<UUID> users;
+
+    private final List<HikariDataSource> dataSources = new ArrayList<>();
+    private final List<OutboxDispatcher> dispatchers = new ArrayList<>();
+
+    @BeforeAll
+    static void migrate() {
+        admin = new JdbcTemplate(dataSource(2));
+        // The changelog references "user".users, which belongs to the user service
+        admin.execute("CREATE SCHEMA IF NOT EXISTS \"user\"");
+        admin.execute("CREATE TABLE IF NOT EXISTS \"user\".users (id UUID PRIMARY KEY)");
+        admin.update("INSERT INTO \"user\".users (id) SELECT gen_random_uuid() FROM generate_series(1, ?)", USERS);
+        users = admin.queryForList("SELECT id FROM \"user\".users ORDER BY id", UUID.class);
+
+        new SpringApplicationBuilder(Migration.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.datasource.url=" + jdbcUrl(),
+                        "spring.datasource.username=aquastream",
+                        "spring.datasource.password=password",
+                        "spring.liquibase.change-log=classpath:migration/liquibase/master.xml")
+                .run()
+                .close();
+    }
+
+    /**
+     * Runs the notification Liquibase changelog against the container
+     */
+    @Configuration
+    @ImportAutoConfiguration({DataSourceAutoConfiguration.class, LiquibaseAutoConfiguration.class})
+    static class Migration {
+    }
+
+    @BeforeEach
+    void truncate() {
+        admin.execute("TRUNCATE notification.outbox");
+    }
+
+    @AfterEach
+    void stopDispatchers() {
+        dispatchers.forEach(OutboxDispatcher::stop);
+        dataSources.forEach(HikariDataSource::close);
+    }
+
+    @Test
+    void failedDeliveryIsRetriedWithBackoffUntilMaxAttempts() {
+        insertMessages(1);
+        OutboxDispatcher dispatcher = dispatcher(message -> DeliveryResult.failed("chat not found"), Duration.ZERO);
+
+        assertEquals(1, dispatcher.dispatchOnce());
+        Map<String, Object> row = admin.queryForMap(
+                "SELECT status, attempts, last_error, scheduled_at > now() AS delayed FROM notification.outbox");
+        assertEquals("FAILED", row.get("status"));
+        assertEquals(1, row.get("attempts"));
+        assertEquals("chat not found", row.get("last_error"));
+        assertEquals(true, row.get("delayed"));
+        assertEquals(0, dispatcher.dispatchOnce());
+
+        admin.update("UPDATE notification.outbox SET scheduled_at = NULL, attempts = max_attempts - 1");
+        assertEquals(1, dispatcher.dispatchOnce());
+        Map<String, Object> exhausted = admin.queryForMap("SELECT status, attempts, scheduled_at FROM notification.outbox");
+        assertEquals("FAILED", exhausted.get("status"));
+        assertEquals(3, exhausted.get("attempts"));
+        assertNull(exhausted.get("scheduled_at"));
+        assertEquals(0, dispatcher.dispatchOnce());
+    }
+
+    @Test
+    void bulkEnqueueIsDeliveredAndCountedByBulkId() {
+        UUID bulkId = UUID.randomUUID();
+        List<OutboxStore.NewMessage> messages = new ArrayList<>();
+        for (int i = 0; i < 1_200; i++) {
+            messages.add(new OutboxStore.NewMessage(users.get(i % USERS),
+                    NotificationPrefsEntity.NotificationCategory.EVENT_NEWS,
+                    NotificationPrefsEntity.NotificationChannel.TELEGRAM,
+                    Map.of("title", "Title", "message", "Message " + i, "chatIds", List.of(i)),
+                    null, Instant.now().plus(Duration.ofHours(1)), bulkId));
+        }
+        insertMessages(10);
+        OutboxStore store = new OutboxStore(admin, new ObjectMapper());
+
+        store.enqueue(messages);
+        assertEquals(new OutboxStore.Progress(1_200, 1_200, 0, 0, 0, 1_200), store.progress(bulkId));
+
+        OutboxDispatcher dispatcher = dispatcher(message -> List.of(7).equals(message.payload().get("chatIds"))
+                ? DeliveryResult.failed("chat not found") : DeliveryResult.sent(), Duration.ZERO);
+        while (dispatcher.dispatchOnce() > 0) {
+            // drain
+        }
+
+        OutboxStore.Progress progress = store.progress(bulkId);
+        assertEquals(1_200, progress.total());
+        assertEquals(1_199, progress.sent());
+        assertEquals(1, progress.failed());
+        assertEquals(1, progress.inProgress(), "failed message is retried after backoff");
+        assertEquals(new OutboxStore.Progress(0, 0, 0, 0, 0, 0), store.progress(UUID.randomUUID()));
+    }
+
+    @Test
+    void concurrentDispatchersDeliverEveryMessageOnce() throws Exception {
+        drain(4, 1_000);
+    }
+
+    @Test
+    @Tag("benchmark")
+    void benchmarkDrainRate() throws Exception {
+        for (int instances : new int[]{1, 2, 4}) {
+            double seconds = drain(instances, MESSAGES);
+            System.out.printf("%d dispatcher instance(s): %d messages in %.2fs, %.0f messages/sec%n",
+                    instances, MESSAGES, seconds, MESSAGES / seconds);
+        }
+    }
+
+    /**
+     * Drain {@code messages} fresh messages with {@code instances} dispatchers, asserting that each is
+     * delivered exactly once; returns the seconds it took
+     */
+    private double drain(int instances, int messages) throws Exception {
+        admin.execute("TRUNCATE notification.outbox");
+        insertMessages(messages);
+        Map<UUID, AtomicInteger> deliveries = new ConcurrentHashMap<>();
+        OutboxDelivery delivery = message -> {
+            deliveries.computeIfAbsent(message.id(), id -> new AtomicInteger()).incrementAndGet();
+            try {
+                Thread.sleep(CHANNEL_LATENCY);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return DeliveryResult.sent();
+        };
+
+        List<OutboxDispatcher> running = new ArrayList<>();
+        for (int i = 0; i < instances; i++) {
+            running.add(dispatcher(delivery, Duration.ofMillis(50)));
+        }
+        long start = System.nanoTime();
+        running.forEach(OutboxDispatcher::start);
+        while (sentCount() < messages) {
+            assertTrue(System.nanoTime() - start < TimeUnit.MINUTES.toNanos(2), "outbox not drained");
+            Thread.sleep(10);
+        }
+        double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+        running.forEach(OutboxDispatcher::stop);
+
+        assertEquals(messages, deliveries.size());
+        assertTrue(deliveries.values().stream().allMatch(count -> count.get() == 1), "message delivered twice");
+        return seconds;
+    }
+
+    private OutboxDispatcher dispatcher(OutboxDelivery delivery, Duration pollInterval) {
+        HikariDataSource dataSource = dataSource(4);
+        dataSources.add(dataSource);
+        OutboxProperties properties = new OutboxProperties();
+        properties.getDispatcher().setBatchSize(100);
+        properties.getDispatcher().setConcurrency(32);
+        properties.getDispatcher().setPollInterval(pollInterval);
+        OutboxDispatcher dispatcher = new OutboxDispatcher(
+                new OutboxStore(new JdbcTemplate(dataSource), new ObjectMapper()), delivery, properties);
+        dispatchers.add(dispatcher);
+        return dispatcher;
+    }
+
+    private static void insertMessages(int count) {
+        admin.update("""
+                INSERT INTO notification.outbox (user_id, category, channel, payload)
+                SELECT u.id, 'EVENT_NEWS', 'TELEGRAM',
+                       jsonb_build_object('title', 'Title ' || n, 'message', 'Message ' || n)
+                FROM generate_series(1, ?) AS n
+                JOIN (SELECT id, row_number() OVER (ORDER BY id) AS k FROM "user".users) u ON u.k = 1 + n % ?""",
+                count, USERS);
+    }
+
+    private static int sentCount() {
+        Integer count = admin.queryForObject("SELECT count(*) FROM notification.outbox WHERE status = 'SENT'", Integer.class);
+        return count != null ? count : 0;
+    }
+
+    private static HikariDataSource dataSource(int poolSize) {
+        HikariConfig config = new HikariConfig();
+        config.setJdbcUrl(jdbcUrl());
+        config.setUsername("aquastream");
+        config.setPassword("password");
+        config.setMaximumPoolSize(poolSize);
+        return new HikariDataSource(config);
+    }
+
+    private static String jdbcUrl() {
+        return "jdbc:postgresql://" + POSTGRES.getHost() + ":" + POSTGRES.getMappedPort(5432) + "/aquastream";
+    }
+}
@@ -0,0 +1,45 @@
+package org.aquastream.notification.service.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "app.outbox")
+public class OutboxProperties {
+
+    private Dispatcher dispatcher = new Dispatcher();
+    private Retry retry = new Retry();
+
+    @Data
+    public static class Dispatcher {
+        private boolean enabled = true;
+        // Messages claimed per round trip
+        private int batchSize = 100;
+        // Deliveries in flight per instance
+        private int concurrency = 32;
+        // Pause when the last batch was not full
+        private Duration pollInterval = Duration.ofSeconds(1);
+        // Claimed messages become visible again after this if the instance dies
+        private Duration lease = Duration.ofMinutes(5);
+    }
+
+    @Data
+    public static class Retry {
+        private Duration initialBackoff = Duration.ofSeconds(30);
+        private Duration maxBackoff = Duration.ofHours(1);
+    }
+
+    /**
+     * Delay before the next attempt after {@code attempts} failed ones: initial * 2^(attempts-1), capped
+     */
+    public Duration backoffFor(int attempts) {
+        int exponent = Math.max(0, Math.min(attempts - 1, 30));
+        long millis = retry.getInitialBackoff().toMillis() << exponent;
+        long max = retry.getMaxBackoff().toMillis();
+        return Duration.ofMillis(millis <= 0 || millis > max ? max : millis);
+    }
+}
@@ -13,6 +13,7 @@ public class TelegramProperties {
 
     private BotConfig bot = new BotConfig();
     private ApiConfig api = new ApiConfig();
+    private ThrottleConfig throttle = new ThrottleConfig();
 
     @Data
     public static class BotConfig {
@@ -26,8 +27,21 @@ public class TelegramProperties {
     public static class ApiConfig {
         private String baseUrl = "https://api.telegram.org/bot";
         private Duration timeout = Duration.ofSeconds(10);
+        private Duration connectTimeout = Duration.ofSeconds(5);
+        private int maxConcurrentRequests = 32;
         private int maxRetries = 3;
         private Duration retryDelay = Duration.ofSeconds(1);
+        // Longer 429 waits are returned to the caller instead of slept through
+        private Duration maxRetryAfter = Duration.ofSeconds(30);
+    }
+
+    @Data
+    public static class ThrottleConfig {
+        // Telegram Bot API limits: 30 messages per second to all chats, 1 message per second per chat
+        private int globalPerSecond = 30;
+        private Duration perChatInterval = Duration.ofSeconds(1);
+        // Sends that would wait longer fail and are retried by the outbox
+        private Duration maxDelay = Duration.ofSeconds(30);
     }
 
     // Convenience getters
@@ -0,0 +1,252 @@
+package org.aquastream.notification.service.notification;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.aquastream.notification.db.entity.NotificationPrefsEntity;
+import org.aquastream.notification.db.repository.TelegramSubscriptionRepository;
+import org.aquastream.notification.service.notification.dto.BulkNotificationRequest;
+import org.aquastream.notification.service.notification.dto.BulkNotificationResponse;
+import org.aquastream.notification.service.notification.dto.BulkProgressResponse;
+import org.aquastream.notification.service.outbox.OutboxPayload;
+import org.aquastream.notification.service.outbox.OutboxStore;
+import org.aquastream.notification.service.prefs.NotificationPrefsService;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Queues one notification for many users at once: preferences and Telegram chats of all recipients
+ * are resolved with set-based queries, the template is rendered once per locale and the outbox rows
+ * are inserted in JDBC batches under a shared {@code bulk_id}.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class BulkNotificationService {
+
+    private static final Pattern PLACEHOLDER = Pattern.compile("\\{\\{\\s*([\\w.-]+)\\s*}}");
+    private static final int CHAT_LOOKUP_CHUNK = 1000;
+
+    private final NotificationPrefsService notificationPrefsService;
+    private final TelegramSubscriptionRepository telegramSubscriptionRepository;
+    private final OutboxStore outboxStore;
+
+    private record Rendered(String title, String message) {
+    }
+
+    /**
+     * Queue the notification for every recipient's enabled channels; OutboxDispatcher delivers it
+     */
+    @Transactional
+    public BulkNotificationResponse sendBulk(BulkNotificationRequest request) {
+        validateRequest(request);
+
+        UUID bulkId = UUID.randomUUID();
+        List<UUID> recipients = new ArrayList<>(new LinkedHashSet<>(request.getUserIds()));
+        log.info("Processing bulk notification {} for {} recipients category {}",
+                bulkId, recipients.size(), request.getCategory());
+
+        Map<UUID, List<NotificationPrefsEntity.NotificationChannel>> targetChannels =
+                determineTargetChannels(request, recipients);
+        Map<UUID, List<Long>> chatIds = targetChannels.values().stream()
+                .anyMatch(channels -> channels.contains(NotificationPrefsEntity.NotificationChannel.TELEGRAM))
+                ? findTelegramChats(recipients) : Map.of();
+
+        // A past scheduledAt means "now"
+        Instant scheduledAt = request.getScheduledAt() != null && request.getScheduledAt() > Instant.now().getEpochSecond()
+                ? Instant.ofEpochSecond(request.getScheduledAt()) : null;
+        Instant expiresAt = request.getExpiresAt() != null ? Instant.ofEpochSecond(request.getExpiresAt()) : null;
+        Map<String, Object> metadata = metadata(request, bulkId);
+        boolean urgent = Boolean.TRUE.equals(request.getUrgent());
+
+        Map<String, Rendered> renderedByLocale = new HashMap<>();
+        Map<String, Integer> queued = new TreeMap<>();
+        List<OutboxStore.NewMessage> messages = new ArrayList<>();
+        int skippedRecipients = 0;
+
+        for (UUID userId : recipients) {
+            List<Long> userChats = chatIds.getOrDefault(userId, List.of());
+            List<NotificationPrefsEntity.NotificationChannel> channels = targetChannels.getOrDefault(userId, List.of()).stream()
+                    // Telegram without a verified chat would only fail at delivery
+                    .filter(channel -> channel != NotificationPrefsEntity.NotificationChannel.TELEGRAM || !userChats.isEmpty())
+                    .toList();
+            if (channels.isEmpty()) {
+                skippedRecipients++;
+                continue;
+            }
+
+            String locale = locale(request, userId);
+            Rendered rendered = renderedByLocale.computeIfAbsent(locale, l -> render(template(request, l), request.getTemplateParams()));
+            UUID notificationId = UUID.randomUUID();
+            for (NotificationPrefsEntity.NotificationChannel channel : channels) {
+                Map<String, Object> payload = OutboxPayload.of(notificationId, rendered.title(), rendered.message(), metadata, urgent);
+                if (channel == NotificationPrefsEntity.NotificationChannel.TELEGRAM) {
+                    OutboxPayload.withChatIds(payload, userChats);
+                }
+                messages.add(new OutboxStore.NewMessage(userId, request.getCategory(), channel, payload,
+                        scheduledAt, expiresAt, bulkId));
+                queued.merge(channel.name(), 1, Integer::sum);
+            }
+        }
+
+        outboxStore.enqueue(messages);
+        log.info("Queued bulk notification {}: {} messages, {} recipients skipped", bulkId, messages.size(), skippedRecipients);
+
+        return BulkNotificationResponse.builder()
+                .success(true)
+                .message(messages.isEmpty() ? "No notifications sent - all channels disabled" : "Notifications queued for delivery")
+                .bulkId(bulkId)
+                .eventId(request.getEventId())
+                .recipients(recipients.size())
+                .queued(queued)
+                .skippedRecipients(skippedRecipients)
+                .processedAt(Instant.now())
+                .build();
+    }
+
+    /**
+     * Delivery progress of a bulk send, null if no messages carry the bulk id
+     */
+    @Transactional(readOnly = true)
+    public BulkProgressResponse getProgress(UUID bulkId) {
+        OutboxStore.Progress progress = outboxStore.progress(bulkId);
+        if (progress.total() == 0) {
+            return null;
+        }
+        return BulkProgressResponse.builder()
+                .bulkId(bulkId)
+                .total(progress.total())
+                .pending(progress.pending())
+                .sent(progress.sent())
+                .failed(progress.failed())
+                .skipped(progress.skipped())
+                .inProgress(progress.inProgress())
+                .completed(progress.inProgress() == 0)
+                .build();
+    }
+
+    /**
+     * Replace {@code {{name}}} placeholders with template parameters; unknown placeholders are kept
+     */
+    static String render(String template, Map<String, Object> params) {
+        if (template == null || params == null || params.isEmpty()) {
+            return template;
+        }
+        Matcher matcher = PLACEHOLDER.matcher(template);
+        StringBuilder rendered = new StringBuilder(template.length());
+        while (matcher.find()) {
+            Object value = params.get(matcher.group(1));
+            matcher.appendReplacement(rendered, Matcher.quoteReplacement(value != null ? value.toString() : matcher.group()));
+        }
+        matcher.appendTail(rendered);
+        return rendered.toString();
+    }
+
+    private static Rendered render(BulkNotificationRequest.Template template, Map<String, Object> params) {
+        return new Rendered(render(template.getTitle(), params), render(template.getMessage(), params));
+    }
+
+    private void validateRequest(BulkNotificationRequest request) {
+        if (request.getUserIds() == null || request.getUserIds().isEmpty()) {
+            throw new IllegalArgumentException("User IDs are required");
+        }
+
+        if (request.getUserIds().contains(null)) {
+            throw new IllegalArgumentException("User IDs must not contain null");
+        }
+
+        if (request.getCategory() == null) {
+            throw new IllegalArgumentException("Category is required");
+        }
+
+        validateTemplate(request.getTemplate());
+        if (request.getLocalizedTemplates() != null) {
+            request.getLocalizedTemplates().values().forEach(this::validateTemplate);
+        }
+
+        // Check if notification is expired
+        if (request.getExpiresAt() != null && request.getExpiresAt() < Instant.now().getEpochSecond()) {
+            throw new IllegalArgumentException("Notification has expired");
+        }
+    }
+
+    private void validateTemplate(BulkNotificationRequest.Template template) {
+        if (template == null || template.getTitle() == null || template.getTitle().trim().isEmpty()) {
+            throw new IllegalArgumentException("Title is required");
+        }
+
+        if (template.getMessage() == null || template.getMessage().trim().isEmpty()) {
+            throw new IllegalArgumentException("Message is required");
+        }
+    }
+
+    private Map<UUID, List<NotificationPrefsEntity.NotificationChannel>> determineTargetChannels(
+            BulkNotificationRequest request, List<UUID> recipients) {
+
+        Map<UUID, List<NotificationPrefsEntity.NotificationChannel>> targetChannels = new HashMap<>(recipients.size() * 2);
+
+        // If specific channel is requested, check if it's enabled
+        if (request.getChannel() != null) {
+            List<NotificationPrefsEntity.NotificationChannel> requested = List.of(request.getChannel());
+            if (request.isRequired()) {
+                recipients.forEach(userId -> targetChannels.put(userId, requested));
+                return targetChannels;
+            }
+            notificationPrefsService.isNotificationEnabled(recipients, request.getCategory(), request.getChannel())
+                    .forEach((userId, enabled) -> targetChannels.put(userId, enabled ? requested : List.of()));
+            return targetChannels;
+        }
+
+        // For required notifications, send to all channels even if disabled
+        List<NotificationPrefsEntity.NotificationChannel> allChannels = List.of(NotificationPrefsEntity.NotificationChannel.values());
+        notificationPrefsService.getEnabledChannels(recipients, request.getCategory())
+                .forEach((userId, enabled) -> targetChannels.put(userId,
+                        request.isRequired() && enabled.isEmpty() ? allChannels : enabled));
+        return targetChannels;
+    }
+
+    private Map<UUID, List<Long>> findTelegramChats(List<UUID> recipients) {
+        Map<UUID, List<Long>> chatIds = new HashMap<>(recipients.size() * 2);
+        for (int from = 0; from < recipients.size(); from += CHAT_LOOKUP_CHUNK) {
+            UUID[] chunk = recipients.subList(from, Math.min(recipients.size(), from + CHAT_LOOKUP_CHUNK)).toArray(UUID[]::new);
+            for (Object[] row : telegramSubscriptionRepository.findVerifiedChatIdsByUserIds(chunk)) {
+                chatIds.computeIfAbsent((UUID) row[0], id -> new ArrayList<>()).add(((Number) row[1]).longValue());
+            }
+        }
+        return chatIds;
+    }
+
+    private static String locale(BulkNotificationRequest request, UUID userId) {
+        if (request.getUserLocales() == null || request.getLocalizedTemplates() == null) {
+            return null;
+        }
+        String locale = request.getUserLocales().get(userId);
+        return locale != null && request.getLocalizedTemplates().containsKey(locale) ? locale : null;
+    }
+
+    private static BulkNotificationRequest.Template template(BulkNotificationRequest request, String locale) {
+        return locale != null ? request.getLocalizedTemplates().get(locale) : request.getTemplate();
+    }
+
+    private static Map<String, Object> metadata(BulkNotificationRequest request, UUID bulkId) {
+        Map<String, Object> metadata = new HashMap<>();
+        if (request.getMetadata() != null) {
+            metadata.putAll(request.getMetadata());
+        }
+        if (request.getEventId() != null) {
+            metadata.put("eventId", request.getEventId().toString());
+        }
+        metadata.put("bulkId", bulkId.toString());
+        return metadata;
+    }
+}
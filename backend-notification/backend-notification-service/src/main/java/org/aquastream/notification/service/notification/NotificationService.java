@@ -3,13 +3,15 @@ package org.aquastream.notification.service.notification;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.aquastream.notification.db.entity.NotificationPrefsEntity;
+import org.aquastream.notification.db.entity.OutboxEntity;
+import org.aquastream.notification.db.repository.OutboxRepository;
 import org.aquastream.notification.service.notification.dto.NotificationRequest;
 import org.aquastream.notification.service.notification.dto.NotificationResponse;
+import org.aquastream.notification.service.outbox.OutboxPayload;
 import org.aquastream.notification.service.prefs.NotificationPrefsService;
 import org.springframework.stereotype.Service;
 
 import java.time.Instant;
-import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
 
@@ -19,11 +21,10 @@ import java.util.UUID;
 public class NotificationService {
 
     private final NotificationPrefsService notificationPrefsService;
-    private final TelegramNotificationSender telegramSender;
-    private final RedisNotificationPublisher redisPublisher;
+    private final OutboxRepository outboxRepository;
 
     /**
-     * Send notification to user based on their preferences
+     * Queue a notification for the user's enabled channels; OutboxDispatcher delivers it
      */
     public NotificationResponse sendNotification(NotificationRequest request) {
         log.info("Processing notification request for user {} category {}", 
@@ -50,47 +51,24 @@ public class NotificationService {
                         .build();
             }
             
-            // Send to each channel
-            List<String> sentChannels = new ArrayList<>();
-            List<String> failedChannels = new ArrayList<>();
-            List<String> errors = new ArrayList<>();
+            // One outbox message per channel; a past scheduledAt means "now"
+            Instant scheduledAt = request.getScheduledAt() != null && request.getScheduledAt() > Instant.now().getEpochSecond()
+                    ? Instant.ofEpochSecond(request.getScheduledAt()) : null;
+            List<OutboxEntity> messages = targetChannels.stream()
+                    .map(channel -> OutboxEntity.builder()
+                            .userId(request.getUserId())
+                            .category(request.getCategory())
+                            .channel(channel)
+                            .payload(OutboxPayload.of(request, notificationId))
+                            .scheduledAt(scheduledAt)
+                            .expiresAt(request.getExpiresAt() != null ? Instant.ofEpochSecond(request.getExpiresAt()) : null)
+                            .build())
+                    .toList();
+            outboxRepository.saveAll(messages);
             
-            for (NotificationPrefsEntity.NotificationChannel channel : targetChannels) {
-                try {
-                    boolean sent = sendToChannel(request, channel, notificationId);
-                    if (sent) {
-                        sentChannels.add(channel.name());
-                        log.debug("Successfully sent notification to {} for user {}", 
-                                channel, request.getUserId());
-                    } else {
-                        failedChannels.add(channel.name());
-                        log.warn("Failed to send notification to {} for user {}", 
-                                channel, request.getUserId());
-                    }
-                } catch (Exception e) {
-                    failedChannels.add(channel.name());
-                    errors.add(String.format("%s: %s", channel, e.getMessage()));
-                    log.error("Error sending notification to {} for user {}: {}", 
-                            channel, request.getUserId(), e.getMessage(), e);
-                }
-            }
-            
-            // Publish to Redis for other services
-            try {
-                redisPublisher.publishNotification(request, notificationId, sentChannels);
-            } catch (Exception e) {
-                log.warn("Failed to publish notification to Redis: {}", e.getMessage());
-                // Don't fail the whole operation if Redis publish fails
-            }
-            
-            // Return response based on results
-            if (!sentChannels.isEmpty() && failedChannels.isEmpty()) {
-                return NotificationResponse.success(notificationId, sentChannels);
-            } else if (!sentChannels.isEmpty()) {
-                return NotificationResponse.partialSuccess(notificationId, sentChannels, failedChannels);
-            } else {
-                return NotificationResponse.failure("Failed to send to any channel", errors);
-            }
+            List<String> queuedChannels = targetChannels.stream().map(Enum::name).toList();
+            log.debug("Queued notification {} for user {} to {}", notificationId, request.getUserId(), queuedChannels);
+            return NotificationResponse.queued(notificationId, queuedChannels);
             
         } catch (Exception e) {
             log.error("Error processing notification request: {}", e.getMessage(), e);
@@ -119,11 +97,6 @@ public class NotificationService {
         if (request.getExpiresAt() != null && request.getExpiresAt() < Instant.now().getEpochSecond()) {
             throw new IllegalArgumentException("Notification has expired");
         }
-        
-        // Check if notification is scheduled for future
-        if (request.getScheduledAt() != null && request.getScheduledAt() > Instant.now().getEpochSecond()) {
-            throw new IllegalArgumentException("Scheduled notifications not supported yet");
-        }
     }
 
     private List<NotificationPrefsEntity.NotificationChannel> determineTargetChannels(NotificationRequest request) {
@@ -152,30 +125,4 @@ public class NotificationService {
         
         return enabledChannels;
     }
-
-    private boolean sendToChannel(NotificationRequest request, 
-                                NotificationPrefsEntity.NotificationChannel channel,
-                                UUID notificationId) {
-        
-        switch (channel) {
-            case TELEGRAM:
-                return telegramSender.sendTelegramNotification(request, notificationId);
-                
-            case EMAIL:
-                log.debug("EMAIL channel not implemented yet for notification {}", notificationId);
-                return false;
-                
-            case SMS:
-                log.debug("SMS channel not implemented yet for notification {}", notificationId);
-                return false;
-                
-            case PUSH:
-                log.debug("PUSH channel not implemented yet for notification {}", notificationId);
-                return false;
-                
-            default:
-                log.warn("Unknown notification channel: {}", channel);
-                return false;
-        }
-    }
 }
\ No newline at end of file
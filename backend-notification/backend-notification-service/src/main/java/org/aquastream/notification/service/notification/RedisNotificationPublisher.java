@@ -1,119 +1,305 @@
 package org.aquastream.notification.service.notification;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import lombok.RequiredArgsConstructor;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
+import org.aquastream.notification.db.entity.NotificationPrefsEntity;
 import org.aquastream.notification.service.notification.dto.NotificationRequest;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisCallback;
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.time.Instant;
-import java.util.HashMap;
+import java.util.ArrayList;
+import java.util.EnumMap;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 
+/**
+ * Publishes notification events to Redis pub/sub.
+ *
+ * Events are serialized once to bytes and queued; a single flusher thread collects everything queued
+ * within {@code batch-window} (at most {@code max-batch-size} events) and sends it as one pipelined
+ * round trip, so the global, category and user channels of a notification cost one round trip shared
+ * with the rest of the burst. Publishing is best effort: the returned future fails if the queue is full
+ * or Redis is unavailable, and nothing is retried.
+ */
 @Service
-@RequiredArgsConstructor
 @Slf4j
 public class RedisNotificationPublisher {
 
-    private final RedisTemplate<String, String> redisTemplate;
-    private final ObjectMapper objectMapper;
-
     // Redis channel patterns
     private static final String NOTIFICATION_CHANNEL_PREFIX = "notify:";
     private static final String GLOBAL_CHANNEL = "notify:all";
 
+    private static final byte[] GLOBAL_CHANNEL_BYTES = bytes(GLOBAL_CHANNEL);
+    private static final byte[] STATUS_CHANNEL_BYTES = bytes(NOTIFICATION_CHANNEL_PREFIX + "status");
+    private static final byte[] PREFS_CHANNEL_BYTES = bytes(NOTIFICATION_CHANNEL_PREFIX + "prefs");
+    private static final Map<NotificationPrefsEntity.NotificationCategory, byte[]> CATEGORY_CHANNEL_BYTES =
+            new EnumMap<>(NotificationPrefsEntity.NotificationCategory.class);
+
+    static {
+        for (NotificationPrefsEntity.NotificationCategory category : NotificationPrefsEntity.NotificationCategory.values()) {
+            CATEGORY_CHANNEL_BYTES.put(category, bytes(NOTIFICATION_CHANNEL_PREFIX + category.name().toLowerCase()));
+        }
+    }
+
+    private final RedisTemplate<String, String> redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final long batchWindowNanos;
+    private final int maxBatchSize;
+    private final BlockingQueue<Publication> queue;
+
+    private final LongAdder batches = new LongAdder();
+    private final LongAdder published = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder latencyNanos = new LongAdder();
+    private final AtomicLong maxBatch = new AtomicLong();
+
+    private volatile boolean running;
+    private Thread flusher;
+
     /**
-     * Publish notification event to Redis for other services to consume
+     * One event for one or more channels; the serialized message is shared by all of them
      */
-    public void publishNotification(NotificationRequest request, UUID notificationId, List<String> sentChannels) {
-        try {
-            // Create notification event
-            NotificationEvent event = createNotificationEvent(request, notificationId, sentChannels);
-            String eventJson = objectMapper.writeValueAsString(event);
-            
-            // Publish to global channel
-            publishToChannel(GLOBAL_CHANNEL, eventJson);
-            
-            // Publish to category-specific channel
-            String categoryChannel = NOTIFICATION_CHANNEL_PREFIX + request.getCategory().name().toLowerCase();
-            publishToChannel(categoryChannel, eventJson);
-            
-            // Publish to user-specific channel
-            String userChannel = NOTIFICATION_CHANNEL_PREFIX + "user:" + request.getUserId();
-            publishToChannel(userChannel, eventJson);
-            
-            log.debug("Published notification event {} to Redis channels", notificationId);
-            
-        } catch (Exception e) {
-            log.error("Error publishing notification event to Redis: {}", e.getMessage(), e);
-            throw new RuntimeException("Failed to publish notification event", e);
+    private record Publication(byte[][] channels, byte[] message, long enqueuedAt, CompletableFuture<Void> done) {
+    }
+
+    public RedisNotificationPublisher(RedisTemplate<String, String> redisTemplate,
+                                      ObjectMapper objectMapper,
+                                      @Value("${app.redis.publisher.batch-window:2ms}") Duration batchWindow,
+                                      @Value("${app.redis.publisher.max-batch-size:256}") int maxBatchSize,
+                                      @Value("${app.redis.publisher.queue-capacity:10000}") int queueCapacity) {
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+        this.batchWindowNanos = batchWindow.toNanos();
+        this.maxBatchSize = Math.max(1, maxBatchSize);
+        this.queue = new ArrayBlockingQueue<>(Math.max(1, queueCapacity));
+    }
+
+    @PostConstruct
+    public synchronized void start() {
+        if (running) {
+            return;
         }
+        running = true;
+        flusher = Thread.ofPlatform().name("redis-publisher").daemon(true).start(this::run);
     }
 
     /**
-     * Publish delivery status update
+     * Stop accepting events and flush the ones already queued
      */
-    public void publishDeliveryStatus(UUID notificationId, String channel, boolean success, String error) {
-        try {
-            DeliveryStatusEvent event = DeliveryStatusEvent.builder()
-                    .notificationId(notificationId)
-                    .channel(channel)
-                    .success(success)
-                    .error(error)
-                    .timestamp(Instant.now())
-                    .build();
-            
-            String eventJson = objectMapper.writeValueAsString(event);
-            String statusChannel = NOTIFICATION_CHANNEL_PREFIX + "status";
-            
-            publishToChannel(statusChannel, eventJson);
-            
-            log.debug("Published delivery status for notification {} channel {}: {}", 
-                    notificationId, channel, success ? "success" : "failed");
-            
-        } catch (Exception e) {
-            log.error("Error publishing delivery status to Redis: {}", e.getMessage(), e);
+    @PreDestroy
+    public synchronized void stop() {
+        running = false;
+        if (flusher != null) {
+            try {
+                flusher.join(TimeUnit.SECONDS.toMillis(5));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
         }
     }
 
+    /**
+     * Publish notification event to the global, category and user channels for other services to consume
+     */
+    public CompletableFuture<Void> publishNotification(NotificationRequest request, UUID notificationId, List<String> sentChannels) {
+        NotificationEvent event = createNotificationEvent(request, notificationId, sentChannels);
+        byte[][] channels = {
+                GLOBAL_CHANNEL_BYTES,
+                CATEGORY_CHANNEL_BYTES.get(request.getCategory()),
+                bytes(NOTIFICATION_CHANNEL_PREFIX + "user:" + request.getUserId())
+        };
+        return publish(channels, event, notificationId);
+    }
+
+    /**
+     * Publish delivery status update
+     */
+    public CompletableFuture<Void> publishDeliveryStatus(UUID notificationId, String channel, boolean success, String error) {
+        DeliveryStatusEvent event = DeliveryStatusEvent.builder()
+                .notificationId(notificationId)
+                .channel(channel)
+                .success(success)
+                .error(error)
+                .timestamp(Instant.now())
+                .build();
+        return publish(new byte[][]{STATUS_CHANNEL_BYTES}, event, notificationId);
+    }
+
     /**
      * Publish user preferences change event
      */
-    public void publishPreferencesChanged(UUID userId, String category, String channel, boolean enabled) {
+    public CompletableFuture<Void> publishPreferencesChanged(UUID userId, String category, String channel, boolean enabled) {
+        PreferencesChangedEvent event = PreferencesChangedEvent.builder()
+                .userId(userId)
+                .category(category)
+                .channel(channel)
+                .enabled(enabled)
+                .timestamp(Instant.now())
+                .build();
+        return publish(new byte[][]{PREFS_CHANNEL_BYTES}, event, userId);
+    }
+
+    /**
+     * Pipelined flushes so far
+     */
+    public long getBatchCount() {
+        return batches.sum();
+    }
+
+    /**
+     * Events published; an event sent to several channels counts once
+     */
+    public long getPublishedCount() {
+        return published.sum();
+    }
+
+    /**
+     * Events lost because Redis failed
+     */
+    public long getFailedCount() {
+        return failed.sum();
+    }
+
+    /**
+     * Events rejected because the queue was full or the publisher stopped
+     */
+    public long getDroppedCount() {
+        return dropped.sum();
+    }
+
+    /**
+     * Sum over published events of the time from enqueue to the end of their flush
+     */
+    public long getTotalLatencyNanos() {
+        return latencyNanos.sum();
+    }
+
+    /**
+     * Largest batch flushed so far
+     */
+    public long getMaxBatchSize() {
+        return maxBatch.get();
+    }
+
+    public int getQueueSize() {
+        return queue.size();
+    }
+
+    private CompletableFuture<Void> publish(byte[][] channels, Object event, UUID id) {
+        byte[] message;
         try {
-            PreferencesChangedEvent event = PreferencesChangedEvent.builder()
-                    .userId(userId)
-                    .category(category)
-                    .channel(channel)
-                    .enabled(enabled)
-                    .timestamp(Instant.now())
-                    .build();
-            
-            String eventJson = objectMapper.writeValueAsString(event);
-            String prefsChannel = NOTIFICATION_CHANNEL_PREFIX + "prefs";
-            
-            publishToChannel(prefsChannel, eventJson);
-            
-            log.debug("Published preferences change for user {}: {} {} {}", 
-                    userId, category, channel, enabled);
-            
+            message = objectMapper.writeValueAsBytes(event);
         } catch (Exception e) {
-            log.error("Error publishing preferences change to Redis: {}", e.getMessage(), e);
+            log.error("Error serializing {} {}: {}", event.getClass().getSimpleName(), id, e.getMessage(), e);
+            return CompletableFuture.failedFuture(e);
+        }
+
+        Publication publication = new Publication(channels, message, System.nanoTime(), new CompletableFuture<>());
+        if (!running || !queue.offer(publication)) {
+            dropped.increment();
+            log.warn("Dropped {} {}: Redis publish queue is full or stopped", event.getClass().getSimpleName(), id);
+            return CompletableFuture.failedFuture(new IllegalStateException("Redis publish queue is full or stopped"));
         }
+        return publication.done();
     }
 
-    private void publishToChannel(String channel, String message) {
+    private void run() {
+        List<Publication> batch = new ArrayList<>(maxBatchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                Publication first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                collect(batch);
+                flush(batch);
+            } catch (InterruptedException e) {
+                // Send what was collected before giving up the thread
+                flush(batch);
+                Thread.currentThread().interrupt();
+                break;
+            } catch (Exception e) {
+                log.error("Redis publish flush failed: {}", e.getMessage(), e);
+            } finally {
+                batch.clear();
+            }
+        }
+        // Only reached on interrupt with events left, or by a publish racing stop()
+        Publication left;
+        while ((left = queue.poll()) != null) {
+            dropped.increment();
+            left.done().completeExceptionally(new IllegalStateException("Redis publisher stopped"));
+        }
+    }
+
+    /**
+     * Add events arriving within the batch window of the first one, up to the batch size
+     */
+    private void collect(List<Publication> batch) throws InterruptedException {
+        long deadline = System.nanoTime() + batchWindowNanos;
+        while (batch.size() < maxBatchSize) {
+            queue.drainTo(batch, maxBatchSize - batch.size());
+            long remaining = deadline - System.nanoTime();
+            if (batch.size() >= maxBatchSize || remaining <= 0) {
+                return;
+            }
+            Publication next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+            if (next == null) {
+                return;
+            }
+            batch.add(next);
+        }
+    }
+
+    private void flush(List<Publication> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
         try {
-            redisTemplate.convertAndSend(channel, message);
-            log.trace("Published message to Redis channel: {}", channel);
+            redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                for (Publication publication : batch) {
+                    for (byte[] channel : publication.channels()) {
+                        connection.publish(channel, publication.message());
+                    }
+                }
+                return null;
+            });
         } catch (Exception e) {
-            log.error("Error publishing to Redis channel {}: {}", channel, e.getMessage(), e);
-            throw e;
+            failed.add(batch.size());
+            log.error("Error publishing {} events to Redis: {}", batch.size(), e.getMessage());
+            batch.forEach(publication -> publication.done().completeExceptionally(e));
+            return;
         }
+
+        long now = System.nanoTime();
+        batches.increment();
+        published.add(batch.size());
+        maxBatch.accumulateAndGet(batch.size(), Math::max);
+        for (Publication publication : batch) {
+            latencyNanos.add(now - publication.enqueuedAt());
+            publication.done().complete(null);
+        }
+        log.trace("Published {} events to Redis in one pipeline", batch.size());
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
     }
 
     private NotificationEvent createNotificationEvent(NotificationRequest request, UUID notificationId, List<String> sentChannels) {
@@ -5,11 +5,12 @@ import lombok.extern.slf4j.Slf4j;
 import org.aquastream.notification.db.entity.TelegramSubscriptionEntity;
 import org.aquastream.notification.db.repository.TelegramSubscriptionRepository;
 import org.aquastream.notification.service.notification.dto.NotificationRequest;
-import org.aquastream.notification.service.telegram.TelegramBotService;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 
 @Service
 @RequiredArgsConstructor
@@ -17,56 +18,60 @@ import java.util.UUID;
 public class TelegramNotificationSender {
 
     private final TelegramSubscriptionRepository telegramSubscriptionRepository;
-    private final TelegramBotService telegramBotService;
-    private final TelegramThrottlingService throttlingService;
+    private final TelegramSendScheduler sendScheduler;
 
     /**
      * Send notification via Telegram
      */
     public boolean sendTelegramNotification(NotificationRequest request, UUID notificationId) {
+        return sendTelegramNotification(request, notificationId, null);
+    }
+
+    /**
+     * Send notification via Telegram to the given chats; null chats are looked up from the user's subscriptions
+     */
+    public boolean sendTelegramNotification(NotificationRequest request, UUID notificationId, List<Long> chatIds) {
         log.debug("Sending Telegram notification for user {} with ID {}", 
                 request.getUserId(), notificationId);
         
         try {
-            // Get user's Telegram subscriptions
-            List<TelegramSubscriptionEntity> subscriptions = 
-                    telegramSubscriptionRepository.findByUserIdAndVerified(request.getUserId());
+            // Get user's Telegram chats
+            if (chatIds == null) {
+                chatIds = telegramSubscriptionRepository.findByUserIdAndVerified(request.getUserId()).stream()
+                        .map(TelegramSubscriptionEntity::getTelegramChatId)
+                        .toList();
+            }
             
-            if (subscriptions.isEmpty()) {
+            if (chatIds.isEmpty()) {
                 log.debug("No verified Telegram subscriptions found for user {}", request.getUserId());
                 return false;
             }
             
-            boolean anySuccess = false;
+            // Format message for Telegram
+            String telegramMessage = formatTelegramMessage(request);
             
-            // Send to all verified Telegram accounts
-            for (TelegramSubscriptionEntity subscription : subscriptions) {
+            // Send to all verified Telegram accounts, each at its next permitted slot
+            List<CompletableFuture<Boolean>> sends = new ArrayList<>(chatIds.size());
+            for (Long chatId : chatIds) {
+                sends.add(sendScheduler.schedule(chatId, telegramMessage));
+            }
+            
+            boolean anySuccess = false;
+            for (int i = 0; i < sends.size(); i++) {
+                Long chatId = chatIds.get(i);
                 try {
-                    // Check throttling before sending
-                    if (!throttlingService.canSendMessage(subscription.getTelegramChatId())) {
-                        log.warn("Telegram message throttled for chat {}", subscription.getTelegramChatId());
-                        continue;
-                    }
-                    
-                    // Format message for Telegram
-                    String telegramMessage = formatTelegramMessage(request);
-                    
-                    // Send message
-                    boolean sent = telegramBotService.sendMessage(subscription.getTelegramChatId(), telegramMessage);
-                    
-                    if (sent) {
+                    if (sends.get(i).join()) {
                         anySuccess = true;
-                        throttlingService.recordMessageSent(subscription.getTelegramChatId());
                         log.debug("Successfully sent Telegram notification to chat {} for user {}", 
-                                subscription.getTelegramChatId(), request.getUserId());
+                                chatId, request.getUserId());
                     } else {
                         log.warn("Failed to send Telegram notification to chat {} for user {}", 
-                                subscription.getTelegramChatId(), request.getUserId());
+                                chatId, request.getUserId());
                     }
                     
                 } catch (Exception e) {
                     log.error("Error sending Telegram notification to chat {} for user {}: {}", 
-                            subscription.getTelegramChatId(), request.getUserId(), e.getMessage(), e);
+                            chatId, request.getUserId(), e.getMessage(), e);
                 }
             }
             
@@ -0,0 +1,64 @@
+package org.aquastream.notification.service.notification;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.aquastream.notification.service.telegram.TelegramBotService;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Paces Telegram sends to the slots reserved by {@link TelegramThrottlingService}.
+ *
+ * A message whose slot lies in the future waits in a delay queue (one timer thread) and is handed
+ * to the bot when its slot comes up, instead of being dropped. Only messages that would wait longer
+ * than {@code app.telegram.throttle.max-delay} complete with {@code false}.
+ */
+@Component
+@Slf4j
+public class TelegramSendScheduler {
+
+    private final TelegramThrottlingService throttlingService;
+    private final TelegramBotService telegramBotService;
+    private final ScheduledExecutorService timer = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().name("telegram-send-scheduler").daemon(true).factory());
+
+    public TelegramSendScheduler(TelegramThrottlingService throttlingService, TelegramBotService telegramBotService) {
+        this.throttlingService = throttlingService;
+        this.telegramBotService = telegramBotService;
+    }
+
+    /**
+     * Send a message at the chat's next permitted slot; completes with whether it was delivered
+     */
+    public CompletableFuture<Boolean> schedule(Long chatId, String text) {
+        TelegramThrottlingService.SendSlot slot = throttlingService.reserve(chatId);
+        if (!slot.reserved()) {
+            log.warn("Telegram message throttled for chat {}: next slot in {}ms", chatId, slot.delay().toMillis());
+            return CompletableFuture.completedFuture(false);
+        }
+        if (slot.delay().isZero()) {
+            return telegramBotService.sendMessageAsync(chatId, text);
+        }
+
+        CompletableFuture<Boolean> result = new CompletableFuture<>();
+        timer.schedule(() -> {
+            telegramBotService.sendMessageAsync(chatId, text).whenComplete((sent, error) -> {
+                if (error != null) {
+                    result.completeExceptionally(error);
+                } else {
+                    result.complete(sent);
+                }
+            });
+        }, slot.delay().toMillis(), TimeUnit.MILLISECONDS);
+        return result;
+    }
+
+    @PreDestroy
+    public void stop() {
+        timer.shutdown();
+    }
+}
@@ -2,88 +2,121 @@ package org.aquastream.notification.service.notification;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.aquastream.notification.service.config.TelegramProperties;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
 import org.springframework.stereotype.Service;
 
 import java.time.Duration;
-import java.time.Instant;
-import java.util.concurrent.TimeUnit;
+import java.util.List;
+import java.util.UUID;
 
+/**
+ * Telegram send rate limits, shared by all instances through Redis.
+ *
+ * A send reserves a slot in one Lua call: the script finds the earliest millisecond at which both
+ * the global sliding window ({@code global-per-second} sends in any 1000ms) and the per-chat interval
+ * allow it, records the slot and returns the delay until then. Check and record are atomic, so
+ * concurrent senders never exceed the limits; times come from the Redis clock.
+ */
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class TelegramThrottlingService {
 
-    private final RedisTemplate<String, String> redisTemplate;
-    
-    // Telegram Bot API limits: 30 messages per second to all chats, 1 message per second per chat
-    private static final int MESSAGES_PER_SECOND_PER_CHAT = 1;
-    private static final int GLOBAL_MESSAGES_PER_SECOND = 30;
-    
+    private static final long WINDOW_MILLIS = 1000;
+
+    /**
+     * KEYS: global window (sorted set of slot times), chat (last slot time).
+     * ARGV: global limit, window ms, per-chat interval ms, max delay ms, slot id.
+     * Returns 1 and the delay in ms if a slot was reserved, 0 and the delay it would have needed otherwise.
+     */
+    private static final RedisScript<List> RESERVE_SCRIPT = RedisScript.of("""
+            local limit = tonumber(ARGV[1])
+            local window = tonumber(ARGV[2])
+            local interval = tonumber(ARGV[3])
+            local maxDelay = tonumber(ARGV[4])
+            local time = redis.call('TIME')
+            local now = tonumber(time[1]) * 1000 + math.floor(tonumber(time[2]) / 1000)
+            redis.call('ZREMRANGEBYSCORE', KEYS[1], '-inf', now - window)
+            local t = now
+            local last = tonumber(redis.call('GET', KEYS[2]))
+            if last and last + interval > t then
+              t = last + interval
+            end
+            while t - now <= maxDelay do
+              local raw = redis.call('ZRANGEBYSCORE', KEYS[1], '(' .. (t - window), '(' .. (t + window), 'WITHSCORES')
+              local slots = {}
+              for i = 2, #raw, 2 do
+                slots[#slots + 1] = tonumber(raw[i])
+              end
+              -- The new slot fits if no window of length `window` containing t is already full
+              local function full(right)
+                local count = 0
+                for _, s in ipairs(slots) do
+                  if s > right - window and s <= right then
+                    count = count + 1
+                  end
+                end
+                return count >= limit
+              end
+              local crowded = full(t)
+              for _, s in ipairs(slots) do
+                if not crowded and s >= t then
+                  crowded = full(s)
+                end
+              end
+              if not crowded then
+                redis.call('ZADD', KEYS[1], t, ARGV[5])
+                redis.call('SET', KEYS[2], t, 'PX', t - now + interval)
+                local latest = redis.call('ZRANGE', KEYS[1], -1, -1, 'WITHSCORES')
+                redis.call('PEXPIRE', KEYS[1], tonumber(latest[2]) - now + window)
+                return {1, t - now}
+              end
+              t = slots[1] + window
+            end
+            return {0, t - now}
+            """, List.class);
+
     // Redis key prefixes
     private static final String CHAT_THROTTLE_KEY_PREFIX = "telegram:throttle:chat:";
     private static final String GLOBAL_THROTTLE_KEY = "telegram:throttle:global";
-    
+
+    private final RedisTemplate<String, String> redisTemplate;
+    private final TelegramProperties telegramProperties;
+
     /**
-     * Check if we can send a message to specific chat
+     * Outcome of {@link #reserve}: whether a slot was taken, and how long to wait before sending
      */
-    public boolean canSendMessage(Long chatId) {
-        try {
-            // Check per-chat throttling (1 message per second per chat)
-            String chatKey = CHAT_THROTTLE_KEY_PREFIX + chatId;
-            String lastSent = redisTemplate.opsForValue().get(chatKey);
-            
-            long now = Instant.now().getEpochSecond();
-            
-            if (lastSent != null) {
-                long lastSentTime = Long.parseLong(lastSent);
-                if (now - lastSentTime < MESSAGES_PER_SECOND_PER_CHAT) {
-                    log.debug("Chat {} throttled: last message sent {} seconds ago", 
-                            chatId, now - lastSentTime);
-                    return false;
-                }
-            }
-            
-            // Check global throttling (30 messages per second total)
-            String globalCount = redisTemplate.opsForValue().get(GLOBAL_THROTTLE_KEY);
-            if (globalCount != null) {
-                int currentCount = Integer.parseInt(globalCount);
-                if (currentCount >= GLOBAL_MESSAGES_PER_SECOND) {
-                    log.debug("Global Telegram throttling active: {} messages in current second", currentCount);
-                    return false;
-                }
-            }
-            
-            return true;
-            
-        } catch (Exception e) {
-            log.error("Error checking Telegram throttling for chat {}: {}", chatId, e.getMessage());
-            // On error, allow sending (fail open)
-            return true;
-        }
+    public record SendSlot(boolean reserved, Duration delay) {
     }
 
     /**
-     * Record that a message was sent
+     * Reserve the earliest permitted send slot for a chat; no slot is taken if it is more than
+     * {@code max-delay} away
      */
-    public void recordMessageSent(Long chatId) {
+    public SendSlot reserve(Long chatId) {
+        TelegramProperties.ThrottleConfig throttle = telegramProperties.getThrottle();
         try {
-            long now = Instant.now().getEpochSecond();
-            
-            // Record per-chat timestamp
-            String chatKey = CHAT_THROTTLE_KEY_PREFIX + chatId;
-            redisTemplate.opsForValue().set(chatKey, String.valueOf(now), Duration.ofSeconds(2));
-            
-            // Increment global counter for current second
-            String globalKey = GLOBAL_THROTTLE_KEY;
-            redisTemplate.opsForValue().increment(globalKey);
-            redisTemplate.expire(globalKey, 1, TimeUnit.SECONDS);
-            
-            log.debug("Recorded Telegram message sent to chat {}", chatId);
-            
+            List<?> result = redisTemplate.execute(RESERVE_SCRIPT,
+                    List.of(GLOBAL_THROTTLE_KEY, CHAT_THROTTLE_KEY_PREFIX + chatId),
+                    String.valueOf(throttle.getGlobalPerSecond()),
+                    String.valueOf(WINDOW_MILLIS),
+                    String.valueOf(throttle.getPerChatInterval().toMillis()),
+                    String.valueOf(throttle.getMaxDelay().toMillis()),
+                    UUID.randomUUID().toString());
+
+            boolean reserved = ((Number) result.get(0)).longValue() == 1;
+            Duration delay = Duration.ofMillis(((Number) result.get(1)).longValue());
+            if (!reserved) {
+                log.debug("Chat {} throttled: next send slot in {}ms", chatId, delay.toMillis());
+            }
+            return new SendSlot(reserved, delay);
+
         } catch (Exception e) {
-            log.error("Error recording Telegram message sent for chat {}: {}", chatId, e.getMessage());
-            // Don't fail on recording errors
+            log.error("Error reserving Telegram send slot for chat {}: {}", chatId, e.getMessage());
+            // On error, allow sending (fail open)
+            return new SendSlot(true, Duration.ZERO);
         }
     }
 
@@ -91,23 +124,26 @@ public class TelegramThrottlingService {
      * Get current throttling status for monitoring
      */
     public ThrottlingStatus getThrottlingStatus() {
+        int globalLimit = telegramProperties.getThrottle().getGlobalPerSecond();
+        int perChatLimit = (int) Math.max(1, WINDOW_MILLIS / Math.max(1, telegramProperties.getThrottle().getPerChatInterval().toMillis()));
         try {
-            String globalCount = redisTemplate.opsForValue().get(GLOBAL_THROTTLE_KEY);
-            int currentGlobalCount = globalCount != null ? Integer.parseInt(globalCount) : 0;
-            
+            long now = System.currentTimeMillis();
+            Long count = redisTemplate.opsForZSet().count(GLOBAL_THROTTLE_KEY, now - WINDOW_MILLIS + 1, now);
+            int currentGlobalCount = count != null ? count.intValue() : 0;
+
             return ThrottlingStatus.builder()
                     .globalMessagesThisSecond(currentGlobalCount)
-                    .globalLimit(GLOBAL_MESSAGES_PER_SECOND)
-                    .perChatLimit(MESSAGES_PER_SECOND_PER_CHAT)
-                    .globalThrottled(currentGlobalCount >= GLOBAL_MESSAGES_PER_SECOND)
+                    .globalLimit(globalLimit)
+                    .perChatLimit(perChatLimit)
+                    .globalThrottled(currentGlobalCount >= globalLimit)
                     .build();
-            
+
         } catch (Exception e) {
             log.error("Error getting Telegram throttling status: {}", e.getMessage());
             return ThrottlingStatus.builder()
                     .globalMessagesThisSecond(0)
-                    .globalLimit(GLOBAL_MESSAGES_PER_SECOND)
-                    .perChatLimit(MESSAGES_PER_SECOND_PER_CHAT)
+                    .globalLimit(globalLimit)
+                    .perChatLimit(perChatLimit)
                     .globalThrottled(false)
                     .build();
         }
@@ -148,4 +184,4 @@ public class TelegramThrottlingService {
         private int perChatLimit;
         private boolean globalThrottled;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,90 @@
+package org.aquastream.notification.service.notification.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.aquastream.notification.db.entity.NotificationPrefsEntity;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * One notification for many users, e.g. all participants of an event.
+ * Title and message are templates with {@code {{param}}} placeholders.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkNotificationRequest {
+
+    // Event the notification is about; recipients still come from userIds
+    @JsonProperty("eventId")
+    private UUID eventId;
+
+    @NotEmpty(message = "User IDs are required")
+    @JsonProperty("userIds")
+    private List<UUID> userIds;
+
+    @NotNull(message = "Category is required")
+    @JsonProperty("category")
+    private NotificationPrefsEntity.NotificationCategory category;
+
+    @JsonProperty("channel")
+    private NotificationPrefsEntity.NotificationChannel channel;
+
+    @Valid
+    @NotNull(message = "Template is required")
+    @JsonProperty("template")
+    private Template template;
+
+    // Locale -> template, for recipients listed in userLocales
+    @JsonProperty("localizedTemplates")
+    private Map<String, Template> localizedTemplates;
+
+    @JsonProperty("userLocales")
+    private Map<UUID, String> userLocales;
+
+    @JsonProperty("templateParams")
+    private Map<String, Object> templateParams;
+
+    @JsonProperty("metadata")
+    private Map<String, Object> metadata;
+
+    @JsonProperty("urgent")
+    @Builder.Default
+    private Boolean urgent = false;
+
+    @JsonProperty("scheduledAt")
+    private Long scheduledAt; // Unix timestamp
+
+    @JsonProperty("expiresAt")
+    private Long expiresAt; // Unix timestamp
+
+    public boolean isRequired() {
+        return category == NotificationPrefsEntity.NotificationCategory.BOOKING_CONFIRMED ||
+               category == NotificationPrefsEntity.NotificationCategory.PAYMENT_STATUS ||
+               category == NotificationPrefsEntity.NotificationCategory.EVENT_REMINDER;
+    }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Template {
+
+        @NotNull(message = "Title is required")
+        @JsonProperty("title")
+        private String title;
+
+        @NotNull(message = "Message is required")
+        @JsonProperty("message")
+        private String message;
+    }
+}
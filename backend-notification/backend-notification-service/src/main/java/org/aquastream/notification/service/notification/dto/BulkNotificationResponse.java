@@ -0,0 +1,44 @@
+package org.aquastream.notification.service.notification.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkNotificationResponse {
+
+    @JsonProperty("success")
+    private Boolean success;
+
+    @JsonProperty("message")
+    private String message;
+
+    @JsonProperty("bulkId")
+    private UUID bulkId;
+
+    @JsonProperty("eventId")
+    private UUID eventId;
+
+    @JsonProperty("recipients")
+    private Integer recipients;
+
+    // Channel -> outbox messages queued
+    @JsonProperty("queued")
+    private Map<String, Integer> queued;
+
+    // Recipients without any enabled, reachable channel
+    @JsonProperty("skippedRecipients")
+    private Integer skippedRecipients;
+
+    @JsonProperty("processedAt")
+    private Instant processedAt;
+}
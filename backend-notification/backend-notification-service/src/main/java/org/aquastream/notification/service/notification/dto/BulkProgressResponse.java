@@ -0,0 +1,44 @@
+package org.aquastream.notification.service.notification.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+/**
+ * Delivery progress of a bulk send, counted over its outbox messages
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkProgressResponse {
+
+    @JsonProperty("bulkId")
+    private UUID bulkId;
+
+    @JsonProperty("total")
+    private Integer total;
+
+    @JsonProperty("pending")
+    private Integer pending;
+
+    @JsonProperty("sent")
+    private Integer sent;
+
+    @JsonProperty("failed")
+    private Integer failed;
+
+    @JsonProperty("skipped")
+    private Integer skipped;
+
+    // Messages still to be attempted; failed ones may be retried
+    @JsonProperty("inProgress")
+    private Integer inProgress;
+
+    @JsonProperty("completed")
+    private Boolean completed;
+}
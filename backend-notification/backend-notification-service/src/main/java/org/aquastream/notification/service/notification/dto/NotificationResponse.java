@@ -28,6 +28,9 @@ public class NotificationResponse {
     @JsonProperty("sentChannels")
     private List<String> sentChannels;
 
+    @JsonProperty("queuedChannels")
+    private List<String> queuedChannels;
+
     @JsonProperty("skippedChannels")
     private List<String> skippedChannels;
 
@@ -51,6 +54,16 @@ public class NotificationResponse {
                 .build();
     }
 
+    public static NotificationResponse queued(UUID notificationId, List<String> queuedChannels) {
+        return NotificationResponse.builder()
+                .success(true)
+                .message("Notification queued")
+                .notificationId(notificationId)
+                .queuedChannels(queuedChannels)
+                .processedAt(Instant.now())
+                .build();
+    }
+
     public static NotificationResponse partialSuccess(UUID notificationId, List<String> sent, List<String> failed) {
         return NotificationResponse.builder()
                 .success(true)
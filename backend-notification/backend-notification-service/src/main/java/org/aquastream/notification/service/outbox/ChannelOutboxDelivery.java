@@ -0,0 +1,55 @@
+package org.aquastream.notification.service.outbox;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.aquastream.notification.service.notification.RedisNotificationPublisher;
+import org.aquastream.notification.service.notification.TelegramNotificationSender;
+import org.aquastream.notification.service.notification.dto.NotificationRequest;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Delivers outbox messages through the channel senders and announces the outcome on Redis
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ChannelOutboxDelivery implements OutboxDelivery {
+
+    private final TelegramNotificationSender telegramSender;
+    private final RedisNotificationPublisher redisPublisher;
+
+    @Override
+    public DeliveryResult deliver(OutboxMessage message) {
+        NotificationRequest request = OutboxPayload.toRequest(message);
+        if (request.getTitle() == null || request.getMessage() == null) {
+            return DeliveryResult.skipped("Invalid payload");
+        }
+        UUID notificationId = OutboxPayload.notificationId(message);
+
+        DeliveryResult result = switch (message.channel()) {
+            case TELEGRAM -> telegramSender.sendTelegramNotification(request, notificationId, OutboxPayload.chatIds(message))
+                    ? DeliveryResult.sent()
+                    : DeliveryResult.failed("Telegram delivery failed");
+            case EMAIL, SMS, PUSH -> DeliveryResult.skipped(message.channel() + " channel not implemented");
+        };
+
+        publish(request, notificationId, message, result);
+        return result;
+    }
+
+    private void publish(NotificationRequest request, UUID notificationId, OutboxMessage message, DeliveryResult result) {
+        try {
+            if (result.status() == DeliveryResult.Status.SENT) {
+                redisPublisher.publishNotification(request, notificationId, List.of(message.channel().name()));
+            }
+            redisPublisher.publishDeliveryStatus(notificationId, message.channel().name(),
+                    result.status() == DeliveryResult.Status.SENT, result.error());
+        } catch (Exception e) {
+            // Delivery already happened; the event is best effort
+            log.warn("Failed to publish notification {} to Redis: {}", notificationId, e.getMessage());
+        }
+    }
+}
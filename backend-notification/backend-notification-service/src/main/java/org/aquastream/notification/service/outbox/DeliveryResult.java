@@ -0,0 +1,25 @@
+package org.aquastream.notification.service.outbox;
+
+/**
+ * Outcome of one delivery attempt
+ */
+public record DeliveryResult(Status status, String error) {
+
+    public enum Status {
+        SENT,
+        FAILED,
+        SKIPPED
+    }
+
+    public static DeliveryResult sent() {
+        return new DeliveryResult(Status.SENT, null);
+    }
+
+    public static DeliveryResult failed(String error) {
+        return new DeliveryResult(Status.FAILED, error);
+    }
+
+    public static DeliveryResult skipped(String reason) {
+        return new DeliveryResult(Status.SKIPPED, reason);
+    }
+}
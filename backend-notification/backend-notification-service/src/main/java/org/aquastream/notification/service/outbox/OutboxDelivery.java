@@ -0,0 +1,10 @@
+package org.aquastream.notification.service.outbox;
+
+/**
+ * Delivers one outbox message to its channel; called concurrently from dispatcher workers
+ */
+@FunctionalInterface
+public interface OutboxDelivery {
+
+    DeliveryResult deliver(OutboxMessage message);
+}
@@ -0,0 +1,167 @@
+package org.aquastream.notification.service.outbox;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.aquastream.notification.service.config.OutboxProperties;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Drains {@code notification.outbox}.
+ *
+ * A single loop claims a batch ({@link OutboxStore#claim}), delivers the messages on virtual threads
+ * with at most {@code concurrency} in flight, and writes all outcomes back in one batch. Any number of
+ * instances can run side by side: claims skip rows locked by others. Failed messages are retried with
+ * exponential backoff through {@code scheduled_at} until {@code max_attempts}.
+ */
+@Component
+@ConditionalOnProperty(name = "app.outbox.dispatcher.enabled", havingValue = "true", matchIfMissing = true)
+@Slf4j
+public class OutboxDispatcher {
+
+    private final OutboxStore store;
+    private final OutboxDelivery delivery;
+    private final OutboxProperties properties;
+    private final Semaphore inFlight;
+    private final ExecutorService workers = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("outbox-worker-", 0).factory());
+    private volatile boolean running;
+    private Thread loop;
+
+    public OutboxDispatcher(OutboxStore store, OutboxDelivery delivery, OutboxProperties properties) {
+        this.store = store;
+        this.delivery = delivery;
+        this.properties = properties;
+        this.inFlight = new Semaphore(Math.max(1, properties.getDispatcher().getConcurrency()));
+    }
+
+    @PostConstruct
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        loop = Thread.ofPlatform().name("outbox-dispatcher").daemon(true).start(this::run);
+    }
+
+    /**
+     * Stop claiming; the batch in progress is still delivered and written back
+     */
+    @PreDestroy
+    public synchronized void stop() {
+        running = false;
+        if (loop != null) {
+            try {
+                loop.join(properties.getDispatcher().getLease().toMillis());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        workers.shutdown();
+    }
+
+    /**
+     * Claim, deliver and complete one batch; returns the number of messages processed
+     */
+    public int dispatchOnce() {
+        OutboxProperties.Dispatcher config = properties.getDispatcher();
+        List<OutboxMessage> batch = store.claim(config.getBatchSize(), config.getLease());
+        if (batch.isEmpty()) {
+            return 0;
+        }
+
+        List<Future<OutboxStore.Completion>> pending = new ArrayList<>(batch.size());
+        for (OutboxMessage message : batch) {
+            inFlight.acquireUninterruptibly();
+            pending.add(workers.submit(() -> {
+                try {
+                    return completion(message, deliver(message));
+                } finally {
+                    inFlight.release();
+                }
+            }));
+        }
+
+        List<OutboxStore.Completion> completions = new ArrayList<>(batch.size());
+        for (Future<OutboxStore.Completion> future : pending) {
+            completions.add(await(future));
+        }
+        store.complete(completions);
+        return batch.size();
+    }
+
+    private void run() {
+        Duration pollInterval = properties.getDispatcher().getPollInterval();
+        while (running) {
+            try {
+                if (dispatchOnce() < properties.getDispatcher().getBatchSize()) {
+                    TimeUnit.MILLISECONDS.sleep(pollInterval.toMillis());
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                // Claimed rows come back after the lease
+                log.error("Outbox dispatch failed: {}", e.getMessage(), e);
+                try {
+                    TimeUnit.MILLISECONDS.sleep(pollInterval.toMillis());
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    private DeliveryResult deliver(OutboxMessage message) {
+        try {
+            DeliveryResult result = delivery.deliver(message);
+            return result != null ? result : DeliveryResult.failed("No delivery result");
+        } catch (Exception e) {
+            log.warn("Delivery of outbox message {} failed: {}", message.id(), e.getMessage());
+            return DeliveryResult.failed(e.getMessage());
+        }
+    }
+
+    private OutboxStore.Completion completion(OutboxMessage message, DeliveryResult result) {
+        if (result.status() != DeliveryResult.Status.FAILED) {
+            return new OutboxStore.Completion(message.id(), result, null);
+        }
+        if (message.attempts() >= message.maxAttempts()) {
+            log.warn("Outbox message {} failed after {} attempts: {}", message.id(), message.attempts(), result.error());
+            return new OutboxStore.Completion(message.id(), result, null);
+        }
+        return new OutboxStore.Completion(message.id(), result, properties.backoffFor(message.attempts()));
+    }
+
+    private static OutboxStore.Completion await(Future<OutboxStore.Completion> future) {
+        boolean interrupted = false;
+        try {
+            while (true) {
+                try {
+                    return future.get();
+                } catch (InterruptedException e) {
+                    // Finish the batch so its outcomes are written back
+                    interrupted = true;
+                } catch (ExecutionException e) {
+                    throw new IllegalStateException("Outbox worker failed", e.getCause());
+                }
+            }
+        } finally {
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package org.aquastream.notification.service.outbox;
+
+import org.aquastream.notification.db.entity.NotificationPrefsEntity;
+
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * A claimed outbox row; {@code attempts} already includes the current attempt
+ */
+public record OutboxMessage(
+        UUID id,
+        UUID userId,
+        NotificationPrefsEntity.NotificationCategory category,
+        NotificationPrefsEntity.NotificationChannel channel,
+        Map<String, Object> payload,
+        int attempts,
+        int maxAttempts) {
+}
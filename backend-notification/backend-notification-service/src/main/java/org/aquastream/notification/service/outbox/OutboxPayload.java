@@ -0,0 +1,83 @@
+package org.aquastream.notification.service.outbox;
+
+import org.aquastream.notification.service.notification.dto.NotificationRequest;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Layout of {@code outbox.payload}: the request fields a channel needs to render the message
+ */
+public final class OutboxPayload {
+
+    static final String NOTIFICATION_ID = "notificationId";
+    static final String TITLE = "title";
+    static final String MESSAGE = "message";
+    static final String METADATA = "metadata";
+    static final String URGENT = "urgent";
+    static final String CHAT_IDS = "chatIds";
+
+    private OutboxPayload() {
+    }
+
+    public static Map<String, Object> of(NotificationRequest request, UUID notificationId) {
+        return of(notificationId, request.getTitle(), request.getMessage(), request.getMetadata(),
+                Boolean.TRUE.equals(request.getUrgent()));
+    }
+
+    public static Map<String, Object> of(UUID notificationId, String title, String message,
+                                         Map<String, Object> metadata, boolean urgent) {
+        Map<String, Object> payload = new HashMap<>();
+        payload.put(NOTIFICATION_ID, notificationId.toString());
+        payload.put(TITLE, title);
+        payload.put(MESSAGE, message);
+        if (metadata != null && !metadata.isEmpty()) {
+            payload.put(METADATA, metadata);
+        }
+        payload.put(URGENT, urgent);
+        return payload;
+    }
+
+    /**
+     * Add the Telegram chats resolved at enqueue time, so delivery does not look them up again
+     */
+    public static Map<String, Object> withChatIds(Map<String, Object> payload, List<Long> chatIds) {
+        payload.put(CHAT_IDS, chatIds);
+        return payload;
+    }
+
+    /**
+     * Telegram chats resolved at enqueue time, null if the message carries none
+     */
+    public static List<Long> chatIds(OutboxMessage message) {
+        if (!(message.payload().get(CHAT_IDS) instanceof List<?> ids)) {
+            return null;
+        }
+        return ids.stream()
+                .filter(Number.class::isInstance)
+                .map(id -> ((Number) id).longValue())
+                .toList();
+    }
+
+    public static UUID notificationId(OutboxMessage message) {
+        Object id = message.payload().get(NOTIFICATION_ID);
+        return id != null ? UUID.fromString(id.toString()) : message.id();
+    }
+
+    @SuppressWarnings("unchecked")
+    public static NotificationRequest toRequest(OutboxMessage message) {
+        Map<String, Object> payload = message.payload();
+        Object metadata = payload.get(METADATA);
+        return NotificationRequest.builder()
+                .userId(message.userId())
+                .category(message.category())
+                .channel(message.channel())
+                .title((String) payload.get(TITLE))
+                .message((String) payload.get(MESSAGE))
+                .metadata(metadata instanceof Map<?, ?> map ? (Map<String, Object>) map : null)
+                .urgent(Boolean.TRUE.equals(payload.get(URGENT)))
+                .build();
+    }
+}
@@ -0,0 +1,222 @@
+package org.aquastream.notification.service.outbox;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.aquastream.notification.db.entity.NotificationPrefsEntity;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * JDBC access to {@code notification.outbox} for the dispatcher.
+ *
+ * Claiming is a single statement: ready rows are locked with {@code FOR UPDATE SKIP LOCKED}, so
+ * concurrent instances never wait on or share a row, and leased by moving {@code scheduled_at}
+ * forward. The claim commits at once; no transaction stays open while messages are delivered,
+ * and rows of a crashed instance become ready again when the lease runs out.
+ * All times come from the database clock.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class OutboxStore {
+
+    private static final String CLAIM_SQL = """
+            UPDATE notification.outbox o
+            SET attempts = o.attempts + 1,
+                scheduled_at = now() + CAST(? AS double precision) * interval '1 millisecond',
+                updated_at = now()
+            WHERE o.id IN (
+                SELECT id FROM notification.outbox
+                WHERE status IN ('PENDING', 'FAILED')
+                  AND attempts < max_attempts
+                  AND (scheduled_at IS NULL OR scheduled_at <= now())
+                  AND (expires_at IS NULL OR expires_at > now())
+                ORDER BY scheduled_at NULLS FIRST, created_at
+                LIMIT ?
+                FOR UPDATE SKIP LOCKED)
+            RETURNING o.id, o.user_id, o.category, o.channel, o.payload::text AS payload, o.attempts, o.max_attempts
+            """;
+
+    private static final String COMPLETE_SQL = """
+            UPDATE notification.outbox
+            SET status = ?,
+                last_error = ?,
+                sent_at = CASE WHEN ? THEN now() ELSE sent_at END,
+                scheduled_at = now() + CAST(? AS double precision) * interval '1 millisecond',
+                updated_at = now()
+            WHERE id = ?
+            """;
+
+    private static final String INSERT_SQL = """
+            INSERT INTO notification.outbox (user_id, category, channel, payload, scheduled_at, expires_at, bulk_id)
+            VALUES (?, ?, ?, CAST(? AS jsonb), ?, ?, ?)
+            """;
+
+    private static final String PROGRESS_SQL = """
+            SELECT count(*) AS total,
+                   count(*) FILTER (WHERE status = 'PENDING') AS pending,
+                   count(*) FILTER (WHERE status = 'SENT') AS sent,
+                   count(*) FILTER (WHERE status = 'FAILED') AS failed,
+                   count(*) FILTER (WHERE status = 'SKIPPED') AS skipped,
+                   count(*) FILTER (WHERE status IN ('PENDING', 'FAILED')
+                                      AND attempts < max_attempts
+                                      AND (expires_at IS NULL OR expires_at > now())) AS in_progress
+            FROM notification.outbox
+            WHERE bulk_id = ?
+            """;
+
+    private static final int INSERT_BATCH_SIZE = 500;
+
+    private static final TypeReference<Map<String, Object>> PAYLOAD_TYPE = new TypeReference<>() {
+    };
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * A completed delivery; {@code retryAfter} is null unless the message should be attempted again
+     */
+    public record Completion(UUID id, DeliveryResult result, Duration retryAfter) {
+    }
+
+    /**
+     * A message to enqueue; {@code scheduledAt}, {@code expiresAt} and {@code bulkId} may be null
+     */
+    public record NewMessage(UUID userId,
+                             NotificationPrefsEntity.NotificationCategory category,
+                             NotificationPrefsEntity.NotificationChannel channel,
+                             Map<String, Object> payload,
+                             Instant scheduledAt,
+                             Instant expiresAt,
+                             UUID bulkId) {
+    }
+
+    /**
+     * Message counts of a bulk send by status; {@code inProgress} counts messages that will still be attempted
+     */
+    public record Progress(int total, int pending, int sent, int failed, int skipped, int inProgress) {
+    }
+
+    /**
+     * Insert messages with JDBC batches of 500 rows
+     */
+    public void enqueue(List<NewMessage> messages) {
+        for (int from = 0; from < messages.size(); from += INSERT_BATCH_SIZE) {
+            List<NewMessage> batch = messages.subList(from, Math.min(messages.size(), from + INSERT_BATCH_SIZE));
+            jdbcTemplate.batchUpdate(INSERT_SQL, new BatchPreparedStatementSetter() {
+                @Override
+                public void setValues(PreparedStatement ps, int i) throws SQLException {
+                    NewMessage message = batch.get(i);
+                    ps.setObject(1, message.userId());
+                    ps.setString(2, message.category().name());
+                    ps.setString(3, message.channel().name());
+                    ps.setString(4, writePayload(message.payload()));
+                    ps.setObject(5, timestamp(message.scheduledAt()), Types.TIMESTAMP_WITH_TIMEZONE);
+                    ps.setObject(6, timestamp(message.expiresAt()), Types.TIMESTAMP_WITH_TIMEZONE);
+                    ps.setObject(7, message.bulkId());
+                }
+
+                @Override
+                public int getBatchSize() {
+                    return batch.size();
+                }
+            });
+        }
+    }
+
+    public Progress progress(UUID bulkId) {
+        return jdbcTemplate.queryForObject(PROGRESS_SQL, (rs, rowNum) -> new Progress(
+                rs.getInt("total"),
+                rs.getInt("pending"),
+                rs.getInt("sent"),
+                rs.getInt("failed"),
+                rs.getInt("skipped"),
+                rs.getInt("in_progress")), bulkId);
+    }
+
+    /**
+     * Claim up to {@code limit} ready messages for {@code lease}
+     */
+    public List<OutboxMessage> claim(int limit, Duration lease) {
+        return jdbcTemplate.query(CLAIM_SQL, this::mapMessage, lease.toMillis(), limit);
+    }
+
+    /**
+     * Write back the outcomes of a batch in one JDBC batch
+     */
+    public void complete(List<Completion> completions) {
+        if (completions.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(COMPLETE_SQL, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                Completion completion = completions.get(i);
+                DeliveryResult result = completion.result();
+                ps.setString(1, result.status().name());
+                ps.setString(2, result.error());
+                ps.setBoolean(3, result.status() == DeliveryResult.Status.SENT);
+                if (completion.retryAfter() != null) {
+                    ps.setLong(4, completion.retryAfter().toMillis());
+                } else {
+                    ps.setNull(4, Types.BIGINT);
+                }
+                ps.setObject(5, completion.id());
+            }
+
+            @Override
+            public int getBatchSize() {
+                return completions.size();
+            }
+        });
+    }
+
+    private OutboxMessage mapMessage(ResultSet rs, int rowNum) throws SQLException {
+        return new OutboxMessage(
+                rs.getObject("id", UUID.class),
+                rs.getObject("user_id", UUID.class),
+                NotificationPrefsEntity.NotificationCategory.valueOf(rs.getString("category")),
+                NotificationPrefsEntity.NotificationChannel.valueOf(rs.getString("channel")),
+                readPayload(rs.getObject("id", UUID.class), rs.getString("payload")),
+                rs.getInt("attempts"),
+                rs.getInt("max_attempts"));
+    }
+
+    private static OffsetDateTime timestamp(Instant instant) {
+        return instant != null ? OffsetDateTime.ofInstant(instant, ZoneOffset.UTC) : null;
+    }
+
+    private String writePayload(Map<String, Object> payload) {
+        try {
+            return objectMapper.writeValueAsString(payload);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Outbox payload is not serializable", e);
+        }
+    }
+
+    private Map<String, Object> readPayload(UUID id, String json) {
+        try {
+            return json != null ? objectMapper.readValue(json, PAYLOAD_TYPE) : Map.of();
+        } catch (IOException e) {
+            // Delivery rejects the empty payload instead of failing the whole claimed batch
+            log.error("Invalid payload in outbox message {}: {}", id, e.getMessage());
+            return Map.of();
+        }
+    }
+}
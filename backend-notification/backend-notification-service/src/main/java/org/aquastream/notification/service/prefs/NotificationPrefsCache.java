@@ -0,0 +1,239 @@
+package org.aquastream.notification.service.prefs;
+
+import lombok.extern.slf4j.Slf4j;
+import org.aquastream.notification.db.entity.NotificationPrefsEntity;
+import org.aquastream.notification.db.entity.NotificationPrefsEntity.NotificationCategory;
+import org.aquastream.notification.db.entity.NotificationPrefsEntity.NotificationChannel;
+import org.aquastream.notification.db.repository.NotificationPrefsRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Read-through, size-bounded cache of the stored notification preferences of each user.
+ *
+ * A user's rows are packed into two bitmasks, one bit per (category, channel): which rows exist
+ * and which are enabled. Misses are loaded with one query per user, or one {@code IN} query for a
+ * whole batch of users. Entries are evicted least recently used above {@code max-entries}, expire
+ * after {@code ttl} as a safety net, and are invalidated on every instance through {@code notify:prefs}.
+ * A load that overlaps an invalidation is returned but not cached.
+ */
+@Component
+@Slf4j
+public class NotificationPrefsCache {
+
+    private static final int CHANNELS = NotificationChannel.values().length;
+    private static final int LOAD_CHUNK = 1000;
+
+    static {
+        if (NotificationCategory.values().length * CHANNELS > Long.SIZE) {
+            throw new IllegalStateException("Notification preferences do not fit into a long bitmask");
+        }
+    }
+
+    private final NotificationPrefsRepository repository;
+    private final long ttlNanos;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final LinkedHashMap<UUID, Entry> entries;
+    private final AtomicLong invalidations = new AtomicLong();
+    private final AtomicLong loads = new AtomicLong();
+
+    public NotificationPrefsCache(NotificationPrefsRepository repository,
+                                  @Value("${app.prefs.cache.max-entries:100000}") int maxEntries,
+                                  @Value("${app.prefs.cache.ttl:10m}") Duration ttl) {
+        this.repository = repository;
+        this.ttlNanos = ttl.toNanos();
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<UUID, Entry> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    /**
+     * Stored preferences of one user: bit {@code category * CHANNELS + channel} of {@code present}
+     * is set for every row, of {@code enabled} for every enabled row
+     */
+    public record UserPrefs(long present, long enabled) {
+
+        static final UserPrefs NONE = new UserPrefs(0, 0);
+
+        static UserPrefs of(List<NotificationPrefsEntity> rows) {
+            long present = 0;
+            long enabled = 0;
+            for (NotificationPrefsEntity row : rows) {
+                long bit = bit(row.getCategory(), row.getChannel());
+                present |= bit;
+                if (Boolean.TRUE.equals(row.getEnabled())) {
+                    enabled |= bit;
+                }
+            }
+            return new UserPrefs(present, enabled);
+        }
+
+        /**
+         * Stored value for the row, null if the user has no such row
+         */
+        public Boolean enabled(NotificationCategory category, NotificationChannel channel) {
+            long bit = bit(category, channel);
+            return (present & bit) == 0 ? null : (enabled & bit) != 0;
+        }
+
+        /**
+         * Whether the user has any row for the category
+         */
+        public boolean hasCategory(NotificationCategory category) {
+            return (present & categoryMask(category)) != 0;
+        }
+
+        /**
+         * Channels with an enabled row for the category
+         */
+        public List<NotificationChannel> enabledChannels(NotificationCategory category) {
+            List<NotificationChannel> channels = new ArrayList<>(CHANNELS);
+            for (NotificationChannel channel : NotificationChannel.values()) {
+                if ((enabled & bit(category, channel)) != 0) {
+                    channels.add(channel);
+                }
+            }
+            return channels;
+        }
+
+        private static long bit(NotificationCategory category, NotificationChannel channel) {
+            return 1L << (category.ordinal() * CHANNELS + channel.ordinal());
+        }
+
+        private static long categoryMask(NotificationCategory category) {
+            return ((1L << CHANNELS) - 1) << (category.ordinal() * CHANNELS);
+        }
+    }
+
+    private record Entry(UserPrefs prefs, long loadedAtNanos) {
+    }
+
+    public UserPrefs get(UUID userId) {
+        UserPrefs cached = getIfFresh(userId);
+        if (cached != null) {
+            return cached;
+        }
+        long generation = invalidations.get();
+        loads.incrementAndGet();
+        UserPrefs loaded = UserPrefs.of(repository.findByUserId(userId));
+        putIfCurrent(Map.of(userId, loaded), generation);
+        return loaded;
+    }
+
+    /**
+     * Preferences of many users; all misses are loaded with {@code IN} queries of up to 1000 users
+     */
+    public Map<UUID, UserPrefs> getAll(Collection<UUID> userIds) {
+        Map<UUID, UserPrefs> result = new HashMap<>(userIds.size() * 2);
+        List<UUID> missing = new ArrayList<>();
+        for (UUID userId : new LinkedHashSet<>(userIds)) {
+            UserPrefs cached = getIfFresh(userId);
+            if (cached != null) {
+                result.put(userId, cached);
+            } else {
+                missing.add(userId);
+            }
+        }
+
+        for (int from = 0; from < missing.size(); from += LOAD_CHUNK) {
+            List<UUID> chunk = missing.subList(from, Math.min(missing.size(), from + LOAD_CHUNK));
+            long generation = invalidations.get();
+            loads.incrementAndGet();
+            Map<UUID, List<NotificationPrefsEntity>> rows = new HashMap<>(chunk.size() * 2);
+            for (NotificationPrefsEntity row : repository.findByUserIdIn(chunk)) {
+                rows.computeIfAbsent(row.getUserId(), id -> new ArrayList<>()).add(row);
+            }
+            Map<UUID, UserPrefs> loaded = new HashMap<>(chunk.size() * 2);
+            for (UUID userId : chunk) {
+                List<NotificationPrefsEntity> userRows = rows.get(userId);
+                loaded.put(userId, userRows != null ? UserPrefs.of(userRows) : UserPrefs.NONE);
+            }
+            putIfCurrent(loaded, generation);
+            result.putAll(loaded);
+        }
+        return result;
+    }
+
+    public void invalidate(UUID userId) {
+        invalidations.incrementAndGet();
+        lock.lock();
+        try {
+            entries.remove(userId);
+        } finally {
+            lock.unlock();
+        }
+        log.debug("Invalidated cached notification preferences of user {}", userId);
+    }
+
+    public void clear() {
+        invalidations.incrementAndGet();
+        lock.lock();
+        try {
+            entries.clear();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int size() {
+        lock.lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Database loads so far; each loads one user or one chunk of users
+     */
+    public long loadCount() {
+        return loads.get();
+    }
+
+    private UserPrefs getIfFresh(UUID userId) {
+        lock.lock();
+        try {
+            Entry entry = entries.get(userId);
+            if (entry == null) {
+                return null;
+            }
+            if (System.nanoTime() - entry.loadedAtNanos() >= ttlNanos) {
+                entries.remove(userId);
+                return null;
+            }
+            return entry.prefs();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void putIfCurrent(Map<UUID, UserPrefs> loaded, long generation) {
+        long now = System.nanoTime();
+        lock.lock();
+        try {
+            // An invalidation during the load may have made it stale
+            if (invalidations.get() != generation) {
+                return;
+            }
+            loaded.forEach((userId, prefs) -> entries.put(userId, new Entry(prefs, now)));
+        } finally {
+            lock.unlock();
+        }
+    }
+}
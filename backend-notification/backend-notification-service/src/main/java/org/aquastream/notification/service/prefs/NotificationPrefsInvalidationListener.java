@@ -0,0 +1,38 @@
+package org.aquastream.notification.service.prefs;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.aquastream.notification.service.notification.RedisNotificationPublisher;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Drops cached preferences of a user when any instance publishes a change on {@code notify:prefs}
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class NotificationPrefsInvalidationListener implements MessageListener {
+
+    public static final String CHANNEL = "notify:prefs";
+
+    private final NotificationPrefsCache prefsCache;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        try {
+            RedisNotificationPublisher.PreferencesChangedEvent event =
+                    objectMapper.readValue(message.getBody(), RedisNotificationPublisher.PreferencesChangedEvent.class);
+            if (event.getUserId() != null) {
+                prefsCache.invalidate(event.getUserId());
+            }
+        } catch (Exception e) {
+            // Unknown change: drop everything rather than keep stale preferences
+            log.warn("Invalid preferences change event, clearing preferences cache: {}", e.getMessage());
+            prefsCache.clear();
+        }
+    }
+}
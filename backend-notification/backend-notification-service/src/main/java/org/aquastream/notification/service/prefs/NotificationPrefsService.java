@@ -8,12 +8,18 @@ import org.aquastream.notification.service.notification.RedisNotificationPublish
 import org.aquastream.notification.service.prefs.dto.NotificationPrefsDto;
 import org.aquastream.notification.service.prefs.dto.UpdatePrefsRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
@@ -25,6 +31,7 @@ public class NotificationPrefsService {
 
     private final NotificationPrefsRepository notificationPrefsRepository;
     private final RedisNotificationPublisher redisPublisher;
+    private final NotificationPrefsCache prefsCache;
 
     /**
      * Get all notification preferences for a user
@@ -73,21 +80,26 @@ public class NotificationPrefsService {
             
             NotificationPrefsEntity saved = notificationPrefsRepository.save(entity);
             updatedEntities.add(saved);
-            
-            // Publish preferences change event to Redis
-            try {
-                redisPublisher.publishPreferencesChanged(
-                        userId, 
-                        update.getCategory().name(), 
-                        update.getChannel().name(), 
-                        update.getEnabled()
-                );
-            } catch (Exception e) {
-                log.warn("Failed to publish preferences change to Redis for user {}: {}", 
-                        userId, e.getMessage());
-            }
         }
         
+        // Invalidate cached preferences here and, via notify:prefs, on other instances once committed
+        afterCommit(() -> {
+            prefsCache.invalidate(userId);
+            for (UpdatePrefsRequest.PreferenceUpdate update : request.getPreferences()) {
+                try {
+                    redisPublisher.publishPreferencesChanged(
+                            userId, 
+                            update.getCategory().name(), 
+                            update.getChannel().name(), 
+                            update.getEnabled()
+                    );
+                } catch (Exception e) {
+                    log.warn("Failed to publish preferences change to Redis for user {}: {}", 
+                            userId, e.getMessage());
+                }
+            }
+        });
+        
         return updatedEntities.stream()
                 .map(NotificationPrefsDto::fromEntity)
                 .collect(Collectors.toList());
@@ -132,6 +144,11 @@ public class NotificationPrefsService {
         // Create new default preferences
         List<NotificationPrefsEntity> defaultEntities = createDefaultPrefs(userId);
         
+        afterCommit(() -> {
+            prefsCache.invalidate(userId);
+            redisPublisher.publishPreferencesChanged(userId, "ALL", "ALL", true);
+        });
+        
         return defaultEntities.stream()
                 .map(NotificationPrefsDto::fromEntity)
                 .collect(Collectors.toList());
@@ -140,36 +157,63 @@ public class NotificationPrefsService {
     /**
      * Check if user has notification enabled for specific category and channel
      */
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public boolean isNotificationEnabled(UUID userId, 
                                        NotificationPrefsEntity.NotificationCategory category,
                                        NotificationPrefsEntity.NotificationChannel channel) {
         
-        return notificationPrefsRepository
-                .findByUserIdAndCategoryAndChannel(userId, category, channel)
-                .map(NotificationPrefsEntity::getEnabled)
-                .orElse(getDefaultEnabled(category, channel));
+        Boolean stored = prefsCache.get(userId).enabled(category, channel);
+        return stored != null ? stored : getDefaultEnabled(category, channel);
     }
 
     /**
      * Get enabled channels for user and category
      */
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public List<NotificationPrefsEntity.NotificationChannel> getEnabledChannels(
             UUID userId, NotificationPrefsEntity.NotificationCategory category) {
         
-        List<NotificationPrefsEntity> prefs = notificationPrefsRepository
-                .findByUserIdAndCategory(userId, category);
+        return enabledChannels(prefsCache.get(userId), category);
+    }
+
+    /**
+     * Enabled channels of many users for one category; cached users need no query, the rest are
+     * loaded together
+     */
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public Map<UUID, List<NotificationPrefsEntity.NotificationChannel>> getEnabledChannels(
+            Collection<UUID> userIds, NotificationPrefsEntity.NotificationCategory category) {
         
-        if (prefs.isEmpty()) {
+        Map<UUID, List<NotificationPrefsEntity.NotificationChannel>> channels = new HashMap<>(userIds.size() * 2);
+        prefsCache.getAll(userIds).forEach((userId, prefs) -> channels.put(userId, enabledChannels(prefs, category)));
+        return channels;
+    }
+
+    /**
+     * Whether each of many users has the category enabled on the channel, loading cache misses together
+     */
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public Map<UUID, Boolean> isNotificationEnabled(Collection<UUID> userIds,
+                                                    NotificationPrefsEntity.NotificationCategory category,
+                                                    NotificationPrefsEntity.NotificationChannel channel) {
+        
+        Map<UUID, Boolean> enabled = new HashMap<>(userIds.size() * 2);
+        prefsCache.getAll(userIds).forEach((userId, prefs) -> {
+            Boolean stored = prefs.enabled(category, channel);
+            enabled.put(userId, stored != null ? stored : getDefaultEnabled(category, channel));
+        });
+        return enabled;
+    }
+
+    private List<NotificationPrefsEntity.NotificationChannel> enabledChannels(
+            NotificationPrefsCache.UserPrefs prefs, NotificationPrefsEntity.NotificationCategory category) {
+        
+        if (!prefs.hasCategory(category)) {
             // Return default enabled channels for this category
             return getDefaultEnabledChannels(category);
         }
         
-        return prefs.stream()
-                .filter(NotificationPrefsEntity::getEnabled)
-                .map(NotificationPrefsEntity::getChannel)
-                .collect(Collectors.toList());
+        return prefs.enabledChannels(category);
     }
 
     private List<NotificationPrefsEntity> createDefaultPrefs(UUID userId) {
@@ -287,6 +331,20 @@ public class NotificationPrefsService {
         }
     }
 
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
     private boolean isRequiredCategory(NotificationPrefsEntity.NotificationCategory category) {
         return category == NotificationPrefsEntity.NotificationCategory.BOOKING_CONFIRMED ||
                category == NotificationPrefsEntity.NotificationCategory.PAYMENT_STATUS ||
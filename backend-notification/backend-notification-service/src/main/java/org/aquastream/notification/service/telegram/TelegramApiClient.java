@@ -0,0 +1,171 @@
+package org.aquastream.notification.service.telegram;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.aquastream.notification.service.config.TelegramProperties;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * HTTP client for the Telegram Bot API.
+ *
+ * One JDK {@link HttpClient} keeps HTTP/1.1 connections alive and reuses them; every call has a
+ * connect and a response timeout. At most {@code max-concurrent-requests} calls are in flight, and
+ * async calls run on virtual threads rather than the common ForkJoinPool.
+ *
+ * A 429 carries {@code parameters.retry_after}: Telegram limits the whole bot, so all calls pause
+ * until then and the call is retried, up to {@code max-retries} times. A wait longer than
+ * {@code max-retry-after} is not slept through; the 429 is returned to the caller.
+ */
+@Component
+@Slf4j
+public class TelegramApiClient {
+
+    private static final TypeReference<Map<String, Object>> BODY_TYPE = new TypeReference<>() {
+    };
+
+    private final TelegramProperties properties;
+    private final ObjectMapper objectMapper;
+    private final ExecutorService executor;
+    private final HttpClient httpClient;
+    private final Semaphore permits;
+    private final AtomicLong pausedUntilNanos = new AtomicLong(System.nanoTime());
+
+    public TelegramApiClient(TelegramProperties properties, ObjectMapper objectMapper) {
+        TelegramProperties.ApiConfig api = properties.getApi();
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+        this.executor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("telegram-api-", 0).factory());
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(api.getConnectTimeout())
+                .executor(executor)
+                .build();
+        this.permits = new Semaphore(Math.max(1, api.getMaxConcurrentRequests()));
+    }
+
+    /**
+     * Telegram response: HTTP status and parsed JSON body (empty if not JSON)
+     */
+    public record ApiResponse(int status, Map<String, Object> body) {
+        public boolean isSuccessful() {
+            return status >= 200 && status < 300;
+        }
+    }
+
+    /**
+     * Call a Bot API method, blocking until it completes; a null body sends a GET
+     */
+    public ApiResponse call(String method, Map<String, Object> body) throws IOException, InterruptedException {
+        int maxRetries = properties.getApi().getMaxRetries();
+        for (int attempt = 0; ; attempt++) {
+            awaitPause();
+            ApiResponse response = execute(method, body);
+            if (response.status() != 429 || attempt >= maxRetries) {
+                return response;
+            }
+            Duration retryAfter = retryAfter(response);
+            if (retryAfter.compareTo(properties.getApi().getMaxRetryAfter()) > 0) {
+                log.warn("Telegram {} rate limited for {}s, not retrying", method, retryAfter.toSeconds());
+                return response;
+            }
+            pause(retryAfter);
+            log.debug("Telegram {} rate limited, retrying in {}ms", method, retryAfter.toMillis());
+        }
+    }
+
+    /**
+     * {@link #call} on a virtual thread
+     */
+    public CompletableFuture<ApiResponse> callAsync(String method, Map<String, Object> body) {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return call(method, body);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted calling Telegram " + method, e);
+            } catch (IOException e) {
+                throw new IllegalStateException("Error calling Telegram " + method, e);
+            }
+        }, executor);
+    }
+
+    /**
+     * Whether calls are currently held back by a 429
+     */
+    public boolean isPaused() {
+        return pausedUntilNanos.get() - System.nanoTime() > 0;
+    }
+
+    @PreDestroy
+    public void close() {
+        executor.shutdown();
+    }
+
+    private ApiResponse execute(String method, Map<String, Object> body) throws IOException, InterruptedException {
+        TelegramProperties.ApiConfig api = properties.getApi();
+        HttpRequest.Builder request = HttpRequest.newBuilder()
+                .uri(URI.create(api.getBaseUrl() + properties.getBotToken() + "/" + method))
+                .timeout(api.getTimeout());
+        if (body != null) {
+            request.header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body)));
+        } else {
+            request.GET();
+        }
+
+        permits.acquire();
+        try {
+            HttpResponse<byte[]> response = httpClient.send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+            return new ApiResponse(response.statusCode(), parse(response.body()));
+        } finally {
+            permits.release();
+        }
+    }
+
+    private Map<String, Object> parse(byte[] body) {
+        if (body == null || body.length == 0) {
+            return Map.of();
+        }
+        try {
+            return objectMapper.readValue(body, BODY_TYPE);
+        } catch (IOException e) {
+            return Map.of();
+        }
+    }
+
+    private Duration retryAfter(ApiResponse response) {
+        if (response.body().get("parameters") instanceof Map<?, ?> parameters
+                && parameters.get("retry_after") instanceof Number seconds) {
+            return Duration.ofSeconds(Math.max(1, seconds.longValue()));
+        }
+        return properties.getApi().getRetryDelay();
+    }
+
+    private void pause(Duration duration) {
+        long until = System.nanoTime() + duration.toNanos();
+        pausedUntilNanos.accumulateAndGet(until, (current, proposed) -> proposed - current > 0 ? proposed : current);
+    }
+
+    private void awaitPause() throws InterruptedException {
+        long waitNanos;
+        while ((waitNanos = pausedUntilNanos.get() - System.nanoTime()) > 0) {
+            TimeUnit.NANOSECONDS.sleep(waitNanos);
+        }
+    }
+}
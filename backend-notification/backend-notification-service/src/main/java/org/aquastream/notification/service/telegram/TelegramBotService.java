@@ -1,15 +1,11 @@
 package org.aquastream.notification.service.telegram;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.aquastream.notification.service.config.TelegramProperties;
-import org.springframework.http.*;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestClientException;
-import org.springframework.web.client.RestTemplate;
 
-import java.time.Duration;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 
@@ -19,8 +15,7 @@ import java.util.concurrent.CompletableFuture;
 public class TelegramBotService {
 
     private final TelegramProperties telegramProperties;
-    private final RestTemplate restTemplate = new RestTemplate();
-    private final ObjectMapper objectMapper;
+    private final TelegramApiClient apiClient;
 
     /**
      * Send text message to chat
@@ -44,55 +39,56 @@ public class TelegramBotService {
         }
 
         try {
-            String url = telegramProperties.getApi().getBaseUrl() + telegramProperties.getBotToken() + "/sendMessage";
+            TelegramApiClient.ApiResponse response = apiClient.call("sendMessage", messageBody(chatId, text, replyMarkup));
             
-            Map<String, Object> requestBody = Map.of(
-                "chat_id", chatId,
-                "text", text.trim(),
-                "parse_mode", "HTML",
-                "disable_web_page_preview", true
-            );
-
-            // Add reply markup if provided
-            if (replyMarkup != null && !replyMarkup.isEmpty()) {
-                requestBody = Map.of(
-                    "chat_id", chatId,
-                    "text", text.trim(),
-                    "parse_mode", "HTML",
-                    "disable_web_page_preview", true,
-                    "reply_markup", replyMarkup
-                );
-            }
-
-            HttpHeaders headers = new HttpHeaders();
-            headers.setContentType(MediaType.APPLICATION_JSON);
-            
-            HttpEntity<Map<String, Object>> request = new HttpEntity<>(requestBody, headers);
-            
-            ResponseEntity<Map> response = restTemplate.postForEntity(url, request, Map.class);
-            
-            if (response.getStatusCode().is2xxSuccessful()) {
+            if (response.isSuccessful()) {
                 log.debug("Message sent successfully to chat {}", chatId);
                 return true;
             } else {
-                log.warn("Failed to send message to chat {}: HTTP {}", chatId, response.getStatusCode());
+                log.warn("Failed to send message to chat {}: HTTP {}", chatId, response.status());
                 return false;
             }
             
-        } catch (RestClientException e) {
-            log.error("Error sending message to chat {}", chatId, e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.warn("Interrupted sending message to chat {}", chatId);
             return false;
         } catch (Exception e) {
-            log.error("Unexpected error sending message to chat {}", chatId, e);
+            log.error("Error sending message to chat {}", chatId, e);
             return false;
         }
     }
 
     /**
-     * Send message asynchronously
+     * Send message asynchronously on a virtual thread of the API client
      */
     public CompletableFuture<Boolean> sendMessageAsync(Long chatId, String text) {
-        return CompletableFuture.supplyAsync(() -> sendMessage(chatId, text));
+        if (!telegramProperties.isBotEnabled() || chatId == null || text == null || text.trim().isEmpty()) {
+            return CompletableFuture.completedFuture(sendMessage(chatId, text));
+        }
+        return apiClient.callAsync("sendMessage", messageBody(chatId, text, null))
+                .thenApply(response -> {
+                    if (!response.isSuccessful()) {
+                        log.warn("Failed to send message to chat {}: HTTP {}", chatId, response.status());
+                    }
+                    return response.isSuccessful();
+                })
+                .exceptionally(e -> {
+                    log.error("Error sending message to chat {}", chatId, e);
+                    return false;
+                });
+    }
+
+    private static Map<String, Object> messageBody(Long chatId, String text, Map<String, Object> replyMarkup) {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("chat_id", chatId);
+        body.put("text", text.trim());
+        body.put("parse_mode", "HTML");
+        body.put("disable_web_page_preview", true);
+        if (replyMarkup != null && !replyMarkup.isEmpty()) {
+            body.put("reply_markup", replyMarkup);
+        }
+        return body;
     }
 
     /**
@@ -111,40 +107,30 @@ public class TelegramBotService {
         }
 
         try {
-            String url = telegramProperties.getApi().getBaseUrl() + telegramProperties.getBotToken() + "/setWebhook";
-            
-            Map<String, Object> requestBody = Map.of(
-                "url", webhookUrl.trim(),
-                "max_connections", 40,
-                "drop_pending_updates", true
-            );
-
+            Map<String, Object> requestBody = new LinkedHashMap<>();
+            requestBody.put("url", webhookUrl.trim());
             // Add secret token if configured
             String secret = telegramProperties.getWebhookSecret();
             if (secret != null && !secret.trim().isEmpty()) {
-                requestBody = Map.of(
-                    "url", webhookUrl.trim(),
-                    "secret_token", secret.trim(),
-                    "max_connections", 40,
-                    "drop_pending_updates", true
-                );
+                requestBody.put("secret_token", secret.trim());
             }
+            requestBody.put("max_connections", 40);
+            requestBody.put("drop_pending_updates", true);
 
-            HttpHeaders headers = new HttpHeaders();
-            headers.setContentType(MediaType.APPLICATION_JSON);
-            
-            HttpEntity<Map<String, Object>> request = new HttpEntity<>(requestBody, headers);
-            
-            ResponseEntity<Map> response = restTemplate.postForEntity(url, request, Map.class);
+            TelegramApiClient.ApiResponse response = apiClient.call("setWebhook", requestBody);
             
-            if (response.getStatusCode().is2xxSuccessful()) {
+            if (response.isSuccessful()) {
                 log.info("Webhook set successfully: {}", webhookUrl);
                 return true;
             } else {
-                log.error("Failed to set webhook: HTTP {}", response.getStatusCode());
+                log.error("Failed to set webhook: HTTP {}", response.status());
                 return false;
             }
             
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.error("Interrupted setting webhook");
+            return false;
         } catch (Exception e) {
             log.error("Error setting webhook", e);
             return false;
@@ -161,25 +147,20 @@ public class TelegramBotService {
         }
 
         try {
-            String url = telegramProperties.getApi().getBaseUrl() + telegramProperties.getBotToken() + "/deleteWebhook";
-            
-            Map<String, Object> requestBody = Map.of("drop_pending_updates", true);
-
-            HttpHeaders headers = new HttpHeaders();
-            headers.setContentType(MediaType.APPLICATION_JSON);
+            TelegramApiClient.ApiResponse response = apiClient.call("deleteWebhook", Map.of("drop_pending_updates", true));
             
-            HttpEntity<Map<String, Object>> request = new HttpEntity<>(requestBody, headers);
-            
-            ResponseEntity<Map> response = restTemplate.postForEntity(url, request, Map.class);
-            
-            if (response.getStatusCode().is2xxSuccessful()) {
+            if (response.isSuccessful()) {
                 log.info("Webhook deleted successfully");
                 return true;
             } else {
-                log.error("Failed to delete webhook: HTTP {}", response.getStatusCode());
+                log.error("Failed to delete webhook: HTTP {}", response.status());
                 return false;
             }
             
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.error("Interrupted deleting webhook");
+            return false;
         } catch (Exception e) {
             log.error("Error deleting webhook", e);
             return false;
@@ -195,16 +176,17 @@ public class TelegramBotService {
         }
 
         try {
-            String url = telegramProperties.getApi().getBaseUrl() + telegramProperties.getBotToken() + "/getWebhookInfo";
+            TelegramApiClient.ApiResponse response = apiClient.call("getWebhookInfo", null);
             
-            ResponseEntity<Map> response = restTemplate.getForEntity(url, Map.class);
-            
-            if (response.getStatusCode().is2xxSuccessful()) {
-                return response.getBody();
+            if (response.isSuccessful()) {
+                return response.body();
             } else {
-                return Map.of("error", "HTTP " + response.getStatusCode());
+                return Map.of("error", "HTTP " + response.status());
             }
             
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return Map.of("error", "interrupted");
         } catch (Exception e) {
             log.error("Error getting webhook info", e);
             return Map.of("error", e.getMessage());
@@ -220,16 +202,17 @@ public class TelegramBotService {
         }
 
         try {
-            String url = telegramProperties.getApi().getBaseUrl() + telegramProperties.getBotToken() + "/getMe";
-            
-            ResponseEntity<Map> response = restTemplate.getForEntity(url, Map.class);
+            TelegramApiClient.ApiResponse response = apiClient.call("getMe", null);
             
-            if (response.getStatusCode().is2xxSuccessful()) {
-                return response.getBody();
+            if (response.isSuccessful()) {
+                return response.body();
             } else {
-                return Map.of("error", "HTTP " + response.getStatusCode());
+                return Map.of("error", "HTTP " + response.status());
             }
             
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return Map.of("error", "interrupted");
         } catch (Exception e) {
             log.error("Error getting bot info", e);
             return Map.of("error", e.getMessage());
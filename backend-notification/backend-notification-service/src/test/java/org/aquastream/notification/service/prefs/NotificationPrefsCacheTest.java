@@ -0,0 +1,145 @@
+package org.aquastream.notification.service.prefs;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.aquastream.notification.db.entity.NotificationPrefsEntity;
+import org.aquastream.notification.db.entity.NotificationPrefsEntity.NotificationCategory;
+import org.aquastream.notification.db.entity.NotificationPrefsEntity.NotificationChannel;
+import org.aquastream.notification.db.repository.NotificationPrefsRepository;
+import org.aquastream.notification.service.notification.RedisNotificationPublisher;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.connection.DefaultMessage;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * NotificationPrefsCache over a mocked repository, counting the queries that reach it
+ */
+@ExtendWith(MockitoExtension.class)
+class NotificationPrefsCacheTest {
+
+    @Mock
+    private NotificationPrefsRepository repository;
+
+    private NotificationPrefsCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new NotificationPrefsCache(repository, 100, Duration.ofMinutes(10));
+    }
+
+    @Test
+    void packsStoredRowsPerCategory() {
+        UUID userId = UUID.randomUUID();
+        when(repository.findByUserId(userId)).thenReturn(List.of(
+                row(userId, NotificationCategory.EVENT_NEWS, NotificationChannel.TELEGRAM, true),
+                row(userId, NotificationCategory.EVENT_NEWS, NotificationChannel.EMAIL, false)));
+
+        NotificationPrefsCache.UserPrefs prefs = cache.get(userId);
+
+        assertTrue(prefs.hasCategory(NotificationCategory.EVENT_NEWS));
+        assertFalse(prefs.hasCategory(NotificationCategory.WAITLIST_AVAILABLE));
+        assertEquals(true, prefs.enabled(NotificationCategory.EVENT_NEWS, NotificationChannel.TELEGRAM));
+        assertEquals(false, prefs.enabled(NotificationCategory.EVENT_NEWS, NotificationChannel.EMAIL));
+        assertNull(prefs.enabled(NotificationCategory.EVENT_NEWS, NotificationChannel.SMS));
+        assertEquals(List.of(NotificationChannel.TELEGRAM), prefs.enabledChannels(NotificationCategory.EVENT_NEWS));
+    }
+
+    @Test
+    void repeatedLookupsHitTheCache() {
+        UUID userId = UUID.randomUUID();
+        when(repository.findByUserId(userId)).thenReturn(List.of(
+                row(userId, NotificationCategory.EVENT_NEWS, NotificationChannel.TELEGRAM, true)));
+
+        for (int i = 0; i < 100; i++) {
+            cache.get(userId);
+        }
+
+        verify(repository, times(1)).findByUserId(userId);
+    }
+
+    @Test
+    void bulkLookupLoadsAllMissesInOneQuery() {
+        List<UUID> participants = new ArrayList<>();
+        List<NotificationPrefsEntity> rows = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            UUID userId = UUID.randomUUID();
+            participants.add(userId);
+            if (i % 2 == 0) {
+                rows.add(row(userId, NotificationCategory.EVENT_NEWS, NotificationChannel.TELEGRAM, true));
+            }
+        }
+        when(repository.findByUserIdIn(anyCollection())).thenReturn(rows);
+        cache = new NotificationPrefsCache(repository, 1000, Duration.ofMinutes(10));
+
+        Map<UUID, NotificationPrefsCache.UserPrefs> first = cache.getAll(participants);
+        assertEquals(300, first.size());
+        verify(repository, times(1)).findByUserIdIn(anyCollection());
+        assertFalse(first.get(participants.get(1)).hasCategory(NotificationCategory.EVENT_NEWS));
+
+        cache.getAll(participants);
+        verify(repository, times(1)).findByUserIdIn(anyCollection());
+        verify(repository, never()).findByUserId(any());
+    }
+
+    @Test
+    void invalidationReloadsUser() {
+        UUID userId = UUID.randomUUID();
+        NotificationPrefsEntity telegram = row(userId, NotificationCategory.EVENT_NEWS, NotificationChannel.TELEGRAM, true);
+        when(repository.findByUserId(userId)).thenReturn(List.of(telegram));
+        cache.get(userId);
+
+        telegram.setEnabled(false);
+        cache.invalidate(userId);
+
+        assertEquals(false, cache.get(userId).enabled(NotificationCategory.EVENT_NEWS, NotificationChannel.TELEGRAM));
+        verify(repository, times(2)).findByUserId(userId);
+    }
+
+    @Test
+    void leastRecentlyUsedUsersAreEvicted() {
+        for (int i = 0; i < 150; i++) {
+            cache.get(UUID.randomUUID());
+        }
+
+        assertEquals(100, cache.size());
+    }
+
+    @Test
+    void preferencesChangeEventInvalidatesUser() throws Exception {
+        UUID userId = UUID.randomUUID();
+        cache.get(userId);
+        ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+        NotificationPrefsInvalidationListener listener = new NotificationPrefsInvalidationListener(cache, objectMapper);
+        String event = objectMapper.writeValueAsString(RedisNotificationPublisher.PreferencesChangedEvent.builder()
+                .userId(userId).category("EVENT_NEWS").channel("TELEGRAM").enabled(false).timestamp(Instant.now())
+                .build());
+
+        listener.onMessage(new DefaultMessage(NotificationPrefsInvalidationListener.CHANNEL.getBytes(StandardCharsets.UTF_8),
+                event.getBytes(StandardCharsets.UTF_8)), null);
+
+        assertEquals(0, cache.size());
+    }
+
+    private static NotificationPrefsEntity row(UUID userId, NotificationCategory category,
+                                               NotificationChannel channel, boolean enabled) {
+        return NotificationPrefsEntity.builder()
+                .id(new NotificationPrefsEntity.NotificationPrefsId(userId, category, channel))
+                .enabled(enabled)
+                .build();
+    }
+}
@@ -0,0 +1,208 @@
+package org.aquastream.notification.service.telegram;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.aquastream.notification.service.config.TelegramProperties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntFunction;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * {@link TelegramApiClient} against a local mock of the Bot API that answers like
+ * {@code MockTelegramController}, with configurable latency and 429 responses.
+ */
+class TelegramApiClientTest {
+
+    private static final String OK = "{\"ok\":true,\"result\":{\"message_id\":1,\"chat\":{\"id\":1}}}";
+    private static final String TOO_MANY = "{\"ok\":false,\"error_code\":429,"
+            + "\"description\":\"Too Many Requests: retry after 1\",\"parameters\":{\"retry_after\":1}}";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final AtomicInteger requests = new AtomicInteger();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger maxInFlight = new AtomicInteger();
+    private volatile int rateLimitedResponses;
+    private volatile Duration latency = Duration.ZERO;
+    private HttpServer server;
+    private ExecutorService serverExecutor;
+    private TelegramApiClient client;
+
+    @BeforeEach
+    void startServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 1024);
+        serverExecutor = Executors.newVirtualThreadPerTaskExecutor();
+        server.setExecutor(serverExecutor);
+        server.createContext("/bot", this::handle);
+        server.start();
+    }
+
+    @AfterEach
+    void stopServer() {
+        if (client != null) {
+            client.close();
+        }
+        server.stop(0);
+        serverExecutor.shutdownNow();
+    }
+
+    @Test
+    void sendMessageReturnsParsedBody() throws Exception {
+        client = client(4);
+
+        TelegramApiClient.ApiResponse response = client.call("sendMessage", Map.of("chat_id", 1, "text", "hi"));
+
+        assertTrue(response.isSuccessful());
+        assertEquals(true, response.body().get("ok"));
+        assertEquals(1, requests.get());
+    }
+
+    @Test
+    void rateLimitedCallIsRetriedAfterRetryAfter() throws Exception {
+        client = client(4);
+        rateLimitedResponses = 1;
+
+        long start = System.nanoTime();
+        TelegramApiClient.ApiResponse response = client.call("sendMessage", Map.of("chat_id", 1, "text", "hi"));
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        assertTrue(response.isSuccessful());
+        assertEquals(2, requests.get());
+        assertTrue(elapsedMillis >= 1_000, "retry_after not honoured: " + elapsedMillis + "ms");
+        assertFalse(client.isPaused());
+    }
+
+    @Test
+    void rateLimitBeyondMaxRetriesIsReturned() throws Exception {
+        TelegramProperties properties = properties(4);
+        properties.getApi().setMaxRetries(0);
+        client = new TelegramApiClient(properties, objectMapper);
+        rateLimitedResponses = 1;
+
+        TelegramApiClient.ApiResponse response = client.call("sendMessage", Map.of("chat_id", 1, "text", "hi"));
+
+        assertEquals(429, response.status());
+        assertFalse(response.isSuccessful());
+    }
+
+    @Test
+    void concurrentRequestsAreBounded() {
+        client = client(4);
+        latency = Duration.ofMillis(20);
+
+        List<CompletableFuture<TelegramApiClient.ApiResponse>> futures = new ArrayList<>();
+        for (int i = 0; i < 64; i++) {
+            futures.add(client.callAsync("sendMessage", Map.of("chat_id", i, "text", "hi")));
+        }
+        futures.forEach(f -> assertTrue(f.join().isSuccessful()));
+
+        assertEquals(64, requests.get());
+        assertTrue(maxInFlight.get() <= 4, "in flight: " + maxInFlight.get());
+    }
+
+    @Test
+    void asyncCallsOverlapUpToPoolSize() {
+        client = client(64);
+        latency = Duration.ofMillis(20);
+
+        List<CompletableFuture<TelegramApiClient.ApiResponse>> futures = new ArrayList<>();
+        for (int i = 0; i < 256; i++) {
+            futures.add(client.callAsync("sendMessage", Map.of("chat_id", i, "text", "hi")));
+        }
+        futures.forEach(f -> assertTrue(f.join().isSuccessful()));
+
+        assertEquals(256, requests.get());
+        assertTrue(maxInFlight.get() > 1, "calls were not sent concurrently");
+        assertTrue(maxInFlight.get() <= 64, "in flight: " + maxInFlight.get());
+    }
+
+    /**
+     * sendMessage throughput with 20ms API latency: RestTemplate on the common pool vs the pooled client
+     */
+    @Test
+    @Tag("benchmark")
+    void benchmarkThroughput() {
+        int messages = 2_000;
+        latency = Duration.ofMillis(20);
+        client = client(64);
+        String url = "http://127.0.0.1:" + server.getAddress().getPort() + "/bottoken/sendMessage";
+        RestTemplate restTemplate = new RestTemplate();
+
+        double before = throughput(messages, i -> CompletableFuture.supplyAsync(() ->
+                restTemplate.postForEntity(url, Map.of("chat_id", i, "text", "hi"), Map.class)
+                        .getStatusCode().is2xxSuccessful()));
+        double after = throughput(messages, i -> client.callAsync("sendMessage", Map.of("chat_id", i, "text", "hi"))
+                .thenApply(TelegramApiClient.ApiResponse::isSuccessful));
+
+        System.out.printf("Telegram sendMessage with %dms API latency: RestTemplate on common pool %.0f messages/sec, "
+                + "TelegramApiClient %.0f messages/sec%n", latency.toMillis(), before, after);
+    }
+
+    private double throughput(int messages, IntFunction<CompletableFuture<Boolean>> send) {
+        long start = System.nanoTime();
+        List<CompletableFuture<Boolean>> futures = new ArrayList<>(messages);
+        for (int i = 0; i < messages; i++) {
+            futures.add(send.apply(i));
+        }
+        futures.forEach(f -> assertTrue(f.join()));
+        return messages / ((System.nanoTime() - start) / 1_000_000_000.0);
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        requests.incrementAndGet();
+        int current = inFlight.incrementAndGet();
+        maxInFlight.accumulateAndGet(current, Math::max);
+        try {
+            exchange.getRequestBody().readAllBytes();
+            if (!latency.isZero()) {
+                Thread.sleep(latency);
+            }
+            boolean limited;
+            synchronized (this) {
+                limited = rateLimitedResponses > 0;
+                if (limited) {
+                    rateLimitedResponses--;
+                }
+            }
+            byte[] body = (limited ? TOO_MANY : OK).getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.sendResponseHeaders(limited ? 429 : 200, body.length);
+            exchange.getResponseBody().write(body);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            inFlight.decrementAndGet();
+            exchange.close();
+        }
+    }
+
+    private TelegramApiClient client(int maxConcurrentRequests) {
+        return new TelegramApiClient(properties(maxConcurrentRequests), objectMapper);
+    }
+
+    private TelegramProperties properties(int maxConcurrentRequests) {
+        TelegramProperties properties = new TelegramProperties();
+        properties.getBot().setToken("token");
+        properties.getApi().setBaseUrl("http://127.0.0.1:" + server.getAddress().getPort() + "/bot");
+        properties.getApi().setTimeout(Duration.ofSeconds(5));
+        properties.getApi().setMaxConcurrentRequests(maxConcurrentRequests);
+        return properties;
+    }
+}
@@ -28,6 +28,10 @@ public class UserEntity {
     @Column(name = "role", nullable = false, length = 20)
     private String role;
 
+    @Column(name = "role_version", nullable = false)
+    @Builder.Default
+    private long roleVersion = 0;
+
     @Column(name = "active", nullable = false)
     @Builder.Default
     private boolean active = true;
@@ -0,0 +1,5 @@
+
+
+-- Role version: incremented on every role change, carried in access tokens as the "rv" claim
+ALTER TABLE "user".users ADD COLUMN IF NOT EXISTS role_version BIGINT NOT NULL DEFAULT 0;
+
@@ -6,9 +6,9 @@ import jakarta.servlet.http.Cookie;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
-import org.aquastream.user.db.entity.UserEntity;
-import org.aquastream.user.db.repository.UserRepository;
+import org.aquastream.user.service.AccessTokenClaims;
 import org.aquastream.user.service.AuthService;
+import org.aquastream.user.service.UserRoleCache;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -17,29 +17,31 @@ import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
 import java.util.List;
-import java.util.UUID;
 
+/**
+ * Authenticates the "access" cookie from its claims; {@link UserRoleCache} reads each user at
+ * most once per TTL to reject deleted users and tokens with a stale role version.
+ */
 @Component
 @RequiredArgsConstructor
 public class JwtCookieAuthenticationFilter extends OncePerRequestFilter {
     private final AuthService authService;
-    private final UserRepository users;
+    private final UserRoleCache userRoles;
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
         try {
             String token = getCookie(request, "access");
             if (token != null && !token.isEmpty()) {
-                UUID userId = authService.parseTokenSubject(token);
-                UserEntity user = users.findById(userId).orElse(null);
-                if (user != null) {
+                AccessTokenClaims claims = authService.parseAccessToken(token);
+                userRoles.resolveRole(claims).ifPresent(role -> {
                     var auth = new UsernamePasswordAuthenticationToken(
-                            user.getId().toString(),
+                            claims.userId().toString(),
                             null,
-                            List.of(new SimpleGrantedAuthority("ROLE_" + user.getRole()))
+                            List.of(new SimpleGrantedAuthority("ROLE_" + role))
                     );
                     SecurityContextHolder.getContext().setAuthentication(auth);
-                }
+                });
             }
         } catch (Exception ignored) { }
         filterChain.doFilter(request, response);
@@ -53,4 +55,3 @@ public class JwtCookieAuthenticationFilter extends OncePerRequestFilter {
         return null;
     }
 }
-
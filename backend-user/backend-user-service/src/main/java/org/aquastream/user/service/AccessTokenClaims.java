@@ -0,0 +1,8 @@
+package org.aquastream.user.service;
+
+import java.util.UUID;
+
+/**
+ * Verified access token claims; {@code roleVersion} is 0 for tokens issued before role versions existed
+ */
+public record AccessTokenClaims(UUID userId, String role, long roleVersion) { }
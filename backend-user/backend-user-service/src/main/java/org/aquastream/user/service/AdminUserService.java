@@ -10,6 +10,7 @@ import org.aquastream.user.service.dto.UserSummary;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Instant;
 import java.util.List;
@@ -20,6 +21,7 @@ import java.util.UUID;
 public class AdminUserService {
     private final UserRepository users;
     private final AuditLogRepository auditLogs;
+    private final UserRoleCache userRoles;
 
     public PagedResponse<UserSummary> listUsers(int page, int size, String q, String role) {
         Page<UserEntity> res;
@@ -47,10 +49,13 @@ public class AdminUserService {
                 .build();
     }
 
+    @Transactional
     public void changeRole(UUID actorUserId, UUID userId, String newRole) {
         UserEntity user = users.findById(userId).orElseThrow();
         user.setRole(newRole);
+        user.setRoleVersion(user.getRoleVersion() + 1);
         users.save(user);
+        userRoles.roleChanged(userId, user.getRoleVersion());
         auditLogs.save(AuditLogEntity.builder()
                 .id(UUID.randomUUID())
                 .actorUserId(actorUserId)
@@ -1,9 +1,12 @@
 package org.aquastream.user.service;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
 import lombok.RequiredArgsConstructor;
+import org.aquastream.common.security.TokenRevocation;
+import org.aquastream.common.security.TokenRevocationPublisher;
 import org.aquastream.user.db.entity.UserEntity;
 import org.aquastream.user.db.repository.UserRepository;
 import org.aquastream.user.db.entity.RefreshSessionEntity;
@@ -16,6 +19,8 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.web.server.ResponseStatusException;
 
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
 import java.time.Instant;
 import java.util.Date;
 import java.util.List;
@@ -25,9 +30,11 @@ import java.util.UUID;
 @RequiredArgsConstructor
 public class AuthService {
     private static final Logger log = LoggerFactory.getLogger(AuthService.class);
+    static final String ROLE_VERSION_CLAIM = "rv";
     private final UserRepository users;
     private final RefreshSessionRepository refreshSessions;
     private final PasswordEncoder encoder;
+    private final TokenRevocationPublisher tokenRevocations;
 
     @Value("${app.jwt.secret:dev-secret-change-me}")
     private String jwtSecretStr;
@@ -41,6 +48,8 @@ public class AuthService {
     @Value("${app.logging.maskPII:true}")
     private boolean maskPii;
 
+    private volatile SigningKey signingKey;
+
     public UUID register(String username, String rawPassword) {
         users.findByUsernameIgnoreCase(username).ifPresent(u -> {
             throw new ResponseStatusException(HttpStatus.CONFLICT, "User already exists");
@@ -58,13 +67,14 @@ public class AuthService {
 
     public String issueAccessToken(UserEntity user, long ttlSeconds) {
         Instant now = Instant.now();
-        var key = Keys.hmacShaKeyFor(jwtSecretStr.getBytes(java.nio.charset.StandardCharsets.UTF_8));
         return Jwts.builder()
                 .subject(user.getId().toString())
                 .claim("role", user.getRole())
+                .claim(ROLE_VERSION_CLAIM, user.getRoleVersion())
+                .claim(TokenRevocation.ISSUED_AT_MILLIS_CLAIM, now.toEpochMilli())
                 .issuedAt(Date.from(now))
                 .expiration(Date.from(now.plusSeconds(ttlSeconds)))
-                .signWith(key, Jwts.SIG.HS512)
+                .signWith(signingKey().key(), Jwts.SIG.HS512)
                 .compact();
     }
 
@@ -79,13 +89,21 @@ public class AuthService {
     }
 
     public UUID parseTokenSubject(String jwt) {
-        var key = Keys.hmacShaKeyFor(jwtSecretStr.getBytes(java.nio.charset.StandardCharsets.UTF_8));
-        Claims claims = Jwts.parser()
-                .verifyWith(key)
-                .build()
+        return parseAccessToken(jwt).userId();
+    }
+
+    /**
+     * Verify an access token and read its claims without touching the database
+     */
+    public AccessTokenClaims parseAccessToken(String jwt) {
+        Claims claims = signingKey().parser()
                 .parseSignedClaims(jwt)
                 .getPayload();
-        return UUID.fromString(claims.getSubject());
+        Number roleVersion = claims.get(ROLE_VERSION_CLAIM, Number.class);
+        return new AccessTokenClaims(
+                UUID.fromString(claims.getSubject()),
+                claims.get("role", String.class),
+                roleVersion != null ? roleVersion.longValue() : 0);
     }
 
     public RefreshSessionEntity issueRefreshSession(UUID userId) {
@@ -135,10 +153,13 @@ public class AuthService {
     /**
      * Revoke all active sessions for a user.
      * Used for password reset, account security events, etc.
+     * Access tokens already issued are revoked at the gateway through the revocation epoch.
      */
     public int revokeAllUserSessions(UUID userId) {
         log.info("user.sessions.revokeAll userId={}", userId);
-        return Math.toIntExact(refreshSessions.deleteByUserId(userId));
+        int revoked = Math.toIntExact(refreshSessions.deleteByUserId(userId));
+        tokenRevocations.revokeAll(userId);
+        return revoked;
     }
     
     /**
@@ -172,6 +193,21 @@ public class AuthService {
         return value.charAt(0) + "***" + value.charAt(value.length() - 1);
     }
 
+    /**
+     * HMAC key and parser, built once per secret instead of on every token
+     */
+    private SigningKey signingKey() {
+        SigningKey current = signingKey;
+        if (current == null || !current.secret().equals(jwtSecretStr)) {
+            SecretKey key = Keys.hmacShaKeyFor(jwtSecretStr.getBytes(StandardCharsets.UTF_8));
+            current = new SigningKey(jwtSecretStr, key, Jwts.parser().verifyWith(key).build());
+            signingKey = current;
+        }
+        return current;
+    }
+
+    private record SigningKey(String secret, SecretKey key, JwtParser parser) { }
+
     public int getAccessTtlSeconds() {
         return Math.toIntExact(accessTtlSeconds);
     }
@@ -0,0 +1,147 @@
+package org.aquastream.user.service;
+
+import jakarta.annotation.PostConstruct;
+import org.aquastream.common.security.RoleChangeBroadcaster;
+import org.aquastream.user.db.entity.UserEntity;
+import org.aquastream.user.db.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Decides which role an access token grants without a database lookup per request.
+ *
+ * Each user is read at most once per short TTL into a size-bounded map; a user that no longer exists
+ * is cached as absent and its tokens are rejected. The token's {@code role} claim is trusted unless
+ * the cached {@code role_version} is newer than the token's, then the cached role applies.
+ *
+ * Committed role changes are announced to all instances over Redis ({@link RoleChangeBroadcaster});
+ * receivers drop the cached user and ignore loads older than the announced version. An instance that
+ * misses an announcement sees the change when its cached entry expires.
+ */
+@Component
+public class UserRoleCache {
+
+    private final UserRepository users;
+    private final RoleChangeBroadcaster broadcaster;
+    private final int maxEntries;
+    private final long ttlMillis;
+    private final Map<UUID, RoleChange> roleChanges = new ConcurrentHashMap<>();
+    private final Map<UUID, CachedRole> roles = new ConcurrentHashMap<>();
+
+    public UserRoleCache(UserRepository users,
+                         RoleChangeBroadcaster broadcaster,
+                         @Value("${app.auth.role-cache.max-entries:10000}") int maxEntries,
+                         @Value("${app.auth.role-cache.ttl:30s}") Duration ttl) {
+        this.users = users;
+        this.broadcaster = broadcaster;
+        this.maxEntries = maxEntries;
+        this.ttlMillis = ttl.toMillis();
+    }
+
+    private record RoleChange(long version, long changedAtMillis) { }
+
+    /**
+     * Role and version of a loaded user, null role if the user does not exist
+     */
+    private record CachedRole(String role, long version, long expiresAtMillis) { }
+
+    @PostConstruct
+    void subscribe() {
+        broadcaster.subscribe(change -> invalidate(change.userId(), change.roleVersion()));
+    }
+
+    /**
+     * Current role for a verified token, empty if the user no longer exists
+     */
+    public Optional<String> resolveRole(AccessTokenClaims claims) {
+        UUID userId = claims.userId();
+        long now = System.currentTimeMillis();
+        CachedRole cached = roles.get(userId);
+        if (cached == null || now >= cached.expiresAtMillis() || olderThanKnownChange(userId, cached, now)) {
+            cached = load(userId, now);
+        }
+
+        if (cached.role() == null) {
+            return Optional.empty();
+        }
+        return Optional.of(claims.roleVersion() >= cached.version() ? claims.role() : cached.role());
+    }
+
+    /**
+     * Announce a role change once the current transaction commits; a rolled back change is never seen
+     */
+    public void roleChanged(UUID userId, long roleVersion) {
+        afterCommit(() -> {
+            invalidate(userId, roleVersion);
+            broadcaster.publish(userId, roleVersion);
+        });
+    }
+
+    /**
+     * Drop the cached role of a user whose role changed to {@code roleVersion} on any instance
+     */
+    public void invalidate(UUID userId, long roleVersion) {
+        long now = System.currentTimeMillis();
+        roleChanges.merge(userId, new RoleChange(roleVersion, now),
+                (old, updated) -> old.version() >= updated.version() ? old : updated);
+        roles.remove(userId);
+        if (roleChanges.size() > maxEntries) {
+            roleChanges.values().removeIf(c -> now - c.changedAtMillis() >= ttlMillis);
+        }
+    }
+
+    private boolean olderThanKnownChange(UUID userId, CachedRole cached, long now) {
+        RoleChange change = roleChanges.get(userId);
+        if (change == null) {
+            return false;
+        }
+        if (now - change.changedAtMillis() >= ttlMillis) {
+            // Every entry loaded before the change has expired by now
+            roleChanges.remove(userId, change);
+            return false;
+        }
+        return cached.version() < change.version();
+    }
+
+    private CachedRole load(UUID userId, long now) {
+        Optional<UserEntity> user = users.findById(userId);
+        CachedRole loaded = user
+                .map(u -> new CachedRole(u.getRole(), u.getRoleVersion(), now + ttlMillis))
+                .orElseGet(() -> new CachedRole(null, 0, now + ttlMillis));
+        put(userId, loaded);
+        return loaded;
+    }
+
+    private void put(UUID userId, CachedRole role) {
+        if (roles.size() >= maxEntries) {
+            long now = System.currentTimeMillis();
+            roles.values().removeIf(r -> now >= r.expiresAtMillis());
+            if (roles.size() >= maxEntries) {
+                return;
+            }
+        }
+        roles.put(userId, role);
+    }
+
+    private static void afterCommit(Runnable callback) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            callback.run();
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                callback.run();
+            }
+        });
+    }
+}
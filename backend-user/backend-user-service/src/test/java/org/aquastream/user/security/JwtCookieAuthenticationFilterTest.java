@@ -0,0 +1,223 @@
+package org.aquastream.user.security;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import jakarta.servlet.http.Cookie;
+import org.aquastream.common.security.RoleChangeBroadcaster;
+import org.aquastream.common.security.TokenRevocationPublisher;
+import org.aquastream.user.db.entity.UserEntity;
+import org.aquastream.user.db.repository.RefreshSessionRepository;
+import org.aquastream.user.db.repository.UserRepository;
+import org.aquastream.user.service.AuthService;
+import org.aquastream.user.service.UserRoleCache;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class JwtCookieAuthenticationFilterTest {
+
+    private static final String SECRET = "test-secret-key-for-jwt-validation-that-is-long-enough-for-hs512-algorithm";
+
+    private UserRepository users;
+    private AuthService authService;
+    private UserRoleCache userRoles;
+    private JwtCookieAuthenticationFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        users = mock(UserRepository.class);
+        authService = new AuthService(users, mock(RefreshSessionRepository.class), mock(PasswordEncoder.class),
+                mock(TokenRevocationPublisher.class));
+        ReflectionTestUtils.setField(authService, "jwtSecretStr", SECRET);
+        userRoles = new UserRoleCache(users, mock(RoleChangeBroadcaster.class), 100, Duration.ofSeconds(30));
+        filter = new JwtCookieAuthenticationFilter(authService, userRoles);
+    }
+
+    @AfterEach
+    void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void readsUserOncePerTtl() throws Exception {
+        UserEntity user = user("ORGANIZER", 0);
+        when(users.findById(user.getId())).thenReturn(Optional.of(user));
+        String token = authService.issueAccessToken(user, 900);
+
+        Authentication first = authenticate(token);
+        Authentication second = authenticate(token);
+
+        assertEquals(user.getId().toString(), second.getName());
+        assertEquals("ROLE_ORGANIZER", first.getAuthorities().iterator().next().getAuthority());
+        assertEquals("ROLE_ORGANIZER", second.getAuthorities().iterator().next().getAuthority());
+        verify(users, times(1)).findById(user.getId());
+    }
+
+    @Test
+    void staleRoleVersionUsesCurrentRole() throws Exception {
+        UserEntity user = user("ADMIN", 0);
+        String token = authService.issueAccessToken(user, 900);
+        when(users.findById(user.getId())).thenReturn(Optional.of(user));
+        assertEquals("ROLE_ADMIN", authenticate(token).getAuthorities().iterator().next().getAuthority());
+        SecurityContextHolder.clearContext();
+
+        user.setRole("USER");
+        user.setRoleVersion(1);
+        userRoles.invalidate(user.getId(), 1);
+        Authentication auth = authenticate(token);
+
+        assertEquals("ROLE_USER", auth.getAuthorities().iterator().next().getAuthority());
+        verify(users, times(2)).findById(user.getId());
+    }
+
+    @Test
+    void tokenWithCurrentRoleVersionUsesClaim() throws Exception {
+        UserEntity user = user("USER", 1);
+        when(users.findById(user.getId())).thenReturn(Optional.of(user(user.getId(), "ADMIN", 0)));
+
+        Authentication auth = authenticate(authService.issueAccessToken(user, 900));
+
+        assertEquals("ROLE_USER", auth.getAuthorities().iterator().next().getAuthority());
+    }
+
+    @Test
+    void deletedUserIsNotAuthenticated() throws Exception {
+        UserEntity user = user("ADMIN", 0);
+        String token = authService.issueAccessToken(user, 900);
+        when(users.findById(user.getId())).thenReturn(Optional.empty());
+
+        assertNull(authenticate(token));
+        assertNull(authenticate(token));
+        verify(users, times(1)).findById(user.getId());
+    }
+
+    @Test
+    void roleChangeIsAnnouncedOnlyAfterCommit() {
+        RoleChangeBroadcaster broadcaster = mock(RoleChangeBroadcaster.class);
+        UserRoleCache cache = new UserRoleCache(users, broadcaster, 100, Duration.ofSeconds(30));
+        UUID userId = UUID.randomUUID();
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            cache.roleChanged(userId, 2);
+            verifyNoInteractions(broadcaster);
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        verify(broadcaster).publish(userId, 2);
+    }
+
+    @Test
+    void rolledBackRoleChangeIsNotAnnounced() {
+        RoleChangeBroadcaster broadcaster = mock(RoleChangeBroadcaster.class);
+        UserRoleCache cache = new UserRoleCache(users, broadcaster, 100, Duration.ofSeconds(30));
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            cache.roleChanged(UUID.randomUUID(), 2);
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(s -> s.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        verifyNoInteractions(broadcaster);
+    }
+
+    /**
+     * Filter chain cost before (key rebuilt per request plus a user lookup) and after (cached key, claims only),
+     * with a simulated 200µs database round trip
+     */
+    @Test
+    @Tag("benchmark")
+    void benchmarkFilterChain() throws Exception {
+        UserEntity user = user("USER", 0);
+        when(users.findById(user.getId())).thenAnswer(invocation -> {
+            LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(200));
+            return Optional.of(user);
+        });
+        String token = authService.issueAccessToken(user, 900);
+        int iterations = 2_000;
+
+        measure(this::authenticateLegacy, token, iterations / 4);
+        measure(this::authenticate, token, iterations / 4);
+        double beforeMicros = measure(this::authenticateLegacy, token, iterations);
+        double afterMicros = measure(this::authenticate, token, iterations);
+
+        System.out.printf("JwtCookieAuthenticationFilter: before %.1f µs/request, after %.1f µs/request%n",
+                beforeMicros, afterMicros);
+    }
+
+    private double measure(Authenticator authenticator, String token, int iterations) throws Exception {
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            assertNotNull(authenticator.authenticate(token));
+            SecurityContextHolder.clearContext();
+        }
+        return (System.nanoTime() - start) / 1_000.0 / iterations;
+    }
+
+    private Authentication authenticate(String token) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setCookies(new Cookie("access", token));
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+        return SecurityContextHolder.getContext().getAuthentication();
+    }
+
+    /**
+     * The previous filter body: new HMAC key and parser, then a user lookup for the role
+     */
+    private Authentication authenticateLegacy(String token) {
+        var key = Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8));
+        UUID userId = UUID.fromString(Jwts.parser().verifyWith(key).build()
+                .parseSignedClaims(token).getPayload().getSubject());
+        UserEntity found = users.findById(userId).orElseThrow();
+        return new UsernamePasswordAuthenticationToken(found.getId().toString(), null,
+                List.of(new SimpleGrantedAuthority("ROLE_" + found.getRole())));
+    }
+
+    private static UserEntity user(String role, long roleVersion) {
+        return user(UUID.randomUUID(), role, roleVersion);
+    }
+
+    private static UserEntity user(UUID id, String role, long roleVersion) {
+        return UserEntity.builder()
+                .id(id)
+                .username("user")
+                .passwordHash("hash")
+                .role(role)
+                .roleVersion(roleVersion)
+                .build();
+    }
+
+    @FunctionalInterface
+    private interface Authenticator {
+        Authentication authenticate(String token) throws Exception;
+    }
+}
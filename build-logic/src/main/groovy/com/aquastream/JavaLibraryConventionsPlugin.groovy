@@ -43,9 +43,12 @@ class JavaLibraryConventionsPlugin implements Plugin<Project> {
             }
         }
 
-        // Common test configuration
+        // Common test configuration; tests tagged "benchmark" only run through the benchmark task
         project.tasks.withType(Test).configureEach { Test test ->
-            test.useJUnitPlatform()
+            if (test.name == 'benchmark') {
+                return
+            }
+            test.useJUnitPlatform { it.excludeTags 'benchmark' }
             test.testLogging { tl ->
                 tl.events 'passed', 'skipped', 'failed'
                 tl.showStandardStreams = false
@@ -81,7 +84,7 @@ class JavaLibraryConventionsPlugin implements Plugin<Project> {
                 t.testClassesDirs = itest.output.classesDirs
                 t.classpath = itest.runtimeClasspath
             }
-            t.useJUnitPlatform()
+            t.useJUnitPlatform { it.excludeTags 'benchmark' }
             t.testLogging { tl ->
                 tl.events 'passed', 'skipped', 'failed'
                 tl.showStandardStreams = false
@@ -95,6 +98,24 @@ class JavaLibraryConventionsPlugin implements Plugin<Project> {
             t.shouldRunAfter project.tasks.named('test')
         }
 
+        // Benchmarks: tests tagged "benchmark" in test and integrationTest, run one at a time and not part of check
+        project.tasks.register('benchmark', Test) { Test t ->
+            def ss = project.extensions.findByName('sourceSets')
+            if (ss) {
+                t.description = 'Runs benchmarks (tests tagged "benchmark").'
+                t.group = 'verification'
+                t.testClassesDirs = ss.getByName('test').output.classesDirs + ss.getByName('integrationTest').output.classesDirs
+                t.classpath = ss.getByName('test').runtimeClasspath + ss.getByName('integrationTest').runtimeClasspath
+            }
+            t.useJUnitPlatform { it.includeTags 'benchmark' }
+            t.testLogging { tl ->
+                tl.events 'passed', 'skipped', 'failed'
+                tl.showStandardStreams = true
+            }
+            t.maxParallelForks = 1
+            t.outputs.upToDateWhen { false }
+        }
+
         project.tasks.named('check') { it.dependsOn project.tasks.named('integrationTest') }
 
         // Default dependencies common to all modules